@@ -13,7 +13,9 @@ package org.eclipse.cdt.build.gcc.core;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
@@ -38,6 +40,7 @@ import org.eclipse.cdt.core.dom.ast.gnu.c.GCCLanguage;
 import org.eclipse.cdt.core.dom.ast.gnu.cpp.GPPLanguage;
 import org.eclipse.cdt.core.envvar.EnvironmentVariable;
 import org.eclipse.cdt.core.envvar.IEnvironmentVariable;
+import org.eclipse.cdt.core.language.settings.providers.BuiltinSpecsOutputCache;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
 import org.eclipse.cdt.core.parser.IExtendedScannerInfo;
@@ -46,6 +49,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.PlatformObject;
@@ -470,76 +474,111 @@ public class GCCToolChain extends PlatformObject implements IToolChain {
 			Path buildDirectory, Path tmpFile) throws IOException {
 		Files.createDirectories(buildDirectory);
 
-		// Startup the command
 		ProcessBuilder processBuilder = new ProcessBuilder(commandLine).directory(buildDirectory.toFile());
 		CCorePlugin.getDefault().getBuildEnvironmentManager().setEnvironment(processBuilder.environment(), buildConfig,
 				true);
-		Process process = processBuilder.start();
+
+		// Projects using the same compiler with the same options share the output
+		List<String> envp = new ArrayList<>();
+		for (Entry<String, String> var : processBuilder.environment().entrySet()) {
+			envp.add(var.getKey() + '=' + var.getValue());
+		}
+		String key = BuiltinSpecsOutputCache.createKey(null, commandLine.get(0),
+				commandLine.subList(1, commandLine.size()), tmpFile != null ? tmpFile.toString() : null,
+				envp.toArray(new String[envp.size()]), buildDirectory.toFile());
+		BuiltinSpecsOutputCache.Output output;
+		try {
+			output = BuiltinSpecsOutputCache.getInstance().getOutput(key,
+					(out, err) -> runCompiler(processBuilder, out, err));
+		} catch (CoreException e) {
+			Activator.log(e);
+			return null;
+		} finally {
+			if (tmpFile != null) {
+				Files.delete(tmpFile);
+			}
+		}
 
 		// Scan for the scanner info
 		Map<String, String> symbols = new HashMap<>();
 		List<String> includePath = new ArrayList<>();
 
 		// First the include path off the error stream
-		Thread includePathReaderThread = new Thread("Include Path Reader") {
-			@Override
-			public void run() {
-				try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
-					for (String line = reader.readLine(); line != null; line = reader.readLine()) {
-						String dir = line.trim();
-						if (dir.equals(".")) { //$NON-NLS-1$
-							includePath.add(buildDirectory.toString());
-						} else {
-							try {
-								Path dirPath = Paths.get(dir);
-								if (!dirPath.isAbsolute()) {
-									dirPath = buildDirectory.resolve(dirPath);
-								}
-								if (Files.isDirectory(dirPath)) {
-									includePath.add(dirPath.toString());
-								}
-							} catch (InvalidPathException e) {
-								// nothing
-							}
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(output.getErrorOutput()))) {
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				String dir = line.trim();
+				if (dir.equals(".")) { //$NON-NLS-1$
+					includePath.add(buildDirectory.toString());
+				} else {
+					try {
+						Path dirPath = Paths.get(dir);
+						if (!dirPath.isAbsolute()) {
+							dirPath = buildDirectory.resolve(dirPath);
 						}
+						if (Files.isDirectory(dirPath)) {
+							includePath.add(dirPath.toString());
+						}
+					} catch (InvalidPathException e) {
+						// nothing
 					}
+				}
+			}
+		}
+
+		// Now the defines off the output stream
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(output.getOutput()))) {
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				Map<String, String> matchDefines = matchDefines(line);
+				if (matchDefines != null) {
+					symbols.putAll(matchDefines);
+				}
+			}
+		}
+
+		return new ExtendedScannerInfo(symbols, includePath.toArray(new String[includePath.size()]));
+	}
+
+	/**
+	 * Runs the compiler to print its built-in settings.
+	 *
+	 * @return whether the compiler succeeded
+	 */
+	private boolean runCompiler(ProcessBuilder processBuilder, OutputStream out, OutputStream err)
+			throws IOException {
+		Process process = processBuilder.start();
+
+		Thread errorReaderThread = new Thread("Include Path Reader") {
+			@Override
+			public void run() {
+				try (InputStream in = process.getErrorStream()) {
+					in.transferTo(err);
 				} catch (IOException e) {
 					CCorePlugin.log(e);
 				}
 			}
 		};
-		includePathReaderThread.start();
+		errorReaderThread.start();
 
-		Thread macroReaderThread = new Thread("Macro reader") {
+		Thread outputReaderThread = new Thread("Macro reader") {
 			@Override
 			public void run() {
-				// Now the defines off the output stream
-				try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-					for (String line = reader.readLine(); line != null; line = reader.readLine()) {
-						Map<String, String> matchDefines = matchDefines(line);
-						if (matchDefines != null) {
-							symbols.putAll(matchDefines);
-						}
-					}
+				try (InputStream in = process.getInputStream()) {
+					in.transferTo(out);
 				} catch (IOException e) {
 					CCorePlugin.log(e);
 				}
 			}
 		};
-		macroReaderThread.start();
+		outputReaderThread.start();
 
 		try {
-			includePathReaderThread.join();
-			macroReaderThread.join();
-			process.waitFor();
+			errorReaderThread.join();
+			outputReaderThread.join();
+			return process.waitFor() == 0;
 		} catch (InterruptedException e) {
 			Activator.log(e);
+			return false;
 		}
-		if (tmpFile != null) {
-			Files.delete(tmpFile);
-		}
-
-		return new ExtendedScannerInfo(symbols, includePath.toArray(new String[includePath.size()]));
 	}
 
 	/**
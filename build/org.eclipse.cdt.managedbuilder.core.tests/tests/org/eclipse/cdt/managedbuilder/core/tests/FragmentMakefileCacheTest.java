@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.core.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.managedbuilder.core.IConfiguration;
+import org.eclipse.cdt.managedbuilder.core.ManagedBuildManager;
+import org.eclipse.cdt.managedbuilder.makegen.internal.FragmentMakefileCache;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Checks that the fragment makefiles are only replayed if they would be
+ * generated the same.
+ */
+public class FragmentMakefileCacheTest extends BaseTestCase {
+	private static final IPath TOP_BUILD_DIR = new Path("/project/Debug");
+	private static final IPath SRC = new Path("src");
+	private static final IPath LIB = new Path("lib");
+
+	/** The build variables and rules of a generator */
+	private static class State implements FragmentMakefileCache.IGeneratorState {
+		final Map<String, List<Object>> collections = new HashMap<>();
+
+		State() {
+			collections.put(FragmentMakefileCache.SOURCE + "C_SRCS", new ArrayList<>());
+			collections.put(FragmentMakefileCache.OUTPUT + "OBJS", new ArrayList<>());
+			collections.put(FragmentMakefileCache.RULE + "null", new ArrayList<>());
+		}
+
+		@Override
+		public Boolean contains(int kind, Object key, Object value) {
+			List<Object> collection = collections.get(kind + String.valueOf(key));
+			return collection != null ? Boolean.valueOf(collection.contains(value)) : null;
+		}
+
+		@Override
+		public void add(int kind, Object key, Object value) {
+			collections.get(kind + String.valueOf(key)).add(value);
+		}
+
+		/** Adds an entry as a generator does, and records it */
+		void generate(FragmentMakefileCache.Fragment fragment, int kind, Object key, Object value) {
+			if (contains(kind, key, value).booleanValue()) {
+				fragment.found(kind, key, value);
+			} else {
+				add(kind, key, value);
+				fragment.added(kind, key, value);
+			}
+		}
+	}
+
+	public static Test suite() {
+		return new TestSuite(FragmentMakefileCacheTest.class);
+	}
+
+	private FragmentMakefileCache cache;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		IConfiguration cfg = ManagedBuildManager.getExtensionConfiguration("cdt.managedbuild.config.gnu.exe.debug");
+		assertNotNull(cfg);
+		cache = FragmentMakefileCache.getCache(cfg, getName(), TOP_BUILD_DIR);
+		cache.setVariables("[C_SRCS] [OBJS]");
+
+		// src and lib share a pattern rule
+		State state = new State();
+		FragmentMakefileCache.Fragment fragment = cache.startFragment(SRC);
+		state.generate(fragment, FragmentMakefileCache.SOURCE, "C_SRCS", new Path("/project/src/main.c"));
+		state.generate(fragment, FragmentMakefileCache.OUTPUT, "OBJS", new Path("/project/Debug/src/main.o"));
+		state.generate(fragment, FragmentMakefileCache.RULE, null, "%.o: ../%.c");
+		fragment = cache.startFragment(LIB);
+		state.generate(fragment, FragmentMakefileCache.SOURCE, "C_SRCS", new Path("/project/lib/lib.c"));
+		state.generate(fragment, FragmentMakefileCache.OUTPUT, "OBJS", new Path("/project/Debug/lib/lib.o"));
+		state.generate(fragment, FragmentMakefileCache.RULE, null, "%.o: ../%.c");
+	}
+
+	public void testReplay() {
+		State state = new State();
+		assertTrue(cache.replayFragment(SRC, state));
+		assertTrue(cache.replayFragment(LIB, state));
+		assertEquals(2, state.collections.get(FragmentMakefileCache.OUTPUT + "OBJS").size());
+		assertEquals(1, state.collections.get(FragmentMakefileCache.RULE + "null").size());
+	}
+
+	public void testFoundEntryMissing() {
+		// lib did not generate the rule, src does now
+		State state = new State();
+		assertFalse(cache.replayFragment(LIB, state));
+		assertTrue(state.collections.get(FragmentMakefileCache.SOURCE + "C_SRCS").isEmpty());
+	}
+
+	public void testAddedEntryPresent() {
+		// Another directory now generates the rule before src
+		State state = new State();
+		state.add(FragmentMakefileCache.RULE, null, "%.o: ../%.c");
+		assertFalse(cache.replayFragment(SRC, state));
+		assertTrue(cache.replayFragment(LIB, state));
+	}
+
+	public void testVariablesChanged() {
+		cache.setVariables("[C_SRCS] [CPP_SRCS] [OBJS]");
+		assertFalse(cache.replayFragment(SRC, new State()));
+	}
+
+	public void testRetainFragments() {
+		cache.retainFragments(new HashSet<>(Collections.singleton(LIB)));
+		assertFalse(cache.replayFragment(SRC, new State()));
+	}
+}
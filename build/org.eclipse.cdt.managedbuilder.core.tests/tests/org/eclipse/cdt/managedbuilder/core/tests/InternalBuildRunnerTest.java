@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.core.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.managedbuilder.core.IConfiguration;
+import org.eclipse.cdt.managedbuilder.core.IOption;
+import org.eclipse.cdt.managedbuilder.core.ITool;
+import org.eclipse.cdt.managedbuilder.core.ManagedBuildManager;
+import org.eclipse.cdt.managedbuilder.core.ManagedBuilderCorePlugin;
+import org.eclipse.cdt.managedbuilder.testplugin.AbstractBuilderTest;
+import org.eclipse.cdt.managedbuilder.testplugin.ManagedBuildTestHelper;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the internal builder skips the incremental builds with nothing
+ * to do, and only those.
+ */
+public class InternalBuildRunnerTest extends AbstractBuilderTest {
+	private static final String PROJ_PATH = "testCleanProjects";
+	private static final String PROJ_NAME = "testCleanInternal";
+	private static final String CFG_NAME = "Debug";
+
+	private IProject fProject;
+	private IConfiguration fConfiguration;
+	private File fObject;
+	private File fExe;
+
+	@BeforeEach
+	public void setUpLocal() throws Exception {
+		IWorkspaceDescription wsDescription = ResourcesPlugin.getWorkspace().getDescription();
+		wsDescription.setAutoBuilding(false);
+		ResourcesPlugin.getWorkspace().setDescription(wsDescription);
+		assertNotNull(fProject = ManagedBuildTestHelper.loadProject(PROJ_NAME, PROJ_PATH),
+				"Cannot create " + PROJ_NAME + " project");
+		fConfiguration = ManagedBuildManager.getBuildInfo(fProject).getDefaultConfiguration();
+		assertEquals(CFG_NAME, fConfiguration.getName());
+
+		fProject.build(IncrementalProjectBuilder.FULL_BUILD, null);
+		IFile object = fProject.getFolder(CFG_NAME).getFile("src/" + PROJ_NAME + ".o");
+		fObject = object.getLocation().toFile();
+		fExe = getProjectExe(PROJ_NAME, CFG_NAME).getLocation().toFile();
+		assertTrue(fObject.exists(), "Object not built");
+		assertTrue(fExe.exists(), "Executable not built");
+		assertTrue(getGraphFile().exists(), "Build graph not stored");
+		// Tell a stored graph from the one stored above.
+		File graph = getGraphFile();
+		graph.setLastModified(graph.lastModified() - TimeUnit.HOURS.toMillis(1));
+	}
+
+	@AfterEach
+	public void tearDownLocal() throws Exception {
+		ManagedBuildTestHelper.removeProject(PROJ_NAME);
+	}
+
+	private File getGraphFile() {
+		return ManagedBuilderCorePlugin.getDefault().getStateLocation().append("buildState").append(PROJ_NAME)
+				.append(fConfiguration.getId() + ".graph").toFile();
+	}
+
+	private void build() throws CoreException, InterruptedException {
+		// Tell a rebuilt file from the one built before, whatever the
+		// resolution of the time stamps of the file system.
+		TimeUnit.SECONDS.sleep(1);
+		fProject.refreshLocal(IResource.DEPTH_INFINITE, null);
+		fProject.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, null);
+	}
+
+	@Test
+	public void testUnchangedSkipped() throws Exception {
+		long graphStamp = getGraphFile().lastModified();
+		long objectStamp = fObject.lastModified();
+
+		build();
+
+		// Neither the build description was created nor the object rebuilt.
+		assertEquals(graphStamp, getGraphFile().lastModified());
+		assertEquals(objectStamp, fObject.lastModified());
+	}
+
+	@Test
+	public void testTouchedInputBuilt() throws Exception {
+		long objectStamp = fObject.lastModified();
+		IFile source = fProject.getFile("src/" + PROJ_NAME + ".c");
+		String content = new String(source.getContents().readAllBytes(), StandardCharsets.UTF_8);
+		source.setContents(new ByteArrayInputStream((content + "\n").getBytes(StandardCharsets.UTF_8)),
+				IResource.FORCE, null);
+
+		build();
+
+		assertNotEquals(objectStamp, fObject.lastModified());
+	}
+
+	@Test
+	public void testChangedOptionBuilt() throws Exception {
+		long objectStamp = fObject.lastModified();
+		ITool tool = fConfiguration.getToolsBySuperClassId("cdt.managedbuild.tool.gnu.c.compiler")[0];
+		IOption option = tool.getOptionBySuperClassId("gnu.c.compiler.exe.debug.option.optimization.level");
+		ManagedBuildManager.setOption(fConfiguration, tool, option, "gnu.c.optimization.level.more");
+
+		build();
+
+		assertNotEquals(objectStamp, fObject.lastModified());
+	}
+
+	@Test
+	public void testDeletedOutputBuilt() throws Exception {
+		// Deleted behind the back of the workspace, so only on the file system.
+		assertTrue(fExe.delete());
+
+		build();
+
+		assertTrue(fExe.exists(), "Executable not built again");
+	}
+}
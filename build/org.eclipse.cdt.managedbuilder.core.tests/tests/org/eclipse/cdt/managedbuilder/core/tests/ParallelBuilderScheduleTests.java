@@ -0,0 +1,420 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.core.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildCommand;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildDescription;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildIOType;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildResource;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildStep;
+import org.eclipse.cdt.managedbuilder.core.IConfiguration;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.BuildProcessManager;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.BuildStepDurations;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.ParallelBuilder;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the order in which the parallel internal builder launches the steps,
+ * and when it holds them back for lack of memory.
+ */
+public class ParallelBuilderScheduleTests {
+	private static final long MB = 1024 * 1024;
+
+	/** A build description with just the steps of the test */
+	private static class TestDescription implements IBuildDescription {
+		final TestStep inputStep = new TestStep(this, "input", true);
+		final TestStep outputStep = new TestStep(this, "output", true);
+		final List<IBuildStep> steps = new ArrayList<>(Arrays.asList(inputStep, outputStep));
+
+		@Override
+		public IBuildStep getInputStep() {
+			return inputStep;
+		}
+
+		@Override
+		public IBuildStep getOutputStep() {
+			return outputStep;
+		}
+
+		@Override
+		public IBuildResource getBuildResource(IPath location) {
+			return null;
+		}
+
+		@Override
+		public IBuildResource getBuildResource(IResource resource) {
+			return null;
+		}
+
+		@Override
+		public IBuildResource[] getResources() {
+			return new IBuildResource[0];
+		}
+
+		@Override
+		public IBuildStep[] getSteps() {
+			return steps.toArray(new IBuildStep[steps.size()]);
+		}
+
+		@Override
+		public IConfiguration getConfiguration() {
+			return null;
+		}
+
+		@Override
+		public IPath getDefaultBuildDirLocation() {
+			return new Path("/build");
+		}
+
+		@Override
+		public URI getDefaultBuildDirLocationURI() {
+			return null;
+		}
+
+		@Override
+		public IPath getDefaultBuildDirFullPath() {
+			return null;
+		}
+	}
+
+	/** A step reading and writing the given resources */
+	private static class TestStep implements IBuildStep {
+		final TestDescription des;
+		final String name;
+		final boolean needsRebuild;
+		final List<IBuildResource> inputs = new ArrayList<>();
+		final List<IBuildResource> outputs = new ArrayList<>();
+
+		TestStep(TestDescription des, String name, boolean needsRebuild) {
+			this.des = des;
+			this.name = name;
+			this.needsRebuild = needsRebuild;
+		}
+
+		@Override
+		public IBuildIOType[] getInputIOTypes() {
+			return new IBuildIOType[0];
+		}
+
+		@Override
+		public IBuildIOType[] getOutputIOTypes() {
+			return new IBuildIOType[0];
+		}
+
+		@Override
+		public boolean needsRebuild() {
+			return needsRebuild;
+		}
+
+		@Override
+		public IBuildResource[] getInputResources() {
+			return inputs.toArray(new IBuildResource[inputs.size()]);
+		}
+
+		@Override
+		public IBuildResource[] getOutputResources() {
+			return outputs.toArray(new IBuildResource[outputs.size()]);
+		}
+
+		@Override
+		public boolean isRemoved() {
+			return false;
+		}
+
+		@Override
+		public IBuildDescription getBuildDescription() {
+			return des;
+		}
+
+		@SuppressWarnings("rawtypes")
+		@Override
+		public IBuildCommand[] getCommands(IPath cwd, Map inStepMap, Map outStepMap, boolean resolveAll) {
+			return new IBuildCommand[0];
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	/** A resource produced by a step and used by others */
+	private static class TestResource implements IBuildResource {
+		final TestDescription des;
+		final IPath location;
+		final TestStep producer;
+		final List<IBuildStep> dependents = new ArrayList<>();
+
+		TestResource(TestDescription des, String name, TestStep producer) {
+			this.des = des;
+			this.location = new Path("/build").append(name);
+			this.producer = producer;
+			producer.outputs.add(this);
+		}
+
+		@Override
+		public IPath getLocation() {
+			return location;
+		}
+
+		@Override
+		public IPath getFullPath() {
+			return null;
+		}
+
+		@Override
+		public URI getLocationURI() {
+			return null;
+		}
+
+		@Override
+		public IBuildIOType getProducerIOType() {
+			return null;
+		}
+
+		@Override
+		public IBuildIOType[] getDependentIOTypes() {
+			return new IBuildIOType[0];
+		}
+
+		@Override
+		public IBuildStep getProducerStep() {
+			return producer;
+		}
+
+		@Override
+		public IBuildStep[] getDependentSteps() {
+			return dependents.toArray(new IBuildStep[dependents.size()]);
+		}
+
+		@Override
+		public boolean needsRebuild() {
+			return true;
+		}
+
+		@Override
+		public boolean isProjectResource() {
+			return false;
+		}
+
+		@Override
+		public boolean isRemoved() {
+			return false;
+		}
+
+		@Override
+		public IBuildDescription getBuildDescription() {
+			return des;
+		}
+	}
+
+	/** Exposes the scheduling of the builder without launching the steps */
+	private static class TestBuilder extends ParallelBuilder {
+		final IBuildDescription des;
+		PriorityQueue<BuildQueueElement> ready;
+
+		TestBuilder(IBuildDescription des, BuildStepDurations durations, boolean buildIncrementally) {
+			super(des.getDefaultBuildDirLocation(), null, null, null, new NullProgressMonitor(), false,
+					buildIncrementally, null, des);
+			this.des = des;
+			fDurations = durations;
+		}
+
+		void schedule() {
+			enqueueAll(des);
+			sortQueue();
+			ready = prepareSchedule();
+		}
+
+		/** Returns the next step to launch or null if none is ready */
+		IBuildStep next() {
+			BuildQueueElement elem = ready.poll();
+			return elem != null ? elem.getStep() : null;
+		}
+
+		void built(IBuildStep step) {
+			stepBuilt(step, ready);
+		}
+	}
+
+	/** A process manager with the given memory available */
+	private static class TestProcessManager extends BuildProcessManager {
+		long availableMemory;
+
+		TestProcessManager(int processes) {
+			super(null, null, false, processes);
+		}
+
+		@Override
+		protected long getAvailableMemory() {
+			return availableMemory;
+		}
+	}
+
+	private TestDescription des;
+	private BuildStepDurations durations;
+
+	@BeforeEach
+	public void setUp() {
+		des = new TestDescription();
+		durations = new BuildStepDurations(null);
+	}
+
+	/** Adds a step building the output from the inputs, which took the given time in the last builds */
+	private TestStep addStep(String output, long duration, boolean needsRebuild, TestResource... inputs) {
+		TestStep step = new TestStep(des, output, needsRebuild);
+		des.steps.add(step);
+		for (TestResource input : inputs) {
+			step.inputs.add(input);
+			input.dependents.add(step);
+		}
+		TestResource resource = new TestResource(des, output, step);
+		resource.dependents.add(des.outputStep);
+		if (duration >= 0)
+			durations.put(step, duration);
+		return step;
+	}
+
+	private TestResource source(String name) {
+		return new TestResource(des, name, des.inputStep);
+	}
+
+	private static TestResource output(TestStep step) {
+		TestResource output = (TestResource) step.getOutputResources()[0];
+		output.dependents.remove(output.des.outputStep);
+		return output;
+	}
+
+	/**
+	 * The ready steps are launched by the longest chain of steps starting with
+	 * them, and a step only once all the steps it depends on are built.
+	 */
+	@Test
+	public void testLongestChainFirst() {
+		TestStep compileA = addStep("a.o", 10, true, source("a.c"));
+		TestStep compileB = addStep("b.o", 500, true, source("b.c"));
+		TestStep compileC = addStep("c.o", 50, true, source("c.c"));
+		TestStep link = addStep("app", 100, true, output(compileA), output(compileC));
+
+		TestBuilder builder = new TestBuilder(des, durations, false);
+		builder.schedule();
+
+		// b: 500 ms, c then link: 150 ms, a then link: 110 ms
+		assertEquals(compileB, builder.next());
+		assertEquals(compileC, builder.next());
+		assertEquals(compileA, builder.next());
+		assertEquals(null, builder.next());
+
+		builder.built(compileB);
+		builder.built(compileC);
+		// still waiting for a.o
+		assertEquals(null, builder.next());
+		builder.built(compileA);
+		assertEquals(link, builder.next());
+		builder.built(link);
+		assertEquals(null, builder.next());
+	}
+
+	/**
+	 * The steps never built before are assumed to take the average time of the
+	 * others.
+	 */
+	@Test
+	public void testUnknownDurationAveraged() {
+		TestStep compileA = addStep("a.o", 100, true, source("a.c"));
+		TestStep compileB = addStep("b.o", -1, true, source("b.c"));
+		TestStep compileC = addStep("c.o", 10, true, source("c.c"));
+		TestStep archive = addStep("lib.a", 10, true, output(compileB));
+
+		TestBuilder builder = new TestBuilder(des, durations, false);
+		builder.schedule();
+
+		// a: 100 ms, b: 40 ms on average then archive: 50 ms, c: 10 ms
+		assertEquals(compileA, builder.next());
+		assertEquals(compileB, builder.next());
+		assertEquals(compileC, builder.next());
+		builder.built(compileB);
+		assertEquals(archive, builder.next());
+	}
+
+	/**
+	 * A step waits for the steps it depends on through steps which need no
+	 * rebuild and are not queued.
+	 */
+	@Test
+	public void testDependencyThroughUnchangedStep() {
+		TestStep compileA = addStep("a.o", 10, true, source("a.c"));
+		TestStep generate = addStep("gen.h", 10, false, output(compileA));
+		TestStep compileB = addStep("b.o", 10, true, output(generate));
+
+		TestBuilder builder = new TestBuilder(des, durations, true);
+		builder.schedule();
+
+		assertEquals(compileA, builder.next());
+		assertEquals(null, builder.next());
+		builder.built(compileA);
+		assertEquals(compileB, builder.next());
+	}
+
+	/**
+	 * The durations of the steps no longer in the build are forgotten.
+	 */
+	@Test
+	public void testDurationsRetained() {
+		TestStep compileA = addStep("a.o", 10, true, source("a.c"));
+		TestStep compileB = addStep("b.o", 20, true, source("b.c"));
+
+		des.steps.remove(compileB);
+		durations.retain(des.getSteps());
+		assertEquals(10, durations.get(compileA));
+		assertEquals(-1, durations.get(compileB));
+	}
+
+	/**
+	 * A new process is only launched with enough memory available, unless no
+	 * process is running.
+	 */
+	@Test
+	public void testMemoryGate() {
+		TestProcessManager mgr = new TestProcessManager(4);
+
+		mgr.availableMemory = 100 * MB;
+		assertFalse(mgr.hasMemory());
+		assertTrue(mgr.canLaunch(0));
+		assertFalse(mgr.canLaunch(1));
+
+		mgr.availableMemory = 2048 * MB;
+		assertTrue(mgr.hasMemory());
+		assertTrue(mgr.canLaunch(3));
+		assertFalse(mgr.canLaunch(4));
+
+		// unknown, e.g. not on Linux
+		mgr.availableMemory = -1;
+		assertTrue(mgr.hasMemory());
+		assertTrue(mgr.canLaunch(1));
+	}
+}
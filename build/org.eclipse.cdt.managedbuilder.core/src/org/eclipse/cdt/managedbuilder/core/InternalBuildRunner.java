@@ -31,10 +31,13 @@ import org.eclipse.cdt.core.settings.model.ICConfigurationDescription;
 import org.eclipse.cdt.internal.core.BuildRunnerHelper;
 import org.eclipse.cdt.managedbuilder.buildmodel.BuildDescriptionManager;
 import org.eclipse.cdt.managedbuilder.buildmodel.IBuildDescription;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.BuildGraph;
 import org.eclipse.cdt.managedbuilder.internal.buildmodel.BuildStateManager;
 import org.eclipse.cdt.managedbuilder.internal.buildmodel.DescriptionBuilder;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.IBuildModelBuilder;
 import org.eclipse.cdt.managedbuilder.internal.buildmodel.IConfigurationBuildState;
 import org.eclipse.cdt.managedbuilder.internal.buildmodel.IProjectBuildState;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.IRebuildState;
 import org.eclipse.cdt.managedbuilder.internal.buildmodel.ParallelBuilder;
 import org.eclipse.cdt.managedbuilder.internal.core.ManagedMakeMessages;
 import org.eclipse.core.resources.IProject;
@@ -109,11 +112,24 @@ public class InternalBuildRunner extends AbstractBuildRunner {
 			buildRunnerHelper.prepareStreams(epm, parsers, console,
 					new SubProgressMonitor(monitor, TICKS_STREAM_PROGRESS_MONITOR));
 
+			// Nothing to build if nothing changed since the last build, which is
+			// much faster to find out than to create the build description
+			if (buildIncrementaly && !configuration.needsRebuild()
+					&& cBS.getFullPathsForState(IRebuildState.NEED_REBUILD).length == 0) {
+				BuildGraph graph = BuildGraph.getBuildGraph(configuration);
+				if (graph != null && graph.isUpToDate(delta)) {
+					buildRunnerHelper.printLine(ManagedMakeMessages
+							.getFormattedString("ManagedMakeBuilder.message.no.build", project.getName())); //$NON-NLS-1$
+					return false;
+				}
+			}
+
 			IBuildDescription des = BuildDescriptionManager.createBuildDescription(configuration, cBS, delta, flags);
 			DescriptionBuilder dBuilder = null;
 			if (!isParallel) {
 				dBuilder = new DescriptionBuilder(des, buildIncrementaly, resumeOnErr, cBS);
 				if (dBuilder.getNumCommands() <= 0) {
+					BuildGraph.storeBuildGraph(configuration, des);
 					buildRunnerHelper.printLine(ManagedMakeMessages
 							.getFormattedString("ManagedMakeBuilder.message.no.build", project.getName())); //$NON-NLS-1$
 					return false;
@@ -161,6 +177,12 @@ public class InternalBuildRunner extends AbstractBuildRunner {
 				epm.deDuplicate();
 			}
 
+			if (status == IBuildModelBuilder.STATUS_OK) {
+				BuildGraph.storeBuildGraph(configuration, des);
+			} else {
+				BuildGraph.removeBuildGraph(configuration);
+			}
+
 			bsMngr.setProjectBuildState(project, pBS);
 			buildRunnerHelper.close();
 			buildRunnerHelper.goodbye();
@@ -172,6 +194,7 @@ public class InternalBuildRunner extends AbstractBuildRunner {
 
 		} catch (Exception e) {
 			projectBuilder.forgetLastBuiltState();
+			BuildGraph.removeBuildGraph(configuration);
 
 			String msg = ManagedMakeMessages.getFormattedString("ManagedMakeBuilder.message.error.build", //$NON-NLS-1$
 					new String[] { project.getName(), configuration.getName() });
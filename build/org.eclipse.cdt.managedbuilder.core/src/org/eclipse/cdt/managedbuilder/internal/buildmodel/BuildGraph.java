@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.internal.buildmodel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildDescription;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildResource;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildStep;
+import org.eclipse.cdt.managedbuilder.core.IConfiguration;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * The files of the build steps of a configuration, as of its last successful
+ * internal build.
+ * <p>
+ * Creating the build description of a large project is the main cost of an
+ * internal build which has nothing to do. With the graph, such a build is
+ * recognized from the resource delta of the project alone: nothing needs to be
+ * built if no input or output of a step changed, no file was added to the
+ * project and the project settings did not change. The files outside of the
+ * project, e.g. system headers, and the outputs of the steps are checked on the
+ * file system instead.
+ * </p>
+ * <p>
+ * The inputs of the steps include the dependencies computed for them, so a
+ * change to an included header is noticed as well. The graph is kept next to
+ * the build state of the project, see {@link BuildStateManager}.
+ * </p>
+ */
+public class BuildGraph {
+	private static final int VERSION = 1;
+	private static final String GRAPH_EXTENSION = ".graph"; //$NON-NLS-1$
+
+	/** Changes of a file which may change the result of the build */
+	private static final int CONTENT_FLAGS = IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.TYPE
+			| IResourceDelta.ENCODING | IResourceDelta.LOCAL_CHANGED;
+
+	/**
+	 * The graphs read or stored in this session, by file.  Those of a project
+	 * are dropped when it is closed or deleted, by the resource change
+	 * listener of the {@link BuildStateManager}.
+	 */
+	private static final Map<File, BuildGraph> fGraphs = new HashMap<>();
+
+	/** Full paths of the inputs and outputs of the steps in the project */
+	private final Set<String> fProjectFiles;
+	/** Locations of the outputs of the steps, which must exist */
+	private final List<String> fOutputs;
+	/** Locations of the inputs outside of the project, with their length and time stamp */
+	private final Map<String, long[]> fExternalFiles;
+
+	private BuildGraph(Set<String> projectFiles, List<String> outputs, Map<String, long[]> externalFiles) {
+		fProjectFiles = projectFiles;
+		fOutputs = outputs;
+		fExternalFiles = externalFiles;
+	}
+
+	/**
+	 * Returns the graph of the last successful build of a configuration, or
+	 * <code>null</code> if there is none.
+	 */
+	public static BuildGraph getBuildGraph(IConfiguration cfg) {
+		File file = getFile(cfg);
+		if (file == null) {
+			return null;
+		}
+		synchronized (fGraphs) {
+			BuildGraph graph = fGraphs.get(file);
+			if (graph == null) {
+				graph = read(file);
+				if (graph != null) {
+					fGraphs.put(file, graph);
+				}
+			}
+			return graph;
+		}
+	}
+
+	/**
+	 * Stores the graph of a configuration after a successful build.
+	 *
+	 * @param des the build description the configuration was built with
+	 */
+	public static void storeBuildGraph(IConfiguration cfg, IBuildDescription des) {
+		File file = getFile(cfg);
+		if (file == null) {
+			return;
+		}
+		BuildGraph graph = create(des, (IProject) cfg.getOwner());
+		synchronized (fGraphs) {
+			fGraphs.put(file, graph);
+			graph.write(file);
+		}
+	}
+
+	/**
+	 * Forgets the graph of a configuration, so that the next build creates a
+	 * build description, e.g. after a failed build.
+	 */
+	public static void removeBuildGraph(IConfiguration cfg) {
+		File file = getFile(cfg);
+		if (file == null) {
+			return;
+		}
+		synchronized (fGraphs) {
+			fGraphs.remove(file);
+			file.delete();
+		}
+	}
+
+	/**
+	 * Drops the graphs of a project from memory, e.g. when it is closed or
+	 * deleted.  The stored graphs are kept with the build state.
+	 */
+	static void forgetBuildGraphs(IProject project) {
+		File dir;
+		try {
+			dir = BuildStateManager.getInstance().getPrefsDirPath(project).toFile();
+		} catch (IllegalStateException e) {
+			return;
+		}
+		synchronized (fGraphs) {
+			fGraphs.keySet().removeIf(file -> dir.equals(file.getParentFile()));
+		}
+	}
+
+	/**
+	 * Checks whether the configuration is still built, i.e. whether nothing
+	 * changed since the last build which may need a step to run.
+	 *
+	 * @param delta the changes of the project since the last build
+	 */
+	public boolean isUpToDate(IResourceDelta delta) {
+		if (delta == null) {
+			return false;
+		}
+		boolean[] changed = new boolean[1];
+		try {
+			delta.accept(d -> {
+				if (changed[0]) {
+					return false;
+				}
+				IResource rc = d.getResource();
+				if (rc.getType() != IResource.FILE) {
+					// .settings holds the settings of the project
+					if (rc.getType() == IResource.FOLDER && rc.getParent().getType() == IResource.PROJECT
+							&& rc.getName().equals(".settings")) { //$NON-NLS-1$
+						changed[0] = true;
+					}
+					return !changed[0];
+				}
+				if (rc.getParent().getType() == IResource.PROJECT
+						&& (rc.getName().equals(".cproject") || rc.getName().equals(".project"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					changed[0] = true;
+				} else if (fProjectFiles.contains(rc.getFullPath().toString())) {
+					changed[0] = d.getKind() != IResourceDelta.CHANGED || (d.getFlags() & CONTENT_FLAGS) != 0;
+				} else if (d.getKind() == IResourceDelta.ADDED) {
+					// Possibly a new source file
+					changed[0] = true;
+				}
+				return false;
+			});
+		} catch (CoreException e) {
+			return false;
+		}
+		if (changed[0]) {
+			return false;
+		}
+
+		for (Map.Entry<String, long[]> entry : fExternalFiles.entrySet()) {
+			File file = new File(entry.getKey());
+			long[] stamp = entry.getValue();
+			if (file.length() != stamp[0] || file.lastModified() != stamp[1]) {
+				return false;
+			}
+		}
+		for (String output : fOutputs) {
+			if (!new File(output).exists()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static BuildGraph create(IBuildDescription des, IProject project) {
+		Set<String> projectFiles = new HashSet<>();
+		List<String> outputs = new ArrayList<>();
+		Map<String, long[]> externalFiles = new HashMap<>();
+		IPath projectPath = project.getFullPath();
+		IBuildStep inputStep = des.getInputStep();
+		for (IBuildResource rc : des.getResources()) {
+			IPath location = rc.getLocation();
+			if (rc.isRemoved() || location == null) {
+				continue;
+			}
+			IPath fullPath = rc.getFullPath();
+			boolean isOutput = rc.getProducerStep() != null && rc.getProducerStep() != inputStep;
+			if (isOutput) {
+				outputs.add(location.toOSString());
+			}
+			if (fullPath != null && projectPath.isPrefixOf(fullPath)) {
+				projectFiles.add(fullPath.toString());
+			} else if (!isOutput) {
+				// Not in the resource delta of the project
+				File file = location.toFile();
+				externalFiles.put(location.toOSString(), new long[] { file.length(), file.lastModified() });
+			}
+		}
+		return new BuildGraph(projectFiles, outputs, externalFiles);
+	}
+
+	private static BuildGraph read(File file) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION) {
+				return null;
+			}
+			int size = in.readInt();
+			Set<String> projectFiles = new HashSet<>(size * 2);
+			for (int i = 0; i < size; i++) {
+				projectFiles.add(in.readUTF());
+			}
+			size = in.readInt();
+			List<String> outputs = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				outputs.add(in.readUTF());
+			}
+			size = in.readInt();
+			Map<String, long[]> externalFiles = new HashMap<>(size * 2);
+			for (int i = 0; i < size; i++) {
+				String location = in.readUTF();
+				externalFiles.put(location, new long[] { in.readLong(), in.readLong() });
+			}
+			return new BuildGraph(projectFiles, outputs, externalFiles);
+		} catch (IOException | RuntimeException e) {
+			// A corrupted graph is the same as a missing one.
+			return null;
+		}
+	}
+
+	private void write(File file) {
+		File dir = file.getParentFile();
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			return;
+		}
+		File tmp = new File(dir, file.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				out.writeInt(VERSION);
+				out.writeInt(fProjectFiles.size());
+				for (String path : fProjectFiles) {
+					out.writeUTF(path);
+				}
+				out.writeInt(fOutputs.size());
+				for (String output : fOutputs) {
+					out.writeUTF(output);
+				}
+				out.writeInt(fExternalFiles.size());
+				for (Map.Entry<String, long[]> entry : fExternalFiles.entrySet()) {
+					out.writeUTF(entry.getKey());
+					out.writeLong(entry.getValue()[0]);
+					out.writeLong(entry.getValue()[1]);
+				}
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			tmp.delete();
+			file.delete();
+		}
+	}
+
+	private static File getFile(IConfiguration cfg) {
+		IResource owner = cfg.getOwner();
+		if (!(owner instanceof IProject)) {
+			return null;
+		}
+		try {
+			IPath path = BuildStateManager.getInstance().getPrefsDirPath((IProject) owner);
+			return path.append(cfg.getId() + GRAPH_EXTENSION).toFile();
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+}
@@ -14,6 +14,10 @@
 
 package org.eclipse.cdt.managedbuilder.internal.buildmodel;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,11 +34,18 @@ import org.eclipse.core.runtime.IProgressMonitor;
  * This class implements process pool management for internal builder
  */
 public class BuildProcessManager {
+	/** Memory which must remain available to launch another process, in bytes */
+	private static final long MIN_AVAILABLE_MEMORY = 512L * 1024 * 1024;
+	private static final String MEMINFO = "/proc/meminfo"; //$NON-NLS-1$
+	private static final String MEM_AVAILABLE = "MemAvailable:"; //$NON-NLS-1$
+
 	protected OutputStream out;
 	protected OutputStream err;
 	protected boolean show;
 	protected Vector<ProcessLauncher> processes;
 	protected int maxProcesses;
+	private final Object stateLock = new Object();
+	private boolean stateChanged;
 
 	/**
 	 * Initializes process manager
@@ -72,6 +83,7 @@ public class BuildProcessManager {
 			if (i >= processes.size()) {
 				ProcessLauncher process = new ProcessLauncher(cmd.getCommand(), cmd.getArgs(),
 						mapToStringArray(cmd.getEnvironment()), cwd, out, err, monitor, show);
+				process.setCompletionListener(this::notifyStateChange);
 				processes.add(process);
 				process.launch();
 				return process;
@@ -80,6 +92,7 @@ public class BuildProcessManager {
 			if (processes.get(i).queryState() == ProcessLauncher.STATE_DONE) {
 				ProcessLauncher process = new ProcessLauncher(cmd.getCommand(), cmd.getArgs(),
 						mapToStringArray(cmd.getEnvironment()), cwd, out, err, monitor, show);
+				process.setCompletionListener(this::notifyStateChange);
 				processes.set(i, process);
 				process.launch();
 				return process;
@@ -117,6 +130,81 @@ public class BuildProcessManager {
 		return false;
 	}
 
+	/**
+	 * Waits until a process is done, or for the given time at most.  Returns
+	 * immediately if a process was done since the last call.
+	 *
+	 * @param timeout Maximum time to wait, in milliseconds
+	 */
+	public void waitForStateChange(long timeout) {
+		synchronized (stateLock) {
+			if (!stateChanged) {
+				try {
+					stateLock.wait(timeout);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			stateChanged = false;
+		}
+	}
+
+	/**
+	 * Wakes up the thread waiting for a process to be done
+	 */
+	protected void notifyStateChange() {
+		synchronized (stateLock) {
+			stateChanged = true;
+			stateLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Checks whether another process may be launched while the given number
+	 * of processes are running: the pool must have room for it and, unless
+	 * nothing is running, the system enough memory.
+	 *
+	 * @param running Number of processes running
+	 */
+	public boolean canLaunch(int running) {
+		return running < maxProcesses && hasEmpty() && (running == 0 || hasMemory());
+	}
+
+	/**
+	 * Checks whether the system has enough memory available for another
+	 * process, so that parallel jobs do not make the system swap.  Returns
+	 * true when the available memory is not known.
+	 */
+	public boolean hasMemory() {
+		long available = getAvailableMemory();
+		return available < 0 || available >= MIN_AVAILABLE_MEMORY;
+	}
+
+	/**
+	 * Returns the memory available to new processes without swapping, in
+	 * bytes, or -1 if it is not known.  Only known on Linux.
+	 */
+	protected long getAvailableMemory() {
+		File meminfo = new File(MEMINFO);
+		if (!meminfo.canRead()) {
+			return -1;
+		}
+		try (BufferedReader reader = new BufferedReader(new FileReader(meminfo))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith(MEM_AVAILABLE)) {
+					// e.g. "MemAvailable:    8012345 kB"
+					String value = line.substring(MEM_AVAILABLE.length()).trim();
+					int space = value.indexOf(' ');
+					return Long.parseLong(space > 0 ? value.substring(0, space) : value) * 1024;
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			// not known
+		}
+		return -1;
+	}
+
 	/**
 	 * Returns maximum threads used up to that point
 	 */
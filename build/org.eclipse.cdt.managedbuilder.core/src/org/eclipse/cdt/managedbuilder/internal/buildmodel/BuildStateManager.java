@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2011 Intel Corporation and others.
+ * Copyright (c) 2007, 2026 Intel Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,6 +43,7 @@ public class BuildStateManager {
 
 		@Override
 		public void handleProjectClose(IProject project) {
+			BuildGraph.forgetBuildGraphs(project);
 		}
 
 		@Override
@@ -58,6 +59,7 @@ public class BuildStateManager {
 		private boolean doHandleResourceRemove(IResource rc) {
 			switch (rc.getType()) {
 			case IResource.PROJECT:
+				BuildGraph.forgetBuildGraphs(rc.getProject());
 				removeProjectInfo(rc.getProject());
 				return false;
 			case IResource.ROOT:
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.internal.buildmodel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildResource;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildStep;
+import org.eclipse.cdt.managedbuilder.core.IConfiguration;
+import org.eclipse.cdt.managedbuilder.core.ManagedBuilderCorePlugin;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Durations of the build steps of a configuration, remembered from the
+ * earlier builds, which the {@link ParallelBuilder} schedules the longest
+ * chains of steps first with.
+ * <p>
+ * A step is known by its first output.  The durations are kept in the state
+ * location of the plug-in, in one file per configuration.
+ * </p>
+ */
+public class BuildStepDurations {
+	private static final int VERSION = 1;
+	private static final String DURATIONS_LOCATION = "stepDurations"; //$NON-NLS-1$
+
+	private final File store;
+	private final Map<String, Long> durations = new HashMap<>();
+	private boolean changed;
+
+	/**
+	 * Creates durations without any step.
+	 *
+	 * @param store File the durations are saved to, or <code>null</code> to
+	 *        not save them
+	 */
+	public BuildStepDurations(File store) {
+		this.store = store;
+	}
+
+	/**
+	 * Reads the durations of the steps of a configuration.  A missing or
+	 * corrupted store gives no durations.
+	 */
+	public static BuildStepDurations load(IConfiguration cfg) {
+		BuildStepDurations durations = new BuildStepDurations(getStore(cfg));
+		durations.read();
+		return durations;
+	}
+
+	/**
+	 * Returns the duration of the step in the last builds, in milliseconds,
+	 * or -1 if it is not known.
+	 */
+	public long get(IBuildStep step) {
+		String key = getKey(step);
+		Long duration = key != null ? durations.get(key) : null;
+		return duration != null ? duration.longValue() : -1;
+	}
+
+	/**
+	 * Records the duration of the step in this build, in milliseconds.  It is
+	 * averaged with the earlier ones, so that a single slow build does not
+	 * change the schedule much.
+	 */
+	public void put(IBuildStep step, long duration) {
+		String key = getKey(step);
+		if (key == null) {
+			return;
+		}
+		Long old = durations.get(key);
+		durations.put(key, Long.valueOf(old != null ? (old.longValue() + duration) / 2 : duration));
+		changed = true;
+	}
+
+	/**
+	 * Forgets the durations of the steps which are no longer in the build,
+	 * e.g. of deleted source files, so that the store does not grow with
+	 * every file ever built.
+	 *
+	 * @param steps All the steps of the build
+	 */
+	public void retain(IBuildStep[] steps) {
+		Set<String> keys = new HashSet<>();
+		for (IBuildStep step : steps) {
+			String key = getKey(step);
+			if (key != null)
+				keys.add(key);
+		}
+		if (durations.keySet().retainAll(keys))
+			changed = true;
+	}
+
+	/**
+	 * Writes the durations, if some were recorded.  Failures are ignored, the
+	 * steps are then scheduled without their durations.
+	 */
+	public void save() {
+		if (store == null || !changed) {
+			return;
+		}
+		File dir = store.getParentFile();
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			return;
+		}
+		File tmp = new File(dir, store.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				out.writeInt(VERSION);
+				out.writeInt(durations.size());
+				for (Map.Entry<String, Long> entry : durations.entrySet()) {
+					out.writeUTF(entry.getKey());
+					out.writeLong(entry.getValue().longValue());
+				}
+			}
+			Files.move(tmp.toPath(), store.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			changed = false;
+		} catch (IOException | RuntimeException e) {
+			tmp.delete();
+		}
+	}
+
+	private void read() {
+		if (store == null || !store.isFile()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(store)))) {
+			if (in.readInt() != VERSION) {
+				return;
+			}
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				String key = in.readUTF();
+				durations.put(key, Long.valueOf(in.readLong()));
+			}
+		} catch (IOException | RuntimeException e) {
+			durations.clear();
+		}
+	}
+
+	private static String getKey(IBuildStep step) {
+		IBuildResource[] outputs = step.getOutputResources();
+		if (outputs.length == 0) {
+			return null;
+		}
+		IPath location = outputs[0].getLocation();
+		return location != null ? location.toString() : null;
+	}
+
+	private static File getStore(IConfiguration cfg) {
+		ManagedBuilderCorePlugin plugin = ManagedBuilderCorePlugin.getDefault();
+		IResource owner = cfg.getOwner();
+		if (plugin == null || owner == null) {
+			return null;
+		}
+		try {
+			return plugin.getStateLocation().append(DURATIONS_LOCATION).append(owner.getName())
+					.append(cfg.getId() + ".dat").toFile(); //$NON-NLS-1$
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+}
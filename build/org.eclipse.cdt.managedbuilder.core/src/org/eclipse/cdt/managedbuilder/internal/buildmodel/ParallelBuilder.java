@@ -17,12 +17,16 @@ package org.eclipse.cdt.managedbuilder.internal.buildmodel;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.Vector;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.managedbuilder.buildmodel.IBuildCommand;
@@ -44,6 +48,11 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 /**
  * This is the main class for parallel internal builder implementation
  *
+ * The steps are launched as soon as the steps they depend on are built, the
+ * ones at the head of the longest chains of remaining steps first. The length
+ * of the chains is estimated with the durations of the steps in the earlier
+ * builds, see {@link BuildStepDurations}.
+ *
  * NOTE: This class is subject to change and discuss,
  * and is currently available in experimental mode only
  */
@@ -71,6 +80,8 @@ public class ParallelBuilder {
 	protected LinkedList<BuildQueueElement> queue = new LinkedList<>();
 	private IResourceRebuildStateContainer fRebuildStateContainer;
 	private IBuildDescription fDes;
+	protected BuildStepDurations fDurations;
+	private HashMap<IBuildStep, BuildQueueElement> scheduleHash;
 
 	/**
 	 * This class implements queue element
@@ -78,6 +89,16 @@ public class ParallelBuilder {
 	protected class BuildQueueElement implements Comparable<BuildQueueElement> {
 		protected IBuildStep step;
 		protected int level;
+		/** Position in the sorted queue */
+		protected int order;
+		/** Number of queued steps to be built before this one */
+		protected int pending;
+		/** Queued steps which depend on this one */
+		protected List<BuildQueueElement> successors = new ArrayList<>();
+		/** Estimated duration of the step, in milliseconds */
+		protected long duration;
+		/** Estimated duration of the longest chain of steps starting with this one */
+		protected long criticalPath = -1;
 
 		public BuildQueueElement(IBuildStep _step, int _level) {
 			step = _step;
@@ -142,9 +163,11 @@ public class ParallelBuilder {
 		protected int activeCmd;
 		protected boolean done;
 		protected ProcessLauncher launcher;
+		protected long startTime;
 
 		public ActiveBuildStep(IBuildStep _step) {
 			step = _step;
+			startTime = System.currentTimeMillis();
 
 			if (dirs == null)
 				stepDirs = new GenDirInfo(step.getBuildDescription().getConfiguration());
@@ -269,7 +292,10 @@ public class ParallelBuilder {
 		builder.sortQueue();
 		monitor.beginTask("", builder.queue.size()); //$NON-NLS-1$
 		BuildProcessManager buildProcessManager = new BuildProcessManager(out, err, true, threads);
+		builder.fDurations = BuildStepDurations.load(cfg);
 		status = builder.dispatch(buildProcessManager);
+		builder.fDurations.retain(des.getSteps());
+		builder.fDurations.save();
 		lastThreadsUsed = buildProcessManager.getThreadsUsed();
 		monitor.done();
 
@@ -467,19 +493,107 @@ public class ParallelBuilder {
 		queueHash.put(step, elem);
 	}
 
+	/**
+	 * Links the queued steps with the steps they depend on, estimates the
+	 * length of the chains of steps and returns the steps ready to be built.
+	 */
+	protected PriorityQueue<BuildQueueElement> prepareSchedule() {
+		scheduleHash = new HashMap<>();
+		int order = 0;
+		for (BuildQueueElement elem : queue) {
+			elem.order = order++;
+			scheduleHash.put(elem.getStep(), elem);
+		}
+
+		long known = 0;
+		int knownCount = 0;
+		for (BuildQueueElement elem : queue) {
+			for (BuildQueueElement pred : getPredecessors(elem.getStep())) {
+				pred.successors.add(elem);
+				elem.pending++;
+			}
+			elem.duration = fDurations != null ? fDurations.get(elem.getStep()) : -1;
+			if (elem.duration >= 0) {
+				known += elem.duration;
+				knownCount++;
+			}
+		}
+		// The steps never built before are assumed to take the average time.
+		long average = knownCount > 0 ? Math.max(1, known / knownCount) : 1;
+		for (BuildQueueElement elem : queue) {
+			if (elem.duration < 0)
+				elem.duration = average;
+		}
+		for (BuildQueueElement elem : queue) {
+			getCriticalPath(elem, new HashSet<>());
+		}
+
+		PriorityQueue<BuildQueueElement> ready = new PriorityQueue<>(Math.max(1, queue.size()),
+				Comparator.comparingLong((BuildQueueElement e) -> -e.criticalPath)
+						.thenComparingInt(BuildQueueElement::getLevel).thenComparingInt(e -> e.order));
+		for (BuildQueueElement elem : queue) {
+			if (elem.pending == 0)
+				ready.add(elem);
+		}
+		return ready;
+	}
+
+	/**
+	 * Returns the queued steps which produce the inputs of the step, directly
+	 * or through steps which do not need to be built.
+	 */
+	private Set<BuildQueueElement> getPredecessors(IBuildStep step) {
+		Set<BuildQueueElement> preds = new HashSet<>();
+		Set<IBuildStep> visited = new HashSet<>();
+		LinkedList<IBuildStep> toVisit = new LinkedList<>();
+		toVisit.add(step);
+		while (!toVisit.isEmpty()) {
+			IBuildStep current = toVisit.removeFirst();
+			for (IBuildResource bldRes : current.getInputResources()) {
+				IBuildStep producer = bldRes.getProducerStep();
+				if (producer == null || producer == producer.getBuildDescription().getInputStep()
+						|| producer == step || !visited.add(producer))
+					continue;
+				BuildQueueElement pred = scheduleHash.get(producer);
+				if (pred != null)
+					preds.add(pred);
+				else
+					toVisit.add(producer);
+			}
+		}
+		return preds;
+	}
+
+	/**
+	 * Returns the estimated duration of the longest chain of steps starting
+	 * with the given one.
+	 */
+	private long getCriticalPath(BuildQueueElement elem, Set<BuildQueueElement> visiting) {
+		if (elem.criticalPath >= 0)
+			return elem.criticalPath;
+		if (!visiting.add(elem))
+			return 0; // cyclic dependency
+		long longest = 0;
+		for (BuildQueueElement succ : elem.successors) {
+			longest = Math.max(longest, getCriticalPath(succ, visiting));
+		}
+		visiting.remove(elem);
+		elem.criticalPath = elem.duration + longest;
+		return elem.criticalPath;
+	}
+
 	/**
 	 * Dispatches the build queue and returns build status
 	 */
 	protected int dispatch(BuildProcessManager mgr) {
-		int maxProcesses = mgr.getMaxProcesses();
-		Vector<ActiveBuildStep> active = new Vector<>(Math.min(maxProcesses, 10), 10);
+		List<ActiveBuildStep> active = new ArrayList<>(mgr.getMaxProcesses());
+		PriorityQueue<BuildQueueElement> ready = prepareSchedule();
+		int remaining = queue.size();
 
-		int activeCount = 0;
-		int maxLevel = 0;
 		int status = STATUS_OK;
 		String errorMsg = null;
 
-		// Going into "infinite" main loop
+		// Going into "infinite" main loop, which wakes up when a process is done
 		main_loop: while (true) {
 			if (monitor.isCanceled()) {
 				status = STATUS_CANCELED;
@@ -497,130 +611,59 @@ public class ParallelBuilder {
 				errorMsg = launcher.getErrorMessage();
 				break main_loop;
 			}
-			// Everything goes OK.
-			boolean proceed = true;
 
-			// Check if there is room for new process
-			if (!mgr.hasEmpty()) {
-				proceed = false;
-			} else {
-				// Check "active steps" list for completed ones
-				for (ActiveBuildStep buildStep : active) {
-					ProcessLauncher pl = buildStep.getLauncher();
-					if (pl == null)
-						continue;
-					if (pl.queryState() == ProcessLauncher.STATE_DONE) {
-						// If process has terminated with error, break loop
-						// (except resumeOnErrors == true)
-
-						if (!resumeOnErrors && pl.getExitCode() != 0) {
-							status = STATUS_ERROR;
-							break main_loop;
-						}
-						// Try to launch next command for the current active step
-						if (buildStep.isDone())
-							continue;
-						if (buildStep.launchNextCmd(mgr)) {
-							// Command has been launched. Check if process pool is not maximized yet
-							if (!mgr.hasEmpty()) {
-								proceed = false;
-								break;
-							}
-						} else {
-							// Command has not been launched: step complete
-							refreshOutputs(buildStep.getStep());
-							activeCount--;
-							monitor.worked(1);
-						}
-					}
+			// Check "active steps" list for completed commands
+			for (Iterator<ActiveBuildStep> iter = active.iterator(); iter.hasNext();) {
+				ActiveBuildStep buildStep = iter.next();
+				ProcessLauncher pl = buildStep.getLauncher();
+				if (pl.queryState() != ProcessLauncher.STATE_DONE)
+					continue;
+				// If process has terminated with error, break loop
+				// (except resumeOnErrors == true)
+				if (!resumeOnErrors && pl.getExitCode() != 0) {
+					status = STATUS_ERROR;
+					break main_loop;
 				}
+				// Try to launch next command for the current active step
+				if (buildStep.launchNextCmd(mgr))
+					continue;
+				if (monitor.isCanceled())
+					continue main_loop;
+				// Command has not been launched: step complete
+				iter.remove();
+				remaining--;
+				stepCompleted(buildStep, ready);
 			}
 
-			// If nothing to do, then sleep and continue main loop
-			if (!proceed) {
-				try {
-					Thread.sleep(MAIN_LOOP_DELAY);
-				} catch (InterruptedException e) {
-					// do nothing
+			// Launch the steps whose prerequisites are built, the most critical first
+			while (!ready.isEmpty() && mgr.canLaunch(active.size())) {
+				ActiveBuildStep buildStep = new ActiveBuildStep(ready.poll().getStep());
+				if (buildStep.launchNextCmd(mgr)) {
+					active.add(buildStep);
+				} else {
+					if (monitor.isCanceled())
+						continue main_loop;
+					// Step without commands
+					remaining--;
+					stepCompleted(buildStep, ready);
 				}
-				continue main_loop;
 			}
 
-			// Check if we need to schedule another process
-			if (queue.size() != 0 && activeCount < maxProcesses) {
-				// Need to schedule another process
-				Iterator<BuildQueueElement> iter = queue.iterator();
-
-				// Iterate over build queue
-				while (iter.hasNext()) {
-					BuildQueueElement elem = iter.next();
-
-					// If "active steps" list reaches maximum, then break loop
-					if (activeCount == maxProcesses)
-						break;
-
-					// If current element's level exceeds maximum level of currently built
-					// resources, then stop iteration (we can not build it anyway)
-					if (elem.getLevel() > maxLevel + 1)
-						break;
-
-					//Check if all prerequisites are built
-					boolean prereqBuilt = true;
-					for (IBuildResource bldRes : elem.getStep().getInputResources()) {
-						IBuildStep step = bldRes.getProducerStep(); // step which produces input for curr
-						boolean built = true;
-						if (step != step.getBuildDescription().getInputStep()) {
-							for (ActiveBuildStep buildStep : active) {
-								if (buildStep != null && buildStep.getStep().equals(step) && !buildStep.isDone()) {
-									built = false;
-									break;
-								}
-							}
-						}
-						if (!built) {
-							prereqBuilt = false;
-							break;
-						}
-					}
-
-					if (prereqBuilt) {
-						// All prereqs are built
-						IBuildStep step = elem.getStep();
-
-						// Remove element from the build queue and add it to the
-						// "active steps" list.
-						iter.remove();
-						for (int i = 0; i < maxProcesses; i++) {
-							if (i >= active.size()) {
-								// add new item
-								ActiveBuildStep buildStep = new ActiveBuildStep(step);
-								active.add(buildStep);
-								if (buildStep.launchNextCmd(mgr))
-									activeCount++;
-								break;
-							}
-							if (active.get(i).isDone()) {
-								// replace old item
-								ActiveBuildStep buildStep = new ActiveBuildStep(step);
-								active.set(i, buildStep);
-								if (buildStep.launchNextCmd(mgr))
-									activeCount++;
-								break;
-							}
-						}
-
-						// Update maxLevel
-						if (elem.getLevel() > maxLevel)
-							maxLevel = elem.getLevel();
-						// We don't need to start new process immediately since
-						// it will be done on the next main loop iteration
+			// Now finally, check if we're done
+			if (active.isEmpty() && ready.isEmpty()) {
+				if (remaining <= 0)
+					break main_loop;
+				// Steps depending on each other; build them in the queue order
+				for (BuildQueueElement elem : queue) {
+					if (elem.pending > 0) {
+						elem.pending = 0;
+						ready.add(elem);
 					}
 				}
+				continue main_loop;
 			}
 
-			// Now finally, check if we're done
-			if (activeCount <= 0 && queue.size() == 0)
-				break main_loop;
+			mgr.waitForStateChange(MAIN_LOOP_DELAY);
 		}
 
 		if (status != STATUS_OK && errorMsg != null)
@@ -628,6 +671,33 @@ public class ParallelBuilder {
 		return status;
 	}
 
+	/**
+	 * Updates the outputs and the duration of a completed step, and makes
+	 * the steps depending on it ready when all their prerequisites are built.
+	 */
+	private void stepCompleted(ActiveBuildStep buildStep, PriorityQueue<BuildQueueElement> ready) {
+		IBuildStep step = buildStep.getStep();
+		refreshOutputs(step);
+		monitor.worked(1);
+		if (fDurations != null && buildStep.cmds.length > 0)
+			fDurations.put(step, System.currentTimeMillis() - buildStep.startTime);
+		stepBuilt(step, ready);
+	}
+
+	/**
+	 * Makes the steps depending on a built step ready when all their
+	 * prerequisites are built.
+	 */
+	protected void stepBuilt(IBuildStep step, PriorityQueue<BuildQueueElement> ready) {
+		BuildQueueElement elem = scheduleHash.get(step);
+		if (elem != null) {
+			for (BuildQueueElement succ : elem.successors) {
+				if (--succ.pending == 0)
+					ready.add(succ);
+			}
+		}
+	}
+
 	/**
 	 * Prints output to the console
 	 */
@@ -47,6 +47,7 @@ public class ProcessLauncher {
 	protected Process process;
 	protected ProcessClosure closure = null;
 	protected int state;
+	protected Runnable listener;
 
 	/**
 	 * Returns command line as a string array
@@ -129,6 +130,14 @@ public class ProcessLauncher {
 		lineSeparator = System.getProperty("line.separator", "\n"); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
+	/**
+	 * Sets the listener called when the process is done or failed to launch,
+	 * before the process is launched.
+	 */
+	public void setCompletionListener(Runnable _listener) {
+		listener = _listener;
+	}
+
 	/**
 	 * Launches a process
 	 */
@@ -139,6 +148,7 @@ public class ProcessLauncher {
 			state = STATE_RUNNING;
 			process = ProcessFactory.getFactory().exec(cmd, env, cwd);
 			closure = new ProcessClosure(process, out, err);
+			closure.setCompletionListener(listener);
 			// Close the input of the process since we will never write to it
 			try {
 				process.getOutputStream().close();
@@ -149,6 +159,8 @@ public class ProcessLauncher {
 		} catch (IOException e) {
 			error = e.getMessage();
 			closure = null;
+			if (listener != null)
+				listener.run();
 		}
 	}
 
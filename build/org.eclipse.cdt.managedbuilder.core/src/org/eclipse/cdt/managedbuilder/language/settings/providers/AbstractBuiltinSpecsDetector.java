@@ -40,6 +40,7 @@ import org.eclipse.cdt.core.cdtvariables.ICdtVariableManager;
 import org.eclipse.cdt.core.envvar.EnvironmentVariable;
 import org.eclipse.cdt.core.envvar.IEnvironmentVariable;
 import org.eclipse.cdt.core.envvar.IEnvironmentVariableManager;
+import org.eclipse.cdt.core.language.settings.providers.BuiltinSpecsOutputCache;
 import org.eclipse.cdt.core.language.settings.providers.ICBuildOutputParser;
 import org.eclipse.cdt.core.language.settings.providers.ICListenerAgent;
 import org.eclipse.cdt.core.language.settings.providers.IWorkingDirectoryTracker;
@@ -149,6 +150,8 @@ public abstract class AbstractBuiltinSpecsDetector extends AbstractLanguageSetti
 	private SDMarkerGenerator markerGenerator = new SDMarkerGenerator();
 	private boolean isConsoleEnabled = false;
 	private String currentCommandResolved = null;
+	/** The key of the output of the command in the {@link BuiltinSpecsOutputCache}, {@code null} if not cached */
+	private String currentOutputKey = null;
 
 	private class SDMarkerGenerator implements IMarkerGenerator {
 		// Reuse scanner discovery markers defined in org.eclipse.cdt.managedbuilder.core plugin.xml
@@ -665,6 +668,7 @@ public abstract class AbstractBuiltinSpecsDetector extends AbstractLanguageSetti
 		detectedSettingEntries = null;
 
 		currentCommandResolved = null;
+		currentOutputKey = null;
 		if (specFile != null && !preserveSpecFile) {
 			specFile.delete();
 			specFile = null;
@@ -715,6 +719,14 @@ public abstract class AbstractBuiltinSpecsDetector extends AbstractLanguageSetti
 			}
 
 			String[] envp = toEnvp(environmentMap);
+			if (cmdArray != null && cmdArray.length > 0) {
+				String inputFile = specFile != null ? new Path(specFile.getPath()).toString() : null;
+				java.io.File workingDirectory = buildDirURI != null && "file".equals(buildDirURI.getScheme()) //$NON-NLS-1$
+						? new java.io.File(buildDirURI)
+						: null;
+				currentOutputKey = BuiltinSpecsOutputCache.createKey(launcher, cmdArray[0], Arrays.asList(args),
+						inputFile, envp, workingDirectory);
+			}
 
 			// Using GMAKE_ERROR_PARSER_ID as it can handle generated error messages
 			ErrorParserManager epm = new ErrorParserManager(currentProject, buildDirURI, markerGenerator,
@@ -805,7 +817,23 @@ public abstract class AbstractBuiltinSpecsDetector extends AbstractLanguageSetti
 	protected int runProgramForLanguage(String languageId, String command, String[] envp, URI workingDirectoryURI,
 			OutputStream consoleOut, OutputStream consoleErr, IProgressMonitor monitor)
 			throws CoreException, IOException {
-		return buildRunnerHelper.build(monitor);
+		if (currentOutputKey == null) {
+			return buildRunnerHelper.build(monitor);
+		}
+		// Another project or configuration may have run the same command already
+		int[] status = { ICommandLauncher.OK };
+		boolean[] isRun = { false };
+		BuiltinSpecsOutputCache.Output output = BuiltinSpecsOutputCache.getInstance().getOutput(currentOutputKey,
+				(out, err) -> {
+					isRun[0] = true;
+					buildRunnerHelper.copyOutput(out, err);
+					status[0] = buildRunnerHelper.build(monitor);
+					return status[0] == ICommandLauncher.OK && buildRunnerHelper.getExitValue() == 0;
+				});
+		if (!isRun[0]) {
+			output.writeTo(consoleOut, consoleErr);
+		}
+		return status[0];
 	}
 
 	@Override
@@ -81,6 +81,7 @@ import org.eclipse.cdt.managedbuilder.makegen.IManagedDependencyGenerator2;
 import org.eclipse.cdt.managedbuilder.makegen.IManagedDependencyGeneratorType;
 import org.eclipse.cdt.managedbuilder.makegen.IManagedDependencyInfo;
 import org.eclipse.cdt.managedbuilder.makegen.IManagedDependencyPreBuild;
+import org.eclipse.cdt.managedbuilder.makegen.internal.FragmentMakefileCache;
 import org.eclipse.cdt.utils.EFSExtensionManager;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -190,6 +191,14 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 							}
 						}
 						break;
+					case IResourceDelta.CHANGED:
+						// The rules of the file may depend on its contents, e.g. on the files it includes
+						if ((delta.getFlags() & IResourceDelta.CONTENT) != 0
+								&& !generator.isGeneratedResource(resource)) {
+							generator.appendChangedSubdirectory(resource);
+						}
+						keepLooking = true;
+						break;
 					default:
 						keepLooking = true;
 						break;
@@ -393,6 +402,12 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 	//	private Vector dependencyMakefiles;		//  IPath's - relative to the top build directory or absolute
 
 	private ICSourceEntry srcEntries[];
+	/** What the fragment makefiles added to the build variables and rules when they were last generated */
+	private FragmentMakefileCache fragmentCache;
+	/** The fragment makefile being generated, if it is recorded */
+	private FragmentMakefileCache.Fragment fragment;
+	/** Collection of Folders in which the contents of source files have changed */
+	private Collection<IContainer> changedList;
 
 	public GnuMakefileGenerator() {
 		super();
@@ -681,6 +696,8 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 		topBuildOutVars.clear();
 		populateSourcesMakefile(srcsFileHandle);
 		checkCancel();
+		fragmentCache = FragmentMakefileCache.getCache(config, getClass().getName(), topBuildDir);
+		fragmentCache.setVariables(buildSrcVars.keySet() + " " + buildOutVars.keySet()); //$NON-NLS-1$
 
 		// Regenerate any fragments that are missing for the exisiting directories NOT modified
 		for (IResource res : getSubdirList()) {
@@ -720,15 +737,17 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 			checkCancel();
 		}
 
-		// Recreate all module makefiles
-		// NOTE WELL: For now, always recreate all of the fragment makefile.  This is necessary
-		//     in order to re-populate the buildVariable lists.  In the future, the list could
-		//     possibly segmented by subdir so that all fragments didn't need to be
-		//     regenerated
+		// Recreate the module makefiles of the modified directories
+		// NOTE WELL: The fragments of all directories re-populate the buildVariable lists, so
+		//     the fragments of the directories which did not change are replayed from the last
+		//     generation instead of being regenerated.  A subclass may generate its fragments
+		//     differently, so its fragments are always regenerated.
+		boolean replay = getClass() == GnuMakefileGenerator.class;
 		for (IResource res : getSubdirList()) {
 			IContainer subDir = (IContainer) res;
 			try {
-				populateFragmentMakefile(subDir);
+				updateFragmentMakefile(subDir,
+						replay && !getModifiedList().contains(subDir) && !getChangedList().contains(subDir));
 			} catch (CoreException e) {
 				// Probably should ask user if they want to continue
 				checkCancel();
@@ -736,6 +755,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 			}
 			checkCancel();
 		}
+		retainFragments();
 
 		// Calculate the inputs and outputs of the Tools to be generated in the main makefile
 		calculateToolInputsOutputs();
@@ -933,12 +953,14 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 		topBuildOutVars.clear();
 		populateSourcesMakefile(srcsFileHandle);
 		checkCancel();
+		fragmentCache = FragmentMakefileCache.getCache(config, getClass().getName(), topBuildDir);
+		fragmentCache.setVariables(buildSrcVars.keySet() + " " + buildOutVars.keySet()); //$NON-NLS-1$
 
 		// Now populate the module makefiles
 		for (IResource res : getSubdirList()) {
 			IContainer subDir = (IContainer) res;
 			try {
-				populateFragmentMakefile(subDir);
+				updateFragmentMakefile(subDir, false);
 			} catch (CoreException e) {
 				// Probably should ask user if they want to continue
 				checkCancel();
@@ -946,6 +968,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 			}
 			checkCancel();
 		}
+		retainFragments();
 
 		// Calculate the inputs and outputs of the Tools to be generated in the main makefile
 		calculateToolInputsOutputs();
@@ -1014,6 +1037,89 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 		save(makeBuf, modMakefile);
 	}
 
+	/**
+	 * Generates the fragment makefile of a directory and records what it adds to
+	 * the build variables and rules, or replays the additions of its last generation.
+	 *
+	 * @param replay  if <code>true</code>, the directory did not change since the last generation
+	 * @return <code>true</code> if the fragment was replayed
+	 */
+	private boolean updateFragmentMakefile(IContainer module, boolean replay) throws CoreException {
+		IPath path = module.getProjectRelativePath();
+		if (replay && fragmentCache.replayFragment(path, new FragmentState())) {
+			return true;
+		}
+		fragment = fragmentCache.startFragment(path);
+		try {
+			populateFragmentMakefile(module);
+		} catch (CoreException | RuntimeException e) {
+			fragmentCache.removeFragment(path);
+			throw e;
+		} finally {
+			fragment = null;
+		}
+		return false;
+	}
+
+	/**
+	 * Forgets the fragments of the directories which are no longer part of the build.
+	 */
+	private void retainFragments() {
+		Set<IPath> paths = new HashSet<>();
+		for (IContainer subDir : getSubdirList()) {
+			paths.add(subDir.getProjectRelativePath());
+		}
+		fragmentCache.retainFragments(paths);
+	}
+
+	private void recordAdded(int kind, Object key, Object value) {
+		if (fragment != null) {
+			fragment.added(kind, key, value);
+		}
+	}
+
+	private void recordFound(int kind, Object key, Object value) {
+		if (fragment != null) {
+			fragment.found(kind, key, value);
+		}
+	}
+
+	/**
+	 * The build variables and rules the fragment makefiles add to, for replaying them.
+	 */
+	private class FragmentState implements FragmentMakefileCache.IGeneratorState {
+		@Override
+		public Boolean contains(int kind, Object key, Object value) {
+			Collection<?> collection = getCollection(kind, key);
+			return collection != null ? Boolean.valueOf(collection.contains(value)) : null;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void add(int kind, Object key, Object value) {
+			((Collection<Object>) getCollection(kind, key)).add(value);
+		}
+
+		private Collection<?> getCollection(int kind, Object key) {
+			switch (kind) {
+			case FragmentMakefileCache.SOURCE:
+				return buildSrcVars.get(key);
+			case FragmentMakefileCache.OUTPUT:
+				return buildOutVars.get(key);
+			case FragmentMakefileCache.RULE:
+				return getRuleList();
+			case FragmentMakefileCache.DEP_LINE:
+				return getDepLineList();
+			case FragmentMakefileCache.DEP_RULE:
+				return getDepRuleList();
+			case FragmentMakefileCache.DEP_MAKEFILE:
+				return getDependencyMakefiles(getToolInfo((IPath) key));
+			default:
+				return null;
+			}
+		}
+	}
+
 	/**
 	 * The makefile generator generates a Macro for each type of output, other than final artifact,
 	 * created by the build.
@@ -2264,12 +2370,15 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 	protected void addToBuildVar(LinkedHashMap<String, String> buildVarToRuleStringMap, String ext, String varName,
 			String relativePath, IPath sourceLocation, boolean generatedSource) {
 		List<IPath> varList = null;
+		int kind;
 		if (varName == null) {
 			// Get the proper source build variable based upon the extension
 			varName = getSourceMacroName(ext).toString();
 			varList = buildSrcVars.get(varName);
+			kind = FragmentMakefileCache.SOURCE;
 		} else {
 			varList = buildOutVars.get(varName);
+			kind = FragmentMakefileCache.OUTPUT;
 		}
 		//  Add the resource to the list of all resources associated with a variable.
 		//  Do not allow duplicates - there is no reason to and it can be 'bad' -
@@ -2278,12 +2387,15 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 			//  Since we don't know how these files will be used, we store them using a "location"
 			//  path rather than a relative path
 			varList.add(sourceLocation);
+			recordAdded(kind, varName, sourceLocation);
 			if (!buildVarToRuleStringMap.containsKey(varName)) {
 				//  TODO - is this an error?
 			} else {
 				//  Add the resource name to the makefile line that adds resources to the build variable
 				addMacroAdditionFile(buildVarToRuleStringMap, varName, relativePath, sourceLocation, generatedSource);
 			}
+		} else if (varList != null) {
+			recordFound(kind, varName, sourceLocation);
 		}
 	}
 
@@ -2406,6 +2518,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 					if (doDepGen) {
 						IPath depFile = Path.fromOSString(relativePath + fileName + DOT + DEP_EXT);
 						getDependencyMakefiles(h).add(depFile);
+						recordAdded(FragmentMakefileCache.DEP_MAKEFILE, rcInfo.getPath(), depFile);
 						generatedDepFiles.add(depFile);
 					}
 				} else {
@@ -2426,6 +2539,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 					if (depFiles != null) {
 						for (IPath depFile : depFiles) {
 							getDependencyMakefiles(h).add(depFile);
+							recordAdded(FragmentMakefileCache.DEP_MAKEFILE, rcInfo.getPath(), depFile);
 							generatedDepFiles.add(depFile);
 						}
 					}
@@ -2613,8 +2727,10 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 		// No duplicates in a makefile.  If we already have this rule, don't add it or the commands to build the file
 		if (getRuleList().contains(buildRule)) {
 			//  TODO:  Should we assert that this is a pattern rule?
+			recordFound(FragmentMakefileCache.RULE, null, buildRule);
 		} else {
 			getRuleList().add(buildRule);
+			recordAdded(FragmentMakefileCache.RULE, null, buildRule);
 
 			// Echo starting message
 			buffer.append(buildRule).append(NEWLINE);
@@ -2825,8 +2941,11 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 			depLine = primaryOutputName + COLON + calculatedDependencies + NEWLINE;
 			if (!getDepLineList().contains(depLine)) {
 				getDepLineList().add(depLine);
+				recordAdded(FragmentMakefileCache.DEP_LINE, null, depLine);
 				addedDepLines = true;
 				buffer.append(depLine);
+			} else {
+				recordFound(FragmentMakefileCache.DEP_LINE, null, depLine);
 			}
 		}
 
@@ -2849,8 +2968,11 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 			depLine += NEWLINE;
 			if (!getDepLineList().contains(depLine)) {
 				getDepLineList().add(depLine);
+				recordAdded(FragmentMakefileCache.DEP_LINE, null, depLine);
 				addedDepLines = true;
 				buffer.append(depLine);
+			} else {
+				recordFound(FragmentMakefileCache.DEP_LINE, null, depLine);
 			}
 		}
 		if (addedDepLines) {
@@ -2884,6 +3006,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 						+ WHITESPACE + escapeWhitespaces(relativePath + MODFILE_NAME);
 				if (!getDepRuleList().contains(depLine)) {
 					getDepRuleList().add(depLine);
+					recordAdded(FragmentMakefileCache.DEP_RULE, null, depLine);
 					addedDepLines = true;
 					buffer.append(depLine).append(NEWLINE);
 					buffer.append(TAB).append(AT)
@@ -2910,6 +3033,8 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 						//buffer.append(TAB).append(AT).append(depLine).append(NEWLINE);
 						buffer.append(TAB).append(depLine).append(NEWLINE);
 					}
+				} else {
+					recordFound(FragmentMakefileCache.DEP_RULE, null, depLine);
 				}
 				if (addedDepLines) {
 					buffer.append(TAB).append(AT).append(ECHO_BLANK_LINE).append(NEWLINE);
@@ -4245,6 +4370,15 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 		}
 	}
 
+	/**
+	 * Adds the container of the argument to a list of subdirectories in which
+	 * the contents of source files have changed.  Their fragment makefiles are
+	 * regenerated, instead of being replayed from the last generation.
+	 */
+	private void appendChangedSubdirectory(IResource resource) {
+		getChangedList().add(resource.getParent());
+	}
+
 	/*************************************************************************
 	 *   O T H E R   M E T H O D S
 	 ************************************************************************/
@@ -4531,6 +4665,15 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 		return modifiedList;
 	}
 
+	/**
+	 * @return Collection of Containers which contain source files whose contents changed
+	 */
+	private Collection<IContainer> getChangedList() {
+		if (changedList == null)
+			changedList = new LinkedHashSet<>();
+		return changedList;
+	}
+
 	/**
 	 * @return Collection of subdirectories (IContainers) contributing source code to the build
 	 */
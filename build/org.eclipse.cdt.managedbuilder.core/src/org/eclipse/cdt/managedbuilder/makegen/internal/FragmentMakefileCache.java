@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.makegen.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.cdt.managedbuilder.core.IConfiguration;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * What the fragment makefiles (subdir.mk) of a configuration added to the
+ * state of the makefile generator when they were last generated.
+ * <p>
+ * The makefile generators collect the sources, outputs, rules and dependency
+ * files of all folders while generating the fragments, and generate the
+ * top-level makefile from them. With the cache, the fragments of the folders
+ * which did not change since the last generation are not generated again:
+ * their additions are replayed instead. A fragment is only replayed if the
+ * additions it depends on were made by the fragments before it again, and it
+ * would add the same entries, so that the generated text would not differ.
+ * </p>
+ * <p>
+ * The cache is kept in memory, for the configuration object it was made with.
+ * A change of the settings of the project creates new configuration objects,
+ * and thus a new cache.
+ * </p>
+ */
+public class FragmentMakefileCache {
+	/** A file added to a source build variable, the key is the variable */
+	public static final int SOURCE = 0;
+	/** A file added to an output build variable, the key is the variable */
+	public static final int OUTPUT = 1;
+	/** A build rule */
+	public static final int RULE = 2;
+	/** A dependency line */
+	public static final int DEP_LINE = 3;
+	/** A rule generating dependency files */
+	public static final int DEP_RULE = 4;
+	/** A dependency makefile, the key is the path of the tool information */
+	public static final int DEP_MAKEFILE = 5;
+
+	/**
+	 * The state of the makefile generator the fragments add to.
+	 */
+	public interface IGeneratorState {
+		/**
+		 * Returns whether the entry is present, or <code>null</code> if the
+		 * collection it belongs to does not exist.
+		 */
+		Boolean contains(int kind, Object key, Object value);
+
+		/**
+		 * Adds an entry.
+		 */
+		void add(int kind, Object key, Object value);
+	}
+
+	private static class Entry {
+		final int kind;
+		final Object key;
+		final Object value;
+		/** <code>true</code> for an addition, <code>false</code> for an entry which was already present */
+		final boolean added;
+
+		Entry(int kind, Object key, Object value, boolean added) {
+			this.kind = kind;
+			this.key = key;
+			this.value = value;
+			this.added = added;
+		}
+	}
+
+	/**
+	 * The entries of the fragment of a folder, in the order they were made.
+	 */
+	public static class Fragment {
+		private final List<Entry> entries = new ArrayList<>();
+
+		/**
+		 * Records the addition of an entry.
+		 */
+		public void added(int kind, Object key, Object value) {
+			entries.add(new Entry(kind, key, value, true));
+		}
+
+		/**
+		 * Records that an entry was not added because it was already present.
+		 */
+		public void found(int kind, Object key, Object value) {
+			entries.add(new Entry(kind, key, value, false));
+		}
+	}
+
+	private static final Map<IConfiguration, FragmentMakefileCache> fCaches = new WeakHashMap<>();
+
+	private final String generator;
+	private final IPath topBuildDir;
+	private String variables;
+	private final Map<IPath, Fragment> fragments = new HashMap<>();
+
+	private FragmentMakefileCache(String generator, IPath topBuildDir) {
+		this.generator = generator;
+		this.topBuildDir = topBuildDir;
+	}
+
+	/**
+	 * Returns the cache of the fragments of a configuration.
+	 *
+	 * @param generator the name of the makefile generator
+	 * @param topBuildDir the build directory
+	 */
+	public static FragmentMakefileCache getCache(IConfiguration cfg, String generator, IPath topBuildDir) {
+		synchronized (fCaches) {
+			FragmentMakefileCache cache = fCaches.get(cfg);
+			if (cache == null || !cache.generator.equals(generator) || !cache.topBuildDir.equals(topBuildDir)) {
+				cache = new FragmentMakefileCache(generator, topBuildDir);
+				fCaches.put(cfg, cache);
+			}
+			return cache;
+		}
+	}
+
+	/**
+	 * Sets the build variables the fragments are generated with. The
+	 * fragments list the variables, so if they are not the same as last time
+	 * no fragment is replayed.
+	 *
+	 * @param variables the variables, in the order the fragments list them
+	 */
+	public synchronized void setVariables(String variables) {
+		if (!variables.equals(this.variables)) {
+			fragments.clear();
+			this.variables = variables;
+		}
+	}
+
+	/**
+	 * Starts recording the fragment of a folder.
+	 *
+	 * @param folder the project relative path of the folder
+	 */
+	public synchronized Fragment startFragment(IPath folder) {
+		Fragment fragment = new Fragment();
+		fragments.put(folder, fragment);
+		return fragment;
+	}
+
+	/**
+	 * Forgets the fragment of a folder, e.g. if its generation failed.
+	 */
+	public synchronized void removeFragment(IPath folder) {
+		fragments.remove(folder);
+	}
+
+	/**
+	 * Forgets the fragments of the folders which are no longer built.
+	 *
+	 * @param folders the project relative paths of the folders
+	 */
+	public synchronized void retainFragments(Set<IPath> folders) {
+		fragments.keySet().retainAll(folders);
+	}
+
+	/**
+	 * Replays the additions of the fragment of a folder, if it is known and
+	 * would be generated the same.
+	 *
+	 * @param folder the project relative path of the folder
+	 * @return <code>true</code> if the fragment was replayed, <code>false</code>
+	 *         if it must be generated
+	 */
+	public synchronized boolean replayFragment(IPath folder, IGeneratorState state) {
+		Fragment fragment = fragments.get(folder);
+		if (fragment == null) {
+			return false;
+		}
+		// Check all entries before changing the state; an entry may depend
+		// on one added by the same fragment.
+		Set<List<Object>> added = new HashSet<>();
+		for (Entry entry : fragment.entries) {
+			List<Object> id = List.of(entry.kind, Objects.toString(entry.key), entry.value);
+			Boolean present = state.contains(entry.kind, entry.key, entry.value);
+			if (present == null) {
+				return false;
+			}
+			boolean found = present.booleanValue() || added.contains(id);
+			if (found == entry.added) {
+				return false;
+			}
+			if (entry.added) {
+				added.add(id);
+			}
+		}
+		for (Entry entry : fragment.entries) {
+			if (entry.added) {
+				state.add(entry.kind, entry.key, entry.value);
+			}
+		}
+		return true;
+	}
+}
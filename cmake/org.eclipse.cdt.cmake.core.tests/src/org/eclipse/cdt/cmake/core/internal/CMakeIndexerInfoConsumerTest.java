@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.cdt.cmake.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.cmake.core.internal.CMakeBuildConfiguration.CMakeIndexerInfoConsumer;
+import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the consumer of the scanner information of the source files found in the
+ * compile_commands.json file, in particular in pipelined mode.
+ */
+public class CMakeIndexerInfoConsumerTest {
+
+	private IProject project;
+	private IFile file1;
+	private IFile file2;
+
+	private final List<Map<IResource, IScannerInfo>> results = new ArrayList<>();
+	private final Map<IResource, IScannerInfo> publishedInfos = new ConcurrentHashMap<>();
+	private final Set<IResource> missedResources = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger publications = new AtomicInteger();
+
+	@Before
+	public void setUp() throws CoreException {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject("CMakeIndexerInfoConsumerTest");
+		project.create(null);
+		project.open(null);
+		file1 = createFile("file1.c");
+		file2 = createFile("file2.c");
+	}
+
+	@After
+	public void tearDown() throws CoreException {
+		project.delete(true, true, null);
+	}
+
+	private IFile createFile(String name) throws CoreException {
+		IFile file = project.getFile(name);
+		file.create(new ByteArrayInputStream(new byte[0]), true, null);
+		return file;
+	}
+
+	private CMakeIndexerInfoConsumer createPipelinedConsumer() {
+		return new CMakeIndexerInfoConsumer(results::add, publishedInfos, missedResources,
+				publications::incrementAndGet);
+	}
+
+	private static void accept(CMakeIndexerInfoConsumer consumer, IFile file, String define) {
+		consumer.acceptSourceFileInfo(file.getLocation().toString(), List.of(), Map.of(define, "1"),
+				List.of(), List.of(), List.of());
+	}
+
+	@Test
+	public void testResultSetOnShutdown() {
+		CMakeIndexerInfoConsumer consumer = new CMakeIndexerInfoConsumer(results::add);
+		accept(consumer, file1, "A");
+		assertTrue(results.isEmpty());
+
+		consumer.shutdown();
+		assertEquals(1, results.size());
+		assertEquals(Set.of(file1), results.get(0).keySet());
+	}
+
+	@Test
+	public void testResultDiscardedOnAbort() {
+		CMakeIndexerInfoConsumer consumer = new CMakeIndexerInfoConsumer(results::add);
+		accept(consumer, file1, "A");
+
+		consumer.abort();
+		assertTrue(results.isEmpty());
+	}
+
+	@Test
+	public void testPublishedWhileParsing() {
+		CMakeIndexerInfoConsumer consumer = createPipelinedConsumer();
+		accept(consumer, file1, "A");
+
+		// the indexer sees the information before the parse is finished
+		assertNotNull(publishedInfos.get(file1));
+		assertTrue(((ExtendedScannerInfo) publishedInfos.get(file1)).getDefinedSymbols().containsKey("A"));
+		assertEquals(1, publications.get());
+		assertTrue(results.isEmpty());
+
+		consumer.shutdown();
+		assertEquals(1, results.size());
+		assertSame(publishedInfos, results.get(0));
+	}
+
+	@Test
+	public void testFilesNoLongerBuiltForgottenOnShutdown() {
+		publishedInfos.put(file2, new ExtendedScannerInfo());
+		CMakeIndexerInfoConsumer consumer = createPipelinedConsumer();
+		accept(consumer, file1, "A");
+
+		consumer.shutdown();
+		assertEquals(Set.of(file1), publishedInfos.keySet());
+	}
+
+	@Test
+	public void testFilesKeptOnAbort() {
+		IScannerInfo info2 = new ExtendedScannerInfo();
+		publishedInfos.put(file2, info2);
+		CMakeIndexerInfoConsumer consumer = createPipelinedConsumer();
+		accept(consumer, file1, "A");
+
+		// the information of the files not seen so far is kept, the results are not committed
+		consumer.abort();
+		assertEquals(Set.of(file1, file2), publishedInfos.keySet());
+		assertSame(info2, publishedInfos.get(file2));
+		assertTrue(results.isEmpty());
+	}
+
+	@Test
+	public void testMissedResourcesUpdated() {
+		missedResources.add(file1);
+		CMakeIndexerInfoConsumer consumer = createPipelinedConsumer();
+		accept(consumer, file2, "B");
+		assertTrue(missedResources.contains(file1));
+
+		// the file the indexer gave up waiting for is no longer missed once known
+		accept(consumer, file1, "A");
+		assertFalse(missedResources.contains(file1));
+		consumer.shutdown();
+	}
+
+	@Test
+	public void testMissedResourcesForgottenOnShutdown() throws CoreException {
+		IFile header = createFile("header.h");
+		missedResources.add(header);
+		CMakeIndexerInfoConsumer consumer = createPipelinedConsumer();
+		accept(consumer, file1, "A");
+
+		// a file not in compile_commands.json is missed until the file is processed completely
+		consumer.abort();
+		assertEquals(Set.of(header), missedResources);
+
+		consumer = createPipelinedConsumer();
+		accept(consumer, file1, "A");
+		consumer.shutdown();
+		assertTrue(missedResources.isEmpty());
+	}
+}
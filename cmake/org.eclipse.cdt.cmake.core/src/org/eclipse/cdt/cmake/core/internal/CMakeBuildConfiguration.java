@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2022 QNX Software Systems and others.
+ * Copyright (c) 2015, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,10 +18,15 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.eclipse.cdt.cmake.core.CMakeErrorParser;
@@ -35,6 +40,7 @@ import org.eclipse.cdt.cmake.core.properties.CMakeGenerator;
 import org.eclipse.cdt.cmake.core.properties.ICMakeProperties;
 import org.eclipse.cdt.cmake.core.properties.ICMakePropertiesController;
 import org.eclipse.cdt.cmake.core.properties.IOsOverrides;
+import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.CommandLauncherManager;
 import org.eclipse.cdt.core.ConsoleOutputStream;
 import org.eclipse.cdt.core.ErrorParserManager;
@@ -45,10 +51,14 @@ import org.eclipse.cdt.core.build.CBuildConfiguration;
 import org.eclipse.cdt.core.build.IToolChain;
 import org.eclipse.cdt.core.envvar.EnvironmentVariable;
 import org.eclipse.cdt.core.envvar.IEnvironmentVariable;
+import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.model.CoreModel;
 import org.eclipse.cdt.core.model.ElementChangedEvent;
+import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ICElementDelta;
 import org.eclipse.cdt.core.model.ICModelMarker;
 import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
+import org.eclipse.cdt.core.parser.IExtendedScannerInfo;
 import org.eclipse.cdt.core.parser.IScannerInfo;
 import org.eclipse.cdt.core.resources.IConsole;
 import org.eclipse.cdt.jsoncdb.core.CompileCommandsJsonParser;
@@ -63,11 +73,28 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 
 public class CMakeBuildConfiguration extends CBuildConfiguration {
+	private static final boolean DEBUG_TIME = Boolean
+			.parseBoolean(Platform.getDebugOption("org.eclipse.cdt.cmake.core/debug/performance")); //$NON-NLS-1$
+	/**
+	 * Whether the scanner information of the source files is passed on to the indexer while the
+	 * compile_commands.json file is processed, instead of once the whole file was processed.
+	 */
+	private static final boolean PIPELINED = Boolean.getBoolean("org.eclipse.cdt.cmake.core.pipelined_indexing"); //$NON-NLS-1$
+	/**
+	 * The longest time the indexer waits for the scanner information of a source file in pipelined
+	 * mode. A file given up on is updated in the index once its scanner information is known.
+	 */
+	private static final long SCANNER_INFO_WAIT_MILLIS = TimeUnit.SECONDS.toMillis(30);
 
 	public static final String CMAKE_GENERATOR = "cmake.generator"; //$NON-NLS-1$
 	public static final String CMAKE_ARGUMENTS = "cmake.arguments"; //$NON-NLS-1$
@@ -80,7 +107,22 @@ public class CMakeBuildConfiguration extends CBuildConfiguration {
 	// lazily instantiated..
 	private CMakePropertiesController pc;
 
-	private Map<IResource, IScannerInfo> infoPerResource;
+	private volatile Map<IResource, IScannerInfo> infoPerResource;
+	/**
+	 * the job processing the compile_commands.json file in pipelined mode or <code>null</code>
+	 */
+	private Job compileCommandsJob;
+	/**
+	 * guards {@link #compileCommandsJob}, notified each time scanner information is published in
+	 * pipelined mode
+	 */
+	private final Object compileCommandsLock = new Object();
+	/**
+	 * the source files the indexer gave up waiting for in pipelined mode, so that they are updated
+	 * once their scanner information is known. Cleared once the compile_commands.json file is
+	 * processed completely.
+	 */
+	private final Set<IResource> missedResources = ConcurrentHashMap.newKeySet();
 	/**
 	 * whether one of the CMakeLists.txt files in the project has been modified and saved by the
 	 * user since the last build.<br>
@@ -321,12 +363,103 @@ public class CMakeBuildConfiguration extends CBuildConfiguration {
 	 */
 	private void processCompileCommandsFile(IConsole console, IProgressMonitor monitor) throws CoreException {
 		IFile file = getBuildContainer().getFile(new org.eclipse.core.runtime.Path("compile_commands.json")); //$NON-NLS-1$
-		CompileCommandsJsonParser parser = new CompileCommandsJsonParser(
-				new ParseRequest(file, new CMakeIndexerInfoConsumer(this::setScannerInformation),
-						CommandLauncherManager.getInstance().getCommandLauncher(this), console));
+		CMakeIndexerInfoConsumer consumer = PIPELINED
+				? new CMakeIndexerInfoConsumer(this::setScannerInformation, getPublishedScannerInformation(),
+						missedResources, this::notifyScannerInformationPublished)
+				: new CMakeIndexerInfoConsumer(this::setScannerInformation);
+		CompileCommandsJsonParser parser = new CompileCommandsJsonParser(new ParseRequest(file, consumer,
+				CommandLauncherManager.getInstance().getCommandLauncher(this), console));
 		parser.parse(monitor);
 	}
 
+	/**
+	 * Gets the scanner information the indexer sees, as a map that the scanner information of
+	 * the source files is put into while the compile_commands.json file is processed.
+	 */
+	private Map<IResource, IScannerInfo> getPublishedScannerInformation() {
+		synchronized (compileCommandsLock) {
+			Map<IResource, IScannerInfo> infos = infoPerResource;
+			if (!(infos instanceof ConcurrentHashMap)) {
+				infos = infos == null ? new ConcurrentHashMap<>() : new ConcurrentHashMap<>(infos);
+				infoPerResource = infos;
+			}
+			return infos;
+		}
+	}
+
+	/**
+	 * Wakes up the threads waiting in {@link #getScannerInformation(IResource)} for the scanner
+	 * information of a source file.
+	 */
+	private void notifyScannerInformationPublished() {
+		synchronized (compileCommandsLock) {
+			compileCommandsLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Processes the compile_commands.json file in a job, so that the scanner information of the
+	 * source files gets to the indexer as soon as it is known. The files of the different build
+	 * configurations are processed concurrently.
+	 */
+	private void scheduleCompileCommandsProcessing() {
+		synchronized (compileCommandsLock) {
+			if (compileCommandsJob != null || infoPerResource != null) {
+				return;
+			}
+			getPublishedScannerInformation();
+			compileCommandsJob = createCompileCommandsJob();
+			compileCommandsJob.schedule();
+		}
+	}
+
+	private Job createCompileCommandsJob() {
+		Job job = new Job(Messages.CMakeBuildConfiguration_ProcCompJson) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				long start = System.currentTimeMillis();
+				try {
+					processCompileCommandsFile(null, monitor);
+				} catch (CoreException e) {
+					return e.getStatus();
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
+				if (DEBUG_TIME) {
+					long known = System.currentTimeMillis();
+					try {
+						CCorePlugin.getIndexManager().joinIndexer(IIndexManager.FOREVER, monitor);
+					} catch (OperationCanceledException e) {
+						// report the time up to now
+					}
+					System.out.printf("Project '%s', configuration '%s': scanner information known after %dms, " //$NON-NLS-1$
+							+ "index ready after %dms%n", getProject().getName(), getName(), known - start, //$NON-NLS-1$
+							System.currentTimeMillis() - start);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		// also runs if the job is canceled before it started
+		job.addJobChangeListener(new JobChangeAdapter() {
+			@Override
+			public void done(IJobChangeEvent event) {
+				synchronized (compileCommandsLock) {
+					if (compileCommandsJob == event.getJob()) {
+						compileCommandsJob = null;
+					}
+					Map<IResource, IScannerInfo> infos = infoPerResource;
+					if (!event.getResult().isOK() && infos != null && infos.isEmpty()) {
+						// nothing known, process the file again when the indexer asks next
+						infoPerResource = null;
+					}
+					compileCommandsLock.notifyAll();
+				}
+			}
+		});
+		return job;
+	}
+
 	/**
 	 * Recursively removes any files and directories found below the specified Path.
 	 */
@@ -383,13 +516,53 @@ public class CMakeBuildConfiguration extends CBuildConfiguration {
 	public IScannerInfo getScannerInformation(IResource resource) {
 		if (infoPerResource == null) {
 			// no build was run yet, nothing detected
-			try {
-				processCompileCommandsFile(null, new NullProgressMonitor());
-			} catch (CoreException e) {
-				Activator.log(e);
+			if (PIPELINED) {
+				scheduleCompileCommandsProcessing();
+			} else {
+				try {
+					processCompileCommandsFile(null, new NullProgressMonitor());
+				} catch (CoreException e) {
+					Activator.log(e);
+				}
 			}
 		}
-		return infoPerResource == null ? null : infoPerResource.get(resource);
+		if (PIPELINED) {
+			return waitForScannerInformation(resource);
+		}
+		Map<IResource, IScannerInfo> infos = infoPerResource;
+		return infos == null ? null : infos.get(resource);
+	}
+
+	/**
+	 * Gets the scanner information of a resource. If the compile_commands.json file is being
+	 * processed in a job and the scanner information of the resource is not known yet, waits until
+	 * it is known or the processing is done, rather than until all source files are known. The
+	 * wait ends early if the job is canceled or the thread is interrupted, and is bounded by
+	 * {@link #SCANNER_INFO_WAIT_MILLIS}.
+	 */
+	private IScannerInfo waitForScannerInformation(IResource resource) {
+		synchronized (compileCommandsLock) {
+			Map<IResource, IScannerInfo> infos = infoPerResource;
+			IScannerInfo info = infos == null ? null : infos.get(resource);
+			long deadline = System.currentTimeMillis() + SCANNER_INFO_WAIT_MILLIS;
+			while (info == null && compileCommandsJob != null) {
+				long timeout = deadline - System.currentTimeMillis();
+				if (timeout <= 0) {
+					// the index of the resource is updated once its information is known
+					missedResources.add(resource);
+					break;
+				}
+				try {
+					compileCommandsLock.wait(timeout);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+				infos = infoPerResource;
+				info = infos == null ? null : infos.get(resource);
+			}
+			return info;
+		}
 	}
 
 	private void setScannerInformation(Map<IResource, IScannerInfo> infoPerResource) {
@@ -487,19 +660,63 @@ public class CMakeBuildConfiguration extends CBuildConfiguration {
 		project.deleteMarkers(ICMakeExecutionMarkerFactory.CMAKE_PROBLEM_MARKER_ID, false, IResource.DEPTH_INFINITE);
 	}
 
-	private static class CMakeIndexerInfoConsumer implements ISourceFileInfoConsumer {
+	static class CMakeIndexerInfoConsumer implements ISourceFileInfoConsumer {
+		/**
+		 * the number of source files with changed scanner information the indexer is asked to
+		 * update at once in pipelined mode
+		 */
+		private static final int UPDATE_BATCH_SIZE = 256;
+
 		/**
 		 * gathered IScannerInfo objects or <code>null</code> if no new IScannerInfo was received
 		 */
 		private Map<IResource, IScannerInfo> infoPerResource = new HashMap<>();
 		private boolean haveUpdates;
 		private final Consumer<Map<IResource, IScannerInfo>> resultSetter;
+		/**
+		 * the scanner information seen by the indexer, updated as soon as an IScannerInfo is
+		 * received, or <code>null</code> if not pipelined
+		 */
+		private final Map<IResource, IScannerInfo> publishedInfos;
+		/**
+		 * the source files the indexer gave up waiting for, or <code>null</code> if not pipelined
+		 */
+		private final Set<IResource> missedResources;
+		private final Runnable publishListener;
+		/**
+		 * the source files whose scanner information changed since the indexer was last asked to
+		 * update
+		 */
+		private final List<IFile> changedFiles = new ArrayList<>();
 
 		/**
 		 * @param resultSetter receives the all scanner information when processing is finished
 		 */
 		public CMakeIndexerInfoConsumer(Consumer<Map<IResource, IScannerInfo>> resultSetter) {
 			this.resultSetter = Objects.requireNonNull(resultSetter);
+			this.publishedInfos = null;
+			this.missedResources = null;
+			this.publishListener = null;
+		}
+
+		/**
+		 * Creates a consumer that passes the scanner information on to the indexer while
+		 * processing.
+		 *
+		 * @param resultSetter    receives the all scanner information when processing is finished
+		 * @param publishedInfos  the scanner information seen by the indexer
+		 * @param missedResources the source files the indexer gave up waiting for, removed when
+		 *                        their scanner information is received
+		 * @param publishListener notified each time an IScannerInfo was put into
+		 *                        {@code publishedInfos}
+		 */
+		public CMakeIndexerInfoConsumer(Consumer<Map<IResource, IScannerInfo>> resultSetter,
+				Map<IResource, IScannerInfo> publishedInfos, Set<IResource> missedResources,
+				Runnable publishListener) {
+			this.resultSetter = Objects.requireNonNull(resultSetter);
+			this.publishedInfos = Objects.requireNonNull(publishedInfos);
+			this.missedResources = Objects.requireNonNull(missedResources);
+			this.publishListener = Objects.requireNonNull(publishListener);
 		}
 
 		@Override
@@ -513,6 +730,44 @@ public class CMakeBuildConfiguration extends CBuildConfiguration {
 						includeFiles.stream().toArray(String[]::new), includePaths.stream().toArray(String[]::new));
 				infoPerResource.put(file, info);
 				haveUpdates = true;
+				if (publishedInfos != null) {
+					IScannerInfo oldInfo = publishedInfos.put(file, info);
+					publishListener.run();
+					// files without scanner information so far are waited for by the indexer, unless
+					// it gave up
+					if (oldInfo != null ? !isSameScannerInfo(oldInfo, info) : missedResources.remove(file)) {
+						changedFiles.add(file);
+						if (changedFiles.size() >= UPDATE_BATCH_SIZE) {
+							updateIndex();
+						}
+					}
+				}
+			}
+		}
+
+		private static boolean isSameScannerInfo(IScannerInfo oldInfo, ExtendedScannerInfo info) {
+			return oldInfo instanceof IExtendedScannerInfo
+					&& Arrays.equals(oldInfo.getIncludePaths(), info.getIncludePaths())
+					&& oldInfo.getDefinedSymbols().equals(info.getDefinedSymbols())
+					&& Arrays.equals(((IExtendedScannerInfo) oldInfo).getLocalIncludePath(),
+							info.getLocalIncludePath())
+					&& Arrays.equals(((IExtendedScannerInfo) oldInfo).getMacroFiles(), info.getMacroFiles())
+					&& Arrays.equals(((IExtendedScannerInfo) oldInfo).getIncludeFiles(), info.getIncludeFiles());
+		}
+
+		/**
+		 * Asks the indexer to update the source files whose scanner information changed.
+		 */
+		private void updateIndex() {
+			ICElement[] tus = changedFiles.stream().map(CoreModel.getDefault()::create).filter(Objects::nonNull)
+					.toArray(ICElement[]::new);
+			changedFiles.clear();
+			if (tus.length > 0) {
+				try {
+					CCorePlugin.getIndexManager().update(tus, IIndexManager.UPDATE_ALL);
+				} catch (CoreException e) {
+					Activator.log(e);
+				}
 			}
 		}
 
@@ -536,14 +791,53 @@ public class CMakeBuildConfiguration extends CBuildConfiguration {
 			return file;
 		}
 
+		/**
+		 * Passes all scanner information on, as the file was processed completely. In pipelined
+		 * mode, forgets the source files that are no longer built, and the files the indexer gave
+		 * up waiting for which are not built, such as header files.
+		 */
 		@Override
 		public void shutdown() {
 			if (haveUpdates) {
 				// we received updates
-				resultSetter.accept(infoPerResource);
+				if (publishedInfos != null) {
+					// forget the source files that are no longer built
+					for (Iterator<IResource> it = publishedInfos.keySet().iterator(); it.hasNext();) {
+						IResource resource = it.next();
+						if (!infoPerResource.containsKey(resource)) {
+							it.remove();
+							if (resource instanceof IFile) {
+								changedFiles.add((IFile) resource);
+							}
+						}
+					}
+					updateIndex();
+					resultSetter.accept(publishedInfos);
+				} else {
+					resultSetter.accept(infoPerResource);
+				}
 				infoPerResource = null;
 				haveUpdates = false;
 			}
+			if (missedResources != null) {
+				// their scanner information will not be received
+				missedResources.clear();
+			}
+		}
+
+		/**
+		 * Discards the scanner information received, as it covers only a part of the source
+		 * files. In pipelined mode, the information published so far is kept and the indexer is
+		 * asked to update the files it changed, but no source file is forgotten. The files the
+		 * indexer gave up waiting for are kept until the file is processed completely.
+		 */
+		@Override
+		public void abort() {
+			if (publishedInfos != null) {
+				updateIndex();
+			}
+			infoPerResource = null;
+			haveUpdates = false;
 		}
 	} // CMakeIndexerInfoConsumer
 
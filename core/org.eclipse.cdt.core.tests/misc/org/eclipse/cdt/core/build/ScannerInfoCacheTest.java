@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.build;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
+import org.eclipse.cdt.core.parser.IExtendedScannerInfo;
+import org.eclipse.cdt.core.parser.IncludeExportPatterns;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the scanner info cache is read back as it was written.
+ */
+public class ScannerInfoCacheTest {
+	private static final List<String> COMMAND1 = Arrays.asList("gcc", "-DA=1", "-I/usr/include/a", "-c");
+	private static final List<String> COMMAND2 = Arrays.asList("g++", "-std=c++17", "-c");
+
+	private IProject testProject;
+
+	@Before
+	public void setup() throws Exception {
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		testProject = root.getProject("scannerInfoCacheProj");
+		testProject.create(new NullProgressMonitor());
+		testProject.open(new NullProgressMonitor());
+	}
+
+	@After
+	public void shutdown() throws Exception {
+		if (testProject != null) {
+			testProject.delete(true, true, new NullProgressMonitor());
+		}
+	}
+
+	private static ScannerInfoCache writeAndRead(ScannerInfoCache cache) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			cache.write(out);
+		}
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return ScannerInfoCache.read(in);
+		}
+	}
+
+	private static void assertInfoEquals(IExtendedScannerInfo expected, IExtendedScannerInfo actual) {
+		assertNotNull(actual);
+		assertEquals(expected.getDefinedSymbols(), actual.getDefinedSymbols());
+		assertArrayEquals(expected.getIncludePaths(), actual.getIncludePaths());
+		assertArrayEquals(expected.getLocalIncludePath(), actual.getLocalIncludePath());
+		assertArrayEquals(expected.getIncludeFiles(), actual.getIncludeFiles());
+		assertArrayEquals(expected.getMacroFiles(), actual.getMacroFiles());
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		IFile file1 = testProject.getFile("a.c");
+		IFile file2 = testProject.getFile("b.c");
+		IFile file3 = testProject.getFile("c.cpp");
+
+		Map<String, String> symbols = new HashMap<>();
+		symbols.put("A", "1");
+		symbols.put("EMPTY", "");
+		ExtendedScannerInfo info1 = new ExtendedScannerInfo(symbols, new String[] { "/usr/include/a", "/shared" },
+				new String[] { "/macros.h" }, new String[] { "/include.h" }, new String[] { "/local" });
+		info1.setIncludeExportPatterns(new IncludeExportPatterns("export", "begin_exports", null));
+		// Shares an include path with the first command
+		ExtendedScannerInfo info2 = new ExtendedScannerInfo(new HashMap<>(), new String[] { "/shared" });
+
+		ScannerInfoCache cache = new ScannerInfoCache();
+		cache.initCache();
+		cache.addScannerInfo(COMMAND1, info1, file1);
+		cache.addScannerInfo(COMMAND1, info1, file2);
+		cache.addScannerInfo(COMMAND2, info2, file3);
+
+		ScannerInfoCache read = writeAndRead(cache);
+		assertNotNull(read);
+		read.initCache();
+
+		assertTrue(read.hasCommand(COMMAND1));
+		assertTrue(read.hasCommand(COMMAND2));
+		assertFalse(read.hasCommand(Arrays.asList("cc", "-c")));
+		assertTrue(read.hasResource(COMMAND1, file1));
+		assertTrue(read.hasResource(COMMAND1, file2));
+		assertTrue(read.hasResource(COMMAND2, file3));
+		assertFalse(read.hasResource(COMMAND2, file1));
+
+		assertInfoEquals(info1, read.getScannerInfo(file1));
+		assertInfoEquals(info1, read.getScannerInfo(file2));
+		assertInfoEquals(info2, read.getScannerInfo(file3));
+
+		IncludeExportPatterns patterns = ((ExtendedScannerInfo) read.getScannerInfo(file1))
+				.getIncludeExportPatterns();
+		assertNotNull(patterns);
+		assertEquals("export", patterns.getIncludeExportPattern().pattern());
+		assertEquals("begin_exports", patterns.getIncludeBeginExportsPattern().pattern());
+		assertNull(patterns.getIncludeEndExportsPattern());
+		assertNull(((ExtendedScannerInfo) read.getScannerInfo(file3)).getIncludeExportPatterns());
+
+		// The cache read back is written the same way.
+		ScannerInfoCache readAgain = writeAndRead(read);
+		readAgain.initCache();
+		assertInfoEquals(info1, readAgain.getScannerInfo(file2));
+	}
+
+	@Test
+	public void testOtherVersion() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(-1);
+		}
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertNull(ScannerInfoCache.read(in));
+		}
+	}
+}
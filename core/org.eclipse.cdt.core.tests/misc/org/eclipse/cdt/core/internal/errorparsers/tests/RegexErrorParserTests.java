@@ -37,6 +37,7 @@ import org.eclipse.cdt.core.testplugin.ResourceHelper;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
 import org.eclipse.cdt.internal.errorparsers.ErrorParserExtensionManager;
 import org.eclipse.cdt.internal.errorparsers.GASErrorParser;
+import org.eclipse.cdt.internal.errorparsers.RegexPrefilter;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -743,4 +744,35 @@ public class RegexErrorParserTests extends BaseTestCase5 {
 		assertEquals(0, errorList.size());
 	}
 
+	/**
+	 * Check the text which lines must contain to be matched by a pattern.
+	 *
+	 * @throws Exception...
+	 */
+	@Test
+	public void testRegexPrefilter() throws Exception {
+		assertEquals(":", RegexPrefilter.getRequiredText("(.*?):(\\d+):(\\d*:)? (.*)"));
+		assertEquals("undefined reference to ", RegexPrefilter.getRequiredText("(.*)undefined reference to (.*)"));
+		assertEquals(": ", RegexPrefilter.getRequiredText("^(.*ld)s?: (.*)$"));
+		assertEquals("warning", RegexPrefilter.getRequiredText("[Ww]arning\\s*warning"));
+		assertEquals("a.b", RegexPrefilter.getRequiredText("a\\.b+c*"));
+		assertNull(RegexPrefilter.getRequiredText("error|warning"));
+		assertNull(RegexPrefilter.getRequiredText("(?i)error"));
+		assertNull(RegexPrefilter.getRequiredText("\\x41\\x42"));
+		assertNull(RegexPrefilter.getRequiredText("(unbalanced"));
+
+		// Lines without the text are not matched, the others as before
+		RegexErrorParser regexErrorParser = new RegexErrorParser();
+		regexErrorParser.addPattern(new RegexErrorPattern("(.*):(\\d+): (.*)", "$1", "$2", "$3", null,
+				IMarkerGenerator.SEVERITY_ERROR_RESOURCE, true));
+
+		errorList.clear();
+		ErrorParserManager epManager = new ErrorParserManager(fProject, markerGenerator, new String[0]);
+
+		assertFalse(regexErrorParser.processLine("file.c:12 no space", epManager));
+		assertTrue(regexErrorParser.processLine("file.c:12: message", epManager));
+		assertEquals(1, errorList.size());
+		assertEquals("message", errorList.get(0).description);
+	}
+
 }
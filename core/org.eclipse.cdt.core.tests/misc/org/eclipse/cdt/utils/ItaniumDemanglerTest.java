@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.utils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Checks that {@link ItaniumDemangler} demangles the symbols as c++filt does.
+ */
+public class ItaniumDemanglerTest extends TestCase {
+
+	/** Symbols and their demangled names, as printed by c++filt */
+	private static final String[][] SYMBOLS = {
+			// Operators, constructors and destructors
+			{ "_ZN1AcviEv", "A::operator int()" },
+			{ "_ZStlsISt11char_traitsIcEERSt13basic_ostreamIcT_ES5_PKc",
+					"std::basic_ostream<char, std::char_traits<char> >& std::operator<< <std::char_traits<char> >(std::basic_ostream<char, std::char_traits<char> >&, char const*)" },
+			{ "_ZdlPv", "operator delete(void*)" }, { "_Znwm", "operator new(unsigned long)" },
+			{ "_ZdaPv", "operator delete[](void*)" }, { "_ZN1AixEi", "A::operator[](int)" },
+			{ "_ZN1AclEv", "A::operator()()" }, { "_ZN1AplERKS_", "A::operator+(A const&)" },
+			{ "_ZN1AD0Ev", "A::~A()" }, { "_ZN1AC2ERKS_", "A::A(A const&)" }, { "_ZN1AIiEC1Ev", "A<int>::A()" },
+			{ "_ZNSsC1Ev",
+					"std::basic_string<char, std::char_traits<char>, std::allocator<char> >::basic_string()" },
+			{ "_ZNSt7__cxx1112basic_stringIcSt11char_traitsIcESaIcEEC1Ev",
+					"std::__cxx11::basic_string<char, std::char_traits<char>, std::allocator<char> >::basic_string()" },
+			{ "_ZNKSt6vectorIiSaIiEE4sizeEv", "std::vector<int, std::allocator<int> >::size() const" },
+			{ "_ZNO1A1fEv", "A::f() &&" }, { "_ZNR1A1fEv", "A::f() &" },
+			// Local, unnamed and lambda names
+			{ "_ZZ4mainENKUlvE_clEv", "main::{lambda()#1}::operator()() const" },
+			{ "_ZZ4mainENKUliE0_clEi", "main::{lambda(int)#2}::operator()(int) const" },
+			{ "_ZN12_GLOBAL__N_11fEv", "(anonymous namespace)::f()" }, { "_ZN1AUt_E", "A::{unnamed type#1}" },
+			{ "_Z1fIN1AUt0_EEvv", "void f<A::{unnamed type#2}>()" }, { "_ZZ1fvE1x_0", "f()::x" },
+			{ "_ZZ1fvEs", "f()::string literal" }, { "_ZZ1fIiEvvE1x", "f<int>()::x" },
+			// Types
+			{ "_Z1fDn", "f(decltype(nullptr))" }, { "_Z1fDF16_", "f(_Float16)" }, { "_Z1fCd", "f(double _Complex)" },
+			{ "_Z1fu3foo", "f(foo)" }, { "_Z1fPVKi", "f(int const volatile*)" },
+			{ "_Z1fSs", "f(std::basic_string<char, std::char_traits<char>, std::allocator<char> >)" },
+			{ "_Z1fM1AKFvvE", "f(void (A::*)() const)" }, { "_Z1fPA10_i", "f(int (*) [10])" },
+			{ "_Z1fRA10_i", "f(int (&) [10])" }, { "_Z1fPFviE", "f(void (*)(int))" },
+			{ "_Z1fPFPFviEiE", "f(void (*(*)(int))(int))" }, { "_Z1fM1Ai", "f(int A::*)" },
+			{ "_Z1fPDoFvvE", "f(void (*)() noexcept)" }, { "_Z1fB5cxx11v", "f[abi:cxx11]()" },
+			{ "_Z1fiz", "f(int, ...)" }, { "_Z1fPKcS0_", "f(char const*, char const*)" },
+			// Templates, parameter packs and literals
+			{ "_Z1fIiEvT_", "void f<int>(int)" },
+			{ "_Z1fIJidEEvDpRKT_", "void f<int, double>(int const&, double const&)" },
+			{ "_Z1fIJEEvDpT_", "void f<>()" }, { "_Z1fILi5EEvv", "void f<5>()" },
+			{ "_Z1fILm5EEvv", "void f<5ul>()" }, { "_Z1fILb1EEvv", "void f<true>()" },
+			{ "_Z1fILc97EEvv", "void f<(char)97>()" }, { "_Z1fILin5EEvv", "void f<-5>()" },
+			{ "_ZNSt6vectorIcSaIcEE17_M_realloc_insertIJRKcEEEvN9__gnu_cxx17__normal_iteratorIPcS1_EEDpOT_",
+					"void std::vector<char, std::allocator<char> >::_M_realloc_insert<char const&>(__gnu_cxx::__normal_iterator<char*, std::vector<char, std::allocator<char> > >, char const&)" },
+			// Clones and special names
+			{ "_Z3foov.constprop.0.isra.1", "foo() [clone .constprop.0] [clone .isra.1]" },
+			{ "_Z3foov.cold", "foo() [clone .cold]" },
+			{ "_GLOBAL__I_main", "global constructors keyed to main" },
+			{ "_ZTCN10__cxxabiv117__class_type_infoE0_NS_17__pbase_type_infoE",
+					"construction vtable for __cxxabiv1::__pbase_type_info-in-__cxxabiv1::__class_type_info" },
+			{ "_ZThn8_N1B1fEv", "non-virtual thunk to B::f()" },
+			{ "_ZTv0_n24_N1B1fEv", "virtual thunk to B::f()" }, { "_ZTI1A", "typeinfo for A" },
+			{ "_ZTS1A", "typeinfo name for A" }, { "_ZTV1A", "vtable for A" }, { "_ZTT1A", "VTT for A" },
+			{ "_ZGVZ4mainE1x", "guard variable for main::x" }, { "_ZTW1x", "TLS wrapper function for x" }, };
+
+	public static Test suite() {
+		return new TestSuite(ItaniumDemanglerTest.class);
+	}
+
+	public void testDemangle() {
+		for (String[] symbol : SYMBOLS) {
+			assertEquals(symbol[0], symbol[1], ItaniumDemangler.demangle(symbol[0]));
+		}
+	}
+
+	public void testNotDemangled() {
+		// Not mangled
+		assertNull(ItaniumDemangler.demangle("main"));
+		assertNull(ItaniumDemangler.demangle("_GLOBAL__sub_I_main.cpp"));
+		// Invalid
+		assertNull(ItaniumDemangler.demangle("_Z"));
+		assertNull(ItaniumDemangler.demangle("_ZN1A"));
+		assertNull(ItaniumDemangler.demangle("_Z1fS_"));
+		// Expressions are not supported
+		assertNull(ItaniumDemangler.demangle("_Z1fILi1EEvDTplfp_Li1EE"));
+		assertEquals("main", ItaniumDemangler.getFunction("main"));
+	}
+
+	public void testDemangleArray() {
+		String[] names = ItaniumDemangler.demangle(new String[] { "_ZdlPv", "main", "_ZTV1A" });
+		assertEquals(3, names.length);
+		assertEquals("operator delete(void*)", names[0]);
+		assertNull(names[1]);
+		assertEquals("vtable for A", names[2]);
+	}
+
+	/**
+	 * Returns distinct mangled symbols, which are not in the cache of the
+	 * demangler.
+	 */
+	private static String[] createSymbols(String prefix, int count) {
+		String[] symbols = new String[count];
+		for (int i = 0; i < symbols.length; i++) {
+			String name = prefix + i;
+			symbols[i] = "_ZN2ns" + name.length() + name + "IiEEvRKSt6vectorIT_SaIS2_EE"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return symbols;
+	}
+
+	/**
+	 * Compares the results with c++filt, if it is installed.
+	 */
+	public void testCompareWithCPPFilt() throws IOException {
+		CPPFilt cppfilt;
+		try {
+			cppfilt = new CPPFilt();
+		} catch (IOException e) {
+			return;
+		}
+		try {
+			String[] symbols = createSymbols("name", 5000); //$NON-NLS-1$
+
+			String[] expected = new String[symbols.length];
+			for (int i = 0; i < symbols.length; i++) {
+				expected[i] = cppfilt.getFunction(symbols[i]);
+			}
+			String[] actual = ItaniumDemangler.demangle(symbols);
+
+			for (int i = 0; i < symbols.length; i++) {
+				assertEquals(symbols[i], expected[i], actual[i]);
+			}
+		} finally {
+			cppfilt.dispose();
+		}
+	}
+
+	/**
+	 * Measures the throughput of the demangler and of c++filt, if it is
+	 * installed, on the same symbols.  The times are only reported, since
+	 * they depend on the machine running the tests.
+	 */
+	public void testThroughputComparedWithCPPFilt() throws IOException {
+		CPPFilt cppfilt;
+		try {
+			cppfilt = new CPPFilt();
+		} catch (IOException e) {
+			return;
+		}
+		try {
+			// Warm up both, so that neither is measured starting.
+			for (String symbol : createSymbols("warmup", 1000)) { //$NON-NLS-1$
+				cppfilt.getFunction(symbol);
+			}
+			ItaniumDemangler.demangle(createSymbols("warmup", 1000)); //$NON-NLS-1$
+
+			String[] symbols = createSymbols("throughput", 20000); //$NON-NLS-1$
+			long start = System.nanoTime();
+			for (String symbol : symbols) {
+				cppfilt.getFunction(symbol);
+			}
+			long cppfiltTime = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			ItaniumDemangler.demangle(symbols);
+			long demanglerTime = System.nanoTime() - start;
+
+			System.out.println("Demangled " + symbols.length + " symbols: c++filt " //$NON-NLS-1$ //$NON-NLS-2$
+					+ TimeUnit.NANOSECONDS.toMillis(cppfiltTime) + " ms, ItaniumDemangler " //$NON-NLS-1$
+					+ TimeUnit.NANOSECONDS.toMillis(demanglerTime) + " ms"); //$NON-NLS-1$
+		} finally {
+			cppfilt.dispose();
+		}
+	}
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.utils.debug.dwarf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.internal.core.dwarf.DwarfIndexCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the cache of the source files and line tables read from the DWARF 5
+ * debug information of a binary.
+ */
+public class DwarfIndexCacheTest {
+
+	private static final String DWARF5_BINARY = "resources/elf/unit_test/simple-dwarf5.elf";
+
+	private File fBinary;
+	private File fIndexDir;
+	private final List<File> fFakeEntries = new ArrayList<>();
+
+	@Before
+	public void setUp() throws IOException {
+		fBinary = File.createTempFile("dwarf-index-test", ".elf");
+		Files.copy(Paths.get(DWARF5_BINARY), fBinary.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		fIndexDir = CCorePlugin.getDefault().getStateLocation().append("dwarf-index").toFile();
+		fIndexDir.mkdirs();
+	}
+
+	@After
+	public void tearDown() {
+		fBinary.delete();
+		for (File entry : fFakeEntries) {
+			entry.delete();
+		}
+	}
+
+	private String[] readSourceFiles(File binary) throws IOException {
+		try (DwarfReader reader = new DwarfReader(binary.getAbsolutePath())) {
+			return reader.getSourceFiles();
+		}
+	}
+
+	private File createFakeEntry(String name, long lastModified) throws IOException {
+		File entry = new File(fIndexDir, name);
+		Files.write(entry.toPath(), new byte[] { 0 });
+		entry.setLastModified(lastModified);
+		fFakeEntries.add(entry);
+		return entry;
+	}
+
+	private int countEntries() {
+		return fIndexDir.list((dir, name) -> name.endsWith(".idx")).length;
+	}
+
+	/**
+	 * Renames the source file in the debug information of the binary, without
+	 * changing its size or time stamp.
+	 */
+	private void renameSourceFile() throws IOException {
+		long lastModified = fBinary.lastModified();
+		byte[] content = Files.readAllBytes(fBinary.toPath());
+		byte[] from = "simple.c".getBytes(StandardCharsets.US_ASCII);
+		byte[] to = "simplx.c".getBytes(StandardCharsets.US_ASCII);
+		for (int i = 0; i <= content.length - from.length; i++) {
+			boolean found = true;
+			for (int j = 0; j < from.length && found; j++) {
+				found = content[i + j] == from[j];
+			}
+			if (found) {
+				System.arraycopy(to, 0, content, i, to.length);
+			}
+		}
+		Files.write(fBinary.toPath(), content);
+		fBinary.setLastModified(lastModified);
+	}
+
+	@Test
+	public void testSourceFilesCached() throws IOException {
+		String[] sourceFiles = readSourceFiles(fBinary);
+		assertEquals(1, sourceFiles.length);
+		assertTrue(sourceFiles[0].endsWith("simple.c"));
+
+		// The binary looks unchanged, so the cached source files are used.
+		renameSourceFile();
+		sourceFiles = readSourceFiles(fBinary);
+		assertEquals(1, sourceFiles.length);
+		assertTrue(sourceFiles[0].endsWith("simple.c"));
+
+		// A new time stamp invalidates the cached source files.
+		fBinary.setLastModified(fBinary.lastModified() + TimeUnit.SECONDS.toMillis(10));
+		sourceFiles = readSourceFiles(fBinary);
+		assertEquals(1, sourceFiles.length);
+		assertTrue(sourceFiles[0].endsWith("simplx.c"));
+	}
+
+	private DwarfLineTable readLineTable(File binary) throws IOException {
+		try (DwarfReader reader = new DwarfReader(binary.getAbsolutePath())) {
+			return reader.getLineTable();
+		}
+	}
+
+	@Test
+	public void testLineTableCached() throws IOException {
+		DwarfLineTable lineTable = readLineTable(fBinary);
+		assertFalse(lineTable.isEmpty());
+		long main = 0x113b;
+		assertTrue(lineTable.getFileName(main).endsWith("simple.c"));
+		int line = lineTable.getLineNumber(main);
+		assertTrue(line > 0);
+
+		// The binary looks unchanged, so the cached line table is used.
+		renameSourceFile();
+		lineTable = readLineTable(fBinary);
+		assertTrue(lineTable.getFileName(main).endsWith("simple.c"));
+		assertEquals(line, lineTable.getLineNumber(main));
+
+		// A new time stamp invalidates the cached line table.
+		fBinary.setLastModified(fBinary.lastModified() + TimeUnit.SECONDS.toMillis(10));
+		lineTable = readLineTable(fBinary);
+		assertTrue(lineTable.getFileName(main).endsWith("simplx.c"));
+		assertEquals(line, lineTable.getLineNumber(main));
+	}
+
+	@Test
+	public void testUnusedEntriesDeleted() throws IOException {
+		long now = System.currentTimeMillis();
+		File unused = createFakeEntry("unused-test.idx", now - TimeUnit.DAYS.toMillis(31));
+		File used = createFakeEntry("used-test.idx", now - TimeUnit.DAYS.toMillis(1));
+
+		DwarfIndexCache.prune();
+
+		assertFalse(unused.exists());
+		assertTrue(used.exists());
+	}
+
+	@Test
+	public void testNumberOfEntriesBounded() throws IOException {
+		long oldest = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+		File[] entries = new File[DwarfIndexCache.MAX_ENTRIES];
+		for (int i = 0; i < DwarfIndexCache.MAX_ENTRIES; i++) {
+			entries[i] = createFakeEntry("bounded-test-" + i + ".idx", oldest + TimeUnit.SECONDS.toMillis(i));
+		}
+
+		// The entry of the binary is the most recently used one.
+		readSourceFiles(fBinary);
+		DwarfIndexCache.prune();
+
+		assertEquals(DwarfIndexCache.MAX_ENTRIES, countEntries());
+		assertFalse(entries[0].exists());
+		assertTrue(entries[DwarfIndexCache.MAX_ENTRIES - 1].exists());
+	}
+}
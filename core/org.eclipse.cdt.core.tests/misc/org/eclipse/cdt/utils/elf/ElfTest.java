@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Ericsson
+ * Copyright (c) 2020, 2026 Ericsson
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -11,21 +11,35 @@
 package org.eclipse.cdt.utils.elf;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.eclipse.cdt.core.IAddress;
+import org.eclipse.cdt.core.IBinaryParser.IBinaryFile;
+import org.eclipse.cdt.core.IBinaryParser.ISymbol;
 import org.eclipse.cdt.core.ISymbolReader;
+import org.eclipse.cdt.utils.debug.dwarf.DwarfLineTable;
+import org.eclipse.cdt.utils.debug.dwarf.DwarfReader;
 import org.eclipse.cdt.utils.elf.Elf.Attribute;
 import org.eclipse.cdt.utils.elf.Elf.Section;
 import org.eclipse.cdt.utils.elf.Elf.Symbol;
+import org.eclipse.cdt.utils.elf.parser.ElfBinaryObject;
+import org.eclipse.core.runtime.Path;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -79,6 +93,7 @@ public class ElfTest {
 	private final String memoryArchitecture;
 	private final String arch;
 	private final Elf elf;
+	private final String path;
 	private final int nbSections;
 	private final String symtabBaseAddress;
 	private final String dynsymBaseAddress;
@@ -93,6 +108,7 @@ public class ElfTest {
 		memoryArchitecture = mArch;
 		nbSections = sections;
 		elf = new Elf(path);
+		this.path = path;
 		arch = architecture;
 		symtabBaseAddress = symBaseAddress;
 		dynsymBaseAddress = dynBaseAddress;
@@ -148,6 +164,118 @@ public class ElfTest {
 		assertEquals(arch + ": " + "Main address", mainAddress, symbol.st_value.toHexAddressString());
 	}
 
+	/**
+	 * Test the mapped symbol table, which must have the same symbols, in the
+	 * same order, as the loaded symbols.
+	 * @throws IOException
+	 */
+	@Test
+	public void testMapSymbolTable() throws IOException {
+		ElfSymbolTable table = elf.mapSymbolTable();
+		assertNotNull(arch + ": " + "Symbol table is mapped", table);
+		elf.loadSymbols();
+		Symbol[] symbols = elf.getSymbols();
+		assertEquals(nbSymbols, table.size());
+		int main = -1;
+		for (int i = 0; i < symbols.length; i++) {
+			assertEquals(arch + ": " + "Symbol name", symbols[i].toString(), table.getName(i));
+			assertEquals(arch + ": " + "Symbol address", symbols[i].st_value, table.getAddress(i));
+			assertEquals(arch + ": " + "Symbol size", symbols[i].st_size, table.getSize(i));
+			assertEquals(arch + ": " + "Symbol info", symbols[i].st_info, table.getInfo(i));
+			if (table.getName(i).equals("main")) {
+				main = i;
+			}
+		}
+		assertTrue(arch + ": " + "main is found", main >= 0);
+		assertEquals(arch + ": " + "Main address", mainAddress, table.getAddress(main).toHexAddressString());
+		// An address inside main is in main.
+		int found = table.findSymbol(table.getAddress(main).add(1));
+		assertEquals(arch + ": " + "Symbol at address", mainAddress, table.getAddress(found).toHexAddressString());
+	}
+
+	/**
+	 * Test that the binary object finds the same symbols by address in the
+	 * mapped symbol table as in its loaded symbols.
+	 */
+	@Test
+	public void testBinaryObjectGetSymbol() {
+		ElfBinaryObject loaded = new ElfBinaryObject(null, new Path(path), IBinaryFile.EXECUTABLE);
+		ISymbol[] symbols = loaded.getSymbols();
+		assertTrue(arch + ": " + "Symbols are loaded", symbols.length > 0);
+		for (ISymbol symbol : symbols) {
+			IAddress last = symbol.getAddress().add(Math.max(0, symbol.getSize() - 1));
+			ElfBinaryObject mapped = new ElfBinaryObject(null, new Path(path), IBinaryFile.EXECUTABLE);
+			ISymbol found = mapped.getSymbol(symbol.getAddress());
+			assertNotNull(arch + ": " + "Symbol at " + symbol.getAddress(), found);
+			assertEquals(arch + ": " + "Symbol address", symbol.getAddress(), found.getAddress());
+			assertEquals(arch + ": " + "Symbol at end of " + symbol.getName(), loaded.getSymbol(last).getAddress(),
+					mapped.getSymbol(last).getAddress());
+		}
+	}
+
+	/**
+	 * Test that a symbol with a size that does not fit in a signed value does
+	 * not fail the loading of the other symbols.
+	 * @throws IOException
+	 */
+	@Test
+	public void testLargeSymbolSize() throws IOException {
+		boolean is64 = memoryArchitecture.endsWith("64");
+		Section symtab = elf.getSectionByName(SYMTAB_NAME);
+		byte[] names = elf.getSections()[(int) symtab.sh_link].loadSectionData();
+		ByteBuffer symbols = ByteBuffer.wrap(symtab.loadSectionData());
+		symbols.order(memoryArchitecture.startsWith("LE") ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+		int mainOffset = -1;
+		for (int offset = 0; offset < symbols.capacity(); offset += (int) symtab.sh_entsize) {
+			int name = symbols.getInt(offset);
+			if (name > 0 && name + 5 <= names.length
+					&& new String(names, name, 5, StandardCharsets.US_ASCII).equals("main\0")) {
+				mainOffset = offset;
+			}
+		}
+		assertTrue(arch + ": " + "main is found", mainOffset >= 0);
+
+		// Set the highest bit of the size of main.
+		File copy = File.createTempFile("large-symbol-size", ".elf");
+		try {
+			byte[] content = Files.readAllBytes(Paths.get(elf.getFilename()));
+			ByteBuffer buffer = ByteBuffer.wrap(content).order(symbols.order());
+			int sizeOffset = (int) symtab.sh_offset + mainOffset + (is64 ? 16 : 8);
+			if (is64) {
+				buffer.putLong(sizeOffset, Long.MIN_VALUE);
+			} else {
+				buffer.putInt(sizeOffset, Integer.MIN_VALUE);
+			}
+			Files.write(copy.toPath(), content);
+
+			Elf largeElf = new Elf(copy.getAbsolutePath());
+			try {
+				largeElf.loadSymbols();
+				Symbol[] loaded = largeElf.getSymbols();
+				Symbol main = null;
+				for (Symbol symbol : loaded) {
+					if (symbol.toString().equals("main")) {
+						main = symbol;
+					}
+				}
+				if (is64) {
+					// The size is malformed, so main is skipped.
+					assertEquals(nbSymbols - 1, loaded.length);
+					assertNull(arch + ": " + "main is skipped", main);
+				} else {
+					// The size is unsigned.
+					assertEquals(nbSymbols, loaded.length);
+					assertNotNull(arch + ": " + "main is found", main);
+					assertEquals(arch + ": " + "Size of main", 0x80000000L, main.st_size);
+				}
+			} finally {
+				largeElf.dispose();
+			}
+		} finally {
+			copy.delete();
+		}
+	}
+
 	@Test
 	public void testGetAttributes() throws IOException {
 		Attribute attributes = elf.getAttributes();
@@ -180,4 +308,37 @@ public class ElfTest {
 		assertTrue(arch + ": " + "Source file name", sourceFiles[0].endsWith("simple.c"));
 	}
 
+	/**
+	 * Test the line table, which the lines of the symbols are read from
+	 * instead of running addr2line.
+	 */
+	@Test
+	public void testLineTable() throws IOException {
+		ElfSymbolTable symbols = elf.mapSymbolTable();
+		int main = -1;
+		for (int i = 0; i < symbols.size(); i++) {
+			if (symbols.getName(i).equals("main")) {
+				main = i;
+			}
+		}
+		assertTrue(arch + ": " + "main is found", main >= 0);
+		try (DwarfReader reader = new DwarfReader(elf)) {
+			DwarfLineTable lineTable = reader.getLineTable();
+			assertFalse(arch + ": " + "Line table is empty", lineTable.isEmpty());
+			// On ppc64 the main symbol is a function descriptor, not code.
+			if (!arch.equals("ppc64")) {
+				IAddress address = symbols.getAddress(main);
+				assertTrue(arch + ": " + "Source file of main",
+						lineTable.getFileName(address).endsWith("simple.c"));
+				assertTrue(arch + ": " + "Line of main", lineTable.getLineNumber(address) > 0);
+				IAddress end = address.add(symbols.getSize(main) - 1);
+				assertTrue(arch + ": " + "Last line of main",
+						lineTable.getLineNumber(end) >= lineTable.getLineNumber(address));
+			}
+			// The table does not extend before the code.
+			assertNull(arch + ": " + "No source file", lineTable.getFileName(0));
+			assertEquals(arch + ": " + "No line", -1, lineTable.getLineNumber(0));
+		}
+	}
+
 }
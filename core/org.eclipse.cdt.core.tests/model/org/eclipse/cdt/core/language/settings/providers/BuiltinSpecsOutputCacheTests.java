@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.cdt.core.language.settings.providers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.core.CommandLauncher;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+
+import junit.framework.TestSuite;
+
+/**
+ * Test cases testing {@link BuiltinSpecsOutputCache}.
+ */
+public class BuiltinSpecsOutputCacheTests extends BaseTestCase {
+	private static final String[] ENVP = { "PATH=/usr/bin", "LC_ALL=C.UTF-8", "HOME=/home/user" };
+
+	private File compiler;
+
+	public static TestSuite suite() {
+		return suite(BuiltinSpecsOutputCacheTests.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		compiler = File.createTempFile("gcc", ".exe");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		compiler.delete();
+		super.tearDown();
+	}
+
+	private String createKey(String inputFile, String... envp) {
+		return BuiltinSpecsOutputCache.createKey(null, compiler.getPath(),
+				List.of("-E", "-P", "-v", "-dM", inputFile), inputFile, envp, null);
+	}
+
+	private static String toString(BuiltinSpecsOutputCache.Output output) throws IOException {
+		return new String(output.getOutput().readAllBytes(), StandardCharsets.UTF_8) + '|'
+				+ new String(output.getErrorOutput().readAllBytes(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * The key does not depend on the input file or environment variables
+	 * which do not change the output of the compiler.
+	 */
+	public void testKey() throws Exception {
+		String key = createKey("/project1/spec.cpp", ENVP);
+		assertNotNull(key);
+		assertEquals(key, createKey("/project2/build/spec.cpp", ENVP));
+		assertEquals(key, createKey("/project1/spec.cpp", "PATH=/usr/bin", "LC_ALL=C.UTF-8", "HOME=/root"));
+		assertFalse(key.equals(createKey("/project1/spec.c", ENVP)));
+		assertFalse(key.equals(createKey("/project1/spec.cpp", "PATH=/usr/local/bin", "LC_ALL=C.UTF-8")));
+		assertFalse(key.equals(createKey("/project1/spec.cpp", "PATH=/usr/bin", "LC_ALL=C.UTF-8", "CPATH=/inc")));
+
+		// the compiler changed
+		assertTrue(compiler.setLastModified(compiler.lastModified() - 10000));
+		assertFalse(key.equals(createKey("/project1/spec.cpp", ENVP)));
+	}
+
+	/**
+	 * The working directory is part of the key only if the compiler or one of
+	 * its arguments is a relative path.
+	 */
+	public void testKeyWithRelativePaths() throws Exception {
+		File dir1 = new File("/project1/build");
+		File dir2 = new File("/project2/build");
+		List<String> absolute = List.of("-E", "-v", "-dM", "-std=c++17", "-x", "c++", "-I/usr/include/extra",
+				"--sysroot=/opt/sysroot", "/project1/spec.cpp");
+		assertEquals(BuiltinSpecsOutputCache.createKey(null, compiler.getPath(), absolute, "/project1/spec.cpp", ENVP,
+				dir1),
+				BuiltinSpecsOutputCache.createKey(null, compiler.getPath(), absolute, "/project1/spec.cpp", ENVP,
+						dir2));
+
+		for (List<String> relative : List.of(List.of("-E", "-dM", "-Iinclude"), List.of("-E", "-dM", "-I", "include"),
+				List.of("-E", "-dM", "--sysroot=sysroot"), List.of("-E", "-dM", "-include", "config.h"),
+				List.of("-E", "-dM", "../spec.c"))) {
+			String key1 = BuiltinSpecsOutputCache.createKey(null, compiler.getPath(), relative, null, ENVP, dir1);
+			assertNotNull(relative.toString(), key1);
+			assertFalse(relative.toString(), key1.equals(
+					BuiltinSpecsOutputCache.createKey(null, compiler.getPath(), relative, null, ENVP, dir2)));
+			// the output is not cached without the working directory
+			assertNull(relative.toString(),
+					BuiltinSpecsOutputCache.createKey(null, compiler.getPath(), relative, null, ENVP, null));
+		}
+
+		// a relative compiler is found in the working directory
+		assertEquals(BuiltinSpecsOutputCache.createKey(null, compiler.getPath(), List.of("-dM"), null, ENVP, null),
+				BuiltinSpecsOutputCache.createKey(null, "./" + compiler.getName(), List.of("-dM"), null, ENVP,
+						compiler.getParentFile()));
+	}
+
+	/**
+	 * The output is not cached if the compiler cannot be checked for changes.
+	 */
+	public void testNoKey() throws Exception {
+		assertNull(BuiltinSpecsOutputCache.createKey(null, compiler.getPath() + ".missing", List.of("-dM"), null,
+				ENVP, null));
+		assertNull(BuiltinSpecsOutputCache.createKey(new CommandLauncher() {
+		}, compiler.getPath(), List.of("-dM"), null, ENVP, null));
+		assertNotNull(BuiltinSpecsOutputCache.createKey(new CommandLauncher(), compiler.getPath(), List.of("-dM"),
+				null, ENVP, null));
+	}
+
+	/**
+	 * Only the output of successful detections is cached.
+	 */
+	public void testGetOutput() throws Exception {
+		BuiltinSpecsOutputCache cache = BuiltinSpecsOutputCache.getInstance();
+		String key = createKey("/project/spec.c", ENVP);
+		AtomicInteger runs = new AtomicInteger();
+
+		BuiltinSpecsOutputCache.Output output = cache.getOutput(key, (out, err) -> {
+			runs.incrementAndGet();
+			out.write("#define A 1\n".getBytes());
+			return false;
+		});
+		assertEquals("#define A 1\n|", toString(output));
+
+		for (int i = 0; i < 2; i++) {
+			output = cache.getOutput(key, (out, err) -> {
+				runs.incrementAndGet();
+				out.write("#define A 2\n".getBytes());
+				err.write("/usr/include\n".getBytes());
+				return true;
+			});
+			assertEquals("#define A 2\n|/usr/include\n", toString(output));
+		}
+		assertEquals(2, runs.get());
+	}
+
+	/**
+	 * Detections of the same key which run at the same time run the compiler
+	 * once.
+	 */
+	public void testCoalesced() throws Exception {
+		BuiltinSpecsOutputCache cache = BuiltinSpecsOutputCache.getInstance();
+		String key = createKey("/project/spec.c", ENVP);
+		AtomicInteger runs = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<BuiltinSpecsOutputCache.Output> first = executor.submit(() -> cache.getOutput(key, (out, err) -> {
+				runs.incrementAndGet();
+				started.countDown();
+				try {
+					assertTrue(finish.await(10, TimeUnit.SECONDS));
+				} catch (InterruptedException e) {
+					return false;
+				}
+				out.write("#define B 1\n".getBytes());
+				return true;
+			}));
+			assertTrue(started.await(10, TimeUnit.SECONDS));
+			List<Future<BuiltinSpecsOutputCache.Output>> others = List.of(
+					executor.submit(() -> cache.getOutput(key, (out, err) -> {
+						runs.incrementAndGet();
+						return true;
+					})), executor.submit(() -> cache.getOutput(key, (out, err) -> {
+						runs.incrementAndGet();
+						return true;
+					})));
+			finish.countDown();
+			assertEquals("#define B 1\n|", toString(first.get(10, TimeUnit.SECONDS)));
+			for (Future<BuiltinSpecsOutputCache.Output> other : others) {
+				assertEquals("#define B 1\n|", toString(other.get(10, TimeUnit.SECONDS)));
+			}
+			assertEquals(1, runs.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
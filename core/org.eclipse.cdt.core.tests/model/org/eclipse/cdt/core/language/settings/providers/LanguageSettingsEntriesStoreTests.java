@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.cdt.core.language.settings.providers;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.settings.model.CIncludePathEntry;
+import org.eclipse.cdt.core.settings.model.CMacroEntry;
+import org.eclipse.cdt.core.settings.model.ICLanguageSettingEntry;
+import org.eclipse.cdt.core.settings.model.ICSettingEntry;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.language.settings.providers.LanguageSettingsEntriesStore;
+import org.eclipse.cdt.internal.core.language.settings.providers.LanguageSettingsSerializableStorage;
+import org.w3c.dom.Element;
+
+import junit.framework.TestSuite;
+
+/**
+ * Test cases testing {@link LanguageSettingsEntriesStore}.
+ */
+public class LanguageSettingsEntriesStoreTests extends BaseTestCase {
+	private static final String CFG_ID = "test.configuration.id";
+	private static final String CFG_ID_2 = "test.configuration.id.2";
+	private static final String PROVIDER_1 = "test.provider.1.id";
+	private static final String PROVIDER_2 = "test.provider.2.id";
+	private static final String LANG_ID = "test.lang.id";
+
+	private File file;
+
+	public static TestSuite suite() {
+		return suite(LanguageSettingsEntriesStoreTests.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		file = File.createTempFile("language.settings", ".dat");
+		file.delete();
+		LanguageSettingsEntriesStore.reset();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		LanguageSettingsEntriesStore.reset();
+		file.delete();
+		super.tearDown();
+	}
+
+	/**
+	 * Create a storage with entries for the given number of files sharing few lists of entries.
+	 */
+	private static LanguageSettingsStorage createStorage(int files, String macroValue) {
+		LanguageSettingsSerializableStorage storage = new LanguageSettingsSerializableStorage();
+		List<ICLanguageSettingEntry> common = new ArrayList<>();
+		common.add(new CIncludePathEntry("/usr/include", 0));
+		common.add(new CIncludePathEntry("include", ICSettingEntry.VALUE_WORKSPACE_PATH));
+		common.add(new CMacroEntry("VALUE", macroValue, 0));
+		storage.setSettingEntries(null, null, common);
+		storage.setSettingEntries(null, LANG_ID, common);
+		for (int i = 0; i < files; i++) {
+			List<ICLanguageSettingEntry> entries = new ArrayList<>(common);
+			entries.add(new CMacroEntry("MODULE_" + i % 10, null, ICSettingEntry.BUILTIN));
+			storage.setSettingEntries("src/file" + i + ".c", LANG_ID, entries);
+		}
+		return storage;
+	}
+
+	private static Map<String, Map<String, LanguageSettingsStorage>> createEntries(String cfgId, String providerId,
+			LanguageSettingsStorage storage) {
+		Map<String, Map<String, LanguageSettingsStorage>> entries = new HashMap<>();
+		entries.computeIfAbsent(cfgId, id -> new HashMap<>()).put(providerId, storage);
+		return entries;
+	}
+
+	private LanguageSettingsEntriesStore reopen() {
+		LanguageSettingsEntriesStore.reset();
+		return LanguageSettingsEntriesStore.getStore(file);
+	}
+
+	/**
+	 * Entries are loaded the same as they were saved.
+	 */
+	public void testRoundTrip() throws Exception {
+		LanguageSettingsStorage storage = createStorage(100, "1");
+		LanguageSettingsEntriesStore store = LanguageSettingsEntriesStore.getStore(file);
+		Map<String, Map<String, LanguageSettingsStorage>> entries = createEntries(CFG_ID, PROVIDER_1, storage);
+		entries.get(CFG_ID).put(PROVIDER_2, new LanguageSettingsSerializableStorage());
+		store.save(entries);
+		assertTrue(file.exists());
+
+		store = reopen();
+		assertTrue(store.hasEntries(CFG_ID, PROVIDER_1));
+		assertTrue(store.hasEntries(CFG_ID, PROVIDER_2));
+		assertFalse(store.hasEntries(CFG_ID_2, PROVIDER_1));
+
+		LanguageSettingsStorage loaded = store.getEntries(CFG_ID, PROVIDER_1);
+		assertEquals(storage, loaded);
+		// the lists of entries are shared between resources
+		assertSame(loaded.getSettingEntries("src/file0.c", LANG_ID),
+				loaded.getSettingEntries("src/file10.c", LANG_ID));
+		assertTrue(store.getEntries(CFG_ID, PROVIDER_2).isEmpty());
+
+		LanguageSettingsSerializableProvider provider = new LanguageSettingsSerializableProvider(PROVIDER_1,
+				PROVIDER_1);
+		assertTrue(store.loadEntries(CFG_ID, provider));
+		assertEquals(storage, provider.copyStorage());
+		assertFalse(store.loadEntries(CFG_ID_2, provider));
+	}
+
+	/**
+	 * Only the entries which changed are appended to the file.
+	 */
+	public void testDelta() throws Exception {
+		LanguageSettingsEntriesStore store = LanguageSettingsEntriesStore.getStore(file);
+		Map<String, Map<String, LanguageSettingsStorage>> entries = createEntries(CFG_ID, PROVIDER_1,
+				createStorage(100, "1"));
+		entries.computeIfAbsent(CFG_ID_2, id -> new HashMap<>()).put(PROVIDER_1, createStorage(100, "1"));
+		store.save(entries);
+		long size = file.length();
+		assertEquals(size, store.getFileSize());
+
+		// nothing changed
+		store = reopen();
+		store.save(entries);
+		assertEquals(size, file.length());
+
+		// one provider changed
+		entries.get(CFG_ID).put(PROVIDER_1, createStorage(100, "2"));
+		store.save(entries);
+		assertTrue(file.length() > size);
+		assertTrue(file.length() < size * 2);
+		assertEquals(file.length(), store.getFileSize());
+
+		// one provider removed
+		size = file.length();
+		entries.remove(CFG_ID_2);
+		store.save(entries);
+		assertTrue(file.length() > size);
+		assertTrue(file.length() < size + 100);
+
+		store = reopen();
+		assertEquals(entries.get(CFG_ID).get(PROVIDER_1), store.getEntries(CFG_ID, PROVIDER_1));
+		assertFalse(store.hasEntries(CFG_ID_2, PROVIDER_1));
+
+		// no entries left
+		store.save(new HashMap<>());
+		assertFalse(file.exists());
+	}
+
+	/**
+	 * The file is rewritten once it is mostly taken by replaced entries.
+	 */
+	public void testCompaction() throws Exception {
+		LanguageSettingsEntriesStore store = LanguageSettingsEntriesStore.getStore(file);
+		long maxSize = 0;
+		for (int i = 0; i < 50; i++) {
+			store.save(createEntries(CFG_ID, PROVIDER_1, createStorage(1000, Integer.toString(i))));
+			if (i == 0) {
+				maxSize = file.length() * 4;
+			}
+			assertTrue(file.length() <= Math.max(maxSize, 3 * 64 * 1024));
+		}
+		store = reopen();
+		assertEquals(createStorage(1000, "49"), store.getEntries(CFG_ID, PROVIDER_1));
+	}
+
+	/**
+	 * A partial record at the end of the file is dropped and the file is rewritten on the next save.
+	 */
+	public void testPartialRecord() throws Exception {
+		LanguageSettingsEntriesStore store = LanguageSettingsEntriesStore.getStore(file);
+		Map<String, Map<String, LanguageSettingsStorage>> entries = createEntries(CFG_ID, PROVIDER_1,
+				createStorage(10, "1"));
+		store.save(entries);
+		long size = file.length();
+		entries.computeIfAbsent(CFG_ID, id -> new HashMap<>()).put(PROVIDER_2, createStorage(10, "2"));
+		store.save(entries);
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(raf.length() - 10);
+		}
+
+		store = reopen();
+		assertEquals(entries.get(CFG_ID).get(PROVIDER_1), store.getEntries(CFG_ID, PROVIDER_1));
+		assertFalse(store.hasEntries(CFG_ID, PROVIDER_2));
+
+		store.save(createEntries(CFG_ID, PROVIDER_1, createStorage(10, "1")));
+		assertEquals(size, file.length());
+		store = reopen();
+		assertEquals(entries.get(CFG_ID).get(PROVIDER_1), store.getEntries(CFG_ID, PROVIDER_1));
+	}
+
+	/**
+	 * Providers customizing how their entries are kept in XML are not kept in the binary store.
+	 */
+	public void testIsSupported() throws Exception {
+		assertTrue(LanguageSettingsEntriesStore.isSupported(new LanguageSettingsSerializableProvider()));
+		assertTrue(LanguageSettingsEntriesStore.isSupported(new LanguageSettingsGenericProvider()));
+		assertFalse(LanguageSettingsEntriesStore.isSupported(new LanguageSettingsSerializableProvider() {
+			@Override
+			public void loadEntries(Element providerNode) {
+				super.loadEntries(providerNode);
+			}
+		}));
+	}
+}
@@ -705,6 +705,73 @@ public class LanguageSettingsManagerTests extends BaseTestCase {
 		assertEquals(5, result.size());
 	}
 
+	/**
+	 * Test that entries of providers are retrieved as pooled lists, not copied.
+	 */
+	public void testEntriesOfProviders() throws Exception {
+		MockConfigurationDescription cfgDescription = new MockConfigurationDescription(CFG_ID);
+
+		// contribute the entries
+		List<ICLanguageSettingEntry> entries0 = new ArrayList<>();
+		entries0.add(new CIncludePathEntry("path0", 0));
+		entries0.add(new CMacroEntry("MACRO0", "value0", 0));
+		List<ICLanguageSettingEntry> entries1 = new ArrayList<>();
+		entries1.add(new CIncludePathEntry("path0", ICSettingEntry.LOCAL));
+		entries1.add(new CIncludePathEntry("path1", ICSettingEntry.LOCAL));
+
+		List<ILanguageSettingsProvider> providers = new ArrayList<>();
+		providers.add(new MockProvider(PROVIDER_0, PROVIDER_NAME_0, entries0));
+		providers.add(new MockProvider(PROVIDER_1, PROVIDER_NAME_1, entries1));
+		providers.add(new MockProvider(PROVIDER_2, PROVIDER_NAME_2, new ArrayList<>(entries0)));
+		cfgDescription.setLanguageSettingProviders(providers);
+
+		List<List<ICLanguageSettingEntry>> providersEntries = LanguageSettingsProvidersSerializer
+				.getSettingEntriesOfProviders(cfgDescription, FILE_0, LANG_ID);
+		assertEquals(3, providersEntries.size());
+		assertEquals(entries0, providersEntries.get(0));
+		assertEquals(entries1, providersEntries.get(1));
+		// equal lists are the same pooled list
+		assertSame(providersEntries.get(0), providersEntries.get(2));
+		assertSame(providersEntries.get(0), LanguageSettingsStorage.getPooledList(providersEntries.get(0)));
+		assertSame(providersEntries.get(0), LanguageSettingsStorage.getPooledList(entries0));
+
+		// filtered by kind the same as without retrieving the entries first
+		List<ICLanguageSettingEntry> includes = LanguageSettingsProvidersSerializer
+				.getSettingEntriesByKind(providersEntries, ICSettingEntry.INCLUDE_PATH, true, true);
+		assertEquals(entries1.get(1), includes.get(0));
+		assertEquals(1, includes.size());
+		assertEquals(
+				LanguageSettingsProvidersSerializer.getSettingEntriesByKind(cfgDescription, FILE_0, LANG_ID,
+						ICSettingEntry.ALL),
+				LanguageSettingsProvidersSerializer.getSettingEntriesByKind(providersEntries, ICSettingEntry.ALL,
+						false, false));
+	}
+
+	/**
+	 * Test that pooled lists cannot be modified and do not change with the original list.
+	 */
+	public void testPooledList() throws Exception {
+		List<ICLanguageSettingEntry> entries = new ArrayList<>();
+		entries.add(new CIncludePathEntry("path0", 0));
+		entries.add(new CMacroEntry("MACRO0", "value0", 0));
+
+		List<ICLanguageSettingEntry> pooled = LanguageSettingsStorage.getPooledList(entries);
+		assertEquals(entries, pooled);
+		assertEquals(entries.hashCode(), pooled.hashCode());
+		try {
+			pooled.add(new CIncludePathEntry("path1", 0));
+			fail("Pooled list must be unmodifiable");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		entries.add(new CIncludePathEntry("path1", 0));
+		assertEquals(2, pooled.size());
+		assertNotSame(pooled, LanguageSettingsStorage.getPooledList(entries));
+		assertSame(LanguageSettingsStorage.getPooledEmptyList(),
+				LanguageSettingsStorage.getPooledList(new ArrayList<ICLanguageSettingEntry>()));
+	}
+
 	/**
 	 * Test ability to serialize providers for a configuration.
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2020 Andrew Gvozdev and others.
+ * Copyright (c) 2009, 2026 Andrew Gvozdev and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,9 +21,12 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.settings.model.CIncludePathEntry;
@@ -35,6 +38,7 @@ import org.eclipse.cdt.core.testplugin.CModelMock;
 import org.eclipse.cdt.core.testplugin.ResourceHelper;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
 import org.eclipse.cdt.internal.core.XmlUtil;
+import org.eclipse.cdt.internal.core.language.settings.providers.LanguageSettingsEntriesStore;
 import org.eclipse.cdt.internal.core.language.settings.providers.LanguageSettingsProvidersSerializer;
 import org.eclipse.cdt.internal.core.settings.model.CProjectDescriptionManager;
 import org.eclipse.core.resources.IFile;
@@ -61,6 +65,7 @@ public class LanguageSettingsPersistenceProjectTests extends BaseTestCase5 {
 	// Constants from LanguageSettingsProvidersSerializer
 	public static final String LANGUAGE_SETTINGS_PROJECT_XML = ".settings/language.settings.xml";
 	public static final String LANGUAGE_SETTINGS_WORKSPACE_XML = "language.settings.xml";
+	public static final String LANGUAGE_SETTINGS_WORKSPACE_BINARY = "language.settings.dat";
 
 	// Arbitrary sample parameters used by the test
 	private static final String CFG_ID = "test.configuration.id.0";
@@ -1517,6 +1522,195 @@ public class LanguageSettingsPersistenceProjectTests extends BaseTestCase5 {
 		}
 	}
 
+	/**
+	 * Create a project description with a provider keeping its entries in the workspace area.
+	 */
+	private MockProjectDescription createSplitStorageDescription(List<ICLanguageSettingEntry> entries) {
+		MockProjectDescription mockPrjDescription = new MockProjectDescription(
+				new MockConfigurationDescription(CFG_ID));
+		ICConfigurationDescription cfgDescription = mockPrjDescription.getConfigurations()[0];
+
+		LanguageSettingsSerializableProvider serializableProvider = new LanguageSettingsSerializableProvider(
+				PROVIDER_0, PROVIDER_NAME_0);
+		serializableProvider.setSettingEntries(null, null, null, entries);
+		// do not store entries inside project
+		LanguageSettingsManager.setStoringEntriesInProjectArea(serializableProvider, false);
+
+		ArrayList<ILanguageSettingsProvider> providers = new ArrayList<>();
+		providers.add(serializableProvider);
+		((ILanguageSettingsProvidersKeeper) cfgDescription).setLanguageSettingProviders(providers);
+		return mockPrjDescription;
+	}
+
+	/**
+	 * Load language settings from the DOM and the binary store and get the entries of the provider.
+	 */
+	private List<ICLanguageSettingEntry> loadSplitStorageEntries(Element prjStorageElement,
+			Element wspStorageElement, LanguageSettingsEntriesStore store) {
+		MockProjectDescription mockPrjDescription = new MockProjectDescription(
+				new MockConfigurationDescription(CFG_ID));
+		LanguageSettingsProvidersSerializer.loadLanguageSettingsInternal(prjStorageElement, wspStorageElement, store,
+				mockPrjDescription);
+
+		ICConfigurationDescription cfgDescription = mockPrjDescription.getConfigurations()[0];
+		List<ILanguageSettingsProvider> providers = ((ILanguageSettingsProvidersKeeper) cfgDescription)
+				.getLanguageSettingProviders();
+		assertNotNull(providers);
+		assertEquals(1, providers.size());
+		ILanguageSettingsProvider provider = providers.get(0);
+		assertTrue(provider instanceof LanguageSettingsSerializableProvider);
+		assertEquals(PROVIDER_0, provider.getId());
+		return provider.getSettingEntries(null, null, null);
+	}
+
+	/**
+	 * Test case when the entries of the workspace area are kept in the binary store.
+	 */
+	@Test
+	public void testProjectPersistence_BinaryStoreDOM() throws Exception {
+		File file = File.createTempFile("language.settings", ".dat");
+		file.delete();
+		LanguageSettingsEntriesStore.reset();
+		try {
+			List<ICLanguageSettingEntry> entries = new ArrayList<>();
+			entries.add(new CIncludePathEntry("path0", 0));
+
+			// serialize language settings to the DOM and the binary store
+			Document prjDoc = XmlUtil.newDocument();
+			Element prjStorageElement = XmlUtil.appendElement(prjDoc, ELEM_TEST);
+			Document wspDoc = XmlUtil.newDocument();
+			Element wspStorageElement = XmlUtil.appendElement(wspDoc, ELEM_TEST);
+			Map<String, Map<String, LanguageSettingsStorage>> entriesWsp = new HashMap<>();
+			LanguageSettingsProvidersSerializer.serializeLanguageSettingsInternal(prjStorageElement, wspStorageElement,
+					entriesWsp, createSplitStorageDescription(entries));
+			assertEquals(1, entriesWsp.size());
+			assertTrue(entriesWsp.get(CFG_ID).containsKey(PROVIDER_0));
+			LanguageSettingsEntriesStore.getStore(file).save(entriesWsp);
+
+			// the entries are not in the DOM
+			List<ICLanguageSettingEntry> actual = loadSplitStorageEntries(prjStorageElement, wspStorageElement, null);
+			assertTrue(actual == null || actual.isEmpty());
+
+			// re-load the entries from the binary store read again from the file
+			LanguageSettingsEntriesStore.reset();
+			actual = loadSplitStorageEntries(prjStorageElement, wspStorageElement,
+					LanguageSettingsEntriesStore.getStore(file));
+			assertEquals(entries, actual);
+		} finally {
+			LanguageSettingsEntriesStore.reset();
+			file.delete();
+		}
+	}
+
+	/**
+	 * Test that entries kept in the DOM of the workspace area move to the binary store.
+	 */
+	@Test
+	public void testProjectPersistence_MigrationToBinaryStoreDOM() throws Exception {
+		File file = File.createTempFile("language.settings", ".dat");
+		file.delete();
+		LanguageSettingsEntriesStore.reset();
+		try {
+			List<ICLanguageSettingEntry> entries = new ArrayList<>();
+			entries.add(new CIncludePathEntry("path0", 0));
+
+			// serialize language settings to the DOM only, as without the binary store
+			Document prjDoc = XmlUtil.newDocument();
+			Element prjStorageElement = XmlUtil.appendElement(prjDoc, ELEM_TEST);
+			Document wspDoc = XmlUtil.newDocument();
+			Element wspStorageElement = XmlUtil.appendElement(wspDoc, ELEM_TEST);
+			LanguageSettingsProvidersSerializer.serializeLanguageSettingsInternal(prjStorageElement, wspStorageElement,
+					createSplitStorageDescription(entries));
+
+			// the binary store has no entries yet, they are loaded from the DOM
+			LanguageSettingsEntriesStore store = LanguageSettingsEntriesStore.getStore(file);
+			assertFalse(store.hasEntries(CFG_ID, PROVIDER_0));
+			MockProjectDescription mockPrjDescription = new MockProjectDescription(
+					new MockConfigurationDescription(CFG_ID));
+			LanguageSettingsProvidersSerializer.loadLanguageSettingsInternal(prjStorageElement, wspStorageElement,
+					store, mockPrjDescription);
+
+			// serialize again, the entries move to the binary store
+			Document prjDoc2 = XmlUtil.newDocument();
+			Element prjStorageElement2 = XmlUtil.appendElement(prjDoc2, ELEM_TEST);
+			Document wspDoc2 = XmlUtil.newDocument();
+			Element wspStorageElement2 = XmlUtil.appendElement(wspDoc2, ELEM_TEST);
+			Map<String, Map<String, LanguageSettingsStorage>> entriesWsp = new HashMap<>();
+			LanguageSettingsProvidersSerializer.serializeLanguageSettingsInternal(prjStorageElement2,
+					wspStorageElement2, entriesWsp, mockPrjDescription);
+			store.save(entriesWsp);
+			assertTrue(store.hasEntries(CFG_ID, PROVIDER_0));
+
+			List<ICLanguageSettingEntry> actual = loadSplitStorageEntries(prjStorageElement2, wspStorageElement2,
+					null);
+			assertTrue(actual == null || actual.isEmpty());
+			LanguageSettingsEntriesStore.reset();
+			actual = loadSplitStorageEntries(prjStorageElement2, wspStorageElement2,
+					LanguageSettingsEntriesStore.getStore(file));
+			assertEquals(entries, actual);
+		} finally {
+			LanguageSettingsEntriesStore.reset();
+			file.delete();
+		}
+	}
+
+	/**
+	 * Test the binary store in a real project.
+	 */
+	@Test
+	public void testProjectPersistence_RealProjectBinaryStore() throws Exception {
+		boolean wasEnabled = LanguageSettingsEntriesStore.isEnabled();
+		LanguageSettingsEntriesStore.setEnabled(true);
+		try {
+			IProject project = ResourceHelper.createCDTProjectWithConfig(this.getName());
+
+			List<ICLanguageSettingEntry> entries = new ArrayList<>();
+			entries.add(new CIncludePathEntry("path0", 0));
+
+			{
+				ICProjectDescription prjDescriptionWritable = CProjectDescriptionManager.getInstance()
+						.getProjectDescription(project, true);
+				ICConfigurationDescription cfgDescriptionWritable = prjDescriptionWritable.getConfigurations()[0];
+
+				// create a provider keeping its entries in the workspace area
+				LanguageSettingsSerializableProvider mockProvider = new LanguageSettingsSerializableProvider(
+						PROVIDER_0, PROVIDER_NAME_0);
+				LanguageSettingsManager.setStoringEntriesInProjectArea(mockProvider, false);
+				mockProvider.setSettingEntries(cfgDescriptionWritable, null, null, entries);
+				List<ILanguageSettingsProvider> providers = new ArrayList<>();
+				providers.add(mockProvider);
+				((ILanguageSettingsProvidersKeeper) cfgDescriptionWritable).setLanguageSettingProviders(providers);
+
+				CProjectDescriptionManager.getInstance().setProjectDescription(project, prjDescriptionWritable);
+				File binaryStorageFileWsp = new File(getStoreLocationInWorkspaceArea(
+						project.getName() + '.' + LANGUAGE_SETTINGS_WORKSPACE_BINARY));
+				assertTrue(binaryStorageFileWsp.exists());
+			}
+			{
+				// close the project and forget the store read so far
+				project.close(null);
+				CProjectDescriptionManager.getInstance().projectClosedRemove(project);
+				LanguageSettingsEntriesStore.reset();
+			}
+			{
+				// open project and check if the entries are loaded from the binary store
+				project.open(null);
+				ICConfigurationDescription cfgDescription = getFirstConfigurationDescription(project);
+				List<ILanguageSettingsProvider> providers = ((ILanguageSettingsProvidersKeeper) cfgDescription)
+						.getLanguageSettingProviders();
+				assertEquals(1, providers.size());
+				ILanguageSettingsProvider loadedProvider = providers.get(0);
+				assertEquals(PROVIDER_0, loadedProvider.getId());
+
+				List<ICLanguageSettingEntry> actual = loadedProvider.getSettingEntries(cfgDescription, null, null);
+				assertEquals(entries, actual);
+			}
+		} finally {
+			LanguageSettingsEntriesStore.setEnabled(wasEnabled);
+			LanguageSettingsEntriesStore.reset();
+		}
+	}
+
 	/**
 	 * Test serialization of providers referring to global shared instance.
 	 */
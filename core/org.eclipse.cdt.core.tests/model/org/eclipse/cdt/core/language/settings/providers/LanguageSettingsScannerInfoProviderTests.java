@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2012 Andrew Gvozdev and others.
+ * Copyright (c) 2009, 2026 Andrew Gvozdev and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.cdt.core.cdtvariables.ICdtVariable;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.LanguageManager;
 import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
@@ -33,6 +34,8 @@ import org.eclipse.cdt.core.settings.model.ICProjectDescription;
 import org.eclipse.cdt.core.settings.model.ICSettingEntry;
 import org.eclipse.cdt.core.testplugin.ResourceHelper;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.cdtvariables.ICoreVariableContextInfo;
+import org.eclipse.cdt.internal.core.cdtvariables.UserDefinedVariableSupplier;
 import org.eclipse.cdt.internal.core.language.settings.providers.LanguageSettingsScannerInfoProvider;
 import org.eclipse.cdt.internal.core.settings.model.CProjectDescriptionManager;
 import org.eclipse.core.resources.IFile;
@@ -296,6 +299,167 @@ public class LanguageSettingsScannerInfoProviderTests extends BaseTestCase {
 		assertEquals(1, actualLocalIncludePath.length);
 	}
 
+	/**
+	 * Test that the scanner info resolved for the same entries is shared between resources.
+	 */
+	public void testSharedResolvedScannerInfo() throws Exception {
+		// create a project
+		IProject project = ResourceHelper.createCDTProjectWithConfig(getName());
+		ICProjectDescription prjDescription = CProjectDescriptionManager.getInstance().getProjectDescription(project,
+				WRITEABLE);
+		assertNotNull(prjDescription);
+		ICConfigurationDescription cfgDescription = prjDescription.getDefaultSettingConfiguration();
+		assertNotNull(cfgDescription);
+		assertTrue(cfgDescription instanceof ILanguageSettingsProvidersKeeper);
+
+		// sample files
+		IFile file1 = ResourceHelper.createFile(project, "file1.c");
+		IFile file2 = ResourceHelper.createFile(project, "file2.c");
+
+		// contribute the entries, a file system path is resolved the same way for any resource
+		IPath includeLocation = ResourceHelper.createTemporaryFolder();
+		CIncludePathEntry includePathEntry = new CIncludePathEntry(includeLocation.toString(), 0);
+		CMacroEntry macroEntry = new CMacroEntry("MACRO", "value", 0);
+
+		List<ICLanguageSettingEntry> entries = new ArrayList<>();
+		entries.add(includePathEntry);
+		entries.add(macroEntry);
+
+		// add provider to the configuration
+		ILanguageSettingsProvider provider = new MockProvider(PROVIDER_ID, PROVIDER_NAME, entries);
+		List<ILanguageSettingsProvider> providers = new ArrayList<>();
+		providers.add(provider);
+		((ILanguageSettingsProvidersKeeper) cfgDescription).setLanguageSettingProviders(providers);
+
+		// set project description
+		CProjectDescriptionManager.getInstance().setProjectDescription(project, prjDescription);
+
+		// the files get their own scanner infos sharing the resolved entries
+		LanguageSettingsScannerInfoProvider scannerInfoProvider = new LanguageSettingsScannerInfoProvider();
+		ExtendedScannerInfo info1 = scannerInfoProvider.getScannerInformation(file1);
+		ExtendedScannerInfo info2 = scannerInfoProvider.getScannerInformation(file2);
+		assertNotSame(info1, info2);
+		assertSame(info1.getIncludePaths(), info2.getIncludePaths());
+		assertSame(info1.getDefinedSymbols(), info2.getDefinedSymbols());
+		assertEquals(includeLocation, new Path(info1.getIncludePaths()[0]));
+		assertEquals(1, info1.getIncludePaths().length);
+		assertEquals(macroEntry.getValue(), info1.getDefinedSymbols().get(macroEntry.getName()));
+
+		// settings of one of the scanner infos do not affect the other
+		info1.setParserSettings(null);
+		assertNotNull(info2.getParserSettings());
+
+		// changed entries are resolved again
+		CMacroEntry macroEntry2 = new CMacroEntry("MACRO", "value2", 0);
+		entries.set(1, macroEntry2);
+		ExtendedScannerInfo info3 = scannerInfoProvider.getScannerInformation(file1);
+		assertNotSame(info1.getDefinedSymbols(), info3.getDefinedSymbols());
+		assertEquals(macroEntry2.getValue(), info3.getDefinedSymbols().get(macroEntry2.getName()));
+		assertEquals(1, info3.getDefinedSymbols().size());
+	}
+
+	/**
+	 * Test that the scanner info resolved for entries depending on their context, such as
+	 * workspace paths, is shared until the locations of the resources change.
+	 */
+	public void testContextDependentEntriesResolvedAgain() throws Exception {
+		// create a project
+		IProject project = ResourceHelper.createCDTProjectWithConfig(getName());
+		ICProjectDescription prjDescription = CProjectDescriptionManager.getInstance().getProjectDescription(project,
+				WRITEABLE);
+		assertNotNull(prjDescription);
+		ICConfigurationDescription cfgDescription = prjDescription.getDefaultSettingConfiguration();
+		assertNotNull(cfgDescription);
+		assertTrue(cfgDescription instanceof ILanguageSettingsProvidersKeeper);
+
+		// sample file
+		IFile file = ResourceHelper.createFile(project, "file.c");
+
+		// contribute a workspace path of a linked folder
+		IPath location1 = ResourceHelper.createTemporaryFolder();
+		IPath location2 = ResourceHelper.createTemporaryFolder();
+		IFolder linkedFolder = ResourceHelper.createLinkedFolder(project, "linked", location1);
+		CIncludePathEntry includePathEntry = new CIncludePathEntry(linkedFolder, 0);
+
+		List<ICLanguageSettingEntry> entries = new ArrayList<>();
+		entries.add(includePathEntry);
+
+		// add provider to the configuration
+		ILanguageSettingsProvider provider = new MockProvider(PROVIDER_ID, PROVIDER_NAME, entries);
+		List<ILanguageSettingsProvider> providers = new ArrayList<>();
+		providers.add(provider);
+		((ILanguageSettingsProvidersKeeper) cfgDescription).setLanguageSettingProviders(providers);
+
+		// set project description
+		CProjectDescriptionManager.getInstance().setProjectDescription(project, prjDescription);
+
+		LanguageSettingsScannerInfoProvider scannerInfoProvider = new LanguageSettingsScannerInfoProvider();
+		ExtendedScannerInfo info1 = scannerInfoProvider.getScannerInformation(file);
+		assertEquals(location1, new Path(info1.getIncludePaths()[0]));
+		assertSame(info1.getIncludePaths(), scannerInfoProvider.getScannerInformation(file).getIncludePaths());
+
+		// the location of the folder changes while the entries stay the same
+		linkedFolder.createLink(location2, IResource.REPLACE, null);
+		ExtendedScannerInfo info2 = scannerInfoProvider.getScannerInformation(file);
+		assertEquals(location2, new Path(info2.getIncludePaths()[0]));
+		assertEquals(1, info2.getIncludePaths().length);
+	}
+
+	/**
+	 * Test that the scanner info resolved for entries with build variables is shared until the
+	 * variables change.
+	 */
+	public void testVariableEntriesResolvedAgain() throws Exception {
+		// create a project
+		IProject project = ResourceHelper.createCDTProjectWithConfig(getName());
+		ICProjectDescription prjDescription = CProjectDescriptionManager.getInstance().getProjectDescription(project,
+				WRITEABLE);
+		assertNotNull(prjDescription);
+		ICConfigurationDescription cfgDescription = prjDescription.getDefaultSettingConfiguration();
+		assertNotNull(cfgDescription);
+		assertTrue(cfgDescription instanceof ILanguageSettingsProvidersKeeper);
+
+		// sample file
+		IFile file = ResourceHelper.createFile(project, "file.c");
+
+		// contribute a path with a workspace variable
+		String varName = getName() + "_var";
+		IPath location1 = ResourceHelper.createTemporaryFolder();
+		IPath location2 = ResourceHelper.createTemporaryFolder();
+		UserDefinedVariableSupplier varSupplier = UserDefinedVariableSupplier.getInstance();
+		varSupplier.createMacro(varName, ICdtVariable.VALUE_TEXT, location1.toString(),
+				ICoreVariableContextInfo.CONTEXT_WORKSPACE, null);
+		try {
+			CIncludePathEntry includePathEntry = new CIncludePathEntry("${" + varName + "}", 0);
+
+			List<ICLanguageSettingEntry> entries = new ArrayList<>();
+			entries.add(includePathEntry);
+
+			// add provider to the configuration
+			ILanguageSettingsProvider provider = new MockProvider(PROVIDER_ID, PROVIDER_NAME, entries);
+			List<ILanguageSettingsProvider> providers = new ArrayList<>();
+			providers.add(provider);
+			((ILanguageSettingsProvidersKeeper) cfgDescription).setLanguageSettingProviders(providers);
+
+			// set project description
+			CProjectDescriptionManager.getInstance().setProjectDescription(project, prjDescription);
+
+			LanguageSettingsScannerInfoProvider scannerInfoProvider = new LanguageSettingsScannerInfoProvider();
+			ExtendedScannerInfo info1 = scannerInfoProvider.getScannerInformation(file);
+			assertEquals(location1, new Path(info1.getIncludePaths()[0]));
+			assertSame(info1.getIncludePaths(), scannerInfoProvider.getScannerInformation(file).getIncludePaths());
+
+			// the value of the variable changes while the entries stay the same
+			varSupplier.createMacro(varName, ICdtVariable.VALUE_TEXT, location2.toString(),
+					ICoreVariableContextInfo.CONTEXT_WORKSPACE, null);
+			ExtendedScannerInfo info2 = scannerInfoProvider.getScannerInformation(file);
+			assertEquals(location2, new Path(info2.getIncludePaths()[0]));
+			assertEquals(1, info2.getIncludePaths().length);
+		} finally {
+			varSupplier.deleteMacro(varName, ICoreVariableContextInfo.CONTEXT_WORKSPACE, null);
+		}
+	}
+
 	/**
 	 * Test "local" flag (#include "...").
 	 */
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.model.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.model.BinaryCache;
+import org.eclipse.cdt.internal.core.model.BinaryParserConfig;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link BinaryCache}.
+ */
+public class BinaryCacheTests extends BaseTestCase5 {
+
+	private static final String PROJECT_NAME = "BinaryCacheTests";
+	private static final String RENAMED_PROJECT_NAME = "BinaryCacheTestsRenamed";
+	private static final String FILE = "/BinaryCacheTests/a.out";
+	private static final String PARSER = "org.eclipse.cdt.core.ELF";
+
+	private final BinaryParserConfig[] parsers = { new BinaryParserConfig(null, PARSER) };
+	private ICProject fProject;
+
+	@BeforeEach
+	public void createProject() throws CoreException {
+		fProject = CProjectHelper.createCProject(PROJECT_NAME, null);
+	}
+
+	@AfterEach
+	public void deleteProjects() throws CoreException {
+		for (String name : new String[] { PROJECT_NAME, RENAMED_PROJECT_NAME }) {
+			IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+			if (project.exists()) {
+				project.delete(true, true, npm());
+			}
+		}
+	}
+
+	private void store(String path, long length, long lastModified, String parserId) {
+		BinaryCache cache = BinaryCache.load(fProject.getProject(), parsers);
+		cache.put(path, length, lastModified, parserId);
+		cache.save();
+	}
+
+	@Test
+	public void testHit() {
+		store(FILE, 10, 20, PARSER);
+
+		BinaryCache cache = BinaryCache.load(fProject.getProject(), parsers);
+		assertEquals(PARSER, cache.get(FILE, 10, 20));
+		cache.put("/BinaryCacheTests/a.txt", 30, 40, BinaryCache.NOT_BINARY);
+		cache.save();
+
+		// The entries looked up in a run are kept with the new ones.
+		cache = BinaryCache.load(fProject.getProject(), parsers);
+		assertEquals(PARSER, cache.get(FILE, 10, 20));
+		assertEquals(BinaryCache.NOT_BINARY, cache.get("/BinaryCacheTests/a.txt", 30, 40));
+	}
+
+	@Test
+	public void testMiss() {
+		store(FILE, 10, 20, PARSER);
+
+		BinaryCache cache = BinaryCache.load(fProject.getProject(), parsers);
+		assertNull(cache.get("/BinaryCacheTests/b.out", 10, 20));
+		// The file changed since it was probed.
+		assertNull(cache.get(FILE, 11, 20));
+		assertNull(cache.get(FILE, 10, 21));
+	}
+
+	@Test
+	public void testEntriesNotSeenDropped() {
+		store(FILE, 10, 20, PARSER);
+
+		// The file is gone, so it is neither looked up nor probed.
+		BinaryCache.load(fProject.getProject(), parsers).save();
+
+		BinaryCache cache = BinaryCache.load(fProject.getProject(), parsers);
+		assertNull(cache.get(FILE, 10, 20));
+	}
+
+	@Test
+	public void testInvalidatedByOtherParsers() {
+		store(FILE, 10, 20, PARSER);
+
+		BinaryParserConfig[] otherParsers = { new BinaryParserConfig(null, "org.eclipse.cdt.core.PE64") };
+		BinaryCache cache = BinaryCache.load(fProject.getProject(), otherParsers);
+		assertNull(cache.get(FILE, 10, 20));
+	}
+
+	@Test
+	public void testInvalidatedByProjectRename() throws CoreException {
+		store(FILE, 10, 20, PARSER);
+
+		IProject project = fProject.getProject();
+		project.move(project.getFullPath().removeLastSegments(1).append(RENAMED_PROJECT_NAME), true, npm());
+		// A new project with the old name does not see the entries of the renamed one.
+		fProject = CProjectHelper.createCProject(PROJECT_NAME, null);
+
+		BinaryCache cache = BinaryCache.load(fProject.getProject(), parsers);
+		assertNull(cache.get(FILE, 10, 20));
+	}
+
+	@Test
+	public void testInvalidatedByProjectDelete() throws CoreException {
+		store(FILE, 10, 20, PARSER);
+
+		fProject.getProject().delete(IResource.ALWAYS_DELETE_PROJECT_CONTENT, npm());
+		fProject = CProjectHelper.createCProject(PROJECT_NAME, null);
+
+		BinaryCache cache = BinaryCache.load(fProject.getProject(), parsers);
+		assertNull(cache.get(FILE, 10, 20));
+	}
+}
@@ -0,0 +1,466 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.language.settings.providers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.CommandLauncher;
+import org.eclipse.cdt.core.ICommandLauncher;
+import org.eclipse.cdt.utils.PathUtil;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * A workspace-wide cache of the output of the commands which detect the
+ * built-in settings of a compiler, e.g. {@code gcc -E -dM -v}.
+ * <p>
+ * The built-in settings depend on the compiler and the options it runs with,
+ * not on the project, so the projects and configurations using the same
+ * compiler share the output instead of each running the compiler. The output
+ * is kept rather than the settings parsed from it, so that each detector
+ * parses it the same way as the output of the compiler.
+ * </p>
+ * <p>
+ * The key of an output is made of the location, size and time stamp of the
+ * compiler, its arguments and the environment variables which change where
+ * the compiler looks for its files, see {@link #createKey}. Detections with
+ * the same key which run at the same time are coalesced: one of them runs the
+ * compiler, the others wait for its output. The outputs are kept in the state
+ * location of the core plug-in, so that they are shared across sessions.
+ * </p>
+ *
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ * @since 8.2
+ */
+public final class BuiltinSpecsOutputCache {
+	private static final int VERSION = 1;
+	private static final String STORE = "builtinSpecsOutput.dat"; //$NON-NLS-1$
+	/** The maximum number of outputs kept, the least recently used are dropped */
+	private static final int MAX_OUTPUTS = 256;
+	/** Delay of saving the cache after an output was added, to save several at once */
+	private static final long SAVE_DELAY = 5000;
+	/** Replaces the input file of the compiler in the key */
+	private static final String INPUT_FILE = "${INPUTS}"; //$NON-NLS-1$
+
+	/**
+	 * The environment variables, in upper case, which change the output of the
+	 * compiler: the search path of the compiler and its tools, the include
+	 * paths and the language of its messages.
+	 */
+	@SuppressWarnings("nls")
+	private static final Set<String> KEY_VARIABLES = Set.of("PATH", "LANG", "LANGUAGE", "LC_ALL", "LC_CTYPE",
+			"LC_MESSAGES", "CPATH", "C_INCLUDE_PATH", "CPLUS_INCLUDE_PATH", "OBJC_INCLUDE_PATH", "GCC_EXEC_PREFIX",
+			"COMPILER_PATH", "SDKROOT", "DEVELOPER_DIR", "INCLUDE", "CL", "_CL_");
+
+	/**
+	 * The options of the compilers whose value is a path, given in the same
+	 * argument (e.g. {@code -Iinc}, {@code --sysroot=dir}) or in the next one.
+	 */
+	@SuppressWarnings("nls")
+	private static final Set<String> PATH_OPTIONS = Set.of("-I", "-B", "-L", "-F", "-isystem", "-iquote",
+			"-idirafter", "-iprefix", "-isysroot", "-include", "-imacros", "--sysroot", "-specs", "--specs",
+			"-imsvc");
+
+	/**
+	 * The output of a detection.
+	 */
+	public static final class Output {
+		private final byte[] out;
+		private final byte[] err;
+
+		private Output(byte[] out, byte[] err) {
+			this.out = out;
+			this.err = err;
+		}
+
+		/**
+		 * @return the standard output of the compiler
+		 */
+		public InputStream getOutput() {
+			return new ByteArrayInputStream(out);
+		}
+
+		/**
+		 * @return the error output of the compiler
+		 */
+		public InputStream getErrorOutput() {
+			return new ByteArrayInputStream(err);
+		}
+
+		/**
+		 * Writes the output to the streams a process would write it to.
+		 *
+		 * @param stdout the stream for the standard output
+		 * @param stderr the stream for the error output
+		 */
+		public void writeTo(OutputStream stdout, OutputStream stderr) throws IOException {
+			stdout.write(out);
+			stdout.flush();
+			stderr.write(err);
+			stderr.flush();
+		}
+	}
+
+	/**
+	 * Runs the compiler to detect its built-in settings.
+	 */
+	@FunctionalInterface
+	public interface IDetection {
+		/**
+		 * Runs the compiler and writes its output to the specified streams.
+		 *
+		 * @param stdout the stream for the standard output
+		 * @param stderr the stream for the error output
+		 * @return whether the output may be shared, i.e. {@code false} if the
+		 *         compiler failed or the detection was canceled
+		 */
+		boolean run(OutputStream stdout, OutputStream stderr) throws CoreException, IOException;
+	}
+
+	private static BuiltinSpecsOutputCache instance;
+
+	private final File store;
+	/** The outputs by key, in the order they were used */
+	private final LinkedHashMap<String, Output> outputs = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Output> eldest) {
+			return size() > MAX_OUTPUTS;
+		}
+	};
+	private boolean isLoaded;
+	/** The detections running, by key. They complete with their output or {@code null} if it is not shared. */
+	private final Map<String, CompletableFuture<Output>> running = new ConcurrentHashMap<>();
+	private final Job saveJob;
+
+	private BuiltinSpecsOutputCache(File store) {
+		this.store = store;
+		saveJob = new Job("Save built-in specs output cache") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				save();
+				return Status.OK_STATUS;
+			}
+		};
+		saveJob.setSystem(true);
+	}
+
+	/**
+	 * @return the cache of the workspace
+	 */
+	public static synchronized BuiltinSpecsOutputCache getInstance() {
+		if (instance == null) {
+			CCorePlugin plugin = CCorePlugin.getDefault();
+			File store = plugin != null ? plugin.getStateLocation().append(STORE).toFile() : null;
+			instance = new BuiltinSpecsOutputCache(store);
+		}
+		return instance;
+	}
+
+	/**
+	 * Creates the key of the output of a detection.
+	 *
+	 * @param launcher the launcher the compiler runs with, or {@code null} if it
+	 *                 runs as a local process. Only the output of local
+	 *                 processes is cached, the compiler of another launcher,
+	 *                 e.g. in a container, cannot be checked for changes.
+	 * @param compiler the compiler, an absolute location or a program found on
+	 *                 the {@code PATH} of the environment
+	 * @param args     the arguments of the compiler
+	 * @param inputFile the input file of the compiler, which is specific to the
+	 *                 detector and is replaced in the arguments, or {@code null}
+	 * @param envp     the environment of the compiler in the format
+	 *                 "var=value", or {@code null} for the environment of this
+	 *                 process
+	 * @param workingDirectory the working directory of the compiler, or
+	 *                 {@code null} if unknown. It is part of the key only if the
+	 *                 compiler or one of its arguments is a relative path.
+	 * @return the key or {@code null} if the output must not be cached, e.g. if
+	 *         the compiler was not found
+	 */
+	public static String createKey(ICommandLauncher launcher, String compiler, List<String> args, String inputFile,
+			String[] envp, File workingDirectory) {
+		if ((launcher != null && launcher.getClass() != CommandLauncher.class) || compiler == null
+				|| compiler.isEmpty()) {
+			return null;
+		}
+		Map<String, String> env = new TreeMap<>();
+		if (envp != null) {
+			for (String var : envp) {
+				int eq = var.indexOf('=');
+				if (eq > 0) {
+					env.put(var.substring(0, eq).toUpperCase(Locale.ROOT), var.substring(eq + 1));
+				}
+			}
+		} else {
+			for (Map.Entry<String, String> var : System.getenv().entrySet()) {
+				env.put(var.getKey().toUpperCase(Locale.ROOT), var.getValue());
+			}
+		}
+		env.keySet().retainAll(KEY_VARIABLES);
+
+		File program = new File(compiler);
+		if (!program.isAbsolute() && compiler.indexOf('/') < 0 && compiler.indexOf(File.separatorChar) < 0) {
+			IPath location = PathUtil.findProgramLocation(compiler, env.get("PATH")); //$NON-NLS-1$
+			if (location == null) {
+				return null;
+			}
+			program = location.toFile();
+		} else if (!program.isAbsolute()) {
+			if (workingDirectory == null) {
+				return null;
+			}
+			program = new File(workingDirectory, compiler);
+		}
+		try {
+			program = program.getCanonicalFile();
+		} catch (IOException e) {
+			return null;
+		}
+		if (!program.isFile()) {
+			return null;
+		}
+
+		StringBuilder key = new StringBuilder();
+		key.append(program.getPath()).append('\0').append(program.length()).append('\0')
+				.append(program.lastModified());
+		String input = null;
+		if (inputFile != null && !inputFile.isEmpty()) {
+			String name = new File(inputFile).getName();
+			int dot = name.lastIndexOf('.');
+			input = dot >= 0 ? INPUT_FILE + name.substring(dot) : INPUT_FILE;
+		}
+		boolean relative = false;
+		String previous = null;
+		for (String arg : args) {
+			key.append('\0').append(input != null ? arg.replace(inputFile, input) : arg);
+			relative |= !arg.equals(inputFile) && isRelativePath(arg, previous);
+			previous = arg;
+		}
+		if (relative) {
+			// the output depends on where the relative paths are resolved
+			if (workingDirectory == null) {
+				return null;
+			}
+			key.append('\0').append(workingDirectory.getAbsolutePath());
+		}
+		for (Map.Entry<String, String> var : env.entrySet()) {
+			key.append('\0').append(var.getKey()).append('=').append(var.getValue());
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Returns whether an argument of the compiler is or contains a relative
+	 * path. Besides the values of the options which take a path, arguments
+	 * looking like a file, i.e. with a separator or a dot, count as paths, so
+	 * that a working directory is rather added to the key needlessly than
+	 * missed.
+	 *
+	 * @param arg      the argument
+	 * @param previous the argument before, or {@code null}
+	 */
+	private static boolean isRelativePath(String arg, String previous) {
+		String path;
+		if (arg.startsWith("-")) { //$NON-NLS-1$
+			int eq = arg.indexOf('=');
+			if (eq > 0) {
+				path = arg.substring(eq + 1);
+				if (!PATH_OPTIONS.contains(arg.substring(0, eq)) && !isFileLike(path)) {
+					return false;
+				}
+			} else if (arg.length() > 2 && PATH_OPTIONS.contains(arg.substring(0, 2))) {
+				path = arg.substring(2);
+			} else {
+				return false;
+			}
+		} else if (previous != null && PATH_OPTIONS.contains(previous)) {
+			path = arg;
+		} else if (isFileLike(arg)) {
+			path = arg;
+		} else {
+			return false;
+		}
+		return !path.isEmpty() && !new File(path).isAbsolute();
+	}
+
+	private static boolean isFileLike(String arg) {
+		return arg.indexOf('/') >= 0 || arg.indexOf('\\') >= 0 || arg.indexOf('.') >= 0;
+	}
+
+	/**
+	 * Gets the output of a detection. If the output of the key is cached, it is
+	 * returned without running the detection. If a detection of the key is
+	 * running, its output is awaited. Otherwise the detection runs, and its
+	 * output is cached if it may be shared.
+	 *
+	 * @param key       the key of the output, see {@link #createKey}, or
+	 *                  {@code null} to run the detection without caching
+	 * @param detection runs the compiler
+	 * @return the output of the detection
+	 */
+	public Output getOutput(String key, IDetection detection) throws CoreException, IOException {
+		if (key == null) {
+			return record(detection, null);
+		}
+		Output output = get(key);
+		if (output != null) {
+			return output;
+		}
+		CompletableFuture<Output> future = new CompletableFuture<>();
+		CompletableFuture<Output> other = running.putIfAbsent(key, future);
+		if (other != null) {
+			try {
+				output = other.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				// the other detection failed, run this one
+			}
+			return output != null ? output : record(detection, null);
+		}
+		Output shared = null;
+		try {
+			// a detection of the key may have completed since the lookup
+			output = get(key);
+			if (output == null) {
+				output = record(detection, key);
+			}
+			shared = get(key);
+		} finally {
+			running.remove(key);
+			future.complete(shared);
+		}
+		return output;
+	}
+
+	/**
+	 * Removes all outputs, so that the next detections run the compilers.
+	 */
+	public void clear() {
+		synchronized (outputs) {
+			isLoaded = true;
+			outputs.clear();
+		}
+		saveJob.schedule();
+	}
+
+	private Output record(IDetection detection, String key) throws CoreException, IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		boolean shared = detection.run(out, err);
+		Output output = new Output(out.toByteArray(), err.toByteArray());
+		if (shared && key != null) {
+			synchronized (outputs) {
+				outputs.put(key, output);
+			}
+			saveJob.schedule(SAVE_DELAY);
+		}
+		return output;
+	}
+
+	private Output get(String key) {
+		synchronized (outputs) {
+			if (!isLoaded) {
+				isLoaded = true;
+				load();
+			}
+			return outputs.get(key);
+		}
+	}
+
+	private void load() {
+		if (store == null || !store.isFile()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(store)))) {
+			if (in.readInt() != VERSION) {
+				return;
+			}
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				String key = new String(readBytes(in), StandardCharsets.UTF_8);
+				outputs.put(key, new Output(readBytes(in), readBytes(in)));
+			}
+		} catch (IOException | RuntimeException e) {
+			// a corrupted store is the same as a missing one
+			outputs.clear();
+		}
+	}
+
+	private void save() {
+		if (store == null) {
+			return;
+		}
+		List<Map.Entry<String, Output>> entries;
+		synchronized (outputs) {
+			entries = new ArrayList<>(outputs.entrySet());
+		}
+		File tmp = new File(store.getParentFile(), store.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				out.writeInt(VERSION);
+				out.writeInt(entries.size());
+				for (Map.Entry<String, Output> entry : entries) {
+					writeBytes(out, entry.getKey().getBytes(StandardCharsets.UTF_8));
+					writeBytes(out, entry.getValue().out);
+					writeBytes(out, entry.getValue().err);
+				}
+			}
+			Files.move(tmp.toPath(), store.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			tmp.delete();
+			store.delete();
+		}
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+}
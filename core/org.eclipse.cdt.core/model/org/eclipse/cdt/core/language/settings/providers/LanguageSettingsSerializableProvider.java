@@ -398,6 +398,23 @@ public class LanguageSettingsSerializableProvider extends LanguageSettingsBasePr
 		fStorage.loadEntries(providerNode);
 	}
 
+	/**
+	 * Load provider entries from a storage loaded from the binary store of the workspace area.
+	 * The provider shares the lists of entries of the storage, which are unmodifiable.
+	 *
+	 * @param storage - storage of the entries to load.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 8.2
+	 */
+	public final void loadEntriesFrom(LanguageSettingsStorage storage) {
+		try {
+			fStorage = (LanguageSettingsSerializableStorage) storage.clone();
+		} catch (CloneNotSupportedException e) {
+			CCorePlugin.log(e);
+		}
+	}
+
 	/**
 	 * Set a custom property of the provider.
 	 * <br><br>
@@ -27,6 +27,7 @@ import org.eclipse.cdt.core.settings.model.ICLanguageSettingEntry;
 import org.eclipse.cdt.core.settings.model.ICSettingEntry;
 import org.eclipse.cdt.internal.core.WeakHashSet;
 import org.eclipse.cdt.internal.core.WeakHashSetSynchronized;
+import org.eclipse.cdt.internal.core.language.settings.providers.PooledEntriesList;
 
 /**
  * The class representing the (in-memory) storage for language settings entries {@link ICLanguageSettingEntry}.
@@ -43,6 +44,8 @@ public class LanguageSettingsStorage implements Cloneable {
 	 * Pool of LSE lists implemented as WeakHashSet. That allows to gain memory savings
 	 * at the expense of CPU time. WeakHashSet handles garbage collection when a list is not
 	 * referenced anywhere else. See JavaDoc {@link java.lang.ref.WeakReference} about weak reference objects.
+	 * The lists in the pool are {@link PooledEntriesList}s, besides the empty list, which cache their
+	 * hash code so that looking them up again is cheap.
 	 */
 	private static WeakHashSet<List<ICLanguageSettingEntry>> listPool = new WeakHashSetSynchronized<>();
 
@@ -111,7 +114,7 @@ public class LanguageSettingsStorage implements Cloneable {
 					langMap = new HashMap<>();
 					fStorage.put(languageId, langMap);
 				}
-				List<ICLanguageSettingEntry> sortedEntries = getPooledList(sortEntries(entries), false);
+				List<ICLanguageSettingEntry> sortedEntries = getPooledList(sortEntries(entries));
 				langMap.put(rcProjectPath, sortedEntries);
 			} else {
 				// reduct the empty maps in the tables
@@ -168,17 +171,22 @@ public class LanguageSettingsStorage implements Cloneable {
 	}
 
 	/**
-	 * Find and return the equal list of entries from the pool.
+	 * Find and return the equal list of entries from the pool to conserve the memory.
+	 * The entries are copied when a new list is added to the pool, so that changes of
+	 * the original list do not change the pooled one.
 	 *
 	 * @param entries - list of entries to pool.
-	 * @param copy - specify {@code true} to copy the list in order to prevent
-	 *    back-door modification on the original list changes.
 	 * @return returns the list of entries from the pool.
 	 */
-	private static List<ICLanguageSettingEntry> getPooledList(List<ICLanguageSettingEntry> entries, boolean copy) {
+	public static List<ICLanguageSettingEntry> getPooledList(List<ICLanguageSettingEntry> entries) {
 		if (entries == null)
 			return null;
 
+		if (entries instanceof PooledEntriesList) {
+			// the list stays in the pool as long as it is referenced
+			return entries;
+		}
+
 		List<ICLanguageSettingEntry> pooledList = listPool.get(entries);
 		if (pooledList != null) {
 			return pooledList;
@@ -188,23 +196,10 @@ public class LanguageSettingsStorage implements Cloneable {
 			return getPooledEmptyList();
 		}
 
-		if (copy) {
-			entries = new ArrayList<>(entries);
-		}
-		pooledList = Collections.unmodifiableList(entries);
+		pooledList = new PooledEntriesList(entries);
 		return listPool.add(pooledList);
 	}
 
-	/**
-	 * Find and return the equal list of entries from the pool to conserve the memory.
-	 *
-	 * @param entries - list of entries to pool.
-	 * @return returns the list of entries from the pool.
-	 */
-	public static List<ICLanguageSettingEntry> getPooledList(List<ICLanguageSettingEntry> entries) {
-		return getPooledList(entries, true);
-	}
-
 	/**
 	 * @return Returns the empty immutable list which is pooled. Use this call rather than creating
 	 * new empty array to ensure that faster shallow operator '==' can be used instead of equals()
@@ -0,0 +1,453 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.language.settings.providers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.language.settings.providers.LanguageSettingsSerializableProvider;
+import org.eclipse.cdt.core.language.settings.providers.LanguageSettingsStorage;
+import org.w3c.dom.Element;
+
+/**
+ * Binary store for the language settings entries which providers of a project keep in the
+ * workspace area, an alternative to the XML document written by {@link LanguageSettingsProvidersSerializer}.
+ * <p>
+ * The store is a log of records, one per configuration and provider, each holding the entries
+ * in the format of {@link LanguageSettingsSerializableStorage#serializeEntries(java.io.DataOutput)}.
+ * When the language settings are saved, only the records of providers whose entries changed
+ * since the last save are appended, and the log is rewritten once most of it is taken by
+ * records which were replaced since. When the store is opened, the records are only indexed,
+ * and they are decoded when the entries of the provider are loaded.
+ * </p>
+ * <p>
+ * Providers which override {@link LanguageSettingsSerializableProvider#loadEntries(Element)} or
+ * {@link LanguageSettingsSerializableProvider#serializeEntries(Element)} keep their entries in XML.
+ * </p>
+ * <p>
+ * The store is used if the system property {@value #PROPERTY_ENABLED} is set to {@code true}
+ * when the plug-in starts.
+ * </p>
+ */
+public class LanguageSettingsEntriesStore {
+	/** The system property enabling the binary store. */
+	public static final String PROPERTY_ENABLED = "org.eclipse.cdt.core.language_settings_binary_store"; //$NON-NLS-1$
+
+	private static volatile boolean isEnabled = Boolean.getBoolean(PROPERTY_ENABLED);
+
+	private static final int VERSION = 1;
+	private static final byte RECORD_PUT = 1;
+	private static final byte RECORD_REMOVE = 2;
+
+	/** Size of the replaced records below which the log is never rewritten. */
+	private static final long MIN_COMPACTION_SIZE = 64 * 1024;
+
+	private static final Map<File, LanguageSettingsEntriesStore> stores = new HashMap<>();
+	private static final Map<Class<?>, Boolean> supportedClasses = new ConcurrentHashMap<>();
+
+	/**
+	 * A record of the store.
+	 */
+	private static class Record {
+		private final String cfgId;
+		private final String providerId;
+		/** Size of the record in the file. */
+		private final long size;
+		/** The encoded entries, until they are loaded. */
+		private byte[] data;
+		/** The entries as last written to or loaded from the file, once they are. */
+		private LanguageSettingsStorage storage;
+
+		private Record(String cfgId, String providerId, long size) {
+			this.cfgId = cfgId;
+			this.providerId = providerId;
+			this.size = size;
+		}
+	}
+
+	private final File file;
+	/** The live records by the key of configuration and provider. */
+	private final Map<String, Record> records = new LinkedHashMap<>();
+	/** Size of the file including records which were replaced. */
+	private long fileSize;
+	/** Size of the live records including the header. */
+	private long liveSize;
+	/** Whether the file must be rewritten before appending to it, for example if it ends with a partial record. */
+	private boolean isRewriteNeeded;
+
+	private LanguageSettingsEntriesStore(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * @return {@code true} if entries in the workspace area are kept in binary stores.
+	 */
+	public static boolean isEnabled() {
+		return isEnabled;
+	}
+
+	/**
+	 * Enable or disable the binary stores, in place of the system property {@value #PROPERTY_ENABLED}.
+	 *
+	 * @param enabled - {@code true} to keep entries in the workspace area in binary stores.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 * It is public solely for benefit of JUnit testing.
+	 */
+	public static void setEnabled(boolean enabled) {
+		isEnabled = enabled;
+	}
+
+	/**
+	 * Check whether the entries of the provider can be kept in a binary store, which is the case
+	 * if the provider does not customize how its entries are kept in XML.
+	 *
+	 * @param provider - the provider to check.
+	 * @return {@code true} if the binary store can keep the entries of the provider.
+	 */
+	public static boolean isSupported(LanguageSettingsSerializableProvider provider) {
+		return supportedClasses.computeIfAbsent(provider.getClass(), providerClass -> {
+			try {
+				return providerClass.getMethod("loadEntries", Element.class) //$NON-NLS-1$
+						.getDeclaringClass() == LanguageSettingsSerializableProvider.class
+						&& providerClass.getMethod("serializeEntries", Element.class) //$NON-NLS-1$
+								.getDeclaringClass() == LanguageSettingsSerializableProvider.class;
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		});
+	}
+
+	/**
+	 * Get the store kept in the file. The records of the file are indexed when the store is
+	 * first requested.
+	 *
+	 * @param file - the file of the store.
+	 * @return the store.
+	 */
+	public static LanguageSettingsEntriesStore getStore(File file) {
+		synchronized (stores) {
+			LanguageSettingsEntriesStore store = stores.get(file);
+			if (store == null) {
+				store = new LanguageSettingsEntriesStore(file);
+				store.open();
+				stores.put(file, store);
+			}
+			return store;
+		}
+	}
+
+	/**
+	 * Forget the stores opened so far, so that they are read again from their files.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 * It is public solely for benefit of JUnit testing.
+	 */
+	public static void reset() {
+		synchronized (stores) {
+			stores.clear();
+		}
+	}
+
+	private static String getKey(String cfgId, String providerId) {
+		return cfgId + '\n' + providerId;
+	}
+
+	/**
+	 * Index the records of the file. If the file cannot be read entirely, the records read so
+	 * far are kept and the file is rewritten on the next save.
+	 */
+	private synchronized void open() {
+		if (!file.exists()) {
+			return;
+		}
+		try (InputStream stream = new FileInputStream(file);
+				DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+			if (in.readInt() != VERSION) {
+				// an unknown format is dropped on the next save
+				isRewriteNeeded = true;
+				return;
+			}
+			fileSize = Integer.BYTES;
+			liveSize = fileSize;
+			while (true) {
+				int type = in.read();
+				if (type == -1) {
+					break;
+				}
+				String cfgId = in.readUTF();
+				String providerId = in.readUTF();
+				String key = getKey(cfgId, providerId);
+				long size = 1 + utfSize(cfgId) + utfSize(providerId);
+				Record replaced;
+				if (type == RECORD_PUT) {
+					byte[] data = new byte[in.readInt()];
+					in.readFully(data);
+					size += Integer.BYTES + data.length;
+					Record record = new Record(cfgId, providerId, size);
+					record.data = data;
+					replaced = records.put(key, record);
+					liveSize += size;
+				} else if (type == RECORD_REMOVE) {
+					replaced = records.remove(key);
+				} else {
+					throw new IOException("Unknown record: " + type); //$NON-NLS-1$
+				}
+				if (replaced != null) {
+					liveSize -= replaced.size;
+				}
+				fileSize += size;
+			}
+		} catch (EOFException e) {
+			// partial record written when saving was interrupted
+			isRewriteNeeded = true;
+		} catch (IOException e) {
+			CCorePlugin.log("Can't load language settings from file " + file, e); //$NON-NLS-1$
+			isRewriteNeeded = true;
+		}
+	}
+
+	/**
+	 * @return the number of bytes written by {@link DataOutputStream#writeUTF(String)}.
+	 */
+	private static int utfSize(String string) {
+		int size = 2;
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if (c >= 0x0001 && c <= 0x007F) {
+				size++;
+			} else if (c > 0x07FF) {
+				size += 3;
+			} else {
+				size += 2;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Check whether the store has entries of the provider for the configuration.
+	 *
+	 * @param cfgId - ID of the configuration.
+	 * @param providerId - ID of the provider.
+	 * @return {@code true} if the store has the entries.
+	 */
+	public synchronized boolean hasEntries(String cfgId, String providerId) {
+		return records.containsKey(getKey(cfgId, providerId));
+	}
+
+	/**
+	 * Load the entries of the provider for the configuration from the store.
+	 *
+	 * @param cfgId - ID of the configuration.
+	 * @param provider - the provider to load the entries to.
+	 * @return {@code true} if the store has the entries of the provider and they were loaded,
+	 *    {@code false} otherwise.
+	 */
+	public boolean loadEntries(String cfgId, LanguageSettingsSerializableProvider provider) {
+		LanguageSettingsStorage storage = getEntries(cfgId, provider.getId());
+		if (storage == null) {
+			return false;
+		}
+		provider.loadEntriesFrom(storage);
+		return true;
+	}
+
+	/**
+	 * Get the entries of the provider for the configuration, decoding them if they were not yet.
+	 *
+	 * @param cfgId - ID of the configuration.
+	 * @param providerId - ID of the provider.
+	 * @return the entries or {@code null} if the store does not have them. The returned storage
+	 *    must not be modified.
+	 */
+	public synchronized LanguageSettingsStorage getEntries(String cfgId, String providerId) {
+		Record record = records.get(getKey(cfgId, providerId));
+		if (record == null) {
+			return null;
+		}
+		if (record.storage == null) {
+			LanguageSettingsSerializableStorage storage = new LanguageSettingsSerializableStorage();
+			try {
+				storage.loadEntries(new DataInputStream(new ByteArrayInputStream(record.data)));
+			} catch (IOException e) {
+				CCorePlugin.log("Can't load language settings of provider " + providerId + " from file " + file, e); //$NON-NLS-1$ //$NON-NLS-2$
+				return null;
+			}
+			record.storage = storage;
+			record.data = null;
+		}
+		return record.storage;
+	}
+
+	/**
+	 * Save the entries of all the providers of the project which are kept in the store. Only the
+	 * entries which changed since they were last saved or loaded are written. If there are no
+	 * entries to save, the file is deleted.
+	 *
+	 * @param entries - storages of the entries by configuration ID and provider ID.
+	 * @throws IOException in case of problems writing the file.
+	 */
+	public synchronized void save(Map<String, Map<String, LanguageSettingsStorage>> entries) throws IOException {
+		if (entries.isEmpty()) {
+			records.clear();
+			fileSize = 0;
+			liveSize = 0;
+			isRewriteNeeded = false;
+			Files.deleteIfExists(file.toPath());
+			return;
+		}
+
+		Map<String, Record> changed = new LinkedHashMap<>();
+		Map<String, byte[]> changedData = new HashMap<>();
+		for (Entry<String, Map<String, LanguageSettingsStorage>> entryCfg : entries.entrySet()) {
+			for (Entry<String, LanguageSettingsStorage> entryProvider : entryCfg.getValue().entrySet()) {
+				String cfgId = entryCfg.getKey();
+				String providerId = entryProvider.getKey();
+				String key = getKey(cfgId, providerId);
+				LanguageSettingsStorage storage = entryProvider.getValue();
+				Record record = records.get(key);
+				if (record != null && storage.equals(getEntries(cfgId, providerId))) {
+					continue;
+				}
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream(bytes);
+				((LanguageSettingsSerializableStorage) storage).serializeEntries(out);
+				out.flush();
+				byte[] data = bytes.toByteArray();
+				Record newRecord = new Record(cfgId, providerId,
+						1 + utfSize(cfgId) + utfSize(providerId) + Integer.BYTES + data.length);
+				newRecord.storage = storage;
+				changed.put(key, newRecord);
+				changedData.put(key, data);
+			}
+		}
+		Map<String, Record> removed = new LinkedHashMap<>();
+		for (Entry<String, Record> entry : records.entrySet()) {
+			Record record = entry.getValue();
+			Map<String, LanguageSettingsStorage> cfgEntries = entries.get(record.cfgId);
+			if (cfgEntries == null || !cfgEntries.containsKey(record.providerId)) {
+				removed.put(entry.getKey(), record);
+			}
+		}
+		if (changed.isEmpty() && removed.isEmpty() && !isRewriteNeeded) {
+			return;
+		}
+
+		long newLiveSize = liveSize;
+		long appendedSize = 0;
+		for (Entry<String, Record> entry : changed.entrySet()) {
+			Record replaced = records.get(entry.getKey());
+			newLiveSize += entry.getValue().size - (replaced != null ? replaced.size : 0);
+			appendedSize += entry.getValue().size;
+		}
+		for (Record record : removed.values()) {
+			newLiveSize -= record.size;
+			appendedSize += 1 + utfSize(record.cfgId) + utfSize(record.providerId);
+		}
+		long newFileSize = fileSize + appendedSize;
+		boolean isCompacting = isRewriteNeeded || !file.exists()
+				|| (newFileSize - newLiveSize > MIN_COMPACTION_SIZE && newFileSize > 2 * newLiveSize);
+
+		if (isCompacting) {
+			// the records which are not loaded yet are copied as they are, the others are encoded again
+			Map<String, Record> newRecords = new LinkedHashMap<>(records);
+			newRecords.keySet().removeAll(removed.keySet());
+			newRecords.putAll(changed);
+			File tmpFile = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+			long size = Integer.BYTES;
+			try (OutputStream stream = new FileOutputStream(tmpFile);
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+				out.writeInt(VERSION);
+				for (Entry<String, Record> entry : newRecords.entrySet()) {
+					Record record = entry.getValue();
+					byte[] data = changedData.get(entry.getKey());
+					if (data == null) {
+						data = record.data;
+					}
+					if (data == null) {
+						ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+						DataOutputStream recordOut = new DataOutputStream(bytes);
+						((LanguageSettingsSerializableStorage) record.storage).serializeEntries(recordOut);
+						recordOut.flush();
+						data = bytes.toByteArray();
+					}
+					writePut(out, record, data);
+					size += record.size;
+				}
+			}
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			records.clear();
+			records.putAll(newRecords);
+			fileSize = size;
+			liveSize = size;
+			isRewriteNeeded = false;
+		} else {
+			// a partial record left if appending is interrupted is dropped on the next opening
+			try (OutputStream stream = new FileOutputStream(file, true);
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+				for (Entry<String, Record> entry : changed.entrySet()) {
+					writePut(out, entry.getValue(), changedData.get(entry.getKey()));
+				}
+				for (Record record : removed.values()) {
+					out.writeByte(RECORD_REMOVE);
+					out.writeUTF(record.cfgId);
+					out.writeUTF(record.providerId);
+				}
+			} catch (IOException e) {
+				isRewriteNeeded = true;
+				throw e;
+			}
+			records.keySet().removeAll(removed.keySet());
+			records.putAll(changed);
+			fileSize = newFileSize;
+			liveSize = newLiveSize;
+		}
+	}
+
+	private static void writePut(DataOutputStream out, Record record, byte[] data) throws IOException {
+		out.writeByte(RECORD_PUT);
+		out.writeUTF(record.cfgId);
+		out.writeUTF(record.providerId);
+		out.writeInt(data.length);
+		out.write(data);
+	}
+
+	/**
+	 * @return size of the file including the records which were replaced since it was last rewritten.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 * It is public solely for benefit of JUnit testing.
+	 */
+	public synchronized long getFileSize() {
+		return fileSize;
+	}
+}
@@ -89,6 +89,7 @@ public class LanguageSettingsProvidersSerializer {
 	private static final String PREFERENCE_WORSPACE_PROVIDERS_SET = "language.settings.providers.workspace.prefs.toggle"; //$NON-NLS-1$
 	private static final String CPROJECT_STORAGE_MODULE_LANGUAGE_SETTINGS_PROVIDERS = "org.eclipse.cdt.core.LanguageSettingsProviders"; //$NON-NLS-1$
 	private static final String STORAGE_WORKSPACE_LANGUAGE_SETTINGS = "language.settings.xml"; //$NON-NLS-1$
+	private static final String STORAGE_WORKSPACE_LANGUAGE_SETTINGS_BINARY = "language.settings.dat"; //$NON-NLS-1$
 	private static final String STORAGE_PROJECT_PATH = ".settings/language.settings.xml"; //$NON-NLS-1$
 
 	private static final int PROGRESS_MONITOR_SCALE = 100;
@@ -405,6 +406,18 @@ public class LanguageSettingsProvidersSerializer {
 		return URIUtil.toURI(location);
 	}
 
+	/**
+	 * Determine the binary store of language settings entries of the project in the plug-in state area.
+	 *
+	 * @param project - the project.
+	 * @return the binary store of the project.
+	 */
+	private static LanguageSettingsEntriesStore getEntriesStoreInWorkspaceArea(IProject project) {
+		IPath location = CCorePlugin.getDefault().getStateLocation()
+				.append(project.getName() + '.' + STORAGE_WORKSPACE_LANGUAGE_SETTINGS_BINARY);
+		return LanguageSettingsEntriesStore.getStore(location.toFile());
+	}
+
 	/**
 	 * Set and store user defined providers in workspace area.
 	 *
@@ -716,6 +729,21 @@ public class LanguageSettingsProvidersSerializer {
 	 */
 	public static void serializeLanguageSettingsInternal(Element projectElementPrjStore, Element projectElementWspStore,
 			ICProjectDescription prjDescription) {
+		serializeLanguageSettingsInternal(projectElementPrjStore, projectElementWspStore, null, prjDescription);
+	}
+
+	/**
+	 * Serialize language settings of the project description to XML elements.
+	 *
+	 * @param entriesWspStore - if not {@code null}, collects the entries to be kept in the binary
+	 *    store of the workspace area by configuration ID and provider ID, in place of XML.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 * It is public solely for benefit of JUnit testing.
+	 */
+	public static void serializeLanguageSettingsInternal(Element projectElementPrjStore,
+			Element projectElementWspStore, Map<String, Map<String, LanguageSettingsStorage>> entriesWspStore,
+			ICProjectDescription prjDescription) {
 		ICConfigurationDescription[] cfgDescriptions = prjDescription.getConfigurations();
 		for (ICConfigurationDescription cfgDescription : cfgDescriptions) {
 			if (!(cfgDescription instanceof ILanguageSettingsProvidersKeeper))
@@ -776,6 +804,16 @@ public class LanguageSettingsProvidersSerializer {
 									elementExtension = XmlUtil.appendElement(elementConfiguration, ELEM_EXTENSION,
 											new String[] { ATTR_EXTENSION_POINT, PROVIDER_EXTENSION_POINT_ID });
 								}
+								if (entriesWspStore != null && LanguageSettingsEntriesStore.isSupported(lss)) {
+									// split storage, entries in binary store
+									lss.serializeAttributes(elementExtension);
+									LanguageSettingsStorage storage = lss.copyStorage();
+									if (storage != null) {
+										entriesWspStore.computeIfAbsent(cfgDescription.getId(), id -> new HashMap<>())
+												.put(provider.getId(), storage);
+									}
+									continue;
+								}
 								if (elementExtensionWsp == null) {
 									if (elementConfigurationWsp == null) {
 										elementConfigurationWsp = XmlUtil.appendElement(projectElementWspStore,
@@ -877,6 +915,9 @@ public class LanguageSettingsProvidersSerializer {
 			Element projectElementStoreWsp = XmlUtil.appendElement(docStoreWsp, ELEM_PROJECT);
 
 			URI uriStoreWsp = getStoreInWorkspaceArea(project.getName() + '.' + STORAGE_WORKSPACE_LANGUAGE_SETTINGS);
+			// Entries to store in binary store in workspace area
+			Map<String, Map<String, LanguageSettingsStorage>> entriesStoreWsp = LanguageSettingsEntriesStore
+					.isEnabled() ? new HashMap<>() : null;
 			LanguageSettingsChangeEvent event = null;
 
 			try {
@@ -886,7 +927,8 @@ public class LanguageSettingsProvidersSerializer {
 				serializingLock.acquire();
 
 				if (!isEqualToDefaultProviders(prjDescription)) {
-					serializeLanguageSettingsInternal(projectElementStorePrj, projectElementStoreWsp, prjDescription);
+					serializeLanguageSettingsInternal(projectElementStorePrj, projectElementStoreWsp, entriesStoreWsp,
+							prjDescription);
 				}
 
 				// Absent store means default providers as specified in the toolchain
@@ -918,6 +960,10 @@ public class LanguageSettingsProvidersSerializer {
 				} else {
 					XmlUtil.serializeXml(docStoreWsp, uriStoreWsp);
 				}
+				if (entriesStoreWsp != null) {
+					// only the entries which changed are written
+					getEntriesStoreInWorkspaceArea(project).save(entriesStoreWsp);
+				}
 
 				// manufacture the event only if serialization was successful
 				event = new LanguageSettingsChangeEvent(prjDescription);
@@ -999,6 +1045,20 @@ public class LanguageSettingsProvidersSerializer {
 	 */
 	public static void loadLanguageSettingsInternal(Element projectElementPrj, Element projectElementWsp,
 			ICProjectDescription prjDescription) {
+		loadLanguageSettingsInternal(projectElementPrj, projectElementWsp, null, prjDescription);
+	}
+
+	/**
+	 * Load language settings to the project description from XML.
+	 *
+	 * @param entriesStoreWsp - if not {@code null}, the binary store of the workspace area
+	 *    to load entries from before looking for them in XML.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 * It is public solely for benefit of JUnit testing.
+	 */
+	public static void loadLanguageSettingsInternal(Element projectElementPrj, Element projectElementWsp,
+			LanguageSettingsEntriesStore entriesStoreWsp, ICProjectDescription prjDescription) {
 		/*
 		<project>
 			<configuration id="cfg.id">
@@ -1060,8 +1120,14 @@ public class LanguageSettingsProvidersSerializer {
 							}
 							if (provider instanceof LanguageSettingsSerializableProvider) {
 								LanguageSettingsSerializableProvider lss = (LanguageSettingsSerializableProvider) provider;
-								if (!isStoringEntriesInProjectArea(lss) && projectElementWsp != null) {
-									loadProviderEntries(lss, cfgId, projectElementWsp);
+								if (!isStoringEntriesInProjectArea(lss)) {
+									boolean isLoaded = entriesStoreWsp != null
+											&& LanguageSettingsEntriesStore.isSupported(lss)
+											&& entriesStoreWsp.loadEntries(cfgId, lss);
+									if (!isLoaded && projectElementWsp != null) {
+										// entries kept in XML or not migrated to binary store yet
+										loadProviderEntries(lss, cfgId, projectElementWsp);
+									}
 								}
 							}
 						}
@@ -1182,9 +1248,13 @@ public class LanguageSettingsProvidersSerializer {
 				URI uriStoreWsp = getStoreInWorkspaceArea(
 						project.getName() + '.' + STORAGE_WORKSPACE_LANGUAGE_SETTINGS);
 				Document docWsp = null;
+				LanguageSettingsEntriesStore entriesStoreWsp = null;
 				try {
 					serializingLock.acquire();
 					docWsp = XmlUtil.loadXml(uriStoreWsp);
+					if (LanguageSettingsEntriesStore.isEnabled()) {
+						entriesStoreWsp = getEntriesStoreInWorkspaceArea(project);
+					}
 				} finally {
 					serializingLock.release();
 				}
@@ -1194,7 +1264,7 @@ public class LanguageSettingsProvidersSerializer {
 					rootElementWsp = docWsp.getDocumentElement();
 				}
 
-				loadLanguageSettingsInternal(rootElementPrj, rootElementWsp, prjDescription);
+				loadLanguageSettingsInternal(rootElementPrj, rootElementWsp, entriesStoreWsp, prjDescription);
 			} catch (Exception e) {
 				CCorePlugin.log("Can't load preferences from file " + storeInPrjArea.getLocation(), e); //$NON-NLS-1$
 			}
@@ -1522,14 +1592,39 @@ public class LanguageSettingsProvidersSerializer {
 	}
 
 	/**
-	 * Returns the list of setting entries of a certain kind (such as include paths)
-	 * for the given configuration description, resource and language. This is a
-	 * combined list for all providers taking into account settings of parent folder
-	 * if settings for the given resource are not defined.
+	 * Returns the lists of setting entries of all providers of the given configuration
+	 * description for the given resource and language, taking into account settings
+	 * of parent folder if settings for the given resource are not defined. The lists
+	 * are the pooled lists of the providers, so they are not copied.
 	 *
 	 * @param cfgDescription - configuration description.
 	 * @param rc - resource such as file or folder.
 	 * @param languageId - language id.
+	 *
+	 * @return the lists of setting entries in the order of providers or {@code null}
+	 *     if the configuration description does not have language settings providers.
+	 */
+	public static List<List<ICLanguageSettingEntry>> getSettingEntriesOfProviders(
+			ICConfigurationDescription cfgDescription, IResource rc, String languageId) {
+		if (!(cfgDescription instanceof ILanguageSettingsProvidersKeeper)) {
+			return null;
+		}
+
+		List<ILanguageSettingsProvider> providers = ((ILanguageSettingsProvidersKeeper) cfgDescription)
+				.getLanguageSettingProviders();
+		List<List<ICLanguageSettingEntry>> providersEntries = new ArrayList<>(providers.size());
+		for (ILanguageSettingsProvider provider : providers) {
+			providersEntries.add(getSettingEntriesUpResourceTree(provider, cfgDescription, rc, languageId));
+		}
+		return providersEntries;
+	}
+
+	/**
+	 * Returns the list of setting entries of a certain kind (such as include paths)
+	 * combined from the lists of setting entries of providers returned by
+	 * {@link #getSettingEntriesOfProviders(ICConfigurationDescription, IResource, String)}.
+	 *
+	 * @param providersEntries - lists of setting entries in the order of providers.
 	 * @param kind - kind of language settings entries, such as
 	 *     {@link ICSettingEntry#INCLUDE_PATH} etc. This is a binary flag
 	 *     and it is possible to specify composite kind.
@@ -1541,21 +1636,12 @@ public class LanguageSettingsProvidersSerializer {
 	 *
 	 * @return the list of setting entries found.
 	 */
-	private static List<ICLanguageSettingEntry> getSettingEntriesByKind(ICConfigurationDescription cfgDescription,
-			IResource rc, String languageId, int kind, boolean checkLocality, boolean isLocal) {
-
-		if (!(cfgDescription instanceof ILanguageSettingsProvidersKeeper)) {
-			return null;
-		}
-
+	public static List<ICLanguageSettingEntry> getSettingEntriesByKind(
+			List<List<ICLanguageSettingEntry>> providersEntries, int kind, boolean checkLocality, boolean isLocal) {
 		List<ICLanguageSettingEntry> entries = new ArrayList<>();
-		List<String> alreadyAdded = new ArrayList<>();
+		Set<String> alreadyAdded = new HashSet<>();
 
-		List<ILanguageSettingsProvider> providers = ((ILanguageSettingsProvidersKeeper) cfgDescription)
-				.getLanguageSettingProviders();
-		for (ILanguageSettingsProvider provider : providers) {
-			List<ICLanguageSettingEntry> providerEntries = getSettingEntriesUpResourceTree(provider, cfgDescription, rc,
-					languageId);
+		for (List<ICLanguageSettingEntry> providerEntries : providersEntries) {
 			for (ICLanguageSettingEntry entry : providerEntries) {
 				if (entry != null) {
 					String entryName = entry.getName();
@@ -1579,6 +1665,36 @@ public class LanguageSettingsProvidersSerializer {
 		return entries;
 	}
 
+	/**
+	 * Returns the list of setting entries of a certain kind (such as include paths)
+	 * for the given configuration description, resource and language. This is a
+	 * combined list for all providers taking into account settings of parent folder
+	 * if settings for the given resource are not defined.
+	 *
+	 * @param cfgDescription - configuration description.
+	 * @param rc - resource such as file or folder.
+	 * @param languageId - language id.
+	 * @param kind - kind of language settings entries, such as
+	 *     {@link ICSettingEntry#INCLUDE_PATH} etc. This is a binary flag
+	 *     and it is possible to specify composite kind.
+	 *     Use {@link ICSettingEntry#ALL} to get all kinds.
+	 * @param checkLocality - specifies if parameter {@code isLocal} should be considered.
+	 * @param isLocal - {@code true} if "local" entries should be provided and
+	 *     {@code false} for "system" entries. This makes sense for include paths where
+	 *     [#include "..."] is "local" and [#include <...>] is system.
+	 *
+	 * @return the list of setting entries found.
+	 */
+	private static List<ICLanguageSettingEntry> getSettingEntriesByKind(ICConfigurationDescription cfgDescription,
+			IResource rc, String languageId, int kind, boolean checkLocality, boolean isLocal) {
+		List<List<ICLanguageSettingEntry>> providersEntries = getSettingEntriesOfProviders(cfgDescription, rc,
+				languageId);
+		if (providersEntries == null) {
+			return null;
+		}
+		return getSettingEntriesByKind(providersEntries, kind, checkLocality, isLocal);
+	}
+
 	/**
 	 * Returns the list of setting entries of a certain kind (such as include paths)
 	 * for the given configuration description, resource and language. This is a
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2014 Andrew Gvozdev and others.
+ * Copyright (c) 2010, 2026 Andrew Gvozdev and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,13 +16,18 @@ package org.eclipse.cdt.internal.core.language.settings.providers;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.Vector;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.cdtvariables.CdtVariableException;
@@ -41,13 +46,23 @@ import org.eclipse.cdt.core.settings.model.ICPathEntry;
 import org.eclipse.cdt.core.settings.model.ICProjectDescription;
 import org.eclipse.cdt.core.settings.model.ICSettingEntry;
 import org.eclipse.cdt.core.settings.model.util.CDataUtil;
+import org.eclipse.cdt.internal.core.cdtvariables.ICdtVariableChangeListener;
+import org.eclipse.cdt.internal.core.cdtvariables.UserDefinedVariableSupplier;
+import org.eclipse.cdt.internal.core.cdtvariables.VariableChangeEvent;
+import org.eclipse.cdt.internal.core.envvar.EnvironmentVariableManager;
 import org.eclipse.cdt.internal.core.parser.ParserSettings2;
 import org.eclipse.cdt.internal.core.settings.model.CProjectDescriptionManager;
 import org.eclipse.cdt.internal.core.settings.model.SettingsModelMessages;
 import org.eclipse.cdt.utils.EFSExtensionManager;
+import org.eclipse.cdt.utils.envvar.IEnvironmentChangeEvent;
+import org.eclipse.cdt.utils.envvar.IEnvironmentChangeListener;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
@@ -67,8 +82,273 @@ public class LanguageSettingsScannerInfoProvider implements IScannerInfoProvider
 	private static final String FRAMEWORK_HEADERS_INCLUDE = "/__framework__.framework/Headers/__header__"; //$NON-NLS-1$
 	private static final ExtendedScannerInfo DUMMY_SCANNER_INFO = new ExtendedScannerInfo();
 
+	/**
+	 * Maximal number of resolved scanner infos kept for a configuration. This is a crude bound
+	 * rather than an eviction policy: the cache of the configuration is cleared entirely when
+	 * it is reached and refills with the scanner infos in use.
+	 */
+	private static final int MAX_RESOLVED_SCANNER_INFOS = 10000;
+
+	/**
+	 * Maximal number of pooled lists for which it is kept whether their entries are context-free,
+	 * see {@link #isContextFree(PooledEntriesList)}. As above, the cache is cleared when it is reached.
+	 */
+	private static final int MAX_CONTEXT_FREE_LISTS = 100000;
+
+	/**
+	 * Whether the entries of pooled lists are all context-free, by ID of the list.
+	 */
+	private static final Map<Long, Boolean> contextFreeLists = new ConcurrentHashMap<>();
+
 	private Map<IResource, List<IScannerInfoChangeListener>> listenersMap = null;
 
+	/**
+	 * Scanner infos resolved from the entries of the providers, by configuration description.
+	 * Configuration descriptions are replaced when project description changes, so they are
+	 * kept weakly.
+	 */
+	private final Map<ICConfigurationDescription, Map<ResolvedScannerInfoKey, ExtendedScannerInfo>> resolvedScannerInfos = Collections
+			.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * Scanner infos resolved from entries which depend on their context are only valid as long
+	 * as the context does not change, see {@link #isContextFree(ICLanguageSettingEntry)}. The
+	 * tracker counts the changes of the locations of the resources and of the build and
+	 * environment variables of the workspace, and tells the providers to forget these scanner
+	 * infos. The build working directory and the variables of a configuration are part of the
+	 * configuration description, which is replaced when they change.
+	 */
+	private static final class ContextTracker
+			implements IResourceChangeListener, ICdtVariableChangeListener, IEnvironmentChangeListener {
+		private static final ContextTracker INSTANCE = new ContextTracker();
+
+		private final AtomicLong generation = new AtomicLong();
+		private final Set<LanguageSettingsScannerInfoProvider> providers = Collections
+				.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+		static {
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(INSTANCE, IResourceChangeEvent.POST_CHANGE);
+			UserDefinedVariableSupplier.getInstance().addListener(INSTANCE);
+			EnvironmentVariableManager.fUserSupplier.registerEnvironmentChangeListener(INSTANCE);
+		}
+
+		/**
+		 * Get the number of changes of the context so far. Scanner infos resolved before the
+		 * number changed are out of date.
+		 */
+		private long getGeneration() {
+			return generation.get();
+		}
+
+		private void contextChanged() {
+			generation.incrementAndGet();
+			LanguageSettingsScannerInfoProvider[] toClear;
+			synchronized (providers) {
+				toClear = providers.toArray(new LanguageSettingsScannerInfoProvider[providers.size()]);
+			}
+			for (LanguageSettingsScannerInfoProvider provider : toClear) {
+				provider.clearContextScannerInfos();
+			}
+		}
+
+		@Override
+		public void resourceChanged(IResourceChangeEvent event) {
+			IResourceDelta delta = event.getDelta();
+			if (delta == null) {
+				return;
+			}
+			boolean[] changed = { false };
+			try {
+				delta.accept(child -> {
+					changed[0] |= isLocationChange(child);
+					// no need to look further once a change is found
+					return !changed[0];
+				});
+			} catch (CoreException e) {
+				CCorePlugin.log(e);
+				changed[0] = true;
+			}
+			if (changed[0]) {
+				contextChanged();
+			}
+		}
+
+		/**
+		 * Check whether the delta changes the location of resources, or whether they exist. The
+		 * files which are added or removed are not considered unless they are linked, as
+		 * entries with workspace paths are normally folders.
+		 */
+		private static boolean isLocationChange(IResourceDelta delta) {
+			IResource resource = delta.getResource();
+			switch (delta.getKind()) {
+			case IResourceDelta.ADDED:
+				return resource.getType() != IResource.FILE || resource.isLinked();
+			case IResourceDelta.REMOVED:
+				return resource.getType() != IResource.FILE;
+			case IResourceDelta.CHANGED:
+				return (delta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION
+						| IResourceDelta.LOCAL_CHANGED | IResourceDelta.REPLACED)) != 0;
+			default:
+				return false;
+			}
+		}
+
+		@Override
+		public void variablesChanged(VariableChangeEvent event) {
+			contextChanged();
+		}
+
+		@Override
+		public void handleEvent(IEnvironmentChangeEvent event) {
+			contextChanged();
+		}
+	}
+
+	/**
+	 * Key of a resolved scanner info. Lists of entries of providers are pooled lists which are
+	 * not changed, so the languages and the IDs of the lists of the providers define the scanner
+	 * info resolved from entries which do not depend on their context, see
+	 * {@link LanguageSettingsScannerInfoProvider#isContextFree(ICLanguageSettingEntry)}. The key
+	 * is the same for all resources which get the same entries, such as the files of a folder or
+	 * a build target. The key of other entries also holds the generation of the context they are
+	 * resolved in.
+	 */
+	private static final class ResolvedScannerInfoKey {
+		private final List<String> languageIds;
+		private final long[] listIds;
+		/** Generation of the context of the entries, or -1 if they are context-free */
+		private final long contextGeneration;
+		private final int hashCode;
+
+		private ResolvedScannerInfoKey(List<String> languageIds, long[] listIds, long contextGeneration) {
+			this.languageIds = languageIds;
+			this.listIds = listIds;
+			this.contextGeneration = contextGeneration;
+			this.hashCode = 31 * (31 * languageIds.hashCode() + Arrays.hashCode(listIds))
+					+ Long.hashCode(contextGeneration);
+		}
+
+		private boolean isContextFree() {
+			return contextGeneration < 0;
+		}
+
+		/**
+		 * Create the key for the given entries.
+		 *
+		 * @param languageIds - the languages.
+		 * @param languagesEntries - lists of setting entries of providers for each of the languages.
+		 * @return the key or {@code null} if the entries are not pooled lists and cannot be identified.
+		 */
+		private static ResolvedScannerInfoKey create(List<String> languageIds,
+				List<List<List<ICLanguageSettingEntry>>> languagesEntries) {
+			int size = 0;
+			for (List<List<ICLanguageSettingEntry>> providersEntries : languagesEntries) {
+				size += providersEntries != null ? providersEntries.size() + 1 : 1;
+			}
+			long[] listIds = new long[size];
+			boolean contextFree = true;
+			int i = 0;
+			for (List<List<ICLanguageSettingEntry>> providersEntries : languagesEntries) {
+				if (providersEntries != null) {
+					for (List<ICLanguageSettingEntry> entries : providersEntries) {
+						if (entries instanceof PooledEntriesList) {
+							PooledEntriesList pooledEntries = (PooledEntriesList) entries;
+							contextFree &= LanguageSettingsScannerInfoProvider.isContextFree(pooledEntries);
+							listIds[i++] = pooledEntries.getId();
+						} else if (entries.isEmpty()) {
+							listIds[i++] = 0;
+						} else {
+							return null;
+						}
+					}
+				}
+				// separate the languages
+				listIds[i++] = -1;
+			}
+			long contextGeneration = contextFree ? -1 : ContextTracker.INSTANCE.getGeneration();
+			return new ResolvedScannerInfoKey(new ArrayList<>(languageIds), listIds, contextGeneration);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ResolvedScannerInfoKey)) {
+				return false;
+			}
+			ResolvedScannerInfoKey other = (ResolvedScannerInfoKey) obj;
+			return hashCode == other.hashCode && contextGeneration == other.contextGeneration
+					&& Arrays.equals(listIds, other.listIds) && languageIds.equals(other.languageIds);
+		}
+	}
+
+	public LanguageSettingsScannerInfoProvider() {
+		ContextTracker.INSTANCE.providers.add(this);
+	}
+
+	/**
+	 * Check whether all entries of the pooled list are context-free. The list is not changed, so
+	 * this is only checked once for the list.
+	 *
+	 * @param entries - the list.
+	 * @return {@code true} if none of the entries depends on its context.
+	 */
+	private static boolean isContextFree(PooledEntriesList entries) {
+		Long id = Long.valueOf(entries.getId());
+		Boolean contextFree = contextFreeLists.get(id);
+		if (contextFree == null) {
+			contextFree = Boolean.TRUE;
+			for (ICLanguageSettingEntry entry : entries) {
+				if (!isContextFree(entry)) {
+					contextFree = Boolean.FALSE;
+					break;
+				}
+			}
+			if (contextFreeLists.size() >= MAX_CONTEXT_FREE_LISTS) {
+				contextFreeLists.clear();
+			}
+			contextFreeLists.put(id, contextFree);
+		}
+		return contextFree.booleanValue();
+	}
+
+	/**
+	 * Check whether the entry is resolved to the same value in any context. Such entries can be
+	 * resolved once for all resources which get them. Other path entries are resolved with build
+	 * and environment variables, the build working directory or the locations of resources,
+	 * which change without any change of the entries, see {@link ContextTracker}.
+	 *
+	 * @param entry - the entry.
+	 * @return {@code true} if the entry does not depend on its context.
+	 */
+	private static boolean isContextFree(ICLanguageSettingEntry entry) {
+		if (!(entry instanceof ICPathEntry)) {
+			return true;
+		}
+		ICPathEntry pathEntry = (ICPathEntry) entry;
+		if (pathEntry.isValueWorkspacePath()) {
+			return false;
+		}
+		if (pathEntry.isResolved()) {
+			return true;
+		}
+		// unresolved absolute paths without variables are taken as they are, see resolveEntry()
+		String name = pathEntry.getName();
+		if (name.contains("${")) { //$NON-NLS-1$
+			return false;
+		}
+		IPath path = new Path(name);
+		// on Windows, the device of the build working directory is prepended to paths without one
+		return path.isAbsolute()
+				&& (path.isUNC() || path.getDevice() != null || java.io.File.separatorChar == IPath.SEPARATOR);
+	}
+
 	@Override
 	public ExtendedScannerInfo getScannerInformation(IResource rc) {
 		IProject project = rc.getProject();
@@ -94,31 +374,74 @@ public class LanguageSettingsScannerInfoProvider implements IScannerInfoProvider
 			return DUMMY_SCANNER_INFO;
 		}
 
+		// the entries of the providers are retrieved once per language and filtered by kind when resolved
+		List<List<List<ICLanguageSettingEntry>>> languagesEntries = new ArrayList<>(languageIds.size());
+		for (String langId : languageIds) {
+			languagesEntries.add(LanguageSettingsProvidersSerializer.getSettingEntriesOfProviders(cfgDescription, rc,
+					langId));
+		}
+
+		ExtendedScannerInfo resolvedScannerInfo;
+		ResolvedScannerInfoKey key = ResolvedScannerInfoKey.create(languageIds, languagesEntries);
+		if (key != null) {
+			Map<ResolvedScannerInfoKey, ExtendedScannerInfo> cfgScannerInfos = resolvedScannerInfos
+					.computeIfAbsent(cfgDescription, cfg -> new ConcurrentHashMap<>());
+			resolvedScannerInfo = cfgScannerInfos.get(key);
+			if (resolvedScannerInfo == null) {
+				resolvedScannerInfo = resolveScannerInfo(languagesEntries, cfgDescription);
+				if (cfgScannerInfos.size() >= MAX_RESOLVED_SCANNER_INFOS) {
+					cfgScannerInfos.clear();
+				}
+				cfgScannerInfos.put(key, resolvedScannerInfo);
+			}
+		} else {
+			resolvedScannerInfo = resolveScannerInfo(languagesEntries, cfgDescription);
+		}
+
+		// the resolved scanner info is shared, callers get their own instance to set parser settings etc.
+		ExtendedScannerInfo extendedScannerInfo = new ExtendedScannerInfo(resolvedScannerInfo);
+		extendedScannerInfo.setParserSettings(new ParserSettings2(project));
+		return extendedScannerInfo;
+	}
+
+	/**
+	 * Combine the entries of the providers and resolve them to the scanner info.
+	 *
+	 * @param languagesEntries - lists of setting entries of providers for each language.
+	 * @param cfgDescription - configuration description for resolving entries.
+	 * @return the resolved scanner info.
+	 */
+	private ExtendedScannerInfo resolveScannerInfo(List<List<List<ICLanguageSettingEntry>>> languagesEntries,
+			ICConfigurationDescription cfgDescription) {
 		LinkedHashSet<ICLanguageSettingEntry> includePathEntries = new LinkedHashSet<>();
 		LinkedHashSet<ICLanguageSettingEntry> includePathLocalEntries = new LinkedHashSet<>();
 		LinkedHashSet<ICLanguageSettingEntry> includeFileEntries = new LinkedHashSet<>();
 		LinkedHashSet<ICLanguageSettingEntry> macroFileEntries = new LinkedHashSet<>();
 		LinkedHashSet<ICLanguageSettingEntry> macroEntries = new LinkedHashSet<>();
 
-		for (String langId : languageIds) {
+		for (List<List<ICLanguageSettingEntry>> providersEntries : languagesEntries) {
+			if (providersEntries == null) {
+				continue;
+			}
+
 			List<ICLanguageSettingEntry> incSys = LanguageSettingsProvidersSerializer
-					.getSystemSettingEntriesByKind(cfgDescription, rc, langId, ICSettingEntry.INCLUDE_PATH);
+					.getSettingEntriesByKind(providersEntries, ICSettingEntry.INCLUDE_PATH, true, false);
 			includePathEntries.addAll(incSys);
 
 			List<ICLanguageSettingEntry> incLocal = LanguageSettingsProvidersSerializer
-					.getLocalSettingEntriesByKind(cfgDescription, rc, langId, ICSettingEntry.INCLUDE_PATH);
+					.getSettingEntriesByKind(providersEntries, ICSettingEntry.INCLUDE_PATH, true, true);
 			includePathLocalEntries.addAll(incLocal);
 
 			List<ICLanguageSettingEntry> incFiles = LanguageSettingsProvidersSerializer
-					.getSettingEntriesByKind(cfgDescription, rc, langId, ICSettingEntry.INCLUDE_FILE);
+					.getSettingEntriesByKind(providersEntries, ICSettingEntry.INCLUDE_FILE, false, false);
 			includeFileEntries.addAll(incFiles);
 
 			List<ICLanguageSettingEntry> macroFiles = LanguageSettingsProvidersSerializer
-					.getSettingEntriesByKind(cfgDescription, rc, langId, ICSettingEntry.MACRO_FILE);
+					.getSettingEntriesByKind(providersEntries, ICSettingEntry.MACRO_FILE, false, false);
 			macroFileEntries.addAll(macroFiles);
 
 			List<ICLanguageSettingEntry> macros = LanguageSettingsProvidersSerializer
-					.getSettingEntriesByKind(cfgDescription, rc, langId, ICSettingEntry.MACRO);
+					.getSettingEntriesByKind(providersEntries, ICSettingEntry.MACRO, false, false);
 			macroEntries.addAll(macros);
 		}
 
@@ -135,10 +458,7 @@ public class LanguageSettingsScannerInfoProvider implements IScannerInfoProvider
 			definedMacros.put(name, value);
 		}
 
-		ExtendedScannerInfo extendedScannerInfo = new ExtendedScannerInfo(definedMacros, includePaths, macroFiles,
-				includeFiles, includePathsLocal);
-		extendedScannerInfo.setParserSettings(new ParserSettings2(project));
-		return extendedScannerInfo;
+		return new ExtendedScannerInfo(definedMacros, includePaths, macroFiles, includeFiles, includePathsLocal);
 	}
 
 	private String expandVariables(String pathStr, ICConfigurationDescription cfgDescription) {
@@ -344,8 +664,38 @@ public class LanguageSettingsScannerInfoProvider implements IScannerInfoProvider
 		}
 	}
 
+	/**
+	 * Forget the scanner infos resolved from entries which depend on their context, after the
+	 * context changed.
+	 */
+	private void clearContextScannerInfos() {
+		synchronized (resolvedScannerInfos) {
+			for (Map<ResolvedScannerInfoKey, ExtendedScannerInfo> cfgScannerInfos : resolvedScannerInfos.values()) {
+				cfgScannerInfos.keySet().removeIf(key -> !key.isContextFree());
+			}
+		}
+	}
+
+	/**
+	 * Forget the resolved scanner infos of the project of the event. Note that the scanner
+	 * infos are resolved again anyway when the entries of the providers change as the changed
+	 * entries are kept in different lists. This only lets go the scanner infos not used anymore.
+	 */
+	private void clearResolvedScannerInfos(ILanguageSettingsChangeEvent event) {
+		String projectName = event.getProjectName();
+		synchronized (resolvedScannerInfos) {
+			resolvedScannerInfos.keySet().removeIf(cfgDescription -> {
+				ICProjectDescription prjDescription = cfgDescription.getProjectDescription();
+				return prjDescription == null || prjDescription.getProject() == null
+						|| prjDescription.getProject().getName().equals(projectName);
+			});
+		}
+	}
+
 	@Override
 	public void handleEvent(ILanguageSettingsChangeEvent event) {
+		clearResolvedScannerInfos(event);
+
 		if (listenersMap == null || listenersMap.isEmpty()) {
 			return;
 		}
@@ -13,7 +13,13 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.language.settings.providers;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -108,6 +114,146 @@ public class LanguageSettingsSerializableStorage extends LanguageSettingsStorage
 		}
 	}
 
+	/**
+	 * Serialize the provider entries in the compact binary format of the workspace area store.
+	 * The names, values and resource paths are written once into a table of strings and
+	 * the lists of entries, which are usually shared by many resources, are written once
+	 * into a table of lists, so that the resources only refer to the indexes.
+	 *
+	 * @param out - output to write the entries to.
+	 * @throws IOException in case of problems writing the output.
+	 */
+	public void serializeEntries(DataOutput out) throws IOException {
+		Map<String, Integer> strings = new HashMap<>();
+		List<String> stringTable = new ArrayList<>();
+		Map<List<ICLanguageSettingEntry>, Integer> lists = new IdentityHashMap<>();
+		List<List<ICLanguageSettingEntry>> listTable = new ArrayList<>();
+
+		synchronized (fStorage) {
+			for (Entry<String, Map<String, List<ICLanguageSettingEntry>>> entryLang : fStorage.entrySet()) {
+				internString(entryLang.getKey(), strings, stringTable);
+				for (Entry<String, List<ICLanguageSettingEntry>> entryRc : entryLang.getValue().entrySet()) {
+					internString(entryRc.getKey(), strings, stringTable);
+					List<ICLanguageSettingEntry> rcList = entryRc.getValue();
+					if (!lists.containsKey(rcList)) {
+						lists.put(rcList, listTable.size());
+						listTable.add(rcList);
+						for (ICLanguageSettingEntry entry : rcList) {
+							internString(entry.getName(), strings, stringTable);
+							if (entry.getKind() == ICSettingEntry.MACRO) {
+								internString(entry.getValue(), strings, stringTable);
+							}
+						}
+					}
+				}
+			}
+
+			out.writeInt(stringTable.size());
+			for (String string : stringTable) {
+				byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+			out.writeInt(listTable.size());
+			for (List<ICLanguageSettingEntry> rcList : listTable) {
+				out.writeInt(rcList.size());
+				for (ICLanguageSettingEntry entry : rcList) {
+					out.writeInt(entry.getKind());
+					out.writeInt(entry.getFlags());
+					out.writeInt(strings.get(entry.getName()));
+					out.writeInt(entry.getKind() == ICSettingEntry.MACRO ? strings.get(entry.getValue()) : -1);
+				}
+			}
+			out.writeInt(fStorage.size());
+			for (Entry<String, Map<String, List<ICLanguageSettingEntry>>> entryLang : fStorage.entrySet()) {
+				out.writeInt(getStringIndex(entryLang.getKey(), strings));
+				out.writeInt(entryLang.getValue().size());
+				for (Entry<String, List<ICLanguageSettingEntry>> entryRc : entryLang.getValue().entrySet()) {
+					out.writeInt(getStringIndex(entryRc.getKey(), strings));
+					out.writeInt(lists.get(entryRc.getValue()));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Add the string to the table of strings unless it is there already.
+	 */
+	private static void internString(String string, Map<String, Integer> strings, List<String> stringTable) {
+		if (string != null && !strings.containsKey(string)) {
+			strings.put(string, stringTable.size());
+			stringTable.add(string);
+		}
+	}
+
+	/**
+	 * @return the index of the string in the table of strings or {@code -1} for {@code null}.
+	 */
+	private static int getStringIndex(String string, Map<String, Integer> strings) {
+		return string != null ? strings.get(string) : -1;
+	}
+
+	/**
+	 * Load provider entries written by {@link #serializeEntries(DataOutput)}.
+	 *
+	 * @param in - input to read the entries from.
+	 * @throws IOException in case of problems reading the input or if the input is malformed.
+	 */
+	public void loadEntries(DataInput in) throws IOException {
+		String[] stringTable = new String[in.readInt()];
+		for (int i = 0; i < stringTable.length; i++) {
+			byte[] bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			stringTable[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		List<List<ICLanguageSettingEntry>> listTable = new ArrayList<>();
+		for (int i = in.readInt(); i > 0; i--) {
+			int size = in.readInt();
+			List<ICLanguageSettingEntry> rcList = new ArrayList<>(size);
+			for (int j = 0; j < size; j++) {
+				int kind = in.readInt();
+				int flags = in.readInt();
+				String name = getString(stringTable, in.readInt());
+				String value = getString(stringTable, in.readInt());
+				rcList.add((ICLanguageSettingEntry) CDataUtil.createEntry(kind, name, value, null, flags));
+			}
+			// the entries were sorted when they were set, so the list only needs to be pooled
+			listTable.add(getPooledList(rcList));
+		}
+		Map<String, Map<String, List<ICLanguageSettingEntry>>> storage = new HashMap<>();
+		for (int i = in.readInt(); i > 0; i--) {
+			String langId = getString(stringTable, in.readInt());
+			Map<String, List<ICLanguageSettingEntry>> langMap = new HashMap<>();
+			for (int j = in.readInt(); j > 0; j--) {
+				String rcProjectPath = getString(stringTable, in.readInt());
+				int listIndex = in.readInt();
+				if (listIndex < 0 || listIndex >= listTable.size()) {
+					throw new IOException("Invalid list of entries: " + listIndex); //$NON-NLS-1$
+				}
+				langMap.put(rcProjectPath, listTable.get(listIndex));
+			}
+			if (!langMap.isEmpty()) {
+				storage.put(langId, langMap);
+			}
+		}
+		synchronized (fStorage) {
+			fStorage.putAll(storage);
+		}
+	}
+
+	/**
+	 * @return the string of the table of strings at the index, {@code null} for {@code -1}.
+	 */
+	private static String getString(String[] stringTable, int index) throws IOException {
+		if (index == -1) {
+			return null;
+		}
+		if (index < 0 || index >= stringTable.length) {
+			throw new IOException("Invalid string: " + index); //$NON-NLS-1$
+		}
+		return stringTable[index];
+	}
+
 	/**
 	 * Load provider entries from XML provider element.
 	 *
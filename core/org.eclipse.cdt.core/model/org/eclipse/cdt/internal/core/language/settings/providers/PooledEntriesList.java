@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.language.settings.providers;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.cdt.core.language.settings.providers.LanguageSettingsStorage;
+import org.eclipse.cdt.core.settings.model.ICLanguageSettingEntry;
+
+/**
+ * Unmodifiable list of language settings entries kept in the pool of {@link LanguageSettingsStorage}.
+ * <p>
+ * As the pool keeps one instance of the lists which are equal, the lists of many resources with
+ * the same entries share the instance, and a list can be identified by its {@link #getId() ID}
+ * instead of its entries. The hash code is computed once, so that the list is found in the pool
+ * and compared to other lists without going through its entries again.
+ * </p>
+ * Instances are created by {@link LanguageSettingsStorage#getPooledList(List)} only.
+ */
+public final class PooledEntriesList extends AbstractList<ICLanguageSettingEntry> implements RandomAccess {
+	private static final AtomicLong nextId = new AtomicLong();
+
+	private final ICLanguageSettingEntry[] entries;
+	private final int hashCode;
+	private final long id;
+
+	/**
+	 * Create a list with the entries. Use {@link LanguageSettingsStorage#getPooledList(List)} instead.
+	 *
+	 * @param entries - the entries of the list.
+	 *
+	 * @noreference This constructor is not intended to be referenced by clients.
+	 */
+	public PooledEntriesList(List<ICLanguageSettingEntry> entries) {
+		this.entries = entries.toArray(new ICLanguageSettingEntry[entries.size()]);
+		this.hashCode = Arrays.hashCode(this.entries);
+		this.id = nextId.incrementAndGet();
+	}
+
+	/**
+	 * Get ID of the list. Lists with different IDs are different as they are pooled, and IDs are
+	 * not reused, even if the list is not used anymore and an equal list is pooled later.
+	 *
+	 * @return the ID.
+	 */
+	public long getId() {
+		return id;
+	}
+
+	@Override
+	public ICLanguageSettingEntry get(int index) {
+		return entries[index];
+	}
+
+	@Override
+	public int size() {
+		return entries.length;
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof PooledEntriesList) {
+			PooledEntriesList other = (PooledEntriesList) obj;
+			return hashCode == other.hashCode && Arrays.equals(entries, other.entries);
+		}
+		return super.equals(obj);
+	}
+}
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Persistent cache of the classification of the files of a project by the
+ * binary parsers, used by the {@link BinaryRunner}.
+ * <p>
+ * For each file the runner looked at, the cache keeps the id of the binary
+ * parser which recognized it, or that none did. An entry is only used if the
+ * file has the same size and time stamp as when it was probed, and the
+ * project the same binary parsers and location. The entries are kept in the
+ * state location of the core plug-in, with one file per project, which is
+ * deleted when the project is deleted or renamed.
+ * </p>
+ */
+public final class BinaryCache {
+
+	/** Parser id of the files which are not binaries */
+	public static final String NOT_BINARY = ""; //$NON-NLS-1$
+
+	private static final int VERSION = 2;
+	private static final String DIRECTORY = "binary-cache"; //$NON-NLS-1$
+
+	private static class Entry {
+		final long length;
+		final long lastModified;
+		final String parserId;
+
+		Entry(long length, long lastModified, String parserId) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.parserId = parserId;
+		}
+	}
+
+	private final File store;
+	private final String locationKey;
+	private final String parsersKey;
+	/** Entries read from the store */
+	private final Map<String, Entry> loaded = new ConcurrentHashMap<>();
+	/** Entries of the files probed or found in this run, which are stored */
+	private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+	private BinaryCache(File store, String locationKey, String parsersKey) {
+		this.store = store;
+		this.locationKey = locationKey;
+		this.parsersKey = parsersKey;
+	}
+
+	/**
+	 * Reads the cache of a project.  A missing or corrupted store gives an
+	 * empty cache.
+	 *
+	 * @param parsers the binary parsers of the project
+	 */
+	public static BinaryCache load(IProject project, BinaryParserConfig[] parsers) {
+		StringBuilder key = new StringBuilder();
+		for (BinaryParserConfig parser : parsers) {
+			key.append(parser.getId()).append(',');
+		}
+		// A project of the same name elsewhere has other files.
+		IPath location = project.getLocation();
+		BinaryCache cache = new BinaryCache(getStore(project), location != null ? location.toString() : "", //$NON-NLS-1$
+				key.toString());
+		cache.read();
+		return cache;
+	}
+
+	/**
+	 * Returns the id of the parser which recognized the file when it was
+	 * last probed, {@link #NOT_BINARY} if none did, or <code>null</code> if
+	 * the file must be probed again.
+	 *
+	 * @param path the full path of the file in the workspace
+	 */
+	public String get(String path, long length, long lastModified) {
+		Entry entry = loaded.get(path);
+		if (entry == null || entry.length != length || entry.lastModified != lastModified) {
+			return null;
+		}
+		current.put(path, entry);
+		return entry.parserId;
+	}
+
+	/**
+	 * Records the result of the probing of a file.
+	 *
+	 * @param path the full path of the file in the workspace
+	 * @param parserId the id of the parser which recognized the file, or
+	 *        {@link #NOT_BINARY}
+	 */
+	public void put(String path, long length, long lastModified, String parserId) {
+		current.put(path, new Entry(length, lastModified, parserId));
+	}
+
+	/**
+	 * Writes the entries of the files seen since the cache was loaded; those
+	 * of files which are gone are dropped.  Failures are ignored, the files
+	 * are then probed again next time.
+	 */
+	public void save() {
+		if (store == null) {
+			return;
+		}
+		File dir = store.getParentFile();
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			return;
+		}
+		File tmp = new File(dir, store.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				out.writeInt(VERSION);
+				out.writeUTF(locationKey);
+				out.writeUTF(parsersKey);
+				out.writeInt(current.size());
+				for (Map.Entry<String, Entry> entry : current.entrySet()) {
+					out.writeUTF(entry.getKey());
+					out.writeLong(entry.getValue().length);
+					out.writeLong(entry.getValue().lastModified);
+					out.writeUTF(entry.getValue().parserId);
+				}
+			}
+			Files.move(tmp.toPath(), store.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			tmp.delete();
+		}
+	}
+
+	/**
+	 * Deletes the store of a project, e.g. when the project is deleted or
+	 * renamed.
+	 */
+	public static void delete(IProject project) {
+		File store = getStore(project);
+		if (store != null) {
+			store.delete();
+		}
+	}
+
+	private void read() {
+		if (store == null || !store.isFile()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(store)))) {
+			// Other parsers may classify the files differently.
+			if (in.readInt() != VERSION || !in.readUTF().equals(locationKey) || !in.readUTF().equals(parsersKey)) {
+				return;
+			}
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				String path = in.readUTF();
+				long length = in.readLong();
+				long lastModified = in.readLong();
+				loaded.put(path, new Entry(length, lastModified, in.readUTF()));
+			}
+		} catch (IOException | RuntimeException e) {
+			// A corrupted store is the same as a missing one.
+			loaded.clear();
+		}
+	}
+
+	private static File getStore(IProject project) {
+		CCorePlugin plugin = CCorePlugin.getDefault();
+		if (plugin == null) {
+			return null;
+		}
+		try {
+			return plugin.getStateLocation().append(DIRECTORY).append(project.getName() + ".bin").toFile(); //$NON-NLS-1$
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+}
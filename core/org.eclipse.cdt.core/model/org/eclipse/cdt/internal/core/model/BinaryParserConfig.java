@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 QNX Software Systems and others.
+ * Copyright (c) 2000, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,7 +24,8 @@ import org.eclipse.core.runtime.IConfigurationElement;
  * BinaryParserConfig
  */
 public class BinaryParserConfig {
-	private IBinaryParser parser;
+	// Binaries are probed by several threads, which must share one parser.
+	private volatile IBinaryParser parser;
 	private final String id;
 	private final ICConfigExtensionReference ref;
 
@@ -44,14 +45,19 @@ public class BinaryParserConfig {
 	}
 
 	public IBinaryParser getBinaryParser() throws CoreException {
-		if (parser == null) {
-			AbstractCExtension cExtension = null;
-			IConfigurationElement el = CExtensionUtil.getFirstConfigurationElement(ref, "cextension", false); //$NON-NLS-1$
-			cExtension = (AbstractCExtension) el.createExecutableExtension("run"); //$NON-NLS-1$
-			cExtension.setExtensionReference(ref);
-			cExtension.setProject(ref.getConfiguration().getProjectDescription().getProject());
-			parser = (IBinaryParser) cExtension;
+		if (parser != null) {
+			return parser;
+		}
+		synchronized (this) {
+			if (parser == null) {
+				AbstractCExtension cExtension = null;
+				IConfigurationElement el = CExtensionUtil.getFirstConfigurationElement(ref, "cextension", false); //$NON-NLS-1$
+				cExtension = (AbstractCExtension) el.createExecutableExtension("run"); //$NON-NLS-1$
+				cExtension.setExtensionReference(ref);
+				cExtension.setProject(ref.getConfiguration().getProjectDescription().getProject());
+				parser = (IBinaryParser) cExtension;
+			}
+			return parser;
 		}
-		return parser;
 	}
 }
@@ -16,10 +16,21 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.IBinaryParser.IBinaryFile;
 import org.eclipse.cdt.core.model.CModelException;
 import org.eclipse.cdt.core.model.CoreModelUtil;
+import org.eclipse.cdt.core.model.IArchive;
 import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ICElementDelta;
 import org.eclipse.cdt.core.model.ICProject;
@@ -41,12 +52,38 @@ import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.content.IContentTypeManager;
 import org.eclipse.core.runtime.jobs.Job;
 
+/**
+ * Finds the binaries and archives of a project and adds them to its binary and
+ * archive containers.
+ * <p>
+ * The files on the output entries are probed by the binary parsers on a
+ * bounded pool of threads. The result of each probe is kept in a
+ * {@link BinaryCache}, so that the files which did not change since they were
+ * last probed, even in an earlier session, are not read again. When the runner
+ * is started again, the containers are updated with the binaries which
+ * appeared, changed or disappeared, while the others are left alone.
+ * </p>
+ */
 public class BinaryRunner {
 
+	/** Maximum number of files probed at the same time */
+	private static final int MAX_PROBE_THREADS = 4;
+
 	class BinaryRunnerOperation extends CModelOperation {
+		private final List<ICElement> added;
+		private final List<ICElement> removed;
+		private final boolean[] wasEmpty;
 
-		BinaryRunnerOperation(ICProject cproj) {
+		/**
+		 * @param added the binaries and archives added to the containers
+		 * @param removed the binaries and archives removed from the containers
+		 * @param wasEmpty whether each container had no children before
+		 */
+		BinaryRunnerOperation(ICProject cproj, List<ICElement> added, List<ICElement> removed, boolean[] wasEmpty) {
 			super(cproj);
+			this.added = added;
+			this.removed = removed;
+			this.wasEmpty = wasEmpty;
 		}
 
 		@Override
@@ -57,21 +94,34 @@ public class BinaryRunner {
 		@Override
 		protected void executeOperation() throws CModelException {
 			ICProject cproj = (ICProject) getElementsToProcess()[0];
-			IParent[] containers = new IParent[2];
-			containers[0] = cproj.getBinaryContainer();
-			containers[1] = cproj.getArchiveContainer();
+			IParent[] containers = getContainers(cproj);
 			CModelManager factory = CModelManager.getDefault();
 			ICElement root = factory.getCModel();
 			CElementDelta cdelta = new CElementDelta(root);
 			cdelta.changed(cproj, ICElementDelta.F_CONTENT);
-			for (IParent container : containers) {
+			for (int i = 0; i < containers.length; i++) {
 				if (fMonitor.isCanceled()) {
 					return;
 				}
-				ICElement[] children = container.getChildren();
-				if (children.length > 0) {
-					cdelta.added((ICElement) container);
-					for (ICElement element : children) {
+				boolean isArchive = i == 1;
+				if (!hasChanges(isArchive)) {
+					continue;
+				}
+				ICElement container = (ICElement) containers[i];
+				if (containers[i].getChildren().length == 0) {
+					cdelta.removed(container);
+				} else if (wasEmpty[i]) {
+					cdelta.added(container);
+				} else {
+					cdelta.changed(container, ICElementDelta.F_CHILDREN);
+				}
+				for (ICElement element : removed) {
+					if (element instanceof IArchive == isArchive) {
+						cdelta.removed(element);
+					}
+				}
+				for (ICElement element : added) {
+					if (element instanceof IArchive == isArchive) {
 						cdelta.added(element);
 					}
 				}
@@ -79,6 +129,35 @@ public class BinaryRunner {
 			addDelta(cdelta);
 		}
 
+		private boolean hasChanges(boolean isArchive) {
+			for (ICElement element : removed) {
+				if (element instanceof IArchive == isArchive) {
+					return true;
+				}
+			}
+			for (ICElement element : added) {
+				if (element instanceof IArchive == isArchive) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/*
+	 * Result of the probing of a file.
+	 */
+	private static class Probe {
+		final IFile file;
+		final IBinaryFile binary;
+		/** Whether the file did not change since it was last probed */
+		final boolean unchanged;
+
+		Probe(IFile file, IBinaryFile binary, boolean unchanged) {
+			this.file = file;
+			this.binary = binary;
+			this.unchanged = unchanged;
+		}
 	}
 
 	private final ICProject cproject;
@@ -95,6 +174,10 @@ public class BinaryRunner {
 		}
 	}
 
+	private static IParent[] getContainers(ICProject cproj) throws CModelException {
+		return new IParent[] { cproj.getBinaryContainer(), cproj.getArchiveContainer() };
+	}
+
 	private Job createRunnerJob() {
 		String taskName = CCorePlugin.getResourceString("CoreModel.BinaryRunner.Binary_Search_Thread"); //$NON-NLS-1$
 		taskName += " (" + cproject.getElementName() + ")"; //$NON-NLS-1$//$NON-NLS-2$
@@ -108,22 +191,17 @@ public class BinaryRunner {
 					} else {
 						monitor.beginTask(getName(), IProgressMonitor.UNKNOWN);
 
-						BinaryContainer vbin = (BinaryContainer) cproject.getBinaryContainer();
-						ArchiveContainer vlib = (ArchiveContainer) cproject.getArchiveContainer();
-
-						vlib.removeChildren();
-						vbin.removeChildren();
-
 						// traverse project, but only if at least one binary parser is configured
 						BinaryParserConfig[] parsers = CModelManager.getDefault()
 								.getBinaryParser(cproject.getProject());
+						List<IFile> candidates = new ArrayList<>();
 						if (parsers.length > 0) {
-							cproject.getProject().accept(new Visitor(monitor), IContainer.INCLUDE_PHANTOMS);
+							cproject.getProject().accept(new Visitor(monitor, candidates), IContainer.INCLUDE_PHANTOMS);
 						}
 
+						List<Probe> probes = probe(candidates, parsers, monitor);
 						if (!monitor.isCanceled()) {
-							CModelOperation op = new BinaryRunnerOperation(cproject);
-							op.runOperation(monitor);
+							updateContainers(probes, monitor);
 						}
 					}
 				} catch (CoreException e) {
@@ -140,6 +218,153 @@ public class BinaryRunner {
 		return job;
 	}
 
+	/*
+	 * Probes the candidates in parallel, in the order of the list.
+	 */
+	private List<Probe> probe(List<IFile> candidates, BinaryParserConfig[] parsers, IProgressMonitor monitor) {
+		List<Probe> probes = new ArrayList<>(candidates.size());
+		if (candidates.isEmpty()) {
+			return probes;
+		}
+		BinaryCache cache = BinaryCache.load(cproject.getProject(), parsers);
+		int threads = Math.min(MAX_PROBE_THREADS, Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+			Thread thread = new Thread(r, runnerJob.getName());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<Probe>> futures = new ArrayList<>(candidates.size());
+			for (IFile file : candidates) {
+				futures.add(executor.submit(() -> monitor.isCanceled() ? null : probe(file, parsers, cache)));
+			}
+			for (Future<Probe> future : futures) {
+				if (monitor.isCanceled()) {
+					return probes;
+				}
+				try {
+					Probe probe = future.get();
+					if (probe != null) {
+						probes.add(probe);
+					}
+				} catch (ExecutionException e) {
+					CCorePlugin.log(e.getCause());
+				}
+				monitor.worked(1);
+			}
+			cache.save();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+		return probes;
+	}
+
+	private Probe probe(IFile file, BinaryParserConfig[] parsers, BinaryCache cache) {
+		CModelManager factory = CModelManager.getDefault();
+		IPath location = file.getLocation();
+		if (location == null) {
+			// Not on the local file system, nothing to key the cache with.
+			return new Probe(file, factory.createBinaryFile(file, parsers), false);
+		}
+		File localFile = location.toFile();
+		String path = file.getFullPath().toString();
+		long length = localFile.length();
+		long lastModified = localFile.lastModified();
+		String parserId = cache.get(path, length, lastModified);
+		if (parserId != null) {
+			if (parserId.equals(BinaryCache.NOT_BINARY)) {
+				return new Probe(file, null, true);
+			}
+			for (BinaryParserConfig parser : parsers) {
+				if (parser.getId().equals(parserId)) {
+					IBinaryFile bin = factory.createBinaryFile(file, new BinaryParserConfig[] { parser });
+					if (bin != null) {
+						return new Probe(file, bin, true);
+					}
+				}
+			}
+			// The entry is wrong after all, probe the file with all the parsers.
+		}
+		IBinaryFile bin = factory.createBinaryFile(file, parsers);
+		parserId = bin != null ? getParserId(bin, parsers) : BinaryCache.NOT_BINARY;
+		if (parserId != null) {
+			cache.put(path, length, lastModified, parserId);
+		}
+		return new Probe(file, bin, false);
+	}
+
+	private static String getParserId(IBinaryFile bin, BinaryParserConfig[] parsers) {
+		for (BinaryParserConfig parser : parsers) {
+			try {
+				if (parser.getBinaryParser() == bin.getBinaryParser()) {
+					return parser.getId();
+				}
+			} catch (CoreException e) {
+			}
+		}
+		// Not cached, the file is probed with all the parsers again.
+		return null;
+	}
+
+	/*
+	 * Brings the containers in line with the probes.  The binaries which did
+	 * not change are kept, with the information already read from them.
+	 */
+	private void updateContainers(List<Probe> probes, IProgressMonitor monitor) throws CoreException {
+		CModelManager factory = CModelManager.getDefault();
+		BinaryContainer vbin = (BinaryContainer) cproject.getBinaryContainer();
+		ArchiveContainer vlib = (ArchiveContainer) cproject.getArchiveContainer();
+		boolean[] wasEmpty = new boolean[2];
+		Map<IResource, ICElement> existing = new HashMap<>();
+		IParent[] containers = getContainers(cproject);
+		for (int i = 0; i < containers.length; i++) {
+			ICElement[] children = containers[i].getChildren();
+			wasEmpty[i] = children.length == 0;
+			for (ICElement child : children) {
+				existing.put(child.getResource(), child);
+			}
+		}
+
+		List<ICElement> added = new ArrayList<>();
+		List<ICElement> removed = new ArrayList<>();
+		for (Probe probe : probes) {
+			if (probe.binary == null) {
+				continue;
+			}
+			ICElement old = existing.remove(probe.file);
+			if (old != null) {
+				if (probe.unchanged) {
+					continue;
+				}
+				remove(old, vbin, vlib);
+				removed.add(old);
+			}
+			// Create the file will add it to the {Archive,Binary}Container.
+			ICElement element = factory.create(probe.file, probe.binary, cproject);
+			if (element != null) {
+				added.add(element);
+			}
+		}
+		for (ICElement old : existing.values()) {
+			remove(old, vbin, vlib);
+			removed.add(old);
+		}
+
+		CModelOperation op = new BinaryRunnerOperation(cproject, added, removed, wasEmpty);
+		op.runOperation(monitor);
+	}
+
+	private static void remove(ICElement element, BinaryContainer vbin, ArchiveContainer vlib) throws CModelException {
+		if (element instanceof IArchive) {
+			vlib.removeChild(element);
+		} else {
+			vbin.removeChild(element);
+		}
+		CModelManager.getDefault().releaseCElement(element);
+	}
+
 	public void start() {
 		synchronized (runnerJob) {
 			if (!isStopped) {
@@ -172,14 +397,19 @@ public class BinaryRunner {
 		}
 	}
 
+	/*
+	 * Collects the files which may be binaries.
+	 */
 	private class Visitor implements IResourceProxyVisitor {
 		private final IProgressMonitor vMonitor;
 		private final IProject project;
 		private final IContentType textContentType;
+		private final List<IFile> candidates;
 
-		public Visitor(IProgressMonitor monitor) {
+		public Visitor(IProgressMonitor monitor, List<IFile> candidates) {
 			vMonitor = monitor;
 			this.project = cproject.getProject();
+			this.candidates = candidates;
 			IContentTypeManager mgr = Platform.getContentTypeManager();
 			textContentType = mgr.getContentType("org.eclipse.core.runtime.text"); //$NON-NLS-1$
 		}
@@ -216,18 +446,12 @@ public class BinaryRunner {
 			// give a hint to the user of what we are doing
 			vMonitor.subTask(name);
 
-			// we have a candidate
+			// we have a candidate, it is probed later
 			IPath path = proxy.requestFullPath();
 			if (path != null) {
 				for (IOutputEntry entrie : entries) {
 					if (isOnOutputEntry(entrie, path)) {
-						IFile file = (IFile) proxy.requestResource();
-						CModelManager factory = CModelManager.getDefault();
-						IBinaryFile bin = factory.createBinaryFile(file);
-						if (bin != null) {
-							// Create the file will add it to the {Archive,Binary}Container.
-							factory.create(file, bin, cproject);
-						}
+						candidates.add((IFile) proxy.requestResource());
 						return true;
 					}
 				}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 QNX Software Systems and others.
+ * Copyright (c) 2000, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -676,7 +676,14 @@ public class CModelManager implements IResourceChangeListener, IContentTypeChang
 	}
 
 	public IBinaryFile createBinaryFile(IFile file) {
-		BinaryParserConfig[] parsers = getBinaryParser(file.getProject());
+		return createBinaryFile(file, getBinaryParser(file.getProject()));
+	}
+
+	/**
+	 * Same as {@link #createBinaryFile(IFile)}, with only the given parsers
+	 * tried, in order.
+	 */
+	public IBinaryFile createBinaryFile(IFile file, BinaryParserConfig[] parsers) {
 		if (parsers.length == 0) {
 			return null;
 		}
@@ -1403,6 +1410,7 @@ public class CModelManager implements IResourceChangeListener, IContentTypeChang
 					movedTo = delta.getMovedToPath();
 				}
 				LocalProjectScope.deletePreferences(res.getFullPath(), movedTo);
+				BinaryCache.delete((IProject) res);
 			}
 		}
 	}
@@ -1414,6 +1422,7 @@ public class CModelManager implements IResourceChangeListener, IContentTypeChang
 		binaryParsersMap.remove(project);
 		// Stop the binary runner for this project
 		removeBinaryRunner(project);
+		BinaryCache.delete(project);
 	}
 
 	private void preCloseProject(IProject project) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2022 QNX Software Systems and others.
+ * Copyright (c) 2015, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -10,18 +10,25 @@
  *******************************************************************************/
 package org.eclipse.cdt.core.build;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -84,7 +91,10 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.PlatformObject;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.osgi.service.prefs.BackingStoreException;
 import org.osgi.service.prefs.Preferences;
@@ -129,6 +139,25 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 
 	private Object scannerInfoLock = new Object();
 
+	/**
+	 * Limits the compilers run at the same time to calculate scanner info.  The
+	 * group is shared by all the configurations, so a failed job does not
+	 * cancel the others.
+	 */
+	private static final JobGroup scannerInfoJobGroup = new JobGroup(
+			Messages.CBuildConfiguration_ScannerInfoJobGroup, Runtime.getRuntime().availableProcessors(), 0) {
+		@Override
+		protected boolean shouldCancel(IStatus lastCompletedJobResult, int numberOfFailedJobs,
+				int numberOfCanceledJobs) {
+			return false;
+		}
+	};
+	/** The running scanner info jobs, by command */
+	private final Map<List<String>, ScannerInfoJob> scannerInfoJobs = new HashMap<>();
+	/** The commands whose scanner info was calculated since the last shutdown of the console parser */
+	private final Set<List<String>> calculatedCommands = new HashSet<>();
+	private int savedScannerInfoModificationCount;
+
 	private final Map<IResource, List<IScannerInfoChangeListener>> scannerInfoListeners = new HashMap<>();
 	private ScannerInfoCache scannerInfoCache;
 
@@ -583,6 +612,15 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 	}
 
 	private File getScannerInfoCacheFile() {
+		return CCorePlugin.getDefault().getStateLocation().append("infoCache") //$NON-NLS-1$
+				.append(getProject().getName()).append(name + ".dat").toFile(); //$NON-NLS-1$
+	}
+
+	/**
+	 * The file the cache was written to in JSON by earlier versions, which is
+	 * read if there is no cache yet.
+	 */
+	private File getJsonScannerInfoCacheFile() {
 		return CCorePlugin.getDefault().getStateLocation().append("infoCache") //$NON-NLS-1$
 				.append(getProject().getName()).append(name + ".json").toFile(); //$NON-NLS-1$
 	}
@@ -594,8 +632,16 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 		synchronized (scannerInfoLock) {
 			if (scannerInfoCache == null) {
 				File cacheFile = getScannerInfoCacheFile();
+				File jsonCacheFile = getJsonScannerInfoCacheFile();
 				if (cacheFile.exists()) {
-					try (FileReader reader = new FileReader(cacheFile)) {
+					try (DataInputStream in = new DataInputStream(
+							new BufferedInputStream(new FileInputStream(cacheFile)))) {
+						scannerInfoCache = ScannerInfoCache.read(in);
+					} catch (IOException | RuntimeException e) {
+						CCorePlugin.log(e);
+					}
+				} else if (jsonCacheFile.exists()) {
+					try (FileReader reader = new FileReader(jsonCacheFile)) {
 						Gson gson = createGson();
 						scannerInfoCache = gson.fromJson(reader, ScannerInfoCache.class);
 					} catch (IOException e) {
@@ -607,6 +653,8 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 					scannerInfoCache = new ScannerInfoCache();
 				}
 				scannerInfoCache.initCache();
+				// A cache read from JSON is written in the new form by the next save
+				savedScannerInfoModificationCount = cacheFile.exists() ? 0 : -1;
 			}
 		}
 	}
@@ -624,6 +672,12 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 	 */
 	protected synchronized void saveScannerInfoCache() {
 		File cacheFile = getScannerInfoCacheFile();
+		synchronized (scannerInfoLock) {
+			if (scannerInfoCache == null
+					|| scannerInfoCache.getModificationCount() == savedScannerInfoModificationCount) {
+				return;
+			}
+		}
 		if (!cacheFile.getParentFile().exists()) {
 			try {
 				Files.createDirectories(cacheFile.getParentFile().toPath());
@@ -633,12 +687,22 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 			}
 		}
 
-		try (FileWriter writer = new FileWriter(getScannerInfoCacheFile())) {
-			Gson gson = createGson();
-			synchronized (scannerInfoLock) {
-				gson.toJson(scannerInfoCache, writer);
+		File tmpFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			int modificationCount;
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+				synchronized (scannerInfoLock) {
+					scannerInfoCache.write(out);
+					modificationCount = scannerInfoCache.getModificationCount();
+				}
 			}
+			Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			savedScannerInfoModificationCount = modificationCount;
+			getJsonScannerInfoCacheFile().delete();
 		} catch (IOException e) {
+			tmpFile.delete();
 			CCorePlugin.log(e);
 		}
 	}
@@ -681,10 +745,8 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 	@Override
 	public IScannerInfo getScannerInformation(IResource resource) {
 		loadScannerInfoCache();
-		IExtendedScannerInfo info = null;
-		synchronized (scannerInfoLock) {
-			info = scannerInfoCache.getScannerInfo(resource);
-		}
+		// The lookup needs no lock, see ScannerInfoCache
+		IExtendedScannerInfo info = scannerInfoCache.getScannerInfo(resource);
 		// Following is a kludge to fix Bug 579668 whereby sometimes a timing
 		// bug occurs and scanner info for a project that specifies a container target
 		// has not initialized the include paths correctly to point to copied includes
@@ -848,6 +910,10 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 						} else {
 							hasCommand = false;
 						}
+						if (hasCommand && calculatedCommands.contains(commandStrings)) {
+							// Already refreshed, by the line of another resource
+							needScannerRefresh = false;
+						}
 					}
 					if (!hasCommand || needScannerRefresh) {
 						Path commandPath = findCommand(command.get(0));
@@ -857,6 +923,7 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 									resource, getBuildDirectoryURI());
 							synchronized (scannerInfoLock) {
 								scannerInfoCache.addScannerInfo(commandStrings, info, resource);
+								calculatedCommands.add(commandStrings);
 								infoChanged = true;
 							}
 						}
@@ -872,33 +939,73 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 		}
 	}
 
+	/**
+	 * Calculates the scanner info of a command. The resources compiled with the
+	 * same command until it is done share its result, guarded by the scanner
+	 * info lock.
+	 */
 	private class ScannerInfoJob extends Job {
 		private IToolChain toolchain;
 		private List<String> command;
 		private List<String> commandStrings;
 		private IResource resource;
+		private List<IResource> resources = new ArrayList<>();
 		private URI buildDirectoryURI;
+		/** The calculated scanner info, once the job ran successfully */
+		private IExtendedScannerInfo info;
 
 		public ScannerInfoJob(String msg, IToolChain toolchain, List<String> command, IResource resource,
 				URI buildDirectoryURI, List<String> commandStrings) {
 			super(msg);
 			this.toolchain = toolchain;
-			this.command = command;
+			this.command = new ArrayList<>(command);
 			this.commandStrings = commandStrings;
 			this.resource = resource;
+			this.resources.add(resource);
 			this.buildDirectoryURI = buildDirectoryURI;
+			setJobGroup(scannerInfoJobGroup);
+			addJobChangeListener(new JobChangeAdapter() {
+				@Override
+				public void done(IJobChangeEvent event) {
+					// Whatever the result, the next line with the command starts a new job.
+					synchronized (scannerInfoLock) {
+						scannerInfoJobs.remove(ScannerInfoJob.this.commandStrings, ScannerInfoJob.this);
+					}
+				}
+			});
 		}
 
 		@Override
 		protected IStatus run(IProgressMonitor monitor) {
-			IExtendedScannerInfo info = toolchain.getScannerInfo(getBuildConfiguration(), command, null, resource,
-					buildDirectoryURI);
+			IExtendedScannerInfo result;
+			try {
+				result = toolchain.getScannerInfo(getBuildConfiguration(), command, null, resource,
+						buildDirectoryURI);
+			} catch (RuntimeException e) {
+				return new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, getName(), e);
+			}
 			synchronized (scannerInfoLock) {
-				scannerInfoCache.addScannerInfo(commandStrings, info, resource);
+				info = result;
+				for (IResource res : resources) {
+					scannerInfoCache.addScannerInfo(commandStrings, result, res);
+				}
 				infoChanged = true;
 			}
 			return Status.OK_STATUS;
 		}
+
+		/**
+		 * Adds a resource compiled with the command, under the scanner info lock.
+		 */
+		private void addResource(IResource res) {
+			if (info != null) {
+				// Already calculated, but not done yet
+				scannerInfoCache.addScannerInfo(commandStrings, info, res);
+				infoChanged = true;
+			} else {
+				resources.add(res);
+			}
+		}
 	}
 
 	/**
@@ -973,6 +1080,12 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 					loadScannerInfoCache();
 					boolean hasCommand = true;
 					synchronized (scannerInfoLock) {
+						ScannerInfoJob running = scannerInfoJobs.get(commandStrings);
+						if (running != null) {
+							// The compiler is already run for this command
+							running.addResource(resource);
+							continue;
+						}
 						if (scannerInfoCache.hasCommand(commandStrings)) {
 							IExtendedScannerInfo info = scannerInfoCache.getScannerInfo(commandStrings);
 							if (info.getIncludePaths().length == 0) {
@@ -985,14 +1098,27 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 						} else {
 							hasCommand = false;
 						}
+						if (hasCommand && calculatedCommands.contains(commandStrings)) {
+							// Already refreshed, by the line of another resource
+							needScannerRefresh = false;
+						}
 					}
 					if (!hasCommand || needScannerRefresh) {
 						Path commandPath = findCommand(command.get(0));
 						if (commandPath != null) {
 							command.set(0, commandPath.toString());
-							Job job = new ScannerInfoJob(
+							ScannerInfoJob job = new ScannerInfoJob(
 									String.format(Messages.CBuildConfiguration_RunningScannerInfo, resource), tc,
 									command, resource, getBuildDirectoryURI(), commandStrings);
+							synchronized (scannerInfoLock) {
+								ScannerInfoJob running = scannerInfoJobs.get(commandStrings);
+								if (running != null) {
+									running.addResource(resource);
+									continue;
+								}
+								scannerInfoJobs.put(commandStrings, job);
+								calculatedCommands.add(commandStrings);
+							}
 							job.schedule();
 							jobsArray.add(job);
 						}
@@ -1040,6 +1166,9 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 			CCorePlugin.getIndexManager().reindex(CoreModel.getDefault().create(getProject()));
 			infoChanged = false;
 		}
+		synchronized (scannerInfoLock) {
+			calculatedCommands.clear();
+		}
 	}
 
 	@Override
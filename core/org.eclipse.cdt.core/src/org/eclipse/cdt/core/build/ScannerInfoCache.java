@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 QNX Software Systems and others.
+ * Copyright (c) 2016, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -10,12 +10,23 @@
  *******************************************************************************/
 package org.eclipse.cdt.core.build;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
+import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
 import org.eclipse.cdt.core.parser.IExtendedScannerInfo;
+import org.eclipse.cdt.core.parser.IncludeExportPatterns;
+import org.eclipse.cdt.internal.core.parser.ParserSettings2;
 import org.eclipse.core.resources.IResource;
 
 /**
@@ -25,16 +36,21 @@ import org.eclipse.core.resources.IResource;
  */
 public class ScannerInfoCache {
 
+	private static final int VERSION = 1;
+
 	private static class Command {
 		public List<String> command;
-		public IExtendedScannerInfo info;
+		public volatile IExtendedScannerInfo info;
 		public List<String> resourcePaths;
 	}
 
 	private List<Command> commands;
 
-	private transient Map<List<String>, Command> commandMap = new HashMap<>();
-	private transient Map<String, Command> resourceMap = new HashMap<>();
+	// Concurrent so that the scanner info of a resource can be looked up
+	// while the cache is changed, the changes must be synchronized.
+	private transient Map<List<String>, Command> commandMap = new ConcurrentHashMap<>();
+	private transient Map<String, Command> resourceMap = new ConcurrentHashMap<>();
+	private transient int modificationCount;
 
 	/**
 	 * Initialize the cache of scanner info. Call this after loading this info
@@ -87,6 +103,7 @@ public class ScannerInfoCache {
 			}
 		}
 
+		modificationCount++;
 		Command command = commandMap.get(commandStrings);
 		if (command != null) {
 			command.info = info;
@@ -133,6 +150,7 @@ public class ScannerInfoCache {
 				return;
 			}
 		}
+		modificationCount++;
 		command.resourcePaths.add(resource.getLocation().toOSString());
 		resourceMap.put(resourcePath, command);
 	}
@@ -144,6 +162,7 @@ public class ScannerInfoCache {
 		String resourcePath = resource.getLocation().toOSString();
 		Command command = resourceMap.get(resourcePath);
 		if (command != null) {
+			modificationCount++;
 			command.resourcePaths.remove(resourcePath);
 			if (command.resourcePaths.isEmpty()) {
 				commands.remove(command);
@@ -159,6 +178,7 @@ public class ScannerInfoCache {
 	public void removeCommand(List<String> commandStrings) {
 		Command command = commandMap.remove(commandStrings);
 		if (command != null) {
+			modificationCount++;
 			commands.remove(command);
 			for (String resourcePath : command.resourcePaths) {
 				Command current = resourceMap.get(resourcePath);
@@ -169,4 +189,176 @@ public class ScannerInfoCache {
 		}
 	}
 
+	/**
+	 * Returns the number of changes made to the cache since it was created or
+	 * read, so that an unchanged cache is not written again.
+	 */
+	int getModificationCount() {
+		return modificationCount;
+	}
+
+	/**
+	 * Writes the cache in a compact form: every string, e.g. an include path
+	 * shared by many commands, is written once and referred to by its index.
+	 *
+	 * @since 8.2
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public void write(DataOutputStream out) throws IOException {
+		Map<String, Integer> strings = new LinkedHashMap<>();
+		for (Command command : commands) {
+			command.command.forEach(arg -> index(strings, arg));
+			command.resourcePaths.forEach(path -> index(strings, path));
+			IExtendedScannerInfo info = command.info;
+			if (info != null) {
+				info.getDefinedSymbols().forEach((name, value) -> {
+					index(strings, name);
+					index(strings, value);
+				});
+				for (String[] paths : getPathArrays(info)) {
+					Arrays.stream(paths).forEach(path -> index(strings, path));
+				}
+				for (String pattern : getExportPatterns(info)) {
+					index(strings, pattern);
+				}
+			}
+		}
+
+		out.writeInt(VERSION);
+		out.writeInt(strings.size());
+		for (String string : strings.keySet()) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+		out.writeInt(commands.size());
+		for (Command command : commands) {
+			writeIndices(out, strings, command.command);
+			writeIndices(out, strings, command.resourcePaths);
+			IExtendedScannerInfo info = command.info;
+			out.writeBoolean(info != null);
+			if (info != null) {
+				Map<String, String> symbols = info.getDefinedSymbols();
+				out.writeInt(symbols.size());
+				for (Map.Entry<String, String> symbol : symbols.entrySet()) {
+					out.writeInt(index(strings, symbol.getKey()));
+					out.writeInt(index(strings, symbol.getValue()));
+				}
+				for (String[] paths : getPathArrays(info)) {
+					writeIndices(out, strings, Arrays.asList(paths));
+				}
+				for (String pattern : getExportPatterns(info)) {
+					out.writeInt(index(strings, pattern));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads a cache written by {@link #write(DataOutputStream)}. Call
+	 * {@link #initCache()} after reading it.
+	 *
+	 * @return the cache, or <code>null</code> if it was written by another
+	 *         version
+	 * @since 8.2
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public static ScannerInfoCache read(DataInputStream in) throws IOException {
+		if (in.readInt() != VERSION) {
+			return null;
+		}
+		String[] strings = new String[in.readInt()];
+		for (int i = 0; i < strings.length; i++) {
+			byte[] bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			strings[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		int size = in.readInt();
+		ScannerInfoCache cache = new ScannerInfoCache();
+		cache.commands = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Command command = new Command();
+			command.command = readStrings(in, strings);
+			command.resourcePaths = readStrings(in, strings);
+			if (in.readBoolean()) {
+				int symbolCount = in.readInt();
+				Map<String, String> symbols = new HashMap<>(symbolCount * 2);
+				for (int j = 0; j < symbolCount; j++) {
+					String name = readString(in, strings);
+					symbols.put(name, readString(in, strings));
+				}
+				String[] includePaths = readStrings(in, strings).toArray(new String[0]);
+				String[] localIncludePaths = readStrings(in, strings).toArray(new String[0]);
+				String[] includeFiles = readStrings(in, strings).toArray(new String[0]);
+				String[] macroFiles = readStrings(in, strings).toArray(new String[0]);
+				ExtendedScannerInfo info = new ExtendedScannerInfo(symbols, includePaths, macroFiles, includeFiles,
+						localIncludePaths);
+				String exportPattern = readString(in, strings);
+				String beginExportsPattern = readString(in, strings);
+				String endExportsPattern = readString(in, strings);
+				if (exportPattern != null || beginExportsPattern != null || endExportsPattern != null) {
+					info.setIncludeExportPatterns(
+							new IncludeExportPatterns(exportPattern, beginExportsPattern, endExportsPattern));
+				}
+				info.setParserSettings(new ParserSettings2());
+				command.info = info;
+			}
+			cache.commands.add(command);
+		}
+		return cache;
+	}
+
+	private static String[][] getPathArrays(IExtendedScannerInfo info) {
+		return new String[][] { info.getIncludePaths(), info.getLocalIncludePath(), info.getIncludeFiles(),
+				info.getMacroFiles() };
+	}
+
+	private static String[] getExportPatterns(IExtendedScannerInfo info) {
+		String[] patterns = new String[3];
+		if (info instanceof ExtendedScannerInfo) {
+			IncludeExportPatterns exportPatterns = ((ExtendedScannerInfo) info).getIncludeExportPatterns();
+			if (exportPatterns != null) {
+				patterns[0] = getPattern(exportPatterns.getIncludeExportPattern());
+				patterns[1] = getPattern(exportPatterns.getIncludeBeginExportsPattern());
+				patterns[2] = getPattern(exportPatterns.getIncludeEndExportsPattern());
+			}
+		}
+		return patterns;
+	}
+
+	private static String getPattern(Pattern pattern) {
+		return pattern != null ? pattern.pattern() : null;
+	}
+
+	/**
+	 * @return the index of the string, -1 for <code>null</code>
+	 */
+	private static int index(Map<String, Integer> strings, String string) {
+		if (string == null) {
+			return -1;
+		}
+		return strings.computeIfAbsent(string, s -> strings.size());
+	}
+
+	private static void writeIndices(DataOutputStream out, Map<String, Integer> strings, List<String> list)
+			throws IOException {
+		out.writeInt(list.size());
+		for (String string : list) {
+			out.writeInt(index(strings, string));
+		}
+	}
+
+	private static String readString(DataInputStream in, String[] strings) throws IOException {
+		int index = in.readInt();
+		return index >= 0 ? strings[index] : null;
+	}
+
+	private static List<String> readStrings(DataInputStream in, String[] strings) throws IOException {
+		int size = in.readInt();
+		List<String> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(readString(in, strings));
+		}
+		return list;
+	}
 }
@@ -22,6 +22,7 @@ import java.util.regex.Pattern;
 import org.eclipse.cdt.core.ErrorParserManager;
 import org.eclipse.cdt.core.IMarkerGenerator;
 import org.eclipse.cdt.internal.core.Cygwin;
+import org.eclipse.cdt.internal.errorparsers.RegexPrefilter;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
@@ -62,6 +63,8 @@ public class RegexErrorPattern implements Cloneable {
 	private static final String EMPTY_STR = ""; //$NON-NLS-1$
 
 	private Pattern pattern;
+	/** Text which every matching line contains, or {@code null} */
+	private String requiredText;
 	private String fileExpression;
 	private String lineExpression;
 	private String descriptionExpression;
@@ -92,6 +95,7 @@ public class RegexErrorPattern implements Cloneable {
 	public RegexErrorPattern(String pattern, String fileExpression, String lineExpression, String descriptionExpression,
 			String varNameExpression, int severity, boolean eat) {
 		this.pattern = Pattern.compile(pattern != null ? pattern : EMPTY_STR);
+		this.requiredText = RegexPrefilter.getRequiredText(this.pattern.pattern());
 		this.fileExpression = fileExpression != null ? fileExpression : EMPTY_STR;
 		this.lineExpression = lineExpression != null ? lineExpression : EMPTY_STR;
 		this.descriptionExpression = descriptionExpression != null ? descriptionExpression : EMPTY_STR;
@@ -158,6 +162,7 @@ public class RegexErrorPattern implements Cloneable {
 	 */
 	public void setPattern(String pattern) {
 		this.pattern = Pattern.compile(pattern);
+		this.requiredText = RegexPrefilter.getRequiredText(pattern);
 	}
 
 	/**
@@ -275,6 +280,10 @@ public class RegexErrorPattern implements Cloneable {
 	 * @return {@code true} if error/warning/info problem was found.
 	 */
 	public boolean processLine(String line, ErrorParserManager eoParser) {
+		// Most lines are rejected here, without running the matcher
+		if (requiredText != null && !line.contains(requiredText)) {
+			return false;
+		}
 		Matcher matcher = getMatcher(line);
 		if (!matcher.matches()) {
 			return false;
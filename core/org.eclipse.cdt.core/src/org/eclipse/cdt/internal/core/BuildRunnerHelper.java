@@ -91,6 +91,47 @@ public class BuildRunnerHelper implements Closeable {
 
 	private boolean isStreamsOpen = false;
 	boolean isCancelled = false;
+	private int exitValue = -1;
+
+	/**
+	 * Writes to two streams, the output of a process to the console and a copy.
+	 */
+	private static class CopyingOutputStream extends OutputStream {
+		private final OutputStream out;
+		private final OutputStream copy;
+
+		CopyingOutputStream(OutputStream out, OutputStream copy) {
+			this.out = out;
+			this.copy = copy;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			copy.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			copy.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			out.flush();
+			copy.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				out.close();
+			} finally {
+				copy.close();
+			}
+		}
+	}
 
 	/**
 	 * Constructor.
@@ -187,6 +228,27 @@ public class BuildRunnerHelper implements Closeable {
 		return stderr;
 	}
 
+	/**
+	 * Copies the output of the process to the specified streams as well, e.g. to
+	 * keep it. Must be called after {@link #prepareStreams}.
+	 *
+	 * @param out - the stream to copy stdout to.
+	 * @param err - the stream to copy stderr to.
+	 */
+	public void copyOutput(OutputStream out, OutputStream err) {
+		Assert.isNotNull(stdout, "Streams must be created before calling this method"); //$NON-NLS-1$
+		stdout = new CopyingOutputStream(stdout, out);
+		stderr = new CopyingOutputStream(stderr, err);
+	}
+
+	/**
+	 * @return the exit value of the process of the last {@link #build}, or -1 if it
+	 *    did not run or was canceled.
+	 */
+	public int getExitValue() {
+		return exitValue;
+	}
+
 	/**
 	 * Remove problem markers created for the resource by previous build.
 	 *
@@ -258,6 +320,7 @@ public class BuildRunnerHelper implements Closeable {
 			monitor.beginTask("", TICKS_EXECUTE_PROGRAM + TICKS_PARSE_OUTPUT); //$NON-NLS-1$
 
 			isCancelled = false;
+			exitValue = -1;
 			String pathFromURI = null;
 			if (workingDirectoryURI != null) {
 				pathFromURI = EFSExtensionManager.getDefault().getPathFromURI(workingDirectoryURI);
@@ -285,10 +348,13 @@ public class BuildRunnerHelper implements Closeable {
 				monitor.worked(TICKS_PARSE_OUTPUT);
 				if (status != ICommandLauncher.OK) {
 					errMsg = launcher.getErrorMessage();
-				} else if (p.exitValue() != 0) {
-					errMsg = CCorePlugin.getFormattedString("BuildRunnerHelper.commandNonZeroExitCode", //$NON-NLS-1$
-							new String[] { guessCommandLine(buildCommand.toString(), args),
-									Integer.toString(p.exitValue()) });
+				} else {
+					exitValue = p.exitValue();
+					if (exitValue != 0) {
+						errMsg = CCorePlugin.getFormattedString("BuildRunnerHelper.commandNonZeroExitCode", //$NON-NLS-1$
+								new String[] { guessCommandLine(buildCommand.toString(), args),
+										Integer.toString(exitValue) });
+					}
 				}
 			} else {
 				errMsg = launcher.getErrorMessage();
@@ -38,6 +38,7 @@ public class ProcessClosure {
 		private OutputStream fOutputStream;
 		private boolean fFinished = false;
 		private String lineSeparator;
+		private Runnable fCompletionListener;
 
 		public ReaderThread(ThreadGroup group, String name, InputStream in, OutputStream out) {
 			super(group, name);
@@ -75,9 +76,20 @@ public class ProcessClosure {
 				}
 			} finally {
 				complete();
+				if (fCompletionListener != null) {
+					fCompletionListener.run();
+				}
 			}
 		}
 
+		/**
+		 * Sets the listener called when all the input has been read, before
+		 * the thread is started.
+		 */
+		public void setCompletionListener(Runnable listener) {
+			fCompletionListener = listener;
+		}
+
 		public synchronized boolean finished() {
 			return fFinished;
 		}
@@ -115,6 +127,8 @@ public class ProcessClosure {
 	protected ReaderThread fOutputReader;
 	protected ReaderThread fErrorReader;
 
+	protected Runnable fCompletionListener;
+
 	/**
 	 * Creates a process closure and connects the launched process with a
 	 * console document.
@@ -143,6 +157,20 @@ public class ProcessClosure {
 		fOutputReader = new ReaderThread(group, "OutputReader", stdin, fOutput); //$NON-NLS-1$
 		fErrorReader = new ReaderThread(group, "ErrorReader", stderr, fError); //$NON-NLS-1$
 
+		if (fCompletionListener != null) {
+			ReaderThread outputReader = fOutputReader;
+			ReaderThread errorReader = fErrorReader;
+			Runnable listener = fCompletionListener;
+			// Whichever reader finishes last notifies the listener.
+			Runnable readerListener = () -> {
+				if (outputReader.finished() && errorReader.finished()) {
+					listener.run();
+				}
+			};
+			fOutputReader.setCompletionListener(readerListener);
+			fErrorReader.setCompletionListener(readerListener);
+		}
+
 		fOutputReader.start();
 		fErrorReader.start();
 	}
@@ -184,9 +212,20 @@ public class ProcessClosure {
 		fErrorReader = null;
 	}
 
+	/**
+	 * Sets the listener called, in one of the reader threads, once the output
+	 * of the process has been read completely, i.e. when {@link #isRunning()}
+	 * becomes <code>false</code>.  It must be set before the readers are
+	 * started.
+	 */
+	public void setCompletionListener(Runnable listener) {
+		fCompletionListener = listener;
+	}
+
 	public boolean isAlive() {
 		if (fProcess != null) {
-			if (fOutputReader.isAlive() || fErrorReader.isAlive()) {
+			// The readers are done before their threads end, consistently with the completion listener.
+			if (!fOutputReader.finished() || !fErrorReader.finished()) {
 				return true;
 			}
 			fProcess = null;
@@ -205,7 +244,7 @@ public class ProcessClosure {
 	 */
 	public boolean isRunning() {
 		if (fProcess != null) {
-			if (fOutputReader.isAlive() || fErrorReader.isAlive()) {
+			if (!fOutputReader.finished() || !fErrorReader.finished()) {
 				return true;
 			}
 			fProcess = null;
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.errorparsers;
+
+/**
+ * Finds a text which every match of a regular expression contains, so that
+ * lines of output without the text are rejected without running the matcher.
+ * <p>
+ * Most lines of build output are not messages, and most patterns of the error
+ * parsers contain a text like <code>": "</code> or <code>"ld: "</code>, which
+ * is much cheaper to look for than to run the matcher, especially for patterns
+ * starting with <code>(.*?)</code>.
+ * </p>
+ * <p>
+ * Only the plain characters at the top level of the expression are considered,
+ * i.e. not those in groups or character classes, or which are optional. If the
+ * expression has alternatives or flags at the top level, there is no such text.
+ * </p>
+ */
+public class RegexPrefilter {
+
+	private RegexPrefilter() {
+	}
+
+	/**
+	 * Returns the longest text which every match of the regular expression
+	 * contains, or <code>null</code> if none could be found.
+	 *
+	 * @param regex a regular expression, compiled without flags
+	 */
+	public static String getRequiredText(String regex) {
+		if (regex == null) {
+			return null;
+		}
+		String longest = null;
+		StringBuilder run = new StringBuilder();
+		boolean lastIsLiteral = false;
+		int i = 0;
+		int length = regex.length();
+		while (i < length) {
+			char c = regex.charAt(i);
+			switch (c) {
+			case '\\':
+				if (i + 1 >= length) {
+					return null;
+				}
+				char escaped = regex.charAt(i + 1);
+				i += 2;
+				if (Character.isLetterOrDigit(escaped)) {
+					// A class like \d or \n. Back references, quotations and
+					// escapes which span more characters, like \x41, are not
+					// followed.
+					if (Character.isDigit(escaped) || "xucpPNkQ".indexOf(escaped) >= 0) { //$NON-NLS-1$
+						return null;
+					}
+					longest = longest(longest, run);
+					lastIsLiteral = false;
+				} else {
+					run.append(escaped);
+					lastIsLiteral = true;
+				}
+				continue;
+			case '(':
+				if (regex.startsWith("(?", i) && !regex.startsWith("(?:", i)) { //$NON-NLS-1$ //$NON-NLS-2$
+					// Flags or look-around
+					return null;
+				}
+				i = skipGroup(regex, i);
+				break;
+			case '[':
+				i = skipClass(regex, i);
+				break;
+			case '*':
+			case '?':
+			case '{':
+				// The last character is optional
+				if (lastIsLiteral) {
+					run.setLength(run.length() - 1);
+				}
+				if (c == '{') {
+					i = regex.indexOf('}', i);
+				}
+				break;
+			case '+':
+				// The last character is required, but may be repeated
+				break;
+			case '|':
+				return null;
+			case ')':
+			case ']':
+			case '}':
+				// Not balanced
+				return null;
+			default:
+				if (c != '.' && c != '^' && c != '$') {
+					run.append(c);
+					lastIsLiteral = true;
+					i++;
+					continue;
+				}
+			}
+			if (i < 0) {
+				return null;
+			}
+			longest = longest(longest, run);
+			lastIsLiteral = false;
+			i++;
+		}
+		return longest(longest, run);
+	}
+
+	private static String longest(String longest, StringBuilder run) {
+		if (run.length() > 0 && (longest == null || run.length() > longest.length())) {
+			longest = run.toString();
+		}
+		run.setLength(0);
+		return longest;
+	}
+
+	/**
+	 * @return the index of the closing parenthesis of the group, or -1
+	 */
+	private static int skipGroup(String regex, int start) {
+		int depth = 0;
+		for (int i = start; i < regex.length(); i++) {
+			switch (regex.charAt(i)) {
+			case '\\':
+				i++;
+				break;
+			case '[':
+				i = skipClass(regex, i);
+				if (i < 0) {
+					return -1;
+				}
+				break;
+			case '(':
+				depth++;
+				break;
+			case ')':
+				if (--depth == 0) {
+					return i;
+				}
+				break;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the index of the closing bracket of the character class, or -1
+	 */
+	private static int skipClass(String regex, int start) {
+		int depth = 0;
+		for (int i = start; i < regex.length(); i++) {
+			switch (regex.charAt(i)) {
+			case '\\':
+				i++;
+				break;
+			case '[':
+				depth++;
+				break;
+			case ']':
+				// A bracket right after the opening one is a character of the class
+				if (i == start + 1 || (i == start + 2 && regex.charAt(start + 1) == '^')) {
+					break;
+				}
+				if (--depth == 0) {
+					return i;
+				}
+				break;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.cdt.internal.core.dwarf;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.core.CCorePlugin;
+
+/**
+ * Persistent cache of the indexes read from the debug information of
+ * binaries: their source files, and the map of their addresses to source lines.
+ * <p>
+ * Reading the debug information of a large binary means walking its whole
+ * .debug_info and .debug_line sections, which is repeated for every binary of
+ * every project each time the workspace is opened. The cache keeps the result
+ * in the state location of the core plug-in, with one entry per binary and
+ * kind of index. An entry is only used if the binary and its separate debug
+ * files have the same size and time stamp, and the binary the same build-id,
+ * as when it was stored.
+ * </p>
+ * <p>
+ * The time stamp of an entry is the last time it was used.  Entries not used
+ * for {@link #MAX_AGE_DAYS} days are deleted, as well as the least recently
+ * used entries beyond {@link #MAX_ENTRIES}.  Since this means listing the
+ * whole cache directory, the cache is only pruned on the first store of a
+ * session, and then every {@link #PRUNE_INTERVAL} stores.
+ * </p>
+ */
+public final class DwarfIndexCache {
+
+	/** Kind of the entries of the source files of a binary */
+	public static final String SOURCE_FILES = "src"; //$NON-NLS-1$
+	/** Kind of the entries of the line tables of a binary */
+	public static final String LINE_TABLE = "lines"; //$NON-NLS-1$
+
+	private static final int VERSION = 2;
+	private static final String DIRECTORY = "dwarf-index"; //$NON-NLS-1$
+	private static final String SUFFIX = ".idx"; //$NON-NLS-1$
+
+	/** Number of days after which an entry which was not used is deleted */
+	public static final int MAX_AGE_DAYS = 30;
+
+	/** Maximum number of entries */
+	public static final int MAX_ENTRIES = 1000;
+
+	/** Number of stores between two prunings of the cache */
+	public static final int PRUNE_INTERVAL = 100;
+
+	private static final AtomicInteger storeCount = new AtomicInteger();
+
+	/**
+	 * Reads the content of an entry.
+	 */
+	@FunctionalInterface
+	public interface EntryReader<T> {
+		T read(DataInputStream in) throws IOException;
+	}
+
+	/**
+	 * Writes the content of an entry.
+	 */
+	@FunctionalInterface
+	public interface EntryWriter {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+	private DwarfIndexCache() {
+	}
+
+	/**
+	 * Returns the cached index of a binary, or <code>null</code> if it is not
+	 * cached or the cache entry is out of date.
+	 *
+	 * @param files the binary, followed by the files its debug information is read from
+	 * @param buildId the build-id of the binary, or <code>null</code>
+	 * @param kind the kind of index, e.g. {@link #SOURCE_FILES}
+	 * @param reader reads the index from the entry
+	 */
+	public static <T> T load(List<File> files, String buildId, String kind, EntryReader<T> reader) {
+		File entry = getEntry(files, kind);
+		if (entry == null || !entry.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(entry)))) {
+			if (in.readInt() != VERSION || in.readInt() != files.size()) {
+				return null;
+			}
+			for (File file : files) {
+				if (!in.readUTF().equals(file.getAbsolutePath()) || in.readLong() != file.length()
+						|| in.readLong() != file.lastModified()) {
+					return null;
+				}
+			}
+			if (!in.readUTF().equals(buildId != null ? buildId : "")) { //$NON-NLS-1$
+				return null;
+			}
+			T index = reader.read(in);
+			// Keep the entry from being pruned as unused.
+			entry.setLastModified(System.currentTimeMillis());
+			return index;
+		} catch (IOException | RuntimeException e) {
+			// A corrupted entry is the same as a missing one.
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the index of a binary.  Failures are ignored, the index is then
+	 * read again from the debug information next time.
+	 *
+	 * @param files the binary, followed by the files its debug information is read from
+	 * @param buildId the build-id of the binary, or <code>null</code>
+	 * @param kind the kind of index, e.g. {@link #SOURCE_FILES}
+	 * @param writer writes the index to the entry
+	 */
+	public static void store(List<File> files, String buildId, String kind, EntryWriter writer) {
+		File entry = getEntry(files, kind);
+		if (entry == null) {
+			return;
+		}
+		File dir = entry.getParentFile();
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			return;
+		}
+		File tmp = new File(dir, entry.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				out.writeInt(VERSION);
+				out.writeInt(files.size());
+				for (File file : files) {
+					out.writeUTF(file.getAbsolutePath());
+					out.writeLong(file.length());
+					out.writeLong(file.lastModified());
+				}
+				out.writeUTF(buildId != null ? buildId : ""); //$NON-NLS-1$
+				writer.write(out);
+			}
+			// Readers in other sessions never see a partially written entry.
+			Files.move(tmp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			tmp.delete();
+		}
+		if (storeCount.getAndIncrement() % PRUNE_INTERVAL == 0) {
+			prune();
+		}
+	}
+
+	/**
+	 * Deletes the entries which were not used recently, and the least
+	 * recently used entries beyond the maximum number of entries.
+	 */
+	public static void prune() {
+		File dir = getDirectory();
+		File[] entries = dir != null ? dir.listFiles((parent, name) -> name.endsWith(SUFFIX)) : null;
+		if (entries == null) {
+			return;
+		}
+		long oldest = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_AGE_DAYS);
+		Map<File, Long> lastUses = new HashMap<>();
+		for (File entry : entries) {
+			long lastUse = entry.lastModified();
+			if (lastUse < oldest) {
+				entry.delete();
+			} else {
+				lastUses.put(entry, lastUse);
+			}
+		}
+		if (lastUses.size() > MAX_ENTRIES) {
+			List<File> sorted = new ArrayList<>(lastUses.keySet());
+			sorted.sort(Comparator.comparing(lastUses::get));
+			for (File entry : sorted.subList(0, sorted.size() - MAX_ENTRIES)) {
+				entry.delete();
+			}
+		}
+	}
+
+	private static File getDirectory() {
+		CCorePlugin plugin = CCorePlugin.getDefault();
+		if (plugin == null) {
+			// Not running in the workbench, e.g. in the command line tools.
+			return null;
+		}
+		try {
+			return plugin.getStateLocation().append(DIRECTORY).toFile();
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+
+	private static File getEntry(List<File> files, String kind) {
+		File dir = getDirectory();
+		if (dir == null || files.isEmpty()) {
+			return null;
+		}
+		String path = files.get(0).getAbsolutePath();
+		// The hash only names the entry; the path stored in it identifies the binary.
+		String name = Integer.toHexString(path.hashCode()) + '-' + Integer.toHexString(path.length()) + '-' + kind
+				+ SUFFIX;
+		return new File(dir, name);
+	}
+}
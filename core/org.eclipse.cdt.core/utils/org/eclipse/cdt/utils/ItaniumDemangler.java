@@ -0,0 +1,2014 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.internal.core.LRUCache;
+
+/**
+ * Demangler of C++ symbols mangled with the Itanium C++ ABI, which is used by
+ * GCC and Clang on all platforms but Windows.
+ * <p>
+ * The demangled names are formatted the same way as by <code>c++filt</code>,
+ * so that this class can be used instead of {@link CPPFilt} without starting
+ * a process.  The symbols which use the parts of the mangling grammar which
+ * are not supported, mostly expressions in template arguments and
+ * <code>decltype</code>, are not demangled; clients can still pass those to
+ * <code>c++filt</code>.
+ * </p>
+ * <p>
+ * The results are kept in a cache shared by all the clients, since the same
+ * symbols, e.g. of the standard library, are found in many binaries.
+ * </p>
+ *
+ * @since 8.2
+ */
+public final class ItaniumDemangler {
+
+	private static final int CACHE_SIZE = 20000;
+
+	/** Demangled names by symbol; a symbol which is not demangled is mapped to itself. */
+	private static final Map<String, String> cache = Collections.synchronizedMap(new LRUCache<>(CACHE_SIZE));
+
+	private ItaniumDemangler() {
+	}
+
+	/**
+	 * Returns whether the given symbol looks like a symbol mangled with the
+	 * Itanium C++ ABI.
+	 */
+	public static boolean isMangled(String symbol) {
+		return symbol.startsWith("_Z") || symbol.startsWith("_GLOBAL_"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Demangles a symbol.
+	 *
+	 * @return the demangled name, or <code>null</code> if the symbol is not
+	 * mangled, or uses a part of the mangling grammar which is not supported
+	 */
+	public static String demangle(String symbol) {
+		if (!isMangled(symbol)) {
+			return null;
+		}
+		String result = cache.get(symbol);
+		if (result == null) {
+			result = new Parser(symbol).demangleSymbol();
+			cache.put(symbol, result != null ? result : symbol);
+		} else if (result == symbol) {
+			result = null;
+		}
+		return result;
+	}
+
+	/**
+	 * Demangles symbols.
+	 *
+	 * @return the demangled names, in the same order as the symbols; an element
+	 * is <code>null</code> if the symbol is not demangled
+	 * @see #demangle(String)
+	 */
+	public static String[] demangle(String[] symbols) {
+		String[] results = new String[symbols.length];
+		for (int i = 0; i < symbols.length; i++) {
+			results[i] = demangle(symbols[i]);
+		}
+		return results;
+	}
+
+	/**
+	 * Demangles a symbol, or returns it unchanged if it is not demangled, as
+	 * {@link CPPFilt#getFunction(String)} does.
+	 */
+	public static String getFunction(String symbol) {
+		String result = demangle(symbol);
+		return result != null ? result : symbol;
+	}
+
+	/*
+	 * Thrown when the symbol does not match the grammar, or uses a part of it
+	 * which is not supported.
+	 */
+	private static class UnsupportedException extends Exception {
+		private static final long serialVersionUID = 1L;
+
+		UnsupportedException() {
+			super(null, null, false, false);
+		}
+	}
+
+	private static final UnsupportedException UNSUPPORTED = new UnsupportedException();
+
+	/*
+	 * Output of the nodes.  The types are printed in two parts, around the
+	 * declarator, e.g. "void (*" and ")(int)" for a pointer to a function.
+	 */
+	private static class Printer {
+		final StringBuilder sb = new StringBuilder();
+		/** Element of the parameter pack being expanded, or -1 */
+		int packIndex = -1;
+
+		/** Length of the output when an empty list element was removed, or -1 */
+		int trimmedLength = -1;
+
+		char last() {
+			if (sb.length() == trimmedLength) {
+				// c++filt still sees the separator of the removed element.
+				return ' ';
+			}
+			return sb.length() > 0 ? sb.charAt(sb.length() - 1) : 0;
+		}
+	}
+
+	private static abstract class Node {
+		abstract void printLeft(Printer p);
+
+		void printRight(Printer p) {
+		}
+
+		boolean hasRightPart(Printer p) {
+			return false;
+		}
+
+		boolean isFunction(Printer p) {
+			return false;
+		}
+
+		boolean isArray(Printer p) {
+			return false;
+		}
+
+		final void print(Printer p) {
+			printLeft(p);
+			printRight(p);
+		}
+
+		/** The name of the constructors of a class with this name */
+		String baseName() {
+			Printer p = new Printer();
+			print(p);
+			return p.sb.toString();
+		}
+
+		/** The parameter pack this node refers to, if it is the pattern of a pack expansion */
+		ArgumentPack findPack() {
+			return null;
+		}
+
+		@Override
+		public String toString() {
+			Printer p = new Printer();
+			print(p);
+			return p.sb.toString();
+		}
+	}
+
+	private static class NameNode extends Node {
+		final String name;
+
+		NameNode(String name) {
+			this.name = name;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			p.sb.append(name);
+		}
+	}
+
+	private static class SpecialSubstitution extends Node {
+		final String name;
+		final String expanded;
+		final String base;
+
+		SpecialSubstitution(String name, String expanded, String base) {
+			this.name = name;
+			this.expanded = expanded;
+			this.base = base;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			// c++filt prints the verbose form.
+			p.sb.append(expanded);
+		}
+
+		@Override
+		String baseName() {
+			return base;
+		}
+	}
+
+	private static class NestedName extends Node {
+		final Node qualifier;
+		final Node name;
+
+		NestedName(Node qualifier, Node name) {
+			this.qualifier = qualifier;
+			this.name = name;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			qualifier.print(p);
+			p.sb.append("::"); //$NON-NLS-1$
+			name.print(p);
+		}
+
+		@Override
+		String baseName() {
+			// The constructors of an unnamed type are named after the enclosing class.
+			String base = name.baseName();
+			return base != null ? base : qualifier.baseName();
+		}
+	}
+
+	private static class LocalName extends Node {
+		final Node encoding;
+		final Node entity;
+
+		LocalName(Node encoding, Node entity) {
+			this.encoding = encoding;
+			this.entity = entity;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			encoding.print(p);
+			p.sb.append("::"); //$NON-NLS-1$
+			entity.print(p);
+		}
+
+		@Override
+		String baseName() {
+			return entity.baseName();
+		}
+	}
+
+	private static class AbiTagged extends Node {
+		final Node base;
+		final String tag;
+
+		AbiTagged(Node base, String tag) {
+			this.base = base;
+			this.tag = tag;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			base.print(p);
+			p.sb.append("[abi:").append(tag).append(']'); //$NON-NLS-1$
+		}
+
+		@Override
+		String baseName() {
+			return base.baseName();
+		}
+	}
+
+	private static class TemplateArgs extends Node {
+		final List<Node> args;
+
+		TemplateArgs(List<Node> args) {
+			this.args = args;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			// Avoid "operator<<<".
+			if (p.last() == '<') {
+				p.sb.append(' ');
+			}
+			p.sb.append('<');
+			printList(p, args);
+			// Avoid ">>", which was not valid before C++11.
+			if (p.last() == '>') {
+				p.sb.append(' ');
+			}
+			p.sb.append('>');
+		}
+	}
+
+	private static class NameWithTemplateArgs extends Node {
+		final Node name;
+		final TemplateArgs args;
+
+		NameWithTemplateArgs(Node name, TemplateArgs args) {
+			this.name = name;
+			this.args = args;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			name.print(p);
+			args.print(p);
+		}
+
+		@Override
+		String baseName() {
+			return name.baseName();
+		}
+	}
+
+	private static class ArgumentPack extends Node {
+		final List<Node> elements;
+
+		ArgumentPack(List<Node> elements) {
+			this.elements = elements;
+		}
+
+		/*
+		 * The element being expanded, or null if the pack is printed as a whole.
+		 */
+		Node element(Printer p) {
+			return p.packIndex >= 0 && p.packIndex < elements.size() ? elements.get(p.packIndex) : null;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			Node element = element(p);
+			if (element == null) {
+				printList(p, elements);
+				return;
+			}
+			// The packs in the element are not the one being expanded.
+			int saved = p.packIndex;
+			p.packIndex = -1;
+			element.printLeft(p);
+			p.packIndex = saved;
+		}
+
+		@Override
+		void printRight(Printer p) {
+			Node element = element(p);
+			if (element != null) {
+				int saved = p.packIndex;
+				p.packIndex = -1;
+				element.printRight(p);
+				p.packIndex = saved;
+			}
+		}
+
+		@Override
+		boolean hasRightPart(Printer p) {
+			Node element = element(p);
+			return element != null && element.hasRightPart(new Printer());
+		}
+
+		@Override
+		boolean isFunction(Printer p) {
+			Node element = element(p);
+			return element != null && element.isFunction(new Printer());
+		}
+
+		@Override
+		boolean isArray(Printer p) {
+			Node element = element(p);
+			return element != null && element.isArray(new Printer());
+		}
+
+		@Override
+		ArgumentPack findPack() {
+			return this;
+		}
+	}
+
+	/*
+	 * Reference to a template parameter, which is printed as the argument.
+	 */
+	private static class TemplateParam extends Node {
+		final Node arg;
+
+		TemplateParam(Node arg) {
+			this.arg = arg;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			arg.printLeft(p);
+		}
+
+		@Override
+		void printRight(Printer p) {
+			arg.printRight(p);
+		}
+
+		@Override
+		boolean hasRightPart(Printer p) {
+			return arg.hasRightPart(p);
+		}
+
+		@Override
+		boolean isFunction(Printer p) {
+			return arg.isFunction(p);
+		}
+
+		@Override
+		boolean isArray(Printer p) {
+			return arg.isArray(p);
+		}
+
+		@Override
+		String baseName() {
+			return arg.baseName();
+		}
+
+		@Override
+		ArgumentPack findPack() {
+			return arg.findPack();
+		}
+	}
+
+	private static class PackExpansion extends Node {
+		final Node pattern;
+
+		PackExpansion(Node pattern) {
+			this.pattern = pattern;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			ArgumentPack pack = pattern.findPack();
+			if (pack == null) {
+				pattern.print(p);
+				p.sb.append("..."); //$NON-NLS-1$
+				return;
+			}
+			int saved = p.packIndex;
+			for (int i = 0; i < pack.elements.size(); i++) {
+				if (i > 0) {
+					p.sb.append(", "); //$NON-NLS-1$
+				}
+				p.packIndex = i;
+				pattern.print(p);
+			}
+			p.packIndex = saved;
+		}
+	}
+
+	private static class CtorDtorName extends Node {
+		final String name;
+		final boolean destructor;
+
+		CtorDtorName(String name, boolean destructor) {
+			this.name = name;
+			this.destructor = destructor;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			if (destructor) {
+				p.sb.append('~');
+			}
+			p.sb.append(name);
+		}
+	}
+
+	private static class ConversionOperator extends Node {
+		final Node type;
+
+		ConversionOperator(Node type) {
+			this.type = type;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			p.sb.append("operator "); //$NON-NLS-1$
+			type.print(p);
+		}
+	}
+
+	private static class UnnamedType extends Node {
+		final List<Node> lambdaParams;
+		final int number;
+
+		UnnamedType(List<Node> lambdaParams, int number) {
+			this.lambdaParams = lambdaParams;
+			this.number = number;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			if (lambdaParams != null) {
+				p.sb.append("{lambda("); //$NON-NLS-1$
+				printList(p, lambdaParams);
+				p.sb.append(")#").append(number).append('}'); //$NON-NLS-1$
+			} else {
+				p.sb.append("{unnamed type#").append(number).append('}'); //$NON-NLS-1$
+			}
+		}
+
+		@Override
+		String baseName() {
+			return null;
+		}
+	}
+
+	private static class SpecialName extends Node {
+		final String prefix;
+		final Node child;
+
+		SpecialName(String prefix, Node child) {
+			this.prefix = prefix;
+			this.child = child;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			p.sb.append(prefix);
+			child.print(p);
+		}
+	}
+
+	private static class ConstructionVtable extends Node {
+		final Node derived;
+		final Node base;
+
+		ConstructionVtable(Node derived, Node base) {
+			this.derived = derived;
+			this.base = base;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			p.sb.append("construction vtable for "); //$NON-NLS-1$
+			base.print(p);
+			p.sb.append("-in-"); //$NON-NLS-1$
+			derived.print(p);
+		}
+	}
+
+	private static class QualifiedType extends Node {
+		final Node child;
+		final String qualifiers;
+
+		QualifiedType(Node child, String qualifiers) {
+			this.child = child;
+			this.qualifiers = qualifiers;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			child.printLeft(p);
+			String printed = qualifiers;
+			Node resolved = resolve(child, p);
+			if (resolved instanceof QualifiedType) {
+				// The qualifiers of a template argument are not repeated.
+				for (String qualifier : ((QualifiedType) resolved).qualifiers.split("(?= )")) { //$NON-NLS-1$
+					printed = printed.replace(qualifier, ""); //$NON-NLS-1$
+				}
+			}
+			p.sb.append(printed);
+		}
+
+		@Override
+		void printRight(Printer p) {
+			child.printRight(p);
+		}
+
+		@Override
+		boolean hasRightPart(Printer p) {
+			return child.hasRightPart(p);
+		}
+
+		@Override
+		boolean isFunction(Printer p) {
+			return child.isFunction(p);
+		}
+
+		@Override
+		boolean isArray(Printer p) {
+			return child.isArray(p);
+		}
+
+		@Override
+		ArgumentPack findPack() {
+			return child.findPack();
+		}
+	}
+
+	/*
+	 * Type followed by a vendor qualifier, e.g. "double _Complex".
+	 */
+	private static class PostfixType extends Node {
+		final Node child;
+		final String postfix;
+
+		PostfixType(Node child, String postfix) {
+			this.child = child;
+			this.postfix = postfix;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			child.print(p);
+			p.sb.append(postfix);
+		}
+
+		@Override
+		ArgumentPack findPack() {
+			return child.findPack();
+		}
+	}
+
+	private static class PointerType extends Node {
+		final Node pointee;
+		final String operator;
+
+		PointerType(Node pointee, String operator) {
+			this.pointee = pointee;
+			this.operator = operator;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			PointerType collapsed = collapse(p);
+			if (collapsed != this) {
+				// The collapsed reference is made of template arguments.
+				int saved = p.packIndex;
+				p.packIndex = -1;
+				collapsed.printLeft(p);
+				p.packIndex = saved;
+				return;
+			}
+			pointee.printLeft(p);
+			if (pointee.isArray(p)) {
+				p.sb.append(' ');
+			}
+			if (pointee.isArray(p) || pointee.isFunction(p)) {
+				p.sb.append('(');
+			}
+			p.sb.append(operator);
+		}
+
+		@Override
+		void printRight(Printer p) {
+			PointerType collapsed = collapse(p);
+			if (collapsed != this) {
+				// The collapsed reference is made of template arguments.
+				int saved = p.packIndex;
+				p.packIndex = -1;
+				collapsed.printRight(p);
+				p.packIndex = saved;
+				return;
+			}
+			if (pointee.isArray(p) || pointee.isFunction(p)) {
+				p.sb.append(')');
+			}
+			pointee.printRight(p);
+		}
+
+		/*
+		 * A reference to a reference, which is the result of substituting a
+		 * template argument, is collapsed into a single reference.
+		 */
+		private PointerType collapse(Printer p) {
+			if (operator.charAt(0) != '&') {
+				return this;
+			}
+			Node node = resolve(pointee, p);
+			if (!(node instanceof PointerType) || ((PointerType) node).operator.charAt(0) != '&') {
+				return this;
+			}
+			PointerType inner = ((PointerType) node).collapse(p);
+			String collapsed = operator.equals("&&") && inner.operator.equals("&&") ? "&&" : "&"; //$NON-NLS-1$ //$NON-NLS-2$
+			return new PointerType(inner.pointee, collapsed);
+		}
+
+		@Override
+		boolean hasRightPart(Printer p) {
+			return pointee.hasRightPart(p);
+		}
+
+		@Override
+		ArgumentPack findPack() {
+			return pointee.findPack();
+		}
+	}
+
+	private static class PointerToMemberType extends Node {
+		final Node classType;
+		final Node memberType;
+
+		PointerToMemberType(Node classType, Node memberType) {
+			this.classType = classType;
+			this.memberType = memberType;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			memberType.printLeft(p);
+			if (memberType.isArray(p) || memberType.isFunction(p)) {
+				p.sb.append('(');
+			} else {
+				p.sb.append(' ');
+			}
+			classType.print(p);
+			p.sb.append("::*"); //$NON-NLS-1$
+		}
+
+		@Override
+		void printRight(Printer p) {
+			if (memberType.isArray(p) || memberType.isFunction(p)) {
+				p.sb.append(')');
+			}
+			memberType.printRight(p);
+		}
+
+		@Override
+		boolean hasRightPart(Printer p) {
+			return memberType.hasRightPart(p);
+		}
+	}
+
+	private static class ArrayType extends Node {
+		final Node element;
+		final String dimension;
+
+		ArrayType(Node element, String dimension) {
+			this.element = element;
+			this.dimension = dimension;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			element.printLeft(p);
+		}
+
+		@Override
+		void printRight(Printer p) {
+			if (p.last() != ']') {
+				p.sb.append(' ');
+			}
+			p.sb.append('[').append(dimension).append(']');
+			element.printRight(p);
+		}
+
+		@Override
+		boolean hasRightPart(Printer p) {
+			return true;
+		}
+
+		@Override
+		boolean isArray(Printer p) {
+			return true;
+		}
+	}
+
+	private static class FunctionType extends Node {
+		final Node returnType;
+		final List<Node> params;
+		String qualifiers = ""; //$NON-NLS-1$
+		String refQualifier = ""; //$NON-NLS-1$
+		String exceptionSpec = ""; //$NON-NLS-1$
+
+		FunctionType(Node returnType, List<Node> params) {
+			this.returnType = returnType;
+			this.params = params;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			returnType.printLeft(p);
+			if (!returnType.hasRightPart(p)) {
+				p.sb.append(' ');
+			}
+		}
+
+		@Override
+		void printRight(Printer p) {
+			p.sb.append('(');
+			printList(p, params);
+			p.sb.append(')');
+			returnType.printRight(p);
+			p.sb.append(qualifiers).append(refQualifier).append(exceptionSpec);
+		}
+
+		@Override
+		boolean hasRightPart(Printer p) {
+			return true;
+		}
+
+		@Override
+		boolean isFunction(Printer p) {
+			return true;
+		}
+	}
+
+	private static class FunctionEncoding extends Node {
+		final Node returnType;
+		final Node name;
+		final List<Node> params;
+		final String qualifiers;
+		final String refQualifier;
+
+		FunctionEncoding(Node returnType, Node name, List<Node> params, String qualifiers, String refQualifier) {
+			this.returnType = returnType;
+			this.name = name;
+			this.params = params;
+			this.qualifiers = qualifiers;
+			this.refQualifier = refQualifier;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			if (returnType != null) {
+				returnType.printLeft(p);
+				if (!returnType.hasRightPart(p)) {
+					p.sb.append(' ');
+				}
+			}
+			name.print(p);
+		}
+
+		@Override
+		void printRight(Printer p) {
+			p.sb.append('(');
+			printList(p, params);
+			p.sb.append(')');
+			if (returnType != null) {
+				returnType.printRight(p);
+			}
+			p.sb.append(qualifiers).append(refQualifier);
+		}
+
+		@Override
+		boolean hasRightPart(Printer p) {
+			return true;
+		}
+
+		@Override
+		String baseName() {
+			return name.baseName();
+		}
+	}
+
+	private static class IntegerLiteral extends Node {
+		final String type;
+		final String value;
+		final String suffix;
+
+		IntegerLiteral(String type, String value, String suffix) {
+			this.type = type;
+			this.value = value;
+			this.suffix = suffix;
+		}
+
+		@Override
+		void printLeft(Printer p) {
+			if (type != null) {
+				p.sb.append('(').append(type).append(')');
+			}
+			p.sb.append(value).append(suffix);
+		}
+	}
+
+	/*
+	 * Returns the type a template parameter, or the element of the parameter
+	 * pack being expanded, stands for.
+	 */
+	static Node resolve(Node node, Printer p) {
+		boolean inPack = false;
+		while (true) {
+			if (node instanceof TemplateParam) {
+				node = ((TemplateParam) node).arg;
+			} else if (node instanceof ArgumentPack && !inPack) {
+				Node element = ((ArgumentPack) node).element(p);
+				if (element == null) {
+					return node;
+				}
+				node = element;
+				inPack = true;
+			} else {
+				return node;
+			}
+		}
+	}
+
+	/*
+	 * Prints a list separated by commas.  Empty elements, e.g. the expansion of
+	 * an empty pack, are skipped.
+	 */
+	static void printList(Printer p, List<Node> nodes) {
+		boolean first = true;
+		for (Node node : nodes) {
+			int start = p.sb.length();
+			if (!first) {
+				p.sb.append(", "); //$NON-NLS-1$
+			}
+			int elementStart = p.sb.length();
+			node.print(p);
+			if (p.sb.length() == elementStart) {
+				if (!first) {
+					p.sb.setLength(start);
+					p.trimmedLength = start;
+				}
+			} else {
+				first = false;
+			}
+		}
+	}
+
+	/*
+	 * The state of a name being parsed, which the encoding needs.
+	 */
+	private static class NameState {
+		boolean ctorDtorConversion;
+		boolean endsWithTemplateArgs;
+		String qualifiers = ""; //$NON-NLS-1$
+		String refQualifier = ""; //$NON-NLS-1$
+	}
+
+	private static class Parser {
+		private static final int MAX_NUMBER = 0xfffffff;
+
+		private final String s;
+		private int pos;
+		private final List<Node> substitutions = new ArrayList<>();
+		private List<Node> templateParams = new ArrayList<>();
+
+		Parser(String s) {
+			this.s = s;
+		}
+
+		String demangleSymbol() {
+			try {
+				if (s.startsWith("_Z")) { //$NON-NLS-1$
+					pos = 2;
+					Node encoding = parseEncoding();
+					StringBuilder sb = new StringBuilder(encoding.toString());
+					parseCloneSuffixes(sb);
+					if (pos != s.length()) {
+						return null;
+					}
+					return sb.toString();
+				}
+				return demangleGlobalCtorDtor();
+			} catch (UnsupportedException | RuntimeException e) {
+				return null;
+			}
+		}
+
+		/*
+		 * _GLOBAL_[._$][DI]_<name>, the functions running the constructors or
+		 * destructors of the global objects of a file.
+		 */
+		private String demangleGlobalCtorDtor() {
+			if (s.length() < 11 || ".$_".indexOf(s.charAt(8)) < 0 || s.charAt(10) != '_') { //$NON-NLS-1$
+				return null;
+			}
+			String prefix;
+			if (s.charAt(9) == 'I') {
+				prefix = "global constructors keyed to "; //$NON-NLS-1$
+			} else if (s.charAt(9) == 'D') {
+				prefix = "global destructors keyed to "; //$NON-NLS-1$
+			} else {
+				return null;
+			}
+			String name = s.substring(11);
+			String demangled = name.startsWith("_Z") ? new Parser(name).demangleSymbol() : name; //$NON-NLS-1$
+			return demangled != null ? prefix + demangled : null;
+		}
+
+		/*
+		 * Suffixes added to the symbols of the copies of a function made by the
+		 * optimizer, e.g. ".constprop.0".
+		 */
+		private void parseCloneSuffixes(StringBuilder sb) {
+			while (pos + 1 < s.length() && s.charAt(pos) == '.' && (isLowerOrUnderscore(s.charAt(pos + 1))
+					|| Character.isDigit(s.charAt(pos + 1)))) {
+				int start = pos;
+				pos++;
+				if (isLowerOrUnderscore(s.charAt(pos))) {
+					while (pos < s.length() && isLowerOrUnderscore(s.charAt(pos))) {
+						pos++;
+					}
+				}
+				while (pos + 1 < s.length() && s.charAt(pos) == '.' && Character.isDigit(s.charAt(pos + 1))) {
+					pos++;
+					while (pos < s.length() && Character.isDigit(s.charAt(pos))) {
+						pos++;
+					}
+				}
+				if (start + 1 == pos) {
+					// Only digits, which the loop above did not consume.
+					while (pos < s.length() && Character.isDigit(s.charAt(pos))) {
+						pos++;
+					}
+				}
+				sb.append(" [clone ").append(s, start, pos).append(']'); //$NON-NLS-1$
+			}
+		}
+
+		private static boolean isLowerOrUnderscore(char c) {
+			return (c >= 'a' && c <= 'z') || c == '_';
+		}
+
+		private char look() {
+			return pos < s.length() ? s.charAt(pos) : 0;
+		}
+
+		private char look(int offset) {
+			return pos + offset < s.length() ? s.charAt(pos + offset) : 0;
+		}
+
+		private boolean consume(char c) {
+			if (look() == c) {
+				pos++;
+				return true;
+			}
+			return false;
+		}
+
+		private boolean consume(String prefix) {
+			if (s.startsWith(prefix, pos)) {
+				pos += prefix.length();
+				return true;
+			}
+			return false;
+		}
+
+		private void expect(char c) throws UnsupportedException {
+			if (!consume(c)) {
+				throw UNSUPPORTED;
+			}
+		}
+
+		/*
+		 * <encoding> ::= <name> <bare-function-type>
+		 *            ::= <name>
+		 *            ::= <special-name>
+		 */
+		private Node parseEncoding() throws UnsupportedException {
+			if (look() == 'G' || look() == 'T') {
+				return parseSpecialName();
+			}
+			// The template parameters of an encoding are unrelated to those of the
+			// enclosing context.
+			List<Node> savedTemplateParams = templateParams;
+			templateParams = new ArrayList<>();
+			try {
+				NameState state = new NameState();
+				Node name = parseName(state);
+				if (isEndOfEncoding()) {
+					return name;
+				}
+				Node returnType = null;
+				if (!state.ctorDtorConversion && state.endsWithTemplateArgs) {
+					returnType = parseType();
+				}
+				List<Node> params = new ArrayList<>();
+				if (!consume('v')) {
+					do {
+						params.add(parseType());
+					} while (!isEndOfEncoding());
+				}
+				return new FunctionEncoding(returnType, name, params, state.qualifiers, state.refQualifier);
+			} finally {
+				templateParams = savedTemplateParams;
+			}
+		}
+
+		private boolean isEndOfEncoding() {
+			char c = look();
+			return c == 0 || c == 'E' || c == '.';
+		}
+
+		/*
+		 * <special-name>
+		 */
+		private Node parseSpecialName() throws UnsupportedException {
+			if (consume("TV")) { //$NON-NLS-1$
+				return new SpecialName("vtable for ", parseType()); //$NON-NLS-1$
+			}
+			if (consume("TT")) { //$NON-NLS-1$
+				return new SpecialName("VTT for ", parseType()); //$NON-NLS-1$
+			}
+			if (consume("TI")) { //$NON-NLS-1$
+				return new SpecialName("typeinfo for ", parseType()); //$NON-NLS-1$
+			}
+			if (consume("TS")) { //$NON-NLS-1$
+				return new SpecialName("typeinfo name for ", parseType()); //$NON-NLS-1$
+			}
+			if (consume("Th")) { //$NON-NLS-1$
+				parseCallOffset('h');
+				return new SpecialName("non-virtual thunk to ", parseEncoding()); //$NON-NLS-1$
+			}
+			if (consume("Tv")) { //$NON-NLS-1$
+				parseCallOffset('v');
+				return new SpecialName("virtual thunk to ", parseEncoding()); //$NON-NLS-1$
+			}
+			if (consume("Tc")) { //$NON-NLS-1$
+				parseCallOffset(0);
+				parseCallOffset(0);
+				return new SpecialName("covariant return thunk to ", parseEncoding()); //$NON-NLS-1$
+			}
+			if (consume("TC")) { //$NON-NLS-1$
+				Node derived = parseType();
+				parseNumber();
+				expect('_');
+				Node base = parseType();
+				return new ConstructionVtable(derived, base);
+			}
+			if (consume("TW")) { //$NON-NLS-1$
+				return new SpecialName("TLS wrapper function for ", parseName(null)); //$NON-NLS-1$
+			}
+			if (consume("TH")) { //$NON-NLS-1$
+				return new SpecialName("TLS init function for ", parseName(null)); //$NON-NLS-1$
+			}
+			if (consume("GV")) { //$NON-NLS-1$
+				return new SpecialName("guard variable for ", parseName(null)); //$NON-NLS-1$
+			}
+			if (consume("GTt")) { //$NON-NLS-1$
+				return new SpecialName("transaction clone for ", parseEncoding()); //$NON-NLS-1$
+			}
+			throw UNSUPPORTED;
+		}
+
+		/*
+		 * <call-offset> ::= h <nv-offset> _
+		 *               ::= v <v-offset> _
+		 */
+		private void parseCallOffset(int kind) throws UnsupportedException {
+			if (kind == 0) {
+				kind = look();
+				pos++;
+			}
+			if (kind == 'h') {
+				parseNumber();
+				expect('_');
+			} else if (kind == 'v') {
+				parseNumber();
+				expect('_');
+				parseNumber();
+				expect('_');
+			} else {
+				throw UNSUPPORTED;
+			}
+		}
+
+		/*
+		 * <name> ::= <nested-name>
+		 *        ::= <local-name>
+		 *        ::= <unscoped-template-name> <template-args>
+		 *        ::= <unscoped-name>
+		 */
+		private Node parseName(NameState state) throws UnsupportedException {
+			if (look() == 'N') {
+				return parseNestedName(state);
+			}
+			if (look() == 'Z') {
+				return parseLocalName(state);
+			}
+			boolean[] isSubstitution = new boolean[1];
+			Node result = parseUnscopedName(state, isSubstitution);
+			if (look() == 'I') {
+				if (!isSubstitution[0]) {
+					substitutions.add(result);
+				}
+				TemplateArgs args = parseTemplateArgs(state != null);
+				if (state != null) {
+					state.endsWithTemplateArgs = true;
+				}
+				result = new NameWithTemplateArgs(result, args);
+			} else if (isSubstitution[0]) {
+				throw UNSUPPORTED;
+			}
+			return result;
+		}
+
+		/*
+		 * <unscoped-name> ::= <unqualified-name>
+		 *                 ::= St <unqualified-name>
+		 */
+		private Node parseUnscopedName(NameState state, boolean[] isSubstitution) throws UnsupportedException {
+			if (consume("St")) { //$NON-NLS-1$
+				return parseUnqualifiedName(state, new NameNode("std")); //$NON-NLS-1$
+			}
+			if (look() == 'S') {
+				isSubstitution[0] = true;
+				return parseSubstitution();
+			}
+			return parseUnqualifiedName(state, null);
+		}
+
+		/*
+		 * <unqualified-name> ::= <operator-name> [<abi-tags>]
+		 *                    ::= <source-name> [<abi-tags>]
+		 *                    ::= <unnamed-type-name>
+		 */
+		private Node parseUnqualifiedName(NameState state, Node scope) throws UnsupportedException {
+			// Internal linkage, a GNU extension.
+			consume('L');
+			Node result;
+			char c = look();
+			if (c >= '1' && c <= '9') {
+				result = parseSourceName();
+			} else if (c == 'U') {
+				result = parseUnnamedTypeName(state);
+			} else if (c >= 'a' && c <= 'z') {
+				result = parseOperatorName(state);
+			} else {
+				throw UNSUPPORTED;
+			}
+			result = parseAbiTags(result);
+			return scope != null ? new NestedName(scope, result) : result;
+		}
+
+		private Node parseAbiTags(Node node) throws UnsupportedException {
+			while (consume('B')) {
+				node = new AbiTagged(node, parseSourceNameString());
+			}
+			return node;
+		}
+
+		private Node parseSourceName() throws UnsupportedException {
+			String name = parseSourceNameString();
+			if (name.startsWith("_GLOBAL_") && name.length() > 9 && name.charAt(9) == 'N' //$NON-NLS-1$
+					&& ".$_".indexOf(name.charAt(8)) >= 0) { //$NON-NLS-1$
+				return new NameNode("(anonymous namespace)"); //$NON-NLS-1$
+			}
+			return new NameNode(name);
+		}
+
+		private String parseSourceNameString() throws UnsupportedException {
+			int length = parseNonNegative();
+			if (length <= 0 || pos + length > s.length()) {
+				throw UNSUPPORTED;
+			}
+			String name = s.substring(pos, pos + length);
+			pos += length;
+			return name;
+		}
+
+		private int parseNonNegative() throws UnsupportedException {
+			if (!Character.isDigit(look())) {
+				throw UNSUPPORTED;
+			}
+			int value = 0;
+			while (Character.isDigit(look())) {
+				value = value * 10 + (s.charAt(pos++) - '0');
+				if (value > MAX_NUMBER) {
+					throw UNSUPPORTED;
+				}
+			}
+			return value;
+		}
+
+		/*
+		 * <number> ::= [n] <non-negative decimal integer>
+		 */
+		private String parseNumber() throws UnsupportedException {
+			int start = pos;
+			consume('n');
+			if (!Character.isDigit(look())) {
+				throw UNSUPPORTED;
+			}
+			while (Character.isDigit(look())) {
+				pos++;
+			}
+			String number = s.substring(start, pos);
+			return number.charAt(0) == 'n' ? '-' + number.substring(1) : number;
+		}
+
+		/*
+		 * <unnamed-type-name> ::= Ut [<nonnegative number>] _
+		 *                     ::= Ul <lambda-sig> E [<nonnegative number>] _
+		 */
+		private Node parseUnnamedTypeName(NameState state) throws UnsupportedException {
+			if (consume("Ut")) { //$NON-NLS-1$
+				int number = Character.isDigit(look()) ? parseNonNegative() + 2 : 1;
+				expect('_');
+				return new UnnamedType(null, number);
+			}
+			if (consume("Ul")) { //$NON-NLS-1$
+				List<Node> params = new ArrayList<>();
+				if (!consume("vE")) { //$NON-NLS-1$
+					while (!consume('E')) {
+						if (look() == 'T' && "yntp".indexOf(look(1)) >= 0) { //$NON-NLS-1$
+							// Template parameters of a generic lambda.
+							throw UNSUPPORTED;
+						}
+						params.add(parseType());
+					}
+				}
+				int number = Character.isDigit(look()) ? parseNonNegative() + 2 : 1;
+				expect('_');
+				return new UnnamedType(params, number);
+			}
+			throw UNSUPPORTED;
+		}
+
+		/*
+		 * <nested-name> ::= N [<CV-qualifiers>] [<ref-qualifier>] <prefix> <unqualified-name> E
+		 *               ::= N [<CV-qualifiers>] [<ref-qualifier>] <template-prefix> <template-args> E
+		 */
+		private Node parseNestedName(NameState state) throws UnsupportedException {
+			expect('N');
+			String qualifiers = parseCVQualifiers();
+			String refQualifier = ""; //$NON-NLS-1$
+			if (consume('O')) {
+				refQualifier = " &&"; //$NON-NLS-1$
+			} else if (consume('R')) {
+				refQualifier = " &"; //$NON-NLS-1$
+			}
+			if (state != null) {
+				state.qualifiers = qualifiers;
+				state.refQualifier = refQualifier;
+			}
+
+			Node soFar = null;
+			if (consume("St")) { //$NON-NLS-1$
+				soFar = new NameNode("std"); //$NON-NLS-1$
+			}
+			while (!consume('E')) {
+				consume('L');
+				char c = look();
+				Node component;
+				if (c == 'T') {
+					soFar = push(soFar, parseTemplateParam(), state);
+				} else if (c == 'I') {
+					if (soFar == null) {
+						throw UNSUPPORTED;
+					}
+					TemplateArgs args = parseTemplateArgs(state != null);
+					soFar = new NameWithTemplateArgs(soFar, args);
+					if (state != null) {
+						state.endsWithTemplateArgs = true;
+					}
+				} else if (c == 'S' && look(1) != 't') {
+					component = parseSubstitution();
+					soFar = push(soFar, component, state);
+					if (soFar == component) {
+						// A substitution is not added again.
+						continue;
+					}
+				} else if (c == 'C' || (c == 'D' && look(1) != 'C' && look(1) != 't' && look(1) != 'T')) {
+					if (soFar == null) {
+						throw UNSUPPORTED;
+					}
+					component = parseCtorDtorName(soFar, state);
+					soFar = push(expandSpecialSubstitution(soFar), component, state);
+					soFar = parseAbiTags(soFar);
+				} else if (c == 'D') {
+					// decltype
+					throw UNSUPPORTED;
+				} else {
+					soFar = push(soFar, parseUnqualifiedName(state, null), state);
+				}
+				substitutions.add(soFar);
+			}
+			if (soFar == null || substitutions.isEmpty()) {
+				throw UNSUPPORTED;
+			}
+			// The complete name is only a substitution candidate as a type.
+			substitutions.remove(substitutions.size() - 1);
+			return soFar;
+		}
+
+		private Node push(Node soFar, Node component, NameState state) {
+			if (state != null) {
+				state.endsWithTemplateArgs = false;
+			}
+			return soFar != null ? new NestedName(soFar, component) : component;
+		}
+
+		private Node expandSpecialSubstitution(Node node) {
+			if (node instanceof SpecialSubstitution) {
+				SpecialSubstitution sub = (SpecialSubstitution) node;
+				return new NameNode(sub.expanded);
+			}
+			return node;
+		}
+
+		/*
+		 * <ctor-dtor-name> ::= C1 | C2 | C3 | CI1 <type> | CI2 <type>
+		 *                  ::= D0 | D1 | D2
+		 */
+		private Node parseCtorDtorName(Node soFar, NameState state) throws UnsupportedException {
+			if (state != null) {
+				state.ctorDtorConversion = true;
+			}
+			if (consume('C')) {
+				boolean inheriting = consume('I');
+				char kind = look();
+				if (kind < '1' || kind > '5') {
+					throw UNSUPPORTED;
+				}
+				pos++;
+				if (inheriting) {
+					parseName(null);
+				}
+				return new CtorDtorName(soFar.baseName(), false);
+			}
+			expect('D');
+			char kind = look();
+			if (kind != '0' && kind != '1' && kind != '2' && kind != '4' && kind != '5') {
+				throw UNSUPPORTED;
+			}
+			pos++;
+			return new CtorDtorName(soFar.baseName(), true);
+		}
+
+		/*
+		 * <local-name> ::= Z <function encoding> E <entity name> [<discriminator>]
+		 *              ::= Z <function encoding> E s [<discriminator>]
+		 */
+		private Node parseLocalName(NameState state) throws UnsupportedException {
+			expect('Z');
+			Node encoding = parseEncoding();
+			expect('E');
+			if (encoding instanceof FunctionEncoding) {
+				// The return type of the enclosing function is not printed.
+				FunctionEncoding function = (FunctionEncoding) encoding;
+				encoding = new FunctionEncoding(null, function.name, function.params, function.qualifiers,
+						function.refQualifier);
+			}
+			if (consume('s')) {
+				parseDiscriminator();
+				return new LocalName(encoding, new NameNode("string literal")); //$NON-NLS-1$
+			}
+			if (look() == 'd') {
+				// Default argument
+				throw UNSUPPORTED;
+			}
+			Node entity = parseName(state);
+			parseDiscriminator();
+			return new LocalName(encoding, entity);
+		}
+
+		/*
+		 * <discriminator> ::= _ <digit>
+		 *                 ::= __ <number> _
+		 */
+		private void parseDiscriminator() throws UnsupportedException {
+			if (look() != '_') {
+				return;
+			}
+			if (Character.isDigit(look(1))) {
+				pos += 2;
+			} else if (look(1) == '_') {
+				pos += 2;
+				parseNonNegative();
+				expect('_');
+			}
+		}
+
+		private String parseCVQualifiers() {
+			StringBuilder qualifiers = new StringBuilder();
+			boolean isRestrict = consume('r');
+			boolean isVolatile = consume('V');
+			boolean isConst = consume('K');
+			if (isConst) {
+				qualifiers.append(" const"); //$NON-NLS-1$
+			}
+			if (isVolatile) {
+				qualifiers.append(" volatile"); //$NON-NLS-1$
+			}
+			if (isRestrict) {
+				qualifiers.append(" restrict"); //$NON-NLS-1$
+			}
+			return qualifiers.toString();
+		}
+
+		private static final String[][] OPERATORS = { { "nw", "new" }, { "na", "new[]" }, { "dl", "delete" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+				{ "da", "delete[]" }, { "ps", "+" }, { "ng", "-" }, { "ad", "&" }, { "de", "*" }, { "co", "~" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$
+				{ "pl", "+" }, { "mi", "-" }, { "ml", "*" }, { "dv", "/" }, { "rm", "%" }, { "an", "&" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$
+				{ "or", "|" }, { "eo", "^" }, { "aS", "=" }, { "pL", "+=" }, { "mI", "-=" }, { "mL", "*=" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$
+				{ "dV", "/=" }, { "rM", "%=" }, { "aN", "&=" }, { "oR", "|=" }, { "eO", "^=" }, { "ls", "<<" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$
+				{ "rs", ">>" }, { "lS", "<<=" }, { "rS", ">>=" }, { "eq", "==" }, { "ne", "!=" }, { "lt", "<" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$
+				{ "gt", ">" }, { "le", "<=" }, { "ge", ">=" }, { "ss", "<=>" }, { "nt", "!" }, { "aa", "&&" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$
+				{ "oo", "||" }, { "pp", "++" }, { "mm", "--" }, { "cm", "," }, { "pm", "->*" }, { "pt", "->" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$
+				{ "cl", "()" }, { "ix", "[]" }, { "qu", "?" }, { "aw", "co_await" } }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+
+		/*
+		 * <operator-name>
+		 */
+		private Node parseOperatorName(NameState state) throws UnsupportedException {
+			if (consume("cv")) { //$NON-NLS-1$
+				if (state != null) {
+					state.ctorDtorConversion = true;
+				}
+				return new ConversionOperator(parseType());
+			}
+			if (consume("li")) { //$NON-NLS-1$
+				return new NameNode("operator\"\" " + parseSourceNameString()); //$NON-NLS-1$
+			}
+			for (String[] operator : OPERATORS) {
+				if (consume(operator[0])) {
+					String name = operator[1];
+					boolean isWord = Character.isLetter(name.charAt(0));
+					return new NameNode(isWord ? "operator " + name : "operator" + name); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+			throw UNSUPPORTED;
+		}
+
+		/*
+		 * <substitution> ::= S <seq-id> _
+		 *                ::= S_
+		 *                ::= Sa | Sb | Ss | Si | So | Sd
+		 */
+		private Node parseSubstitution() throws UnsupportedException {
+			expect('S');
+			char c = look();
+			if (c >= 'a' && c <= 'z') {
+				pos++;
+				switch (c) {
+				case 'a':
+					return new SpecialSubstitution("std::allocator", "std::allocator", "allocator"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				case 'b':
+					return new SpecialSubstitution("std::basic_string", "std::basic_string", "basic_string"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				case 's':
+					return new SpecialSubstitution("std::string", //$NON-NLS-1$
+							"std::basic_string<char, std::char_traits<char>, std::allocator<char> >", "basic_string"); //$NON-NLS-1$ //$NON-NLS-2$
+				case 'i':
+					return new SpecialSubstitution("std::istream", //$NON-NLS-1$
+							"std::basic_istream<char, std::char_traits<char> >", "basic_istream"); //$NON-NLS-1$ //$NON-NLS-2$
+				case 'o':
+					return new SpecialSubstitution("std::ostream", //$NON-NLS-1$
+							"std::basic_ostream<char, std::char_traits<char> >", "basic_ostream"); //$NON-NLS-1$ //$NON-NLS-2$
+				case 'd':
+					return new SpecialSubstitution("std::iostream", //$NON-NLS-1$
+							"std::basic_iostream<char, std::char_traits<char> >", "basic_iostream"); //$NON-NLS-1$ //$NON-NLS-2$
+				default:
+					throw UNSUPPORTED;
+				}
+			}
+			int index = 0;
+			if (!consume('_')) {
+				index = parseSeqId() + 1;
+				expect('_');
+			}
+			if (index >= substitutions.size()) {
+				throw UNSUPPORTED;
+			}
+			return substitutions.get(index);
+		}
+
+		private int parseSeqId() throws UnsupportedException {
+			int value = 0;
+			boolean any = false;
+			while (true) {
+				char c = look();
+				int digit;
+				if (c >= '0' && c <= '9') {
+					digit = c - '0';
+				} else if (c >= 'A' && c <= 'Z') {
+					digit = c - 'A' + 10;
+				} else {
+					break;
+				}
+				value = value * 36 + digit;
+				if (value > s.length()) {
+					throw UNSUPPORTED;
+				}
+				pos++;
+				any = true;
+			}
+			if (!any) {
+				throw UNSUPPORTED;
+			}
+			return value;
+		}
+
+		/*
+		 * <template-param> ::= T_
+		 *                  ::= T <parameter-2 non-negative number> _
+		 */
+		private Node parseTemplateParam() throws UnsupportedException {
+			expect('T');
+			int index = 0;
+			if (!consume('_')) {
+				index = parseNonNegative() + 1;
+				expect('_');
+			}
+			if (index >= templateParams.size()) {
+				// A forward reference, e.g. in a conversion operator.
+				throw UNSUPPORTED;
+			}
+			return new TemplateParam(templateParams.get(index));
+		}
+
+		/*
+		 * <template-args> ::= I <template-arg>+ E
+		 */
+		private TemplateArgs parseTemplateArgs(boolean tagTemplates) throws UnsupportedException {
+			expect('I');
+			if (tagTemplates) {
+				templateParams = new ArrayList<>();
+			}
+			List<Node> args = new ArrayList<>();
+			while (!consume('E')) {
+				Node arg = parseTemplateArg();
+				args.add(arg);
+				if (tagTemplates) {
+					templateParams.add(arg);
+				}
+			}
+			return new TemplateArgs(args);
+		}
+
+		/*
+		 * <template-arg> ::= <type>
+		 *                ::= X <expression> E
+		 *                ::= <expr-primary>
+		 *                ::= J <template-arg>* E
+		 */
+		private Node parseTemplateArg() throws UnsupportedException {
+			switch (look()) {
+			case 'X':
+				throw UNSUPPORTED;
+			case 'J': {
+				pos++;
+				List<Node> elements = new ArrayList<>();
+				while (!consume('E')) {
+					elements.add(parseTemplateArg());
+				}
+				return new ArgumentPack(elements);
+			}
+			case 'L':
+				return parseExprPrimary();
+			default:
+				return parseType();
+			}
+		}
+
+		/*
+		 * <expr-primary> ::= L <type> <value number> E
+		 */
+		private Node parseExprPrimary() throws UnsupportedException {
+			expect('L');
+			String type;
+			String suffix = ""; //$NON-NLS-1$
+			switch (look()) {
+			case 'b':
+				if (consume("b0E")) { //$NON-NLS-1$
+					return new NameNode("false"); //$NON-NLS-1$
+				}
+				if (consume("b1E")) { //$NON-NLS-1$
+					return new NameNode("true"); //$NON-NLS-1$
+				}
+				throw UNSUPPORTED;
+			case 'i':
+				pos++;
+				type = null;
+				break;
+			case 'j':
+				pos++;
+				type = null;
+				suffix = "u"; //$NON-NLS-1$
+				break;
+			case 'l':
+				pos++;
+				type = null;
+				suffix = "l"; //$NON-NLS-1$
+				break;
+			case 'm':
+				pos++;
+				type = null;
+				suffix = "ul"; //$NON-NLS-1$
+				break;
+			case 'x':
+				pos++;
+				type = null;
+				suffix = "ll"; //$NON-NLS-1$
+				break;
+			case 'y':
+				pos++;
+				type = null;
+				suffix = "ull"; //$NON-NLS-1$
+				break;
+			case 'c':
+			case 'a':
+			case 'h':
+			case 's':
+			case 't':
+			case 'w':
+			case 'n':
+			case 'o':
+				type = parseType().toString();
+				break;
+			default:
+				if (look() >= '1' && look() <= '9' || look() == 'N') {
+					// An enumeration
+					type = parseType().toString();
+					break;
+				}
+				// Floating point values, addresses, nullptr, lambdas...
+				throw UNSUPPORTED;
+			}
+			String value = parseNumber();
+			expect('E');
+			return new IntegerLiteral(type, value, suffix);
+		}
+
+		/*
+		 * <type>
+		 */
+		private Node parseType() throws UnsupportedException {
+			Node result;
+			char c = look();
+			switch (c) {
+			case 'r':
+			case 'V':
+			case 'K': {
+				String qualifiers = parseCVQualifiers();
+				Node child = parseType();
+				if (child instanceof FunctionType) {
+					// The qualifiers of a member function type, which is only a
+					// substitution candidate once, as for c++filt.
+					FunctionType function = (FunctionType) child;
+					FunctionType qualified = new FunctionType(function.returnType, function.params);
+					qualified.qualifiers = qualifiers;
+					qualified.refQualifier = function.refQualifier;
+					qualified.exceptionSpec = function.exceptionSpec;
+					substitutions.set(substitutions.size() - 1, qualified);
+					return qualified;
+				} else {
+					result = new QualifiedType(child, qualifiers);
+				}
+				break;
+			}
+			case 'v':
+			case 'w':
+			case 'b':
+			case 'c':
+			case 'a':
+			case 'h':
+			case 's':
+			case 't':
+			case 'i':
+			case 'j':
+			case 'l':
+			case 'm':
+			case 'x':
+			case 'y':
+			case 'n':
+			case 'o':
+			case 'f':
+			case 'd':
+			case 'e':
+			case 'g':
+			case 'z':
+				pos++;
+				return new NameNode(builtinType(c));
+			case 'u': {
+				pos++;
+				result = new NameNode(parseSourceNameString());
+				break;
+			}
+			case 'D':
+				result = parseDType();
+				if (result == null) {
+					// A builtin type
+					return parseDBuiltinType();
+				}
+				break;
+			case 'F':
+				result = parseFunctionType();
+				break;
+			case 'A':
+				result = parseArrayType();
+				break;
+			case 'M': {
+				pos++;
+				Node classType = parseType();
+				Node memberType = parseType();
+				result = new PointerToMemberType(classType, memberType);
+				break;
+			}
+			case 'T': {
+				if (look(1) == 's' || look(1) == 'u' || look(1) == 'e') {
+					// elaborated type specifier
+					pos += 2;
+					result = parseName(null);
+					break;
+				}
+				result = parseTemplateParam();
+				if (look() == 'I') {
+					substitutions.add(result);
+					result = new NameWithTemplateArgs(result, parseTemplateArgs(false));
+				}
+				break;
+			}
+			case 'P':
+				pos++;
+				result = new PointerType(parseType(), "*"); //$NON-NLS-1$
+				break;
+			case 'R':
+				pos++;
+				result = new PointerType(parseType(), "&"); //$NON-NLS-1$
+				break;
+			case 'O':
+				pos++;
+				result = new PointerType(parseType(), "&&"); //$NON-NLS-1$
+				break;
+			case 'C':
+				pos++;
+				result = new PostfixType(parseType(), " _Complex"); //$NON-NLS-1$
+				break;
+			case 'G':
+				pos++;
+				result = new PostfixType(parseType(), " _Imaginary"); //$NON-NLS-1$
+				break;
+			case 'S':
+				if (look(1) != 't') {
+					Node sub = parseSubstitution();
+					if (look() != 'I') {
+						// A substitution is not added again.
+						return sub;
+					}
+					result = new NameWithTemplateArgs(sub, parseTemplateArgs(false));
+					break;
+				}
+				result = parseName(null);
+				break;
+			case 'U':
+				// Vendor qualifiers
+				throw UNSUPPORTED;
+			default:
+				result = parseName(null);
+				break;
+			}
+			substitutions.add(result);
+			return result;
+		}
+
+		private static String builtinType(char c) {
+			switch (c) {
+			case 'v':
+				return "void"; //$NON-NLS-1$
+			case 'w':
+				return "wchar_t"; //$NON-NLS-1$
+			case 'b':
+				return "bool"; //$NON-NLS-1$
+			case 'c':
+				return "char"; //$NON-NLS-1$
+			case 'a':
+				return "signed char"; //$NON-NLS-1$
+			case 'h':
+				return "unsigned char"; //$NON-NLS-1$
+			case 's':
+				return "short"; //$NON-NLS-1$
+			case 't':
+				return "unsigned short"; //$NON-NLS-1$
+			case 'i':
+				return "int"; //$NON-NLS-1$
+			case 'j':
+				return "unsigned int"; //$NON-NLS-1$
+			case 'l':
+				return "long"; //$NON-NLS-1$
+			case 'm':
+				return "unsigned long"; //$NON-NLS-1$
+			case 'x':
+				return "long long"; //$NON-NLS-1$
+			case 'y':
+				return "unsigned long long"; //$NON-NLS-1$
+			case 'n':
+				return "__int128"; //$NON-NLS-1$
+			case 'o':
+				return "unsigned __int128"; //$NON-NLS-1$
+			case 'f':
+				return "float"; //$NON-NLS-1$
+			case 'd':
+				return "double"; //$NON-NLS-1$
+			case 'e':
+				return "long double"; //$NON-NLS-1$
+			case 'g':
+				return "__float128"; //$NON-NLS-1$
+			case 'z':
+				return "..."; //$NON-NLS-1$
+			default:
+				return null;
+			}
+		}
+
+		/*
+		 * The types starting with D which are substitution candidates, or null
+		 * for the builtin ones.
+		 */
+		private Node parseDType() throws UnsupportedException {
+			switch (look(1)) {
+			case 'p':
+				pos += 2;
+				return new PackExpansion(parseType());
+			case 'o':
+			case 'O':
+			case 'w':
+			case 'x':
+				return parseFunctionType();
+			case 't':
+			case 'T':
+				// decltype
+				throw UNSUPPORTED;
+			default:
+				return null;
+			}
+		}
+
+		private Node parseDBuiltinType() throws UnsupportedException {
+			char c = look(1);
+			pos += 2;
+			switch (c) {
+			case 'd':
+				return new NameNode("decimal64"); //$NON-NLS-1$
+			case 'e':
+				return new NameNode("decimal128"); //$NON-NLS-1$
+			case 'f':
+				return new NameNode("decimal32"); //$NON-NLS-1$
+			case 'h':
+				return new NameNode("half"); //$NON-NLS-1$
+			case 'i':
+				return new NameNode("char32_t"); //$NON-NLS-1$
+			case 's':
+				return new NameNode("char16_t"); //$NON-NLS-1$
+			case 'u':
+				return new NameNode("char8_t"); //$NON-NLS-1$
+			case 'a':
+				return new NameNode("auto"); //$NON-NLS-1$
+			case 'c':
+				return new NameNode("decltype(auto)"); //$NON-NLS-1$
+			case 'n':
+				return new NameNode("decltype(nullptr)"); //$NON-NLS-1$
+			case 'F': {
+				int bits = parseNonNegative();
+				expect('_');
+				return new NameNode("_Float" + bits); //$NON-NLS-1$
+			}
+			default:
+				throw UNSUPPORTED;
+			}
+		}
+
+		/*
+		 * <function-type> ::= [<CV-qualifiers>] [<exception-spec>] [Dx] F [Y] <bare-function-type> [<ref-qualifier>] E
+		 */
+		private Node parseFunctionType() throws UnsupportedException {
+			String exceptionSpec = ""; //$NON-NLS-1$
+			if (consume("Do")) { //$NON-NLS-1$
+				exceptionSpec = " noexcept"; //$NON-NLS-1$
+			} else if (look() == 'D' && (look(1) == 'O' || look(1) == 'w')) {
+				// Computed noexcept or dynamic exception specification
+				throw UNSUPPORTED;
+			}
+			if (consume("Dx")) { //$NON-NLS-1$
+				throw UNSUPPORTED;
+			}
+			expect('F');
+			consume('Y');
+			Node returnType = parseType();
+			List<Node> params = new ArrayList<>();
+			String refQualifier = ""; //$NON-NLS-1$
+			while (true) {
+				if (consume('E')) {
+					break;
+				}
+				if (consume('v')) {
+					continue;
+				}
+				if (consume("RE")) { //$NON-NLS-1$
+					refQualifier = " &"; //$NON-NLS-1$
+					break;
+				}
+				if (consume("OE")) { //$NON-NLS-1$
+					refQualifier = " &&"; //$NON-NLS-1$
+					break;
+				}
+				params.add(parseType());
+			}
+			FunctionType type = new FunctionType(returnType, params);
+			type.refQualifier = refQualifier;
+			type.exceptionSpec = exceptionSpec;
+			return type;
+		}
+
+		/*
+		 * <array-type> ::= A <positive dimension number> _ <element type>
+		 *              ::= A [<dimension expression>] _ <element type>
+		 */
+		private Node parseArrayType() throws UnsupportedException {
+			expect('A');
+			String dimension = ""; //$NON-NLS-1$
+			if (Character.isDigit(look())) {
+				dimension = Integer.toString(parseNonNegative());
+			} else if (look() != '_') {
+				throw UNSUPPORTED;
+			}
+			expect('_');
+			return new ArrayType(parseType(), dimension);
+		}
+	}
+}
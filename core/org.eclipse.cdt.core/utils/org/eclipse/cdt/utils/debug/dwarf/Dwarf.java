@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 QNX Software Systems and others.
+ * Copyright (c) 2000, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,13 +58,14 @@ public class Dwarf implements AutoCloseable {
 	final static String DWARF_DEBUG_MACRO = ".debug_macro"; //$NON-NLS-1$
 	final static String DWARF_DEBUG_TYPES = ".debug_types"; //$NON-NLS-1$
 	final static String DWARF_DEBUG_LINE_STR = ".debug_line_str"; //$NON-NLS-1$
+	final static String DWARF_DEBUG_STR_OFFSETS = ".debug_str_offsets"; //$NON-NLS-1$
 	final static String DWARF_GNU_DEBUGLINK = ".gnu_debuglink"; //$NON-NLS-1$
 	final static String DWARF_GNU_DEBUGALTLINK = ".gnu_debugaltlink"; //$NON-NLS-1$
 
 	final static String[] DWARF_SCNNAMES = { DWARF_DEBUG_INFO, DWARF_DEBUG_ABBREV, DWARF_DEBUG_ARANGES,
 			DWARF_DEBUG_LINE, DWARF_DEBUG_FRAME, DWARF_EH_FRAME, DWARF_DEBUG_LOC, DWARF_DEBUG_PUBNAMES, DWARF_DEBUG_STR,
 			DWARF_DEBUG_FUNCNAMES, DWARF_DEBUG_TYPENAMES, DWARF_DEBUG_VARNAMES, DWARF_DEBUG_WEAKNAMES,
-			DWARF_DEBUG_MACINFO };
+			DWARF_DEBUG_MACINFO, DWARF_DEBUG_STR_OFFSETS };
 
 	final static String[] DWARF_ALT_SCNNAMES = { DWARF_DEBUG_INFO, DWARF_DEBUG_TYPES, DWARF_DEBUG_MACRO,
 			DWARF_DEBUG_STR, };
@@ -75,6 +76,9 @@ public class Dwarf implements AutoCloseable {
 		int abbreviationOffset;
 		byte addressSize;
 		byte offsetSize;
+		byte unitType;
+		/* Offset of the unit contribution to .debug_str_offsets, past its header. */
+		long strOffsetsBase;
 
 		@Override
 		public String toString() {
@@ -109,6 +113,8 @@ public class Dwarf implements AutoCloseable {
 		long name;
 		/* unsigned */
 		long form;
+		/* value of a DW_FORM_implicit_const attribute, given by the abbreviation */
+		long implicitConst;
 
 		Attribute(long n, long f) {
 			name = n;
@@ -124,6 +130,23 @@ public class Dwarf implements AutoCloseable {
 		}
 	}
 
+	/**
+	 * Value of a string attribute given as an index in the string offsets
+	 * table, which is resolved once the base of the table is known.
+	 */
+	class StringIndex {
+		long index;
+
+		StringIndex(long i) {
+			index = i;
+		}
+
+		@Override
+		public String toString() {
+			return "strx " + index; //$NON-NLS-1$
+		}
+	}
+
 	class AttributeValue {
 		Attribute attribute;
 		Object value;
@@ -326,12 +349,14 @@ public class Dwarf implements AutoCloseable {
 	private void dispose() {
 		dwarfSections.clear();
 		dwarfAltSections.clear();
-		System.gc();
 	}
 
 	@Override
 	public void close() {
 		dispose();
+		// The sections are only unmapped once collected, which the files
+		// being deleted or replaced may have to wait for.
+		System.gc();
 	}
 
 	@Override
@@ -386,6 +411,19 @@ public class Dwarf implements AutoCloseable {
 				| ((bytes[6] & 0xff) << 8) | (bytes[7] & 0xff));
 	}
 
+	long read_3_bytes(ByteBuffer in) throws IOException {
+		try {
+			byte[] bytes = new byte[3];
+			in.get(bytes);
+			if (isLE) {
+				return ((bytes[2] & 0xff) << 16) | ((bytes[1] & 0xff) << 8) | (bytes[0] & 0xff);
+			}
+			return ((bytes[0] & 0xff) << 16) | ((bytes[1] & 0xff) << 8) | (bytes[2] & 0xff);
+		} catch (Exception e) {
+			throw new IOException(CCorePlugin.getResourceString("Util.exception.missingBytes")); //$NON-NLS-1$
+		}
+	}
+
 	short read_2_bytes(ByteBuffer in) throws IOException {
 		try {
 			byte[] bytes = new byte[2];
@@ -461,16 +499,33 @@ public class Dwarf implements AutoCloseable {
 					header.length = sectionLength.length;
 					header.offsetSize = sectionLength.offsetSize;
 
+					// The unit length does not include the length field itself.
+					int unitEnd = (int) Math.min(data.position() + header.length, data.limit());
+
 					header.version = read_2_bytes(data);
 					if (header.version >= 5) {
-						// XXX: We don't use this new field in DWARF v5 yet
-						var unit_type = data.get();
+						header.unitType = data.get();
 						header.addressSize = data.get();
 
 						if (header.offsetSize == 8)
 							header.abbreviationOffset = (int) read_8_bytes(data);
 						else
 							header.abbreviationOffset = read_4_bytes(data);
+
+						switch (header.unitType) {
+						case DwarfConstants.DW_UT_skeleton:
+						case DwarfConstants.DW_UT_split_compile:
+							// dwo_id
+							data.position(data.position() + 8);
+							break;
+						case DwarfConstants.DW_UT_type:
+						case DwarfConstants.DW_UT_split_type:
+							// type_signature and type_offset
+							data.position(data.position() + 8 + header.offsetSize);
+							break;
+						default:
+							break;
+						}
 					} else {
 						if (header.offsetSize == 8)
 							header.abbreviationOffset = (int) read_8_bytes(data);
@@ -478,6 +533,9 @@ public class Dwarf implements AutoCloseable {
 							header.abbreviationOffset = read_4_bytes(data);
 						header.addressSize = data.get();
 					}
+					// Default to the first contribution to .debug_str_offsets, past its header,
+					// until a DW_AT_str_offsets_base attribute is seen.
+					header.strOffsetsBase = header.offsetSize == 8 ? 16 : 8;
 
 					if (printEnabled) {
 						System.out.println("Compilation Unit @ " + Long.toHexString(data.position())); //$NON-NLS-1$
@@ -486,23 +544,11 @@ public class Dwarf implements AutoCloseable {
 
 					// read the abbrev section.
 					Map<Long, AbbreviationEntry> abbrevs = parseDebugAbbreviation(header);
-					// A 4-byte or 12-byte unsigned integer representing the length of the .debug_info
-					// contribution for that compilation unit, not including the length field itself.
 					ByteBuffer entryBuffer = data.slice();
-					int newLimit = ((int) header.length) - (header.offsetSize == 8 ? 11 : 7);
-					if (header.version >= 5) {
-						// account for new field in DWARF v5
-						newLimit -= 1;
-					}
-					entryBuffer.limit(newLimit);
+					entryBuffer.limit(unitEnd - data.position());
 					parseDebugInfoEntry(requestor, entryBuffer, abbrevs, header);
 
-					int newLimit2 = ((int) header.length) - (header.offsetSize == 8 ? 11 : 7);
-					if (header.version >= 5) {
-						// account for new field in DWARF v5
-						newLimit2 -= 1;
-					}
-					data.position(data.position() + newLimit2);
+					data.position(unitEnd);
 
 					if (printEnabled)
 						System.out.println();
@@ -580,7 +626,12 @@ public class Dwarf implements AutoCloseable {
 						name = read_unsigned_leb128(data);
 						form = read_unsigned_leb128(data);
 						if (name != 0) {
-							entry.attributes.add(new Attribute(name, form));
+							Attribute attribute = new Attribute(name, form);
+							if (form == DwarfConstants.DW_FORM_implicit_const) {
+								// The value is stored in the abbreviation, not in the entries.
+								attribute.implicitConst = read_signed_leb128(data);
+							}
+							entry.attributes.add(attribute);
 						}
 						if (printEnabled)
 							System.out.println("\t\t " + Long.toHexString(name) + " " + Long.toHexString(form)); //$NON-NLS-1$ //$NON-NLS-2$
@@ -598,22 +649,81 @@ public class Dwarf implements AutoCloseable {
 			long code = read_unsigned_leb128(in);
 			AbbreviationEntry entry = abbrevs.get(Long.valueOf(code));
 			if (entry != null) {
-				int len = entry.attributes.size();
-				List<AttributeValue> list = new ArrayList<>(len);
-				try {
-					for (int i = 0; i < len; i++) {
-						Attribute attr = entry.attributes.get(i);
-						Object obj = readAttribute((int) attr.form, in, header);
-						list.add(new AttributeValue(attr, obj));
-					}
-				} catch (IOException e) {
-					//break;
-				}
+				List<AttributeValue> list = readAttributes(entry, in, header);
 				processDebugInfoEntry(requestor, entry, list);
 			}
 		}
 	}
 
+	/**
+	 * Read the attribute values of a debug info entry.  The strings given by
+	 * index are resolved once all the attributes are read, since the base of
+	 * the string offsets table may be given by a later attribute of the unit
+	 * entry.
+	 */
+	List<AttributeValue> readAttributes(AbbreviationEntry entry, ByteBuffer in, CompilationUnitHeader header) {
+		int len = entry.attributes.size();
+		List<AttributeValue> list = new ArrayList<>(len);
+		boolean hasStringIndex = false;
+		try {
+			for (int i = 0; i < len; i++) {
+				Attribute attr = entry.attributes.get(i);
+				Object obj;
+				if (attr.form == DwarfConstants.DW_FORM_implicit_const) {
+					obj = Long.valueOf(attr.implicitConst);
+				} else {
+					obj = readAttribute((int) attr.form, in, header);
+				}
+				if (attr.name == DwarfConstants.DW_AT_str_offsets_base && obj instanceof Number) {
+					header.strOffsetsBase = ((Number) obj).longValue();
+				}
+				hasStringIndex |= obj instanceof StringIndex;
+				list.add(new AttributeValue(attr, obj));
+			}
+		} catch (IOException e) {
+			//break;
+		}
+		if (hasStringIndex) {
+			for (AttributeValue av : list) {
+				if (av.value instanceof StringIndex) {
+					av.value = readIndexedString(((StringIndex) av.value).index, header);
+				}
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Read a string of .debug_str given by its index in the string offsets
+	 * table of the unit.
+	 */
+	String readIndexedString(long index, CompilationUnitHeader header) {
+		ByteBuffer offsets = dwarfSections.get(DWARF_DEBUG_STR_OFFSETS);
+		ByteBuffer str = dwarfSections.get(DWARF_DEBUG_STR);
+		if (offsets == null || str == null) {
+			return ""; //$NON-NLS-1$
+		}
+		long position = header.strOffsetsBase + index * header.offsetSize;
+		if (position < 0 || position + header.offsetSize > offsets.capacity()) {
+			return ""; //$NON-NLS-1$
+		}
+		try {
+			offsets.position((int) position);
+			long offset;
+			if (header.offsetSize == 8)
+				offset = read_8_bytes(offsets);
+			else
+				offset = read_4_bytes(offsets) & 0xffffffffL;
+			if (offset < 0 || offset > str.capacity()) {
+				return ""; //$NON-NLS-1$
+			}
+			str.position((int) offset);
+			return readString(str);
+		} catch (IOException e) {
+			return ""; //$NON-NLS-1$
+		}
+	}
+
 	int oldForm = 0;
 
 	Object readAttribute(int form, ByteBuffer in, CompilationUnitHeader header) throws IOException {
@@ -830,6 +940,67 @@ public class Dwarf implements AutoCloseable {
 			obj = Long.valueOf(read_8_bytes(in));
 			break;
 
+		case DwarfConstants.DW_FORM_strx:
+			obj = new StringIndex(read_unsigned_leb128(in));
+			break;
+		case DwarfConstants.DW_FORM_strx1:
+			obj = new StringIndex(in.get() & 0xff);
+			break;
+		case DwarfConstants.DW_FORM_strx2:
+			obj = new StringIndex(read_2_bytes(in) & 0xffff);
+			break;
+		case DwarfConstants.DW_FORM_strx3:
+			obj = new StringIndex(read_3_bytes(in));
+			break;
+		case DwarfConstants.DW_FORM_strx4:
+			obj = new StringIndex(read_4_bytes(in) & 0xffffffffL);
+			break;
+
+		// Indexes in .debug_addr, .debug_loclists and .debug_rnglists, which are not read.
+		case DwarfConstants.DW_FORM_addrx:
+		case DwarfConstants.DW_FORM_loclistx:
+		case DwarfConstants.DW_FORM_rnglistx:
+			obj = Long.valueOf(read_unsigned_leb128(in));
+			break;
+		case DwarfConstants.DW_FORM_addrx1:
+			obj = Long.valueOf(in.get() & 0xff);
+			break;
+		case DwarfConstants.DW_FORM_addrx2:
+			obj = Long.valueOf(read_2_bytes(in) & 0xffff);
+			break;
+		case DwarfConstants.DW_FORM_addrx3:
+			obj = Long.valueOf(read_3_bytes(in));
+			break;
+		case DwarfConstants.DW_FORM_addrx4:
+			obj = Long.valueOf(read_4_bytes(in) & 0xffffffffL);
+			break;
+
+		// References to the supplementary object file, which is not read.
+		case DwarfConstants.DW_FORM_ref_sup4:
+			obj = Long.valueOf(read_4_bytes(in) & 0xffffffffL);
+			break;
+		case DwarfConstants.DW_FORM_ref_sup8:
+			obj = Long.valueOf(read_8_bytes(in));
+			break;
+		case DwarfConstants.DW_FORM_strp_sup:
+			if (header.offsetSize == 8)
+				in.position(in.position() + 8);
+			else
+				in.position(in.position() + 4);
+			obj = ""; //$NON-NLS-1$
+			break;
+
+		case DwarfConstants.DW_FORM_data16: {
+			byte[] value = new byte[16];
+			in.get(value);
+			obj = value;
+		}
+			break;
+
+		case DwarfConstants.DW_FORM_implicit_const:
+			// 0 byte value, given by the abbreviation.
+			break;
+
 		default:
 			if (printEnabled) {
 				System.out.println("Default for " + form); //$NON-NLS-1$
@@ -147,6 +147,10 @@ public class DwarfConstants {
 	public final static int DW_AT_variable_parameter = 0x4b;
 	public final static int DW_AT_virtuality = 0x4c;
 	public final static int DW_AT_vtable_elem_location = 0x4d;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_AT_str_offsets_base = 0x72;
 	public final static int DW_AT_lo_user = 0x2000;
 	public final static int DW_AT_MIPS_fde = 0x2001;
 	public final static int DW_AT_MIPS_loop_begin = 0x2002;
@@ -208,6 +212,26 @@ public class DwarfConstants {
 	 * @since 5.7
 	 */
 	public final static int DW_FORM_flag_present = 0x19;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_strx = 0x1a;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_addrx = 0x1b;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_ref_sup4 = 0x1c;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_strp_sup = 0x1d;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_data16 = 0x1e;
 	/**
 	 * @since 8.1
 	 */
@@ -216,6 +240,54 @@ public class DwarfConstants {
 	 * @since 5.7
 	 */
 	public final static int DW_FORM_ref_sig8 = 0x20;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_implicit_const = 0x21;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_loclistx = 0x22;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_rnglistx = 0x23;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_ref_sup8 = 0x24;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_strx1 = 0x25;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_strx2 = 0x26;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_strx3 = 0x27;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_strx4 = 0x28;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_addrx1 = 0x29;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_addrx2 = 0x2a;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_addrx3 = 0x2b;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_FORM_addrx4 = 0x2c;
 	/* Extensions for Fission. See http://gcc.gnu.org/wiki/DebugFission. */
 	/**
 	 * @since 5.7
@@ -484,6 +556,54 @@ public class DwarfConstants {
 	public final static int DW_LNE_set_address = 2;
 	public final static int DW_LNE_define_file = 3;
 
+	/* DWARF line number header entry format encodings. */
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_LNCT_path = 1;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_LNCT_directory_index = 2;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_LNCT_timestamp = 3;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_LNCT_size = 4;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_LNCT_MD5 = 5;
+
+	/* DWARF unit header unit type encodings. */
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_UT_compile = 0x01;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_UT_type = 0x02;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_UT_partial = 0x03;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_UT_skeleton = 0x04;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_UT_split_compile = 0x05;
+	/**
+	 * @since 8.2
+	 */
+	public final static int DW_UT_split_type = 0x06;
+
 	/* DWARF macinfo type encodings. */
 	public final static int DW_MACINFO_define = 1;
 	public final static int DW_MACINFO_undef = 2;
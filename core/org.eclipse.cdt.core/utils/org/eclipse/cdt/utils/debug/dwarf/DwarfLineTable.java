@@ -0,0 +1,442 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.cdt.utils.debug.dwarf;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.IAddress;
+
+/**
+ * Map of the addresses of a binary to source lines, read from the line number
+ * programs of its .debug_line section.
+ * <p>
+ * It answers the same questions as <code>addr2line</code> without starting a
+ * process, which matters when the lines of all the symbols of a binary are
+ * looked up.  The rows of the line tables are kept in arrays ordered by
+ * address; the table is immutable, so it may be read by several threads.
+ * </p>
+ * <p>
+ * The table of a binary is kept in the persistent index cache of the debug
+ * information, see {@link org.eclipse.cdt.internal.core.dwarf.DwarfIndexCache},
+ * so the line number programs are only run again when the binary changes.
+ * </p>
+ *
+ * @see DwarfReader#getLineTable()
+ * @since 8.2
+ */
+public class DwarfLineTable {
+
+	// Standard opcodes.
+	private static final int DW_LNS_copy = 1;
+	private static final int DW_LNS_advance_pc = 2;
+	private static final int DW_LNS_advance_line = 3;
+	private static final int DW_LNS_set_file = 4;
+	private static final int DW_LNS_const_add_pc = 8;
+	private static final int DW_LNS_fixed_advance_pc = 9;
+
+	// Extended opcodes.
+	private static final int DW_LNE_end_sequence = 1;
+	private static final int DW_LNE_set_address = 2;
+	private static final int DW_LNE_define_file = 3;
+
+	/** Distance within which a row with a line is looked for, as Addr2line does. */
+	private static final int LINE_SEARCH_RANGE = 20;
+
+	/** Addresses of the rows, ordered */
+	private final long[] addresses;
+	/** Line of each row, or -1 for the end of a sequence */
+	private final int[] lines;
+	/** File of each row, as an index in fileNames */
+	private final int[] files;
+	private final String[] fileNames;
+
+	DwarfLineTable(DwarfReader reader) {
+		Builder builder = new Builder(reader);
+		builder.readLineTables();
+		addresses = builder.addresses;
+		lines = builder.lines;
+		files = builder.files;
+		fileNames = builder.fileNames.toArray(new String[builder.fileNames.size()]);
+	}
+
+	private DwarfLineTable(long[] addresses, int[] lines, int[] files, String[] fileNames) {
+		this.addresses = addresses;
+		this.lines = lines;
+		this.files = files;
+		this.fileNames = fileNames;
+	}
+
+	/**
+	 * Writes the table to an entry of the index cache.
+	 */
+	void write(DataOutputStream out) throws IOException {
+		out.writeInt(fileNames.length);
+		for (String fileName : fileNames) {
+			out.writeUTF(fileName);
+		}
+		out.writeInt(addresses.length);
+		for (int i = 0; i < addresses.length; i++) {
+			out.writeLong(addresses[i]);
+			out.writeInt(lines[i]);
+			out.writeInt(files[i]);
+		}
+	}
+
+	/**
+	 * Reads a table written by {@link #write(DataOutputStream)}.
+	 */
+	static DwarfLineTable read(DataInputStream in) throws IOException {
+		String[] fileNames = new String[in.readInt()];
+		for (int i = 0; i < fileNames.length; i++) {
+			fileNames[i] = in.readUTF();
+		}
+		int size = in.readInt();
+		long[] addresses = new long[size];
+		int[] lines = new int[size];
+		int[] files = new int[size];
+		for (int i = 0; i < size; i++) {
+			addresses[i] = in.readLong();
+			lines[i] = in.readInt();
+			files[i] = in.readInt();
+			if (files[i] >= fileNames.length) {
+				throw new IOException("Invalid file index " + files[i]); //$NON-NLS-1$
+			}
+		}
+		return new DwarfLineTable(addresses, lines, files, fileNames);
+	}
+
+	/**
+	 * Returns whether the table has no line information.
+	 */
+	public boolean isEmpty() {
+		return addresses.length == 0;
+	}
+
+	/**
+	 * Returns the source file of the code at the given address.
+	 *
+	 * @return the full name of the file, or <code>null</code> if it is not known
+	 */
+	public String getFileName(IAddress address) {
+		return getFileName(address.getValue().longValue());
+	}
+
+	/**
+	 * Same as {@link #getFileName(IAddress)}, with the address given as an
+	 * unsigned value.
+	 */
+	public String getFileName(long address) {
+		int row = findRow(address);
+		return row >= 0 && files[row] >= 0 ? fileNames[files[row]] : null;
+	}
+
+	/**
+	 * Returns the source line of the code at the given address.  If the code
+	 * at the address is not attributed to a line, the line of the code which
+	 * follows closely is returned, since symbols do not always start exactly
+	 * where the line information does.
+	 *
+	 * @return the line number, starting at 1, or -1 if it is not known
+	 */
+	public int getLineNumber(IAddress address) {
+		return getLineNumber(address.getValue().longValue());
+	}
+
+	/**
+	 * Same as {@link #getLineNumber(IAddress)}, with the address given as an
+	 * unsigned value.
+	 */
+	public int getLineNumber(long address) {
+		int row = findRow(address);
+		if (row < 0) {
+			return -1;
+		}
+		// Line 0 is code which the compiler did not attribute to any line.
+		while (lines[row] == 0) {
+			row++;
+			if (row >= lines.length || addresses[row] - address > LINE_SEARCH_RANGE) {
+				return -1;
+			}
+		}
+		return lines[row];
+	}
+
+	/*
+	 * Returns the last row at or below the address, or -1 if the address is
+	 * not in any sequence.
+	 */
+	private int findRow(long address) {
+		int low = 0;
+		int high = addresses.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (Long.compareUnsigned(addresses[mid], address) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		int row = low - 1;
+		return row >= 0 && lines[row] >= 0 ? row : -1;
+	}
+
+	/*
+	 * Sequence of rows with increasing addresses, ended by a row at the first
+	 * address after the sequence.
+	 */
+	private static class Sequence {
+		long[] addresses = new long[16];
+		int[] lines = new int[16];
+		int[] files = new int[16];
+		int size;
+
+		void add(long address, int line, int file) {
+			if (size == addresses.length) {
+				addresses = Arrays.copyOf(addresses, size * 2);
+				lines = Arrays.copyOf(lines, size * 2);
+				files = Arrays.copyOf(files, size * 2);
+			}
+			// Only the last row at an address is kept, as addr2line does.
+			if (size > 0 && addresses[size - 1] == address) {
+				size--;
+			}
+			addresses[size] = address;
+			lines[size] = line;
+			files[size] = file;
+			size++;
+		}
+
+		long start() {
+			return addresses[0];
+		}
+
+		long end() {
+			return addresses[size - 1];
+		}
+	}
+
+	/*
+	 * Runs the line number programs.
+	 */
+	private static class Builder {
+		private final DwarfReader reader;
+		private final List<Sequence> sequences = new ArrayList<>();
+		private final Map<String, Integer> fileIndexes = new HashMap<>();
+		final List<String> fileNames = new ArrayList<>();
+		long[] addresses;
+		int[] lines;
+		int[] files;
+
+		Builder(DwarfReader reader) {
+			this.reader = reader;
+		}
+
+		void readLineTables() {
+			ByteBuffer section = reader.dwarfSections.get(Dwarf.DWARF_DEBUG_LINE);
+			if (section != null) {
+				// Other readers of the section are not disturbed.
+				ByteBuffer data = section.duplicate();
+				int offset = 0;
+				while (offset < data.capacity() - 4) {
+					try {
+						data.position(offset);
+						Dwarf.InitialLengthValue length = reader.readInitialLengthField(data);
+						long end = data.position() + length.length;
+						if (length.length <= 0 || end > data.capacity()) {
+							break;
+						}
+						try {
+							readLineTable(data, offset, (int) end, length.offsetSize == 8);
+						} catch (IOException | RuntimeException e) {
+							// A corrupted table is skipped, the others still have their lines.
+						}
+						offset = (int) end;
+					} catch (IOException | RuntimeException e) {
+						break;
+					}
+				}
+			}
+			flatten();
+		}
+
+		private void readLineTable(ByteBuffer data, int offset, int end, boolean dwarf64Bit) throws IOException {
+			int version = reader.read_2_bytes(data) & 0xffff;
+			if (version < 2 || version > 5) {
+				return;
+			}
+			if (version >= 5) {
+				data.get(); // address_size
+				data.get(); // segment_selector_size
+			}
+			long headerLength = dwarf64Bit ? reader.read_8_bytes(data) : reader.read_4_bytes(data) & 0xffffffffL;
+			int programStart = (int) (data.position() + headerLength);
+			int minInstructionLength = data.get() & 0xff;
+			if (version >= 4) {
+				data.get(); // maximum_operations_per_instruction, only used for VLIW
+			}
+			data.get(); // default_is_stmt
+			int lineBase = data.get();
+			int lineRange = data.get() & 0xff;
+			int opcodeBase = data.get() & 0xff;
+			if (lineRange == 0 || opcodeBase == 0) {
+				return;
+			}
+			int[] opcodeLengths = new int[opcodeBase];
+			for (int i = 1; i < opcodeBase; i++) {
+				opcodeLengths[i] = data.get() & 0xff;
+			}
+
+			// File 1 is the first entry of the table before DWARF 5, file 0 since.
+			List<Integer> tableFiles = new ArrayList<>();
+			if (version < 5) {
+				tableFiles.add(Integer.valueOf(-1));
+			}
+			String compDir = reader.getLineTableCompDir(offset);
+			for (String fileName : reader.readLineTableFiles(data, version, dwarf64Bit, compDir, null)) {
+				tableFiles.add(Integer.valueOf(getFileIndex(fileName)));
+			}
+
+			data.position(programStart);
+			long address = 0;
+			int file = 1;
+			int line = 1;
+			Sequence sequence = new Sequence();
+			while (data.position() < end) {
+				int opcode = data.get() & 0xff;
+				if (opcode >= opcodeBase) {
+					// Special opcode
+					int adjusted = opcode - opcodeBase;
+					address += (adjusted / lineRange) * minInstructionLength;
+					line += lineBase + adjusted % lineRange;
+					sequence.add(address, line, fileIndex(tableFiles, file));
+				} else if (opcode == 0) {
+					// Extended opcode
+					long length = reader.read_unsigned_leb128(data);
+					int next = (int) (data.position() + length);
+					int extendedOpcode = length > 0 ? data.get() & 0xff : 0;
+					switch (extendedOpcode) {
+					case DW_LNE_end_sequence:
+						sequence.add(address, -1, -1);
+						addSequence(sequence);
+						sequence = new Sequence();
+						address = 0;
+						file = 1;
+						line = 1;
+						break;
+					case DW_LNE_set_address:
+						address = length - 1 == 8 ? reader.read_8_bytes(data)
+								: reader.read_4_bytes(data) & 0xffffffffL;
+						break;
+					case DW_LNE_define_file:
+						tableFiles.add(Integer.valueOf(getFileIndex(reader.readString(data))));
+						break;
+					default:
+						break;
+					}
+					data.position(next);
+				} else {
+					switch (opcode) {
+					case DW_LNS_copy:
+						sequence.add(address, line, fileIndex(tableFiles, file));
+						break;
+					case DW_LNS_advance_pc:
+						address += reader.read_unsigned_leb128(data) * minInstructionLength;
+						break;
+					case DW_LNS_advance_line:
+						line += (int) reader.read_signed_leb128(data);
+						break;
+					case DW_LNS_set_file:
+						file = (int) reader.read_unsigned_leb128(data);
+						break;
+					case DW_LNS_const_add_pc:
+						address += ((255 - opcodeBase) / lineRange) * minInstructionLength;
+						break;
+					case DW_LNS_fixed_advance_pc:
+						address += reader.read_2_bytes(data) & 0xffff;
+						break;
+					default:
+						// The operands of the other opcodes are not needed.
+						for (int i = 0; i < opcodeLengths[opcode]; i++) {
+							reader.read_unsigned_leb128(data);
+						}
+						break;
+					}
+				}
+			}
+		}
+
+		private static int fileIndex(List<Integer> tableFiles, int file) {
+			return file >= 0 && file < tableFiles.size() ? tableFiles.get(file).intValue() : -1;
+		}
+
+		private int getFileIndex(String fileName) {
+			if (fileName == null) {
+				return -1;
+			}
+			Integer index = fileIndexes.get(fileName);
+			if (index == null) {
+				index = Integer.valueOf(fileNames.size());
+				fileNames.add(fileName);
+				fileIndexes.put(fileName, index);
+			}
+			return index.intValue();
+		}
+
+		private void addSequence(Sequence sequence) {
+			for (int i = 1; i < sequence.size; i++) {
+				if (Long.compareUnsigned(sequence.addresses[i], sequence.addresses[i - 1]) < 0) {
+					// Not a valid sequence.
+					return;
+				}
+			}
+			// Sequences with no code, e.g. of discarded functions, are ignored.
+			if (sequence.size > 1 && sequence.start() != sequence.end()) {
+				sequences.add(sequence);
+			}
+		}
+
+		private void flatten() {
+			sequences.sort((a, b) -> Long.compareUnsigned(a.start(), b.start()));
+			int size = 0;
+			long lastEnd = 0;
+			List<Sequence> kept = new ArrayList<>(sequences.size());
+			for (Sequence sequence : sequences) {
+				// Functions removed by the linker may leave sequences over the code
+				// of others, usually at address 0; the first one wins.
+				if (!kept.isEmpty() && Long.compareUnsigned(sequence.start(), lastEnd) < 0) {
+					continue;
+				}
+				kept.add(sequence);
+				lastEnd = sequence.end();
+				size += sequence.size;
+			}
+			addresses = new long[size];
+			lines = new int[size];
+			files = new int[size];
+			int position = 0;
+			for (Sequence sequence : kept) {
+				System.arraycopy(sequence.addresses, 0, addresses, position, sequence.size);
+				System.arraycopy(sequence.lines, 0, lines, position, sequence.size);
+				System.arraycopy(sequence.files, 0, files, position, sequence.size);
+				position += sequence.size;
+			}
+		}
+	}
+}
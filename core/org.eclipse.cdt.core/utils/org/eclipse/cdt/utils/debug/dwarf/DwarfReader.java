@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2023 Nokia and others.
+ * Copyright (c) 2007, 2026 Nokia and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,8 @@
 
 package org.eclipse.cdt.utils.debug.dwarf;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -31,6 +33,7 @@ import java.util.Set;
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.ICompileOptionsFinder;
 import org.eclipse.cdt.core.ISymbolReader;
+import org.eclipse.cdt.internal.core.dwarf.DwarfIndexCache;
 import org.eclipse.cdt.utils.coff.Coff64.SectionHeader;
 import org.eclipse.cdt.utils.coff.PE64;
 import org.eclipse.cdt.utils.debug.IDebugEntryRequestor;
@@ -49,18 +52,27 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	// These are sections that need be parsed to get the source file list.
 	final static String[] DWARF_SectionsToParse = { DWARF_DEBUG_INFO, DWARF_DEBUG_LINE, DWARF_DEBUG_ABBREV,
 			DWARF_DEBUG_STR, // this is optional. Some compilers don't generate it.
-			DWARF_DEBUG_MACRO, DWARF_DEBUG_LINE_STR };
+			DWARF_DEBUG_MACRO, DWARF_DEBUG_LINE_STR, DWARF_DEBUG_STR_OFFSETS };
 
 	final static String[] DWARF_ALT_SectionsToParse = { DWARF_DEBUG_STR, DWARF_DEBUG_MACRO };
 
 	private final Collection<String> m_fileCollection = new HashSet<>();
 	private final Map<Long, String> m_stmtFileMap = new HashMap<>();
+	// Compilation directory of the CU of each line table, by offset in .debug_line.
+	private final Map<Long, String> m_stmtCompDirMap = new HashMap<>();
 	private final Map<String, ArrayList<String>> m_compileOptionsMap = new HashMap<>();
 	private String[] m_fileNames = null;
 	private boolean m_parsed = false;
 	private boolean m_macros_parsed = false;
-	private final ArrayList<Integer> m_parsedLineTableOffsets = new ArrayList<>();
+	private final Set<Integer> m_parsedLineTableOffsets = new HashSet<>();
 	private long m_parsedLineTableSize = 0;
+	private boolean m_sourceFilesParsed = false;
+	// Header of the unit being parsed.
+	private CompilationUnitHeader m_unitHeader;
+	// Files the debug information is read from, and build-id of the binary, which
+	// validate the cached source files.  Set by init(), so not initialized here.
+	private List<File> m_inputFiles;
+	private String m_buildId;
 
 	public DwarfReader(String file) throws IOException {
 		super(file);
@@ -86,6 +98,9 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 
 		IPath debugInfoPath = new Path(exe.getFilename());
 		Elf.Section[] sections = exe.getSections();
+		m_inputFiles = new ArrayList<>();
+		m_inputFiles.add(new File(exe.getFilename()));
+		m_buildId = null;
 
 		boolean have_build_id = false;
 
@@ -118,6 +133,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 							// The build-id location is taken by converting the binary bytes to hex string.
 							// The first byte is used as a directory specifier (e.g. 51/a4578fe2).
 							String bName = printHexBinary(byteArray).toLowerCase();
+							m_buildId = bName;
 							buildId = bName.substring(0, 2) + "/" + bName.substring(2) + ".debug"; //$NON-NLS-1$ //$NON-NLS-2$
 							// The build-id file should be in the special directory /usr/lib/debug/.build-id
 							IPath buildIdPath = new Path("/usr/lib/debug/.build-id").append(buildId); //$NON-NLS-1$
@@ -127,6 +143,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 								try (Elf debugInfo = new Elf(buildIdFile.getCanonicalPath())) {
 									sections = debugInfo.getSections();
 								}
+								m_inputFiles.add(buildIdFile);
 								have_build_id = true;
 								debugInfoPath = new Path(buildIdFile.getCanonicalPath()).removeLastSegments(1);
 								break;
@@ -179,6 +196,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 								try (Elf debugInfo = new Elf(debugFile.getCanonicalPath())) {
 									sections = debugInfo.getSections();
 								}
+								m_inputFiles.add(debugFile);
 								debugInfoPath = new Path(debugFile.getCanonicalPath()).removeLastSegments(1);
 							}
 						}
@@ -207,6 +225,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 						}
 						File altFile = altPath.toFile();
 						if (altFile.exists()) {
+							m_inputFiles.add(altFile);
 							try (Elf altInfo = new Elf(altFile.getCanonicalPath())) {
 								Elf.Section[] altSections = altInfo.getSections();
 								for (Section altSection : altSections) {
@@ -255,6 +274,9 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 
 		isLE = true;
 		SectionHeader[] sections = exe.getSectionHeaders();
+		m_inputFiles = new ArrayList<>();
+		m_inputFiles.add(new File(exe.getFilename()));
+		m_buildId = null;
 
 		for (int i = 0; i < sections.length; i++) {
 			String name = new String(sections[i].s_name).trim();
@@ -346,51 +368,142 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 				int opcode_base = data.get();
 				data.position(data.position() + opcode_base - 1);
 
-				// Read in directories.
-				//
-				ArrayList<String> dirList = new ArrayList<>();
+				addSourceFiles(readLineTableFiles(data, version, dwarf64Bit, cuCompDir, m_unitHeader));
+			} catch (IOException e) {
+				CCorePlugin.log("Failed to parse part of dwarf header", e); //$NON-NLS-1$
+			}
+		}
+	}
 
-				// Put the compilation directory of the CU as the first dir
-				dirList.add(cuCompDir);
+	/*
+	 * Read the directory and file name tables of a line table header, and return
+	 * the full names of the files, in the order of the table. The data must be
+	 * positioned after the standard_opcode_lengths. Relative directories are
+	 * resolved against the compilation directory, if it is known. The name of a
+	 * file which is not a source file is null.
+	 */
+	List<String> readLineTableFiles(ByteBuffer data, int version, boolean dwarf64Bit, String compDir,
+			CompilationUnitHeader unitHeader) throws IOException {
+		ArrayList<String> dirList = new ArrayList<>();
+		List<String> files = new ArrayList<>();
+
+		if (version >= 5) {
+			// The tables are described by entry formats, using the attribute forms.
+			CompilationUnitHeader header = new CompilationUnitHeader();
+			header.version = (short) version;
+			header.offsetSize = (byte) (dwarf64Bit ? 8 : 4);
+			header.strOffsetsBase = unitHeader != null ? unitHeader.strOffsetsBase : (dwarf64Bit ? 16 : 8);
+
+			// The first directory is the compilation directory.
+			List<LineTableEntry> dirs = readLineTableEntries(data, header);
+			String baseDir = compDir.length() > 0 || dirs.isEmpty() ? compDir : dirs.get(0).path;
+			for (LineTableEntry dir : dirs) {
+				dirList.add(resolveDirectory(baseDir, dir.path));
+			}
+			for (LineTableEntry file : readLineTableEntries(data, header)) {
+				String dir = file.dirIndex < dirList.size() ? dirList.get((int) file.dirIndex) : baseDir;
+				files.add(getSourceFileName(dir, file.path));
+			}
+			return files;
+		}
 
-				String str, fileName;
+		// Put the compilation directory of the CU as the first dir
+		dirList.add(compDir);
 
-				while (true) {
-					str = readString(data);
-					if (str.length() == 0)
-						break;
-					// If the directory is relative, append it to the CU dir
-					IPath dir = new Path(str);
-					if (!dir.isAbsolute())
-						dir = new Path(cuCompDir).append(str);
-					dirList.add(dir.toString());
-				}
+		String str, fileName;
 
-				// Read file names
-				//
-				long leb128;
-				while (true) {
-					fileName = readString(data);
-					if (fileName.length() == 0) // no more file entry
-						break;
+		// Read in directories.
+		//
+		while (true) {
+			str = readString(data);
+			if (str.length() == 0)
+				break;
+			dirList.add(resolveDirectory(compDir, str));
+		}
+
+		// Read file names
+		//
+		long leb128;
+		while (true) {
+			fileName = readString(data);
+			if (fileName.length() == 0) // no more file entry
+				break;
+
+			// dir index. Note "0" is reserved for compilation directory.
+			leb128 = read_unsigned_leb128(data);
 
-					// dir index
-					leb128 = read_unsigned_leb128(data);
+			files.add(getSourceFileName(dirList.get((int) leb128), fileName));
 
-					addSourceFile(dirList.get((int) leb128), fileName);
+			// Skip the followings
+			//
+			// modification time
+			leb128 = read_unsigned_leb128(data);
+
+			// file size in bytes
+			leb128 = read_unsigned_leb128(data);
+		}
+		return files;
+	}
+
+	// Directory or file entry of a DWARF 5 line table header.
+	private static class LineTableEntry {
+		String path = ""; //$NON-NLS-1$
+		long dirIndex;
+	}
 
-					// Skip the followings
-					//
-					// modification time
-					leb128 = read_unsigned_leb128(data);
+	private List<LineTableEntry> readLineTableEntries(ByteBuffer data, CompilationUnitHeader header)
+			throws IOException {
+		int formatCount = data.get() & 0xff;
+		long[] contentTypes = new long[formatCount];
+		int[] forms = new int[formatCount];
+		for (int i = 0; i < formatCount; i++) {
+			contentTypes[i] = read_unsigned_leb128(data);
+			forms[i] = (int) read_unsigned_leb128(data);
+		}
 
-					// file size in bytes
-					leb128 = read_unsigned_leb128(data);
+		long count = read_unsigned_leb128(data);
+		List<LineTableEntry> entries = new ArrayList<>();
+		for (long n = 0; n < count && data.hasRemaining(); n++) {
+			LineTableEntry entry = new LineTableEntry();
+			for (int i = 0; i < formatCount; i++) {
+				Object value = readAttribute(forms[i], data, header);
+				if (contentTypes[i] == DwarfConstants.DW_LNCT_path) {
+					if (value instanceof StringIndex) {
+						value = readIndexedString(((StringIndex) value).index, header);
+					}
+					if (value instanceof String) {
+						entry.path = (String) value;
+					}
+				} else if (contentTypes[i] == DwarfConstants.DW_LNCT_directory_index) {
+					entry.dirIndex = unsignedValue(value);
 				}
-			} catch (IOException e) {
-				CCorePlugin.log("Failed to parse part of dwarf header", e); //$NON-NLS-1$
 			}
+			entries.add(entry);
+		}
+		return entries;
+	}
+
+	private static long unsignedValue(Object value) {
+		if (value instanceof Byte) {
+			return ((Byte) value).byteValue() & 0xff;
+		} else if (value instanceof Short) {
+			return ((Short) value).shortValue() & 0xffff;
+		} else if (value instanceof Integer) {
+			return ((Integer) value).intValue() & 0xffffffffL;
+		} else if (value instanceof Number) {
+			return ((Number) value).longValue();
 		}
+		return 0;
+	}
+
+	// If the directory is relative, append it to the compilation directory.
+	private static String resolveDirectory(String compDir, String dir) {
+		if (compDir.length() == 0)
+			return dir;
+		IPath path = new Path(dir);
+		if (!path.isAbsolute())
+			path = new Path(compDir).append(dir);
+		return path.toString();
 	}
 
 	/*
@@ -468,7 +581,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 					int minInstLengh = data.get(data.position() + (dwarf64Bit ? 8 : 4));
 
 					boolean dataValid = ltLength > minHeaderSize && ltLength < 16 * 64 * 1024 && // One source file has that much line data ?
-							dwarfVer > 0 && dwarfVer < 5 && // ver 5 is still draft at present.
+							dwarfVer > 0 && dwarfVer <= 5 &&
 							minInstLengh > 0 && minInstLengh <= 8;
 
 					if (!dataValid) // padding exists !
@@ -485,6 +598,9 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 
 				// Skip following fields till "opcode_base"
 				short skip_bytes = 8;
+				if (version >= 5) {
+					skip_bytes += 2; // see address_size and segment_selector_size
+				}
 				if (version >= 4)
 					skip_bytes += 1; // see maximum_operations_per_instruction
 				if (dwarf64Bit)
@@ -493,43 +609,8 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 				int opcode_base = data.get();
 				data.position(data.position() + opcode_base - 1);
 
-				// Read in directories.
-				//
-				ArrayList<String> dirList = new ArrayList<>();
-
-				String str, fileName;
-
-				// first dir should be TAG_comp_dir from CU, which we don't have here.
-				dirList.add(""); //$NON-NLS-1$
-
-				while (true) {
-					str = readString(data);
-					if (str.length() == 0)
-						break;
-					dirList.add(str);
-				}
-
-				// Read file names
-				//
-				long leb128;
-				while (true) {
-					fileName = readString(data);
-					if (fileName.length() == 0) // no more file entry
-						break;
-
-					// dir index. Note "0" is reserved for compilation directory.
-					leb128 = read_unsigned_leb128(data);
-
-					addSourceFile(dirList.get((int) leb128), fileName);
-
-					// Skip the followings
-					//
-					// modification time
-					leb128 = read_unsigned_leb128(data);
-
-					// file size in bytes
-					leb128 = read_unsigned_leb128(data);
-				}
+				// The compilation directory of the CU is not known here.
+				addSourceFiles(readLineTableFiles(data, version, dwarf64Bit, "", null)); //$NON-NLS-1$
 			}
 		} catch (IOException e) {
 			e.printStackTrace();
@@ -540,19 +621,56 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	@Override
 	public String[] getSourceFiles() {
 		if (!m_parsed) {
-			m_fileCollection.clear();
+			// The source files of a binary which did not change are read from the
+			// cache rather than from its debug information.
+			if (!m_sourceFilesParsed && m_inputFiles != null) {
+				m_fileNames = DwarfIndexCache.load(m_inputFiles, m_buildId, DwarfIndexCache.SOURCE_FILES,
+						DwarfReader::readSourceFiles);
+			}
+			if (m_fileNames == null) {
+				parseSourceFiles();
+				if (m_inputFiles != null) {
+					String[] fileNames = m_fileNames;
+					DwarfIndexCache.store(m_inputFiles, m_buildId, DwarfIndexCache.SOURCE_FILES,
+							out -> writeSourceFiles(out, fileNames));
+				}
+			}
 
-			getSourceFilesFromDebugInfoSection();
+			m_parsed = true;
+		}
 
-			getSourceFilesFromDebugLineSection();
+		return m_fileNames;
+	}
 
-			m_parsed = true;
+	private static String[] readSourceFiles(DataInputStream in) throws IOException {
+		String[] sourceFiles = new String[in.readInt()];
+		for (int i = 0; i < sourceFiles.length; i++) {
+			sourceFiles[i] = in.readUTF();
+		}
+		return sourceFiles;
+	}
 
-			m_fileNames = new String[m_fileCollection.size()];
-			m_fileCollection.toArray(m_fileNames);
+	private static void writeSourceFiles(DataOutputStream out, String[] sourceFiles) throws IOException {
+		out.writeInt(sourceFiles.length);
+		for (String sourceFile : sourceFiles) {
+			out.writeUTF(sourceFile);
 		}
+	}
 
-		return m_fileNames;
+	private void parseSourceFiles() {
+		if (m_sourceFilesParsed)
+			return;
+
+		m_fileCollection.clear();
+
+		getSourceFilesFromDebugInfoSection();
+
+		getSourceFilesFromDebugLineSection();
+
+		m_sourceFilesParsed = true;
+
+		m_fileNames = new String[m_fileCollection.size()];
+		m_fileCollection.toArray(m_fileNames);
 	}
 
 	/*
@@ -573,7 +691,23 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 		return fullName;
 	}
 
+	private void addSourceFiles(List<String> fullNames) {
+		for (String fullName : fullNames) {
+			if (fullName != null && !m_fileCollection.contains(fullName))
+				m_fileCollection.add(fullName);
+		}
+	}
+
 	private String addSourceFile(String dir, String name) {
+		String fullName = getSourceFileName(dir, name);
+		if (fullName != null && !m_fileCollection.contains(fullName))
+			m_fileCollection.add(fullName);
+
+		return fullName;
+	}
+
+	// Full name of a source file, or null if the entry is not a source file.
+	static String getSourceFileName(String dir, String name) {
 		if (name == null || name.length() == 0)
 			return null;
 
@@ -593,12 +727,26 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 		// is different from java.io.File.getCanonicalPath()).
 		fullName = pa.toOSString();
 
-		if (!m_fileCollection.contains(fullName))
-			m_fileCollection.add(fullName);
-
 		return fullName;
 	}
 
+	// Override parent: only the first entry of a unit, which describes the unit
+	// itself, is needed to get the source files. The other entries are skipped
+	// rather than decoded.
+	@Override
+	void parseDebugInfoEntry(IDebugEntryRequestor requestor, ByteBuffer in, Map<Long, AbbreviationEntry> abbrevs,
+			CompilationUnitHeader header) throws IOException {
+		if (in.remaining() > 0) {
+			long code = read_unsigned_leb128(in);
+			AbbreviationEntry entry = abbrevs.get(Long.valueOf(code));
+			if (entry != null) {
+				m_unitHeader = header;
+				processDebugInfoEntry(requestor, entry, readAttributes(entry, in, header));
+				m_unitHeader = null;
+			}
+		}
+	}
+
 	// Override parent: only handle TAG_Compile_Unit.
 	@Override
 	void processDebugInfoEntry(IDebugEntryRequestor requestor, AbbreviationEntry entry,
@@ -646,8 +794,42 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 		}
 
 		addSourceFileWithStmt(cuCompDir, cuName, stmtList);
-		if (stmtList > -1) // this CU has "stmt_list" attribute
+		if (stmtList > -1) { // this CU has "stmt_list" attribute
+			m_stmtCompDirMap.put(Long.valueOf(stmtList), cuCompDir);
 			parseSourceInCULineInfo(cuCompDir, stmtList);
+		}
+	}
+
+	/**
+	 * Reads the line number information of the binary, which maps its addresses
+	 * to source lines.
+	 *
+	 * @return the line table, which is empty if the binary has no line number information
+	 * @since 8.2
+	 */
+	public DwarfLineTable getLineTable() {
+		// The line table of a binary which did not change is read from the
+		// cache rather than from its debug information.
+		if (m_inputFiles != null) {
+			DwarfLineTable lineTable = DwarfIndexCache.load(m_inputFiles, m_buildId, DwarfIndexCache.LINE_TABLE,
+					DwarfLineTable::read);
+			if (lineTable != null) {
+				return lineTable;
+			}
+		}
+		// The compilation directories of the line tables are read with the source files.
+		parseSourceFiles();
+		DwarfLineTable lineTable = new DwarfLineTable(this);
+		if (m_inputFiles != null) {
+			DwarfIndexCache.store(m_inputFiles, m_buildId, DwarfIndexCache.LINE_TABLE, lineTable::write);
+		}
+		return lineTable;
+	}
+
+	// Compilation directory of the line table at the given offset, or "" if unknown.
+	String getLineTableCompDir(long offset) {
+		String compDir = m_stmtCompDirMap.get(Long.valueOf(offset));
+		return compDir != null ? compDir : ""; //$NON-NLS-1$
 	}
 
 	/**
@@ -1044,7 +1226,9 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	@Override
 	public String getCompileOptions(String fileName) {
 		if (!m_macros_parsed) {
-			getSourceFiles();
+			// The statement list offsets of the source files are needed, which
+			// are not cached.
+			parseSourceFiles();
 			getCommandMacrosFromMacroSection();
 			m_macros_parsed = true;
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 QNX Software Systems and others.
+ * Copyright (c) 2000, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -1174,23 +1175,91 @@ public class Elf implements AutoCloseable {
 	}
 
 	private Symbol[] loadSymbolsBySection(Section section) throws IOException {
-		int numSyms = 1;
-		if (section.sh_entsize != 0) {
-			numSyms = (int) section.sh_size / (int) section.sh_entsize;
+		// The symbols are decoded from a copy of the section, and come already sorted.
+		ElfSymbolTable table = createSymbolTable(section, false);
+		List<Symbol> results = new ArrayList<>(table.size());
+		for (int i = 0; i < table.size(); i++) {
+			// A 64-bit size above the maximal file offset is malformed; skip
+			// the symbol rather than the whole table.
+			if (table.getSize(i) >= 0) {
+				results.add(table.getSymbol(i));
+			}
+		}
+		return results.toArray(new Symbol[results.size()]);
+	}
+
+	/**
+	 * Maps a symbol table section, and its string table, in memory.  Unlike
+	 * {@link #loadSymbols()}, no object is created for the symbols.
+	 *
+	 * @param section a section of type {@link Section#SHT_SYMTAB} or {@link Section#SHT_DYNSYM}
+	 * @return the symbol table of the section
+	 * @throws IOException If the file is corrupt, or the sections are compressed
+	 * @since 8.2
+	 */
+	public ElfSymbolTable mapSymbolTable(Section section) throws IOException {
+		return createSymbolTable(section, true);
+	}
+
+	private ElfSymbolTable createSymbolTable(Section section, boolean map) throws IOException {
+		boolean is64;
+		switch (ehdr.e_ident[ELFhdr.EI_CLASS]) {
+		case ELFhdr.ELFCLASS32:
+			is64 = false;
+			break;
+		case ELFhdr.ELFCLASS64:
+			is64 = true;
+			break;
+		case ELFhdr.ELFCLASSNONE:
+		default:
+			throw new ElfClassNoneException("Unknown ELF class " + ehdr.e_ident[ELFhdr.EI_CLASS]); //$NON-NLS-1$
 		}
 		section.makeSureNotCompressed();
-		ArrayList<Symbol> symList = new ArrayList<>(numSyms);
-		try (ElfSectionIterator elfIterator = symbolIterator(section)) {
-			while (elfIterator.hasNext()) {
-				Symbol symbol = elfIterator.next();
-				if (symbol.st_info == 0)
-					continue;
-				symList.add(symbol);
-			}
+		ByteBuffer symbolData = map ? mapFileRegion(section.sh_offset, section.sh_size)
+				: readFileRegion(section.sh_offset, section.sh_size);
+		ByteBuffer stringData = null;
+		Section[] allSections = getSections();
+		if (section.sh_link > 0 && section.sh_link < allSections.length) {
+			Section strtab = allSections[(int) section.sh_link];
+			strtab.makeSureNotCompressed();
+			stringData = map ? mapFileRegion(strtab.sh_offset, strtab.sh_size)
+					: readFileRegion(strtab.sh_offset, strtab.sh_size);
+		}
+		return new ElfSymbolTable(this, section, symbolData, stringData, is64);
+	}
+
+	/**
+	 * Maps the symbol table in memory, or the dynamic symbol table if there is
+	 * no symbol table, the same one as {@link #getSymbols()} after
+	 * {@link #loadSymbols()}.
+	 *
+	 * @return the symbol table, or <code>null</code> if there is none
+	 * @throws IOException If the file is corrupt, or the sections are compressed
+	 * @since 8.2
+	 */
+	public ElfSymbolTable mapSymbolTable() throws IOException {
+		Section section[] = getSections(Section.SHT_SYMTAB);
+		if (section.length == 0) {
+			section = getSections(Section.SHT_DYNSYM);
+		}
+		return section.length > 0 ? mapSymbolTable(section[0]) : null;
+	}
+
+	private ByteBuffer mapFileRegion(long offset, long size) throws IOException {
+		// The pages are only read when the buffer is accessed; the mapping
+		// stays valid after the file is closed.
+		return efile.getChannel().map(MapMode.READ_ONLY, elfOffset + offset, size).order(efile.order());
+	}
+
+	private ByteBuffer readFileRegion(long offset, long size) throws IOException {
+		// Unlike a mapping, the copy does not pin the file once it is closed.
+		if (size < 0 || size > Integer.MAX_VALUE) {
+			throw new IOException("Invalid size " + Long.toHexString(size) + " at offset " + Long.toHexString(offset)); //$NON-NLS-1$ //$NON-NLS-2$
 		}
-		Symbol[] results = symList.toArray(new Symbol[0]);
-		Arrays.sort(results);
-		return results;
+		byte[] data = new byte[(int) size];
+		efile.seek(offset);
+		efile.readFully(data);
+		return ByteBuffer.wrap(data).order(efile.order());
 	}
 
 	/**
@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.utils.elf;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.eclipse.cdt.core.IAddress;
+import org.eclipse.cdt.utils.Addr32;
+import org.eclipse.cdt.utils.Addr64;
+
+/**
+ * Read-only view of an ELF symbol table over the memory mapped file.
+ * <p>
+ * {@link Elf#loadSymbols()} creates an {@link Elf.Symbol} object for each
+ * symbol, which for a large shared library means millions of objects.  This
+ * table only keeps the indexes and addresses of the symbols, ordered by
+ * address.  The other fields of a symbol are read from the mapped section
+ * when they are asked for, and its name is only decoded then.
+ * </p>
+ * <p>
+ * Like {@link Elf#loadSymbols()}, the table skips the symbols with no type and
+ * binding information.  The symbols at the same address keep their order in
+ * the section.  The table is immutable, so it may be read by several threads.
+ * </p>
+ *
+ * @see Elf#mapSymbolTable(Elf.Section)
+ * @since 8.2
+ */
+public class ElfSymbolTable {
+
+	private static final int ELF32_SYM_SIZE = 16;
+	private static final int ELF64_SYM_SIZE = 24;
+
+	private final Elf elf;
+	private final Elf.Section section;
+	private final ByteBuffer symbols;
+	/** The string table of the symbol names, or null if there is none */
+	private final ByteBuffer strings;
+	private final boolean is64;
+	private final int entrySize;
+
+	/** Indexes in the section of the symbols, ordered by address */
+	private final int[] indexes;
+	/** Addresses of the symbols, in the same order */
+	private final long[] addresses;
+
+	ElfSymbolTable(Elf elf, Elf.Section section, ByteBuffer symbols, ByteBuffer strings, boolean is64) {
+		this.elf = elf;
+		this.section = section;
+		this.symbols = symbols;
+		this.strings = strings;
+		this.is64 = is64;
+		int defaultSize = is64 ? ELF64_SYM_SIZE : ELF32_SYM_SIZE;
+		// A malformed entry size falls back to the default one.
+		entrySize = section.sh_entsize >= defaultSize && section.sh_entsize <= symbols.capacity()
+				? (int) section.sh_entsize
+				: defaultSize;
+
+		int count = symbols.capacity() / entrySize;
+		int[] allIndexes = new int[count];
+		long[] allAddresses = new long[count];
+		int size = 0;
+		for (int i = 0; i < count; i++) {
+			if (symbols.get(i * entrySize + (is64 ? 4 : 12)) == 0) {
+				continue;
+			}
+			allIndexes[size] = i;
+			allAddresses[size] = readValue(i);
+			size++;
+		}
+		indexes = Arrays.copyOf(allIndexes, size);
+		addresses = Arrays.copyOf(allAddresses, size);
+		sort(indexes, addresses);
+	}
+
+	/**
+	 * Returns the number of symbols in the table.
+	 */
+	public int size() {
+		return indexes.length;
+	}
+
+	/**
+	 * Returns the name of the symbol at the given position.
+	 */
+	public String getName(int i) {
+		long offset = readInt(i, 0) & 0xffffffffL;
+		if (strings == null || offset >= strings.capacity()) {
+			return ""; //$NON-NLS-1$
+		}
+		int start = (int) offset;
+		int end = start;
+		while (end < strings.capacity() && strings.get(end) != 0) {
+			end++;
+		}
+		byte[] bytes = new byte[end - start];
+		for (int j = 0; j < bytes.length; j++) {
+			bytes[j] = strings.get(start + j);
+		}
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Returns the address of the symbol at the given position.
+	 */
+	public IAddress getAddress(int i) {
+		return is64 ? new Addr64(addresses[i]) : new Addr32(addresses[i]);
+	}
+
+	/**
+	 * Returns the address of the symbol at the given position, as an unsigned value.
+	 */
+	public long getValue(int i) {
+		return addresses[i];
+	}
+
+	/**
+	 * Returns the size of the symbol at the given position.  A 32-bit size is
+	 * unsigned; a 64-bit one is negative if it does not fit in a long.
+	 */
+	public long getSize(int i) {
+		int index = indexes[i];
+		return is64 ? symbols.getLong(index * entrySize + 16) : symbols.getInt(index * entrySize + 8) & 0xffffffffL;
+	}
+
+	/**
+	 * Returns the type and binding information of the symbol at the given position.
+	 */
+	public short getInfo(int i) {
+		return symbols.get(indexes[i] * entrySize + (is64 ? 4 : 12));
+	}
+
+	/**
+	 * Returns the other field of the symbol at the given position.
+	 */
+	public short getOther(int i) {
+		return symbols.get(indexes[i] * entrySize + (is64 ? 5 : 13));
+	}
+
+	/**
+	 * Returns the index of the section of the symbol at the given position.
+	 */
+	public short getSectionIndex(int i) {
+		return symbols.getShort(indexes[i] * entrySize + (is64 ? 6 : 14));
+	}
+
+	/**
+	 * Returns the type of the symbol at the given position.
+	 * @see Elf.Symbol#STT_FUNC
+	 */
+	public int getType(int i) {
+		return getInfo(i) & 0xf;
+	}
+
+	/**
+	 * Returns the binding of the symbol at the given position.
+	 * @see Elf.Symbol#STB_GLOBAL
+	 */
+	public int getBind(int i) {
+		return (getInfo(i) >> 4) & 0xf;
+	}
+
+	/**
+	 * Returns the position of the symbol with the highest address lower or
+	 * equal to the given one, which is the symbol the address is in if it is
+	 * in any.  If several symbols are at that address, the last one is
+	 * returned.
+	 *
+	 * @return the position of the symbol, or -1 if all the symbols are at
+	 * higher addresses
+	 */
+	public int findSymbol(IAddress address) {
+		return findSymbol(address.getValue().longValue());
+	}
+
+	/**
+	 * Same as {@link #findSymbol(IAddress)}, with the address given as an
+	 * unsigned value.
+	 */
+	public int findSymbol(long address) {
+		int low = 0;
+		int high = addresses.length;
+		// Find the first symbol above the address.
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (Long.compareUnsigned(addresses[mid], address) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low - 1;
+	}
+
+	/**
+	 * Creates the symbol object of the symbol at the given position, for the
+	 * clients of {@link Elf.Symbol}.
+	 */
+	public Elf.Symbol getSymbol(int i) {
+		Elf.Symbol symbol = elf.new Symbol(section);
+		symbol.st_name = readInt(i, 0) & 0xffffffffL;
+		symbol.st_value = getAddress(i);
+		symbol.st_size = getSize(i);
+		symbol.st_info = getInfo(i);
+		symbol.st_other = getOther(i);
+		symbol.st_shndx = getSectionIndex(i);
+		return symbol;
+	}
+
+	private int readInt(int i, int fieldOffset) {
+		return symbols.getInt(indexes[i] * entrySize + fieldOffset);
+	}
+
+	private long readValue(int index) {
+		if (is64) {
+			return symbols.getLong(index * entrySize + 8);
+		}
+		return symbols.getInt(index * entrySize + 4) & 0xffffffffL;
+	}
+
+	/*
+	 * Stable merge sort of the indexes by unsigned address, which does not box
+	 * the values as sorting with a comparator would.
+	 */
+	private static void sort(int[] indexes, long[] addresses) {
+		int n = addresses.length;
+		int[] fromIndexes = indexes;
+		long[] fromAddresses = addresses;
+		int[] toIndexes = new int[n];
+		long[] toAddresses = new long[n];
+		for (int width = 1; width < n; width *= 2) {
+			for (int low = 0; low < n; low += 2 * width) {
+				int mid = Math.min(low + width, n);
+				int high = Math.min(low + 2 * width, n);
+				int i = low;
+				int j = mid;
+				int k = low;
+				while (i < mid && j < high) {
+					if (Long.compareUnsigned(fromAddresses[j], fromAddresses[i]) < 0) {
+						toIndexes[k] = fromIndexes[j];
+						toAddresses[k++] = fromAddresses[j++];
+					} else {
+						toIndexes[k] = fromIndexes[i];
+						toAddresses[k++] = fromAddresses[i++];
+					}
+				}
+				System.arraycopy(fromIndexes, i, toIndexes, k, mid - i);
+				System.arraycopy(fromAddresses, i, toAddresses, k, mid - i);
+				k += mid - i;
+				System.arraycopy(fromIndexes, j, toIndexes, k, high - j);
+				System.arraycopy(fromAddresses, j, toAddresses, k, high - j);
+			}
+			int[] swapIndexes = fromIndexes;
+			fromIndexes = toIndexes;
+			toIndexes = swapIndexes;
+			long[] swapAddresses = fromAddresses;
+			fromAddresses = toAddresses;
+			toAddresses = swapAddresses;
+		}
+		if (fromIndexes != indexes) {
+			System.arraycopy(fromIndexes, 0, indexes, 0, n);
+			System.arraycopy(fromAddresses, 0, addresses, 0, n);
+		}
+	}
+}
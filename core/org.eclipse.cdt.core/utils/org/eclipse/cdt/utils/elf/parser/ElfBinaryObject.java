@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 QNX Software Systems and others.
+ * Copyright (c) 2000, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.core.IAddressFactory;
 import org.eclipse.cdt.core.IBinaryParser;
 import org.eclipse.cdt.core.IBinaryParser.IBinaryFile;
@@ -31,6 +32,7 @@ import org.eclipse.cdt.utils.BinaryObjectAdapter;
 import org.eclipse.cdt.utils.Symbol;
 import org.eclipse.cdt.utils.elf.Elf;
 import org.eclipse.cdt.utils.elf.ElfHelper;
+import org.eclipse.cdt.utils.elf.ElfSymbolTable;
 import org.eclipse.core.runtime.IPath;
 
 /*
@@ -43,6 +45,24 @@ public class ElfBinaryObject extends BinaryObjectAdapter {
 	private final AR.ARHeader header;
 	private IAddressFactory addressFactory;
 	private volatile Elf.Attribute fElfAttributes;
+	/** Mapped symbol table for the lookups by address, see getSymbol(IAddress) */
+	private volatile MappedSymbols mappedSymbols;
+
+	/**
+	 * Mapped symbol table of the binary, along with the sections its symbols
+	 * are checked against.
+	 */
+	private static class MappedSymbols {
+		final ElfSymbolTable table;
+		final Elf.Section[] sections;
+		final long timestamp;
+
+		MappedSymbols(ElfSymbolTable table, Elf.Section[] sections, long timestamp) {
+			this.table = table;
+			this.sections = sections;
+			this.timestamp = timestamp;
+		}
+	}
 
 	public ElfBinaryObject(IBinaryParser parser, IPath p, AR.ARHeader h) {
 		super(parser, p, IBinaryFile.OBJECT);
@@ -90,6 +110,98 @@ public class ElfBinaryObject extends BinaryObjectAdapter {
 		return symbols;
 	}
 
+	/**
+	 * Looks the symbol up in the memory mapped symbol table, unless all the
+	 * symbols were already loaded by {@link #getSymbols()}.  A lookup only
+	 * creates the object of the symbol found, instead of one per symbol of
+	 * the binary.
+	 */
+	@Override
+	public ISymbol getSymbol(IAddress addr) {
+		if (symbols != null) {
+			return super.getSymbol(addr);
+		}
+		MappedSymbols mapped = getMappedSymbols();
+		if (mapped == null) {
+			return super.getSymbol(addr);
+		}
+		ElfSymbolTable table = mapped.table;
+		long value = addr.getValue().longValue();
+		for (int i = table.findSymbol(value); i >= 0; i--) {
+			int type = getSymbolType(mapped, i);
+			if (type == -1) {
+				continue;
+			}
+			long start = table.getValue(i);
+			if (start == value || Long.compareUnsigned(value - start, table.getSize(i)) < 0) {
+				return createSymbol(table.getName(i), type, table.getAddress(i), table.getSize(i));
+			}
+			// An alias at the same address may be larger, e.g. after a
+			// zero sized function symbol.
+			if (i == 0 || table.getValue(i - 1) != start) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the type of the symbol at the given position of the mapped
+	 * table, with the same filter as {@link ElfHelper#getLocalFunctions()}
+	 * and {@link ElfHelper#getLocalObjects()}, or -1 if it is filtered out.
+	 */
+	private static int getSymbolType(MappedSymbols mapped, int i) {
+		int type;
+		switch (mapped.table.getType(i)) {
+		case Elf.Symbol.STT_FUNC:
+			type = ISymbol.FUNCTION;
+			break;
+		case Elf.Symbol.STT_OBJECT:
+			type = ISymbol.VARIABLE;
+			break;
+		default:
+			return -1;
+		}
+		int idx = mapped.table.getSectionIndex(i);
+		if (idx < Elf.Symbol.SHN_HIPROC && idx > Elf.Symbol.SHN_LOPROC) {
+			return mapped.table.getName(i).trim().length() > 0 ? type : -1;
+		}
+		if (idx >= 0 && idx < mapped.sections.length && mapped.sections[idx].sh_type != Elf.Section.SHT_NULL) {
+			return type;
+		}
+		return -1;
+	}
+
+	private MappedSymbols getMappedSymbols() {
+		long timestamp = getPath().toFile().lastModified();
+		MappedSymbols mapped = mappedSymbols;
+		if (mapped == null || mapped.timestamp != timestamp) {
+			try (ElfHelper helper = getElfHelper()) {
+				Elf elf = helper.getElf();
+				ElfSymbolTable table = elf.mapSymbolTable();
+				// The mapping stays valid once the file is closed.
+				mapped = table != null ? new MappedSymbols(table, elf.getSections(), timestamp) : null;
+			} catch (IOException e) {
+				mapped = null;
+			}
+			mappedSymbols = mapped;
+		}
+		return mapped;
+	}
+
+	/**
+	 * Creates the object of a symbol found by {@link #getSymbol(IAddress)}.
+	 *
+	 * @param name the name of the symbol in the symbol table
+	 * @param type {@link ISymbol#FUNCTION} or {@link ISymbol#VARIABLE}
+	 * @param addr the address of the symbol
+	 * @param size the size of the symbol
+	 * @since 8.2
+	 */
+	protected Symbol createSymbol(String name, int type, IAddress addr, long size) {
+		return new Symbol(this, name, type, addr, size);
+	}
+
 	@Override
 	protected BinaryObjectInfo getBinaryObjectInfo() {
 		// Call the hasChanged first, to initialize the timestamp
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 QNX Software Systems and others.
+ * Copyright (c) 2000, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,8 +24,11 @@ import org.eclipse.cdt.utils.AR.ARHeader;
 import org.eclipse.cdt.utils.Addr2line;
 import org.eclipse.cdt.utils.CPPFilt;
 import org.eclipse.cdt.utils.IGnuToolFactory;
+import org.eclipse.cdt.utils.ItaniumDemangler;
 import org.eclipse.cdt.utils.Objdump;
 import org.eclipse.cdt.utils.Symbol;
+import org.eclipse.cdt.utils.debug.dwarf.DwarfLineTable;
+import org.eclipse.cdt.utils.debug.dwarf.DwarfReader;
 import org.eclipse.cdt.utils.elf.Elf;
 import org.eclipse.cdt.utils.elf.ElfHelper;
 import org.eclipse.core.runtime.IPath;
@@ -38,7 +41,9 @@ public class GNUElfBinaryObject extends ElfBinaryObject {
 
 	private Addr2line autoDisposeAddr2line;
 	private Addr2line symbolLoadingAddr2line;
+	private DwarfLineTable symbolLoadingLineTable;
 	private CPPFilt symbolLoadingCPPFilt;
+	private boolean symbolLoadingCPPFiltCreated;
 	long starttime;
 
 	/**
@@ -144,11 +149,16 @@ public class GNUElfBinaryObject extends ElfBinaryObject {
 
 	@Override
 	protected void loadSymbols(ElfHelper helper) throws IOException {
-		symbolLoadingAddr2line = getAddr2line(false);
-		symbolLoadingCPPFilt = getCPPFilt();
+		// The lines of the symbols are read from the DWARF line tables in
+		// process; addr2line is only started for binaries without them.
+		symbolLoadingLineTable = getLineTable(helper.getElf());
+		if (symbolLoadingLineTable == null) {
+			symbolLoadingAddr2line = getAddr2line(false);
+		}
 		try {
 			super.loadSymbols(helper);
 		} finally {
+			symbolLoadingLineTable = null;
 			if (symbolLoadingAddr2line != null) {
 				symbolLoadingAddr2line.dispose();
 				symbolLoadingAddr2line = null;
@@ -157,24 +167,83 @@ public class GNUElfBinaryObject extends ElfBinaryObject {
 				symbolLoadingCPPFilt.dispose();
 				symbolLoadingCPPFilt = null;
 			}
+			symbolLoadingCPPFiltCreated = false;
 		}
 	}
 
+	@SuppressWarnings("resource")
+	private DwarfLineTable getLineTable(Elf elf) {
+		try {
+			// The reader is not closed: closing it forces a garbage collection
+			// to unmap its sections, while the binary stays open until the
+			// symbols are loaded anyway.  The line table does not refer to
+			// the sections, which are unmapped once the reader is collected.
+			DwarfLineTable lineTable = new DwarfReader(elf).getLineTable();
+			return lineTable.isEmpty() ? null : lineTable;
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/*
+	 * Demangles the name of a symbol.  c++filt is only started for the mangled
+	 * names the built-in demangler does not support.
+	 */
+	private String demangle(String name) {
+		String demangled = ItaniumDemangler.demangle(name);
+		if (demangled != null || !ItaniumDemangler.isMangled(name)) {
+			return demangled != null ? demangled : name;
+		}
+		if (!symbolLoadingCPPFiltCreated) {
+			symbolLoadingCPPFilt = getCPPFilt();
+			symbolLoadingCPPFiltCreated = true;
+		}
+		if (symbolLoadingCPPFilt != null) {
+			try {
+				return symbolLoadingCPPFilt.getFunction(name);
+			} catch (IOException e1) {
+				symbolLoadingCPPFilt.dispose();
+				symbolLoadingCPPFilt = null;
+			}
+		}
+		return name;
+	}
+
+	/*
+	 * The symbols looked up by address are demangled like the loaded ones,
+	 * but their lines are only read by GNUSymbol when asked for.
+	 */
 	@Override
-	protected void addSymbols(Elf.Symbol[] array, int type, List<Symbol> list) {
-		for (org.eclipse.cdt.utils.elf.Elf.Symbol element : array) {
-			String name = element.toString();
-			if (symbolLoadingCPPFilt != null) {
+	protected Symbol createSymbol(String name, int type, IAddress addr, long size) {
+		String demangled = ItaniumDemangler.demangle(name);
+		if (demangled == null && ItaniumDemangler.isMangled(name)) {
+			CPPFilt cppfilt = getCPPFilt();
+			if (cppfilt != null) {
 				try {
-					name = symbolLoadingCPPFilt.getFunction(name);
-				} catch (IOException e1) {
-					symbolLoadingCPPFilt.dispose();
-					symbolLoadingCPPFilt = null;
+					demangled = cppfilt.getFunction(name);
+				} catch (IOException e) {
+					// Keep the mangled name
+				} finally {
+					cppfilt.dispose();
 				}
 			}
+		}
+		return new GNUSymbol(this, demangled != null ? demangled : name, type, addr, size);
+	}
+
+	@Override
+	protected void addSymbols(Elf.Symbol[] array, int type, List<Symbol> list) {
+		for (org.eclipse.cdt.utils.elf.Elf.Symbol element : array) {
+			String name = demangle(element.toString());
 			IAddress addr = element.st_value;
 			long size = element.st_size;
-			if (symbolLoadingAddr2line != null) {
+			if (symbolLoadingLineTable != null) {
+				String filename = symbolLoadingLineTable.getFileName(addr);
+				IPath file = filename != null ? new Path(filename) : Path.EMPTY;
+				int startLine = symbolLoadingLineTable.getLineNumber(addr);
+				int endLine = symbolLoadingLineTable.getLineNumber(addr.add(size - 1));
+				list.add(new GNUSymbol(this, name, type, addr, size, file, startLine, endLine));
+			} else if (symbolLoadingAddr2line != null) {
 				try {
 					String filename = symbolLoadingAddr2line.getFileName(addr);
 					// Addr2line returns the funny "??" when it can not find
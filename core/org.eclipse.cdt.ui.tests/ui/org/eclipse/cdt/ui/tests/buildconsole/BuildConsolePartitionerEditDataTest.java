@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Kichwa Coders Ltd and others.
+ * Copyright (c) 2017, 2026 Kichwa Coders Ltd and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -98,6 +98,90 @@ public class BuildConsolePartitionerEditDataTest {
 		assertThat(update.getOffset(), is(expectedOffset));
 	}
 
+	@Test
+	public void testCharsOverflow() {
+		int maxChars = 1000;
+		data = new BuildConsolePartitionerEditData(DEFAULT_MAX_LINES, maxChars);
+		StringBuilder all = new StringBuilder();
+		// few lines, but long ones
+		for (int i = 0; i < 20; i++) {
+			StringBuilder text = new StringBuilder("Line " + i + " ");
+			while (text.length() < 299) {
+				text.append('x');
+			}
+			text.append('\n');
+			data.append(text.toString(), i == 10 ? stream2 : stream1, null);
+			all.append(text);
+		}
+
+		UpdateUIData update = data.getUpdate();
+		assertThat(update.needsClearDocumentMarkerManager(), is(true));
+
+		String contents = update.getNewContents();
+		assertThat(contents.length(), is(lessThanOrEqualTo(maxChars * 2)));
+		assertThat(contents.length(), is(greaterThanOrEqualTo(maxChars / 2)));
+		assertThat(contents, startsWith("Line "));
+		assertThat(contents, endsWith("x\n"));
+
+		long expectedOffset = all.length() - contents.length();
+		assertThat(update.getOffset(), is(expectedOffset));
+		assertThat(update.getContentsOffset(), is(expectedOffset));
+
+		// partitions cover the remaining contents
+		int end = 0;
+		int newlines = 0;
+		for (BuildConsolePartition partition : update.getNewPartitions()) {
+			assertThat(partition.getOffset(), is(end));
+			end += partition.getLength();
+			newlines += partition.getNewlines();
+		}
+		assertThat(end, is(contents.length()));
+		assertThat(newlines, is((int) contents.chars().filter(ch -> ch == '\n').count()));
+	}
+
+	@Test
+	public void testCharsOverflowWithinLine() {
+		int maxChars = 100;
+		data = new BuildConsolePartitionerEditData(DEFAULT_MAX_LINES, maxChars);
+		StringBuilder all = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			String text = "Part " + i + " ";
+			data.append(text, stream1, null);
+			all.append(text);
+		}
+
+		UpdateUIData update = data.getUpdate();
+		String contents = update.getNewContents();
+		assertThat(contents.length(), is(lessThanOrEqualTo(maxChars * 2)));
+		assertThat(all.toString(), endsWith(contents));
+		assertThat(update.getNewPartitions(), is(Arrays.asList(new BuildConsolePartition(stream1, 0,
+				contents.length(), BuildConsolePartition.CONSOLE_PARTITION_TYPE, null, 0))));
+	}
+
+	@Test
+	public void testUpdateFromKnownEnd() {
+		data.append("Line of text\n", stream1, null);
+		UpdateUIData update1 = data.getUpdate(0);
+		assertThat(update1.getNewContents(), is("Line of text\n"));
+		assertThat(update1.getContentsOffset(), is(0L));
+
+		data.append("Another line of text\n", stream1, null);
+		UpdateUIData update2 = data.getUpdate(update1.getContentsOffset() + update1.getNewContents().length());
+		assertThat(update2.getNewContents(), is("Another line of text\n"));
+		assertThat(update2.getContentsOffset(), is(13L));
+		assertThat(update2.getOffset(), is(0L));
+		assertThat(update2.getNewPartitions(), is(Arrays.asList(
+				new BuildConsolePartition(stream1, 0, 34, BuildConsolePartition.CONSOLE_PARTITION_TYPE, null, 2))));
+
+		data.clear();
+		data.append("After clear\n", stream1, null);
+		UpdateUIData update3 = data.getUpdate(update2.getContentsOffset() + update2.getNewContents().length());
+		assertThat(update3.getNewContents(), is("After clear\n"));
+		assertThat(update3.getOffset(), is(34L));
+		assertThat(update3.getContentsOffset(), is(34L));
+		assertThat(update3.needsClearDocumentMarkerManager(), is(true));
+	}
+
 	@Test
 	public void testPartitionsCombine() {
 		data.append("Line\n", stream1, null);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2018 QNX Software Systems and others.
+ * Copyright (c) 2002, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -123,7 +123,8 @@ public class BuildConsolePartitioner
 	public BuildConsolePartitioner(IProject project, BuildConsoleManager manager) {
 		fProject = project;
 		fManager = manager;
-		fEditData = new BuildConsolePartitionerEditData(BuildConsolePreferencePage.buildConsoleLines());
+		fEditData = new BuildConsolePartitionerEditData(BuildConsolePreferencePage.buildConsoleLines(),
+				BuildConsolePreferencePage.buildConsoleChars());
 		fDocument = new BuildConsoleDocument();
 		fDocument.setDocumentPartitioner(this);
 		fDocumentMarkerManager = new DocumentMarkerManager(fDocument, this);
@@ -229,7 +230,9 @@ public class BuildConsolePartitioner
 
 	private void updateUI() {
 		fEditUiPending.set(false);
-		UpdateUIData update = fEditData.getUpdate();
+		// Only get the contents which are not in the document yet
+		long documentEnd = fOffset + fDocument.getLength();
+		UpdateUIData update = fEditData.getUpdate(documentEnd);
 
 		/*
 		 * We refresh the log file here although not technically a UI operation.
@@ -267,15 +270,20 @@ public class BuildConsolePartitioner
 
 			int length = fDocument.getLength();
 			String newContents = update.getNewContents();
-			String appendContents = newContents.substring(length - toTrim);
+			String appendContents = newContents
+					.substring((int) Math.max(documentEnd - update.getContentsOffset(), 0));
 			// The append has to be done before the delete from head
 			// to avoid document becoming 0 length and therefore the
 			// listeners assume the document has been cleared
-			fDocument.replace(length + toTrim, 0, appendContents);
+			fDocument.replace(length, 0, appendContents);
 			if (toTrim > 0) {
 				fDocument.replace(0, toTrim, ""); //$NON-NLS-1$
 			}
 		} catch (BadLocationException e) {
+			// Start over with all the contents
+			update = fEditData.getUpdate();
+			fPartitions = update.getNewPartitions();
+			fDocumentMarkerManager.clear();
 			fDocument.set(update.getNewContents());
 		}
 
@@ -325,6 +333,10 @@ public class BuildConsolePartitioner
 		fEditData.setMaxLines(nLines);
 	}
 
+	public void setDocumentChars(int nChars) {
+		fEditData.setMaxChars(nChars);
+	}
+
 	@Override
 	public void connect(IDocument document) {
 		CUIPlugin.getDefault().getPreferenceStore().addPropertyChangeListener(this);
@@ -468,6 +480,9 @@ public class BuildConsolePartitioner
 		if (event.getProperty() == BuildConsolePreferencePage.PREF_BUILDCONSOLE_LINES) {
 			setDocumentSize(BuildConsolePreferencePage.buildConsoleLines());
 		}
+		if (event.getProperty() == BuildConsolePreferencePage.PREF_BUILDCONSOLE_CHARS) {
+			setDocumentChars(BuildConsolePreferencePage.buildConsoleChars());
+		}
 		if (event.getProperty() == BuildConsolePreferencePage.PREF_BUILDCONSOLE_UPDATE_DELAY_MS) {
 			fUpdateDelay = BuildConsolePreferencePage.buildConsoleUpdateDelayMs();
 		}
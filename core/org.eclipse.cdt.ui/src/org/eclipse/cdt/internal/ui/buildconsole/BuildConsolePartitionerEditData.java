@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2018 Kichwa Coders Ltd and others.
+ * Copyright (c) 2016, 2026 Kichwa Coders Ltd and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,7 +44,16 @@ public class BuildConsolePartitionerEditData {
 		long getOffset();
 
 		/**
-		 * New contents for the build console.
+		 * The offset since beginning of time of the new contents. This is
+		 * {@link #getOffset()} unless the update was obtained with
+		 * {@link BuildConsolePartitionerEditData#getUpdate(long)} and the
+		 * caller already has the beginning of the contents.
+		 */
+		long getContentsOffset();
+
+		/**
+		 * New contents for the build console, starting at
+		 * {@link #getContentsOffset()}.
 		 */
 		String getNewContents();
 
@@ -71,6 +80,13 @@ public class BuildConsolePartitionerEditData {
 	 */
 	private int fMaxLines;
 
+	/**
+	 * The maximum number of characters the document is allowed to have. This
+	 * is a soft limit, like {@link #fMaxLines}, which bounds the memory used
+	 * when the lines are very long. 0 or less for unlimited.
+	 */
+	private int fMaxChars;
+
 	/**
 	 * Editable partitions, all modifications are made to this copy of the
 	 * partitions, then the UI thread occasionally gets these updates
@@ -111,7 +127,12 @@ public class BuildConsolePartitionerEditData {
 	private boolean fEditProblemsAdded = false;
 
 	public BuildConsolePartitionerEditData(int maxLines) {
+		this(maxLines, 0);
+	}
+
+	public BuildConsolePartitionerEditData(int maxLines, int maxChars) {
 		fMaxLines = maxLines;
+		fMaxChars = maxChars;
 	}
 
 	public int getMaxLines() {
@@ -122,6 +143,14 @@ public class BuildConsolePartitionerEditData {
 		this.fMaxLines = fMaxLines;
 	}
 
+	public int getMaxChars() {
+		return fMaxChars;
+	}
+
+	public void setMaxChars(int fMaxChars) {
+		this.fMaxChars = fMaxChars;
+	}
+
 	/**
 	 * Clear the entire document.
 	 */
@@ -219,57 +248,108 @@ public class BuildConsolePartitionerEditData {
 	 * overflow if needed, updating partitions and hyperlink positions.
 	 */
 	public void checkOverflow() {
+		synchronized (this) {
+			checkLinesOverflow();
+			checkCharsOverflow();
+		}
+	}
+
+	private void checkLinesOverflow() {
 		if (fMaxLines <= 0) {
 			return;
 		}
 
-		synchronized (this) {
+		/*
+		 * We actually limit the number of lines to 2 x max lines, bringing it
+		 * back to max lines when it overflows. This prevents recalculating on
+		 * every update
+		 */
+		if (fEditLineCount <= fMaxLines * 2)
+			return;
 
-			/*
-			 * We actually limit the number of lines to 2 x max lines, bringing
-			 * it back to max lines when it overflows. This prevents
-			 * recalculating on every update
-			 */
-			if (fEditLineCount <= fMaxLines * 2)
-				return;
-
-			// Update partitions
-
-			int newHeadIndex = fEditPartitions.size();
-			int newNewlineCount = 0;
-			while (newHeadIndex > 0 && newNewlineCount < fMaxLines) {
-				newHeadIndex--;
-				BuildConsolePartition part = fEditPartitions.get(newHeadIndex);
-				newNewlineCount += part.getNewlines();
-			}
+		int newHeadIndex = fEditPartitions.size();
+		int newNewlineCount = 0;
+		while (newHeadIndex > 0 && newNewlineCount < fMaxLines) {
+			newHeadIndex--;
+			BuildConsolePartition part = fEditPartitions.get(newHeadIndex);
+			newNewlineCount += part.getNewlines();
+		}
 
-			if (newHeadIndex == 0) {
-				// Nothing to do
-				return;
-			}
+		if (newHeadIndex == 0) {
+			// Nothing to do
+			return;
+		}
 
-			int newPartCount = fEditPartitions.size() - newHeadIndex;
-			int offsetToOffset = fEditPartitions.get(newHeadIndex).getOffset();
-			List<BuildConsolePartition> newParitions = new ArrayList<>(newPartCount);
-			Iterator<BuildConsolePartition> partitions = fEditPartitions.listIterator(newHeadIndex);
-			while (partitions.hasNext()) {
-				BuildConsolePartition partition = partitions.next();
+		trimHead(newHeadIndex, fEditPartitions.get(newHeadIndex).getOffset());
+	}
 
-				BuildConsolePartition newPartition = new BuildConsolePartition(partition.getStream(),
-						partition.getOffset() - offsetToOffset, partition.getLength(), partition.getType(),
-						partition.getMarker(), partition.getNewlines());
+	private void checkCharsOverflow() {
+		if (fMaxChars <= 0) {
+			return;
+		}
+
+		// Same as for the lines, limit the number of characters to 2 x max chars
+		int length = fEditStringBuilder.length();
+		if (length <= fMaxChars * 2L)
+			return;
 
-				newParitions.add(newPartition);
+		// Cut at the beginning of a line, unless there is no complete line to keep
+		int cut = length - fMaxChars;
+		int newline = fEditStringBuilder.indexOf("\n", cut - 1); //$NON-NLS-1$
+		if (newline >= 0 && newline + 1 < length) {
+			cut = newline + 1;
+		}
+
+		int newHeadIndex = 0;
+		while (newHeadIndex + 1 < fEditPartitions.size() && fEditPartitions.get(newHeadIndex + 1).getOffset() <= cut) {
+			newHeadIndex++;
+		}
+		trimHead(newHeadIndex, cut);
+	}
+
+	/**
+	 * Discards the beginning of the document, up to the given offset within
+	 * the partition with the given index.
+	 */
+	private void trimHead(int newHeadIndex, int cut) {
+		List<BuildConsolePartition> newParitions = new ArrayList<>(fEditPartitions.size() - newHeadIndex);
+		int newNewlineCount = 0;
+		Iterator<BuildConsolePartition> partitions = fEditPartitions.listIterator(newHeadIndex);
+		while (partitions.hasNext()) {
+			BuildConsolePartition partition = partitions.next();
+
+			int offset = partition.getOffset() - cut;
+			int length = partition.getLength();
+			int newlines = partition.getNewlines();
+			if (offset < 0) {
+				// the partition is only partly discarded
+				newlines -= countNewlines(partition.getOffset(), cut);
+				length += offset;
+				offset = 0;
 			}
+			BuildConsolePartition newPartition = new BuildConsolePartition(partition.getStream(), offset, length,
+					partition.getType(), partition.getMarker(), newlines);
 
-			fEditPartitions = newParitions;
-			fClearDocumentMarkerManager = true;
+			newParitions.add(newPartition);
+			newNewlineCount += newlines;
+		}
 
-			fOffset += offsetToOffset;
-			fEditStringBuilder.delete(0, offsetToOffset);
-			fEditLineCount = newNewlineCount;
+		fEditPartitions = newParitions;
+		fClearDocumentMarkerManager = true;
 
+		fOffset += cut;
+		fEditStringBuilder.delete(0, cut);
+		fEditLineCount = newNewlineCount;
+	}
+
+	private int countNewlines(int start, int end) {
+		int newlines = 0;
+		for (int i = start; i < end; i++) {
+			if (fEditStringBuilder.charAt(i) == '\n') {
+				newlines++;
+			}
 		}
+		return newlines;
 	}
 
 	/**
@@ -313,16 +393,35 @@ public class BuildConsolePartitionerEditData {
 	 *         returned.
 	 */
 	public UpdateUIData getUpdate() {
+		return getUpdate(0);
+	}
+
+	/**
+	 * Obtain the next snapshot of data, leaving out the contents the caller
+	 * already has. The contents are only copied from the given offset, so that
+	 * the time the appending streams wait for the snapshot does not depend on
+	 * the size of the document.
+	 *
+	 * @param knownEnd
+	 *            the offset since beginning of time up to which the caller has
+	 *            the contents, from a previous update.
+	 * @return see {@link UpdateUIData} for details on individual values
+	 *         returned.
+	 */
+	public UpdateUIData getUpdate(long knownEnd) {
 		boolean clearDocumentMarkerManager;
 		boolean problemsAdded;
 		long newOffset;
+		long contentsOffset;
 		String newConents;
 		List<BuildConsolePartition> newPartitions;
 		List<IBuildConsoleStreamDecorator> streamsNeedingNotifcation;
 
 		synchronized (this) {
 			newOffset = fOffset;
-			newConents = fEditStringBuilder.toString();
+			int start = (int) Math.min(Math.max(knownEnd - fOffset, 0), fEditStringBuilder.length());
+			contentsOffset = fOffset + start;
+			newConents = fEditStringBuilder.substring(start);
 			newPartitions = new ArrayList<>(fEditPartitions);
 			clearDocumentMarkerManager = fClearDocumentMarkerManager;
 			fClearDocumentMarkerManager = false;
@@ -359,6 +458,11 @@ public class BuildConsolePartitionerEditData {
 				return newOffset;
 			}
 
+			@Override
+			public long getContentsOffset() {
+				return contentsOffset;
+			}
+
 			@Override
 			public boolean hasProblemsAdded() {
 				return problemsAdded;
@@ -48,6 +48,10 @@ public class BuildConsolePreferencePage extends FieldEditorPreferencePage implem
 
 	public static final String PREF_BUILDCONSOLE_TAB_WIDTH = "buildConsoleTabWith"; //$NON-NLS-1$
 	public static final String PREF_BUILDCONSOLE_LINES = "buildConsoleLines"; //$NON-NLS-1$
+	/**
+	 * Maximum number of characters kept in the build console, 0 for unlimited
+	 */
+	public static final String PREF_BUILDCONSOLE_CHARS = "buildConsoleChars"; //$NON-NLS-1$
 	public static final String PREF_BUILDCONSOLE_UPDATE_DELAY_MS = "buildConsoleUpdateDelayMs"; //$NON-NLS-1$
 	public static final String PREF_BUILDCONSOLE_INFO_COLOR = "buildConsoleInfoStreamColor"; //$NON-NLS-1$
 	public static final String PREF_BUILDCONSOLE_OUTPUT_COLOR = "buildConsoleOutputStreamColor"; //$NON-NLS-1$
@@ -115,6 +119,16 @@ public class BuildConsolePreferencePage extends FieldEditorPreferencePage implem
 		buildCount.setValidRange(10, Integer.MAX_VALUE);
 		addField(buildCount);
 
+		IntegerFieldEditor charCount = new IntegerFieldEditor(PREF_BUILDCONSOLE_CHARS,
+				CUIPlugin.getResourceString("ConsolePreferencePage.consoleChars.label"), parent); //$NON-NLS-1$
+		charCount.getLabelControl(parent)
+				.setToolTipText(CUIPlugin.getResourceString("ConsolePreferencePage.consoleChars.tooltip")); //$NON-NLS-1$
+		charCount.getTextControl(parent)
+				.setToolTipText(CUIPlugin.getResourceString("ConsolePreferencePage.consoleChars.tooltip")); //$NON-NLS-1$
+		charCount.setErrorMessage(CUIPlugin.getResourceString("ConsolePreferencePage.consoleChars.errorMessage")); //$NON-NLS-1$
+		charCount.setValidRange(0, Integer.MAX_VALUE);
+		addField(charCount);
+
 		IntegerFieldEditor updateDelay = new IntegerFieldEditor(PREF_BUILDCONSOLE_UPDATE_DELAY_MS,
 				CUIPlugin.getResourceString("ConsolePreferencePage.consoleUpdateDelay.label"), parent); //$NON-NLS-1$
 		updateDelay.getLabelControl(parent)
@@ -241,6 +255,10 @@ public class BuildConsolePreferencePage extends FieldEditorPreferencePage implem
 		return CUIPlugin.getDefault().getPreferenceStore().getInt(PREF_BUILDCONSOLE_LINES);
 	}
 
+	public static int buildConsoleChars() {
+		return CUIPlugin.getDefault().getPreferenceStore().getInt(PREF_BUILDCONSOLE_CHARS);
+	}
+
 	public static int buildConsoleUpdateDelayMs() {
 		return CUIPlugin.getDefault().getPreferenceStore().getInt(PREF_BUILDCONSOLE_UPDATE_DELAY_MS);
 	}
@@ -260,6 +278,8 @@ public class BuildConsolePreferencePage extends FieldEditorPreferencePage implem
 			prefs.setDefault(PREF_BUILDCONSOLE_WRAP_LINES, false);
 		if (unconditionally || !prefs.contains(PREF_BUILDCONSOLE_LINES))
 			prefs.setDefault(PREF_BUILDCONSOLE_LINES, 500);
+		if (unconditionally || !prefs.contains(PREF_BUILDCONSOLE_CHARS))
+			prefs.setDefault(PREF_BUILDCONSOLE_CHARS, 4000000);
 		if (unconditionally || !prefs.contains(PREF_BUILDCONSOLE_WRAP_LINES_MAX))
 			prefs.setDefault(PREF_BUILDCONSOLE_WRAP_LINES_MAX, 5000);
 		if (unconditionally || !prefs.contains(PREF_BUILDCONSOLE_UPDATE_DELAY_MS))
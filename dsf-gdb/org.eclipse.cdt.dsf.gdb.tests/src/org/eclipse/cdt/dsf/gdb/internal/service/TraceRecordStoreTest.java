@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.internal.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TraceRecordStoreTest {
+
+	private TraceRecordStore fStore;
+
+	@Before
+	public void setUp() {
+		fStore = new TraceRecordStore();
+		fStore.setFrameCount(10);
+	}
+
+	@After
+	public void tearDown() {
+		fStore.clear();
+	}
+
+	@Test
+	public void testWriteAndRead() throws Exception {
+		fStore.put(0, 1, "12:00:00.001", "eax 0x10\n");
+		fStore.put(2, 3, null, "ebx 0x20\n\u00e9");
+
+		assertEquals(2, fStore.size());
+		assertTrue(fStore.contains(0));
+		assertFalse(fStore.contains(1));
+		assertTrue(fStore.contains(2));
+
+		assertEquals("eax 0x10\n", fStore.getContent(0));
+		assertEquals("12:00:00.001", fStore.getTimestamp(0));
+		assertEquals(1, fStore.getTracepoint(0));
+
+		assertEquals("ebx 0x20\n\u00e9", fStore.getContent(2));
+		assertNull(fStore.getTimestamp(2));
+		assertEquals(3, fStore.getTracepoint(2));
+
+		assertNull(fStore.getContent(1));
+		assertNull(fStore.getTimestamp(1));
+		assertEquals(-1, fStore.getTracepoint(1));
+		assertEquals(1, fStore.nextMissingFrame(0));
+		assertEquals(3, fStore.nextMissingFrame(2));
+	}
+
+	@Test
+	public void testReplace() throws Exception {
+		fStore.put(4, 1, "t1", "first");
+		fStore.put(4, 2, "t2", "second");
+
+		assertEquals(1, fStore.size());
+		assertEquals("second", fStore.getContent(4));
+		assertEquals("t2", fStore.getTimestamp(4));
+		assertEquals(2, fStore.getTracepoint(4));
+	}
+
+	@Test
+	public void testFramesByTracepoint() throws Exception {
+		fStore.put(5, 1, null, "a");
+		fStore.put(1, 1, null, "b");
+		fStore.put(3, 2, null, "c");
+
+		assertArrayEquals(new int[] { 1, 5 }, fStore.getFrames(1));
+		assertArrayEquals(new int[] { 3 }, fStore.getFrames(2));
+		assertArrayEquals(new int[0], fStore.getFrames(3));
+
+		// A replaced record moves to the tracepoint which collected it
+		fStore.put(5, 2, null, "d");
+		assertArrayEquals(new int[] { 1 }, fStore.getFrames(1));
+		assertArrayEquals(new int[] { 3, 5 }, fStore.getFrames(2));
+
+		fStore.setFrameCount(12);
+		assertArrayEquals(new int[0], fStore.getFrames(1));
+	}
+
+	@Test
+	public void testClearedWhenFrameCountChanges() throws Exception {
+		fStore.put(0, 1, "t", "content");
+
+		// The same number of frames keeps the records
+		fStore.setFrameCount(10);
+		assertTrue(fStore.contains(0));
+
+		// The frames were renumbered
+		fStore.setFrameCount(11);
+		assertEquals(11, fStore.getFrameCount());
+		assertEquals(0, fStore.size());
+		assertFalse(fStore.contains(0));
+		assertNull(fStore.getContent(0));
+
+		// The store can be filled again
+		fStore.put(0, 2, null, "new content");
+		assertEquals("new content", fStore.getContent(0));
+	}
+}
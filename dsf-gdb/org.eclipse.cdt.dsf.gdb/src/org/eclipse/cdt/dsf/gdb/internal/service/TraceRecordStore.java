@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.internal.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Local store of the trace records read from GDB.
+ * <p>
+ * A trace buffer can hold hundreds of thousands of frames, so the content of
+ * the records is not kept in memory but appended to a temporary file.  Only
+ * an index is kept in memory: the location of each record in the file, by
+ * trace frame number, and the frames collected by each tracepoint.
+ * </p>
+ * <p>
+ * The frames of a trace buffer are renumbered when the buffer changes, so
+ * the store is cleared when the number of frames in the buffer changes, see
+ * {@link #setFrameCount(int)}.
+ * </p>
+ * <p>
+ * This class is not thread-safe; it is meant to be confined to the DSF
+ * executor thread of the trace control service.
+ * </p>
+ */
+public class TraceRecordStore {
+
+	private static final int NO_RECORD = -1;
+	private static final int NO_TIMESTAMP = -1;
+
+	private File fFile;
+	private RandomAccessFile fData;
+
+	/** Offset of the content of each frame in the data file, or NO_RECORD */
+	private long[] fOffsets = new long[0];
+	/** Length in bytes of the content of each frame */
+	private int[] fLengths = new int[0];
+	/**
+	 * Length in bytes of the timestamp of each frame, which is stored before
+	 * its content, or NO_TIMESTAMP
+	 */
+	private int[] fTimestampLengths = new int[0];
+	/** Tracepoint which collected each frame */
+	private int[] fTracepoints = new int[0];
+	/** Frames collected by each tracepoint */
+	private final Map<Integer, BitSet> fFramesByTracepoint = new HashMap<>();
+	private int fSize;
+	/** Number of frames in the trace buffer the records were read from */
+	private int fFrameCount;
+
+	/**
+	 * Adds the record of a trace frame to the store.  If the frame is
+	 * already stored, its previous record is replaced.
+	 *
+	 * @param frame The trace frame number.
+	 * @param tracepoint The number of the tracepoint which collected the frame.
+	 * @param timestamp The timestamp of the frame, or <code>null</code> if
+	 * it is not known.
+	 * @param content The content of the record, as shown by 'tdump'.
+	 */
+	public void put(int frame, int tracepoint, String timestamp, String content) throws IOException {
+		if (frame < 0) {
+			throw new IllegalArgumentException("Invalid trace frame " + frame); //$NON-NLS-1$
+		}
+		RandomAccessFile data = getData();
+		byte[] timestampBytes = timestamp != null ? timestamp.getBytes(StandardCharsets.UTF_8) : new byte[0];
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		long offset = data.length();
+		data.seek(offset);
+		data.write(timestampBytes);
+		data.write(bytes);
+
+		ensureCapacity(frame + 1);
+		if (fOffsets[frame] == NO_RECORD) {
+			fSize++;
+		} else {
+			BitSet previous = fFramesByTracepoint.get(fTracepoints[frame]);
+			if (previous != null) {
+				previous.clear(frame);
+			}
+		}
+		fOffsets[frame] = offset;
+		fTimestampLengths[frame] = timestamp != null ? timestampBytes.length : NO_TIMESTAMP;
+		fLengths[frame] = bytes.length;
+		fTracepoints[frame] = tracepoint;
+		fFramesByTracepoint.computeIfAbsent(tracepoint, t -> new BitSet()).set(frame);
+	}
+
+	/**
+	 * Returns whether the record of the given frame is stored.
+	 */
+	public boolean contains(int frame) {
+		return frame >= 0 && frame < fOffsets.length && fOffsets[frame] != NO_RECORD;
+	}
+
+	/**
+	 * Returns the content of the record of the given frame, or
+	 * <code>null</code> if it is not stored.
+	 */
+	public String getContent(int frame) throws IOException {
+		if (!contains(frame)) {
+			return null;
+		}
+		return read(fOffsets[frame] + Math.max(0, fTimestampLengths[frame]), fLengths[frame]);
+	}
+
+	/**
+	 * Returns the timestamp of the given frame, or <code>null</code> if the
+	 * frame is not stored or its timestamp is not known.
+	 */
+	public String getTimestamp(int frame) throws IOException {
+		if (!contains(frame) || fTimestampLengths[frame] == NO_TIMESTAMP) {
+			return null;
+		}
+		return read(fOffsets[frame], fTimestampLengths[frame]);
+	}
+
+	/**
+	 * Returns the tracepoint which collected the given frame, or -1 if the
+	 * frame is not stored.
+	 */
+	public int getTracepoint(int frame) {
+		return contains(frame) ? fTracepoints[frame] : -1;
+	}
+
+	/**
+	 * Returns the stored frames collected by the given tracepoint, in
+	 * increasing order.
+	 */
+	public int[] getFrames(int tracepoint) {
+		BitSet frames = fFramesByTracepoint.get(tracepoint);
+		return frames != null ? frames.stream().toArray() : new int[0];
+	}
+
+	/**
+	 * Returns the first frame, starting at the given one, which is not stored.
+	 */
+	public int nextMissingFrame(int frame) {
+		while (contains(frame)) {
+			frame++;
+		}
+		return frame;
+	}
+
+	/**
+	 * Returns the number of stored records.
+	 */
+	public int size() {
+		return fSize;
+	}
+
+	/**
+	 * Sets the number of frames in the trace buffer.  If it changed, the
+	 * frames were renumbered, so all the records are removed.
+	 */
+	public void setFrameCount(int count) {
+		if (count != fFrameCount) {
+			clear();
+		}
+		fFrameCount = count;
+	}
+
+	/**
+	 * Returns the number of frames in the trace buffer.
+	 */
+	public int getFrameCount() {
+		return fFrameCount;
+	}
+
+	/**
+	 * Removes all the records, and deletes the data file.
+	 */
+	public void clear() {
+		if (fData != null) {
+			try {
+				fData.close();
+			} catch (IOException e) {
+			}
+			fData = null;
+		}
+		if (fFile != null) {
+			fFile.delete();
+			fFile = null;
+		}
+		fOffsets = new long[0];
+		fLengths = new int[0];
+		fTimestampLengths = new int[0];
+		fTracepoints = new int[0];
+		fFramesByTracepoint.clear();
+		fSize = 0;
+	}
+
+	private String read(long offset, int length) throws IOException {
+		byte[] bytes = new byte[length];
+		fData.seek(offset);
+		fData.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private RandomAccessFile getData() throws IOException {
+		if (fData == null) {
+			fFile = File.createTempFile("cdt-trace-", ".records"); //$NON-NLS-1$ //$NON-NLS-2$
+			fFile.deleteOnExit();
+			fData = new RandomAccessFile(fFile, "rw"); //$NON-NLS-1$
+		}
+		return fData;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= fOffsets.length) {
+			return;
+		}
+		int newCapacity = Math.max(capacity, fOffsets.length * 2);
+		int oldCapacity = fOffsets.length;
+		fOffsets = Arrays.copyOf(fOffsets, newCapacity);
+		Arrays.fill(fOffsets, oldCapacity, newCapacity, NO_RECORD);
+		fLengths = Arrays.copyOf(fLengths, newCapacity);
+		fTimestampLengths = Arrays.copyOf(fTimestampLengths, newCapacity);
+		fTracepoints = Arrays.copyOf(fTracepoints, newCapacity);
+	}
+}
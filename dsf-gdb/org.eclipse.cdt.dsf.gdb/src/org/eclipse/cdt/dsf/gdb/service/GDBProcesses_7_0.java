@@ -662,6 +662,24 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 	 */
 	private List<String> fExitedGroupId = new ArrayList<>();
 
+	/**
+	 * The ids of the threads of each thread group.  An entry is created from the answer to
+	 * -list-thread-groups for that group, and is then kept up-to-date using the =thread-created
+	 * and =thread-exited notifications.  This allows us to answer requests for the list of threads
+	 * of a process without having to fetch the entire list from GDB every time a thread starts
+	 * or exits, which is very expensive for programs with thousands of threads.
+	 * The ids are kept in the order GDB reports them.
+	 */
+	private Map<String, List<String>> fGroupToThreadIdsMap = new HashMap<>();
+
+	/**
+	 * The number of =thread-created/=thread-exited notifications received.
+	 * This allows us to know if a thread list changed while we were waiting for
+	 * -list-thread-groups, in which case the answer cannot be trusted
+	 * to initialize fGroupToThreadIdsMap.
+	 */
+	private int fThreadEventCount;
+
 	/**
 	* Information about an exited process
 	* @since 4.7
@@ -1523,11 +1541,31 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 				return;
 			}
 
-			fThreadCommandCache.execute(fCommandFactory.createMIListThreadGroups(controlDmc, containerDmc.getGroupId()),
+			final String groupId = containerDmc.getGroupId();
+			List<String> threadIds = fGroupToThreadIdsMap.get(groupId);
+			if (threadIds != null) {
+				// We already know the threads of this process
+				rm.done(makeExecutionDMCs(containerDmc, threadIds));
+				return;
+			}
+
+			final int threadEventCount = fThreadEventCount;
+			fThreadCommandCache.execute(fCommandFactory.createMIListThreadGroups(controlDmc, groupId),
 					new DataRequestMonitor<MIListThreadGroupsInfo>(getExecutor(), rm) {
 						@Override
 						protected void handleSuccess() {
-							rm.setData(makeExecutionDMCs(containerDmc, getData().getThreadInfo().getThreadList()));
+							MIThread[] threadList = getData().getThreadInfo().getThreadList();
+							if (threadEventCount == fThreadEventCount && !fGroupToThreadIdsMap.containsKey(groupId)
+									&& !isExitedProcess(containerDmc)) {
+								// No thread was created or exited since we sent the command,
+								// so we can use this answer as the base of our thread list
+								List<String> ids = new ArrayList<>(threadList.length);
+								for (MIThread thread : threadList) {
+									ids.add(thread.getThreadId());
+								}
+								fGroupToThreadIdsMap.put(groupId, ids);
+							}
+							rm.setData(makeExecutionDMCs(containerDmc, threadList));
 							rm.done();
 						}
 					});
@@ -1576,9 +1614,17 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 	}
 
 	private IExecutionDMContext[] makeExecutionDMCs(IContainerDMContext containerDmc, MIThread[] threadInfos) {
+		List<String> threadIds = new ArrayList<>(threadInfos.length);
+		for (MIThread thread : threadInfos) {
+			threadIds.add(thread.getThreadId());
+		}
+		return makeExecutionDMCs(containerDmc, threadIds);
+	}
+
+	private IExecutionDMContext[] makeExecutionDMCs(IContainerDMContext containerDmc, Collection<String> threadIds) {
 		final IProcessDMContext procDmc = DMContexts.getAncestorOfType(containerDmc, IProcessDMContext.class);
 
-		if (threadInfos.length == 0) {
+		if (threadIds.isEmpty()) {
 			// Main thread always exist even if it is not reported by GDB.
 			// So create thread-id = 0 when no thread is reported.
 			// This hack is necessary to prevent AbstractMIControl from issuing a thread-select
@@ -1586,16 +1632,71 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 			return new IMIExecutionDMContext[] { createExecutionContext(containerDmc,
 					createThreadContext(procDmc, FAKE_THREAD_ID), FAKE_THREAD_ID) };
 		} else {
-			IExecutionDMContext[] executionDmcs = new IMIExecutionDMContext[threadInfos.length];
-			for (int i = 0; i < threadInfos.length; i++) {
-				String threadId = threadInfos[i].getThreadId();
-				executionDmcs[i] = createExecutionContext(containerDmc, createThreadContext(procDmc, threadId),
+			IExecutionDMContext[] executionDmcs = new IMIExecutionDMContext[threadIds.size()];
+			int i = 0;
+			for (String threadId : threadIds) {
+				executionDmcs[i++] = createExecutionContext(containerDmc, createThreadContext(procDmc, threadId),
 						threadId);
 			}
 			return executionDmcs;
 		}
 	}
 
+	/**
+	 * Apply a =thread-created or =thread-exited notification to the known thread list
+	 * of the specified group.
+	 */
+	private void updateKnownThreads(String groupId, String threadId, boolean created) {
+		fThreadEventCount++;
+
+		if (groupId == null || threadId == null) {
+			// Without a group we cannot know which list is affected
+			fGroupToThreadIdsMap.clear();
+			fThreadCommandCache.reset();
+			return;
+		}
+
+		List<String> threadIds = fGroupToThreadIdsMap.get(groupId);
+		if (threadIds == null) {
+			// The list of this group is not tracked, make sure it is not served
+			// from the cache before the started or exited event is dispatched
+			fThreadCommandCache.reset();
+		} else if (created) {
+			if (!threadIds.contains(threadId)) {
+				int index = getNewThreadIndex(threadIds);
+				if (index < 0) {
+					// We don't know where GDB reports the new thread, fetch the list again
+					fGroupToThreadIdsMap.remove(groupId);
+					fThreadCommandCache.reset();
+				} else {
+					threadIds.add(index, threadId);
+				}
+			}
+		} else {
+			threadIds.remove(threadId);
+		}
+	}
+
+	/**
+	 * Returns where a new thread goes in a list of threads, to keep the order in which GDB
+	 * reports them: older versions of GDB report the newest thread first, while newer versions
+	 * report it last.
+	 *
+	 * @return the index of the new thread, or -1 if the order cannot be known from the list.
+	 */
+	private static int getNewThreadIndex(List<String> threadIds) {
+		if (threadIds.size() < 2) {
+			return -1;
+		}
+		try {
+			int first = Integer.parseInt(threadIds.get(0));
+			int last = Integer.parseInt(threadIds.get(threadIds.size() - 1));
+			return first > last ? 0 : threadIds.size();
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
 	private IMIContainerDMContext[] makeContainerDMCs(ICommandControlDMContext controlDmc, IThreadGroupInfo[] groups) {
 		// This is a workaround for post-mortem tracing because the early GDB release
 		// does not report a process when we do -list-thread-group
@@ -2018,6 +2119,7 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 				ICommandControlDMContext controlDmc = DMContexts.getAncestorOfType(e.getDMContext(),
 						ICommandControlDMContext.class);
 				fThreadCommandCache.reset(controlDmc);
+				fGroupToThreadIdsMap.clear();
 			}
 		} catch (CoreException exc) {
 		}
@@ -2036,7 +2138,7 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 			fContainerCommandCache.reset();
 			fNumConnected++;
 		} else {
-			fThreadCommandCache.reset();
+			resetThreadCacheForEvent(e.getDMContext());
 		}
 	}
 
@@ -2069,6 +2171,18 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 				}, 500, TimeUnit.MILLISECONDS);
 			}
 		} else {
+			resetThreadCacheForEvent(e.getDMContext());
+		}
+	}
+
+	/**
+	 * Only flush the thread command cache when a thread starts or exits if we don't
+	 * already track the thread list of its process using GDB's notifications.  This avoids
+	 * flushing the information of every thread each time a single thread starts or exits.
+	 */
+	private void resetThreadCacheForEvent(IDMContext dmc) {
+		IMIContainerDMContext containerDmc = DMContexts.getAncestorOfType(dmc, IMIContainerDMContext.class);
+		if (containerDmc == null || !fGroupToThreadIdsMap.containsKey(containerDmc.getGroupId())) {
 			fThreadCommandCache.reset();
 		}
 	}
@@ -2090,12 +2204,14 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 		fGroupIdToPTYMap.clear();
 
 		fExitedGroupId.clear();
+		fGroupToThreadIdsMap.clear();
 	}
 
 	@Override
 	public void flushCache(IDMContext context) {
 		fContainerCommandCache.reset(context);
 		fThreadCommandCache.reset(context);
+		fGroupToThreadIdsMap.clear();
 		// Not technically needed since we are supposed to have
 		// cleared this cache as soon as the it gets the answer
 		// from GDB; but to be more future-proof, might as well
@@ -2135,8 +2251,10 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 					if ("thread-created".equals(miEvent)) { //$NON-NLS-1$
 						// Update the thread to groupId map with the new groupId
 						getThreadToGroupMap().put(threadId, groupId);
+						updateKnownThreads(groupId, threadId, true);
 					} else {
 						getThreadToGroupMap().remove(threadId);
+						updateKnownThreads(groupId, threadId, false);
 					}
 					// "thread-group-created" was used before GDB 7.2, while "thread-group-started" is used with GDB 7.2
 				} else if ("thread-group-created".equals(miEvent) || "thread-group-started".equals(miEvent)) { //$NON-NLS-1$ //$NON-NLS-2$
@@ -2176,6 +2294,7 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 						getExitedProcesses().remove(groupId);
 
 						getGroupToPidMap().put(groupId, pId);
+						fGroupToThreadIdsMap.remove(groupId);
 
 						// Mark that we know this new process, but don't fetch its
 						// name until it is requested.
@@ -2197,6 +2316,7 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 
 					if (groupId != null) {
 						String pId = getGroupToPidMap().remove(groupId);
+						fGroupToThreadIdsMap.remove(groupId);
 
 						// GDB is no longer debugging this process.  Remove it from our list
 						String name = fDebuggedProcessesAndNames.remove(pId);
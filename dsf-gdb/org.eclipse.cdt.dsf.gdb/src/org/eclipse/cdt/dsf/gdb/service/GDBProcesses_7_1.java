@@ -24,6 +24,7 @@ import org.eclipse.cdt.dsf.concurrent.Immutable;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerDMContext;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerResumedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerSuspendedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IExitedDMEvent;
@@ -182,36 +183,54 @@ public class GDBProcesses_7_1 extends GDBProcesses_7_0 {
 					(DMContexts.getParentOfType(dmc, IMIProcessDMContext.class)).getProcId());
 			String threadId = ((MIThreadDMC) dmc).getId();
 
-			fCommandForCoresCache.execute(fCommandFactory.createMIListThreadGroups(controlDmc, groupId),
-					new ImmediateDataRequestMonitor<MIListThreadGroupsInfo>(rm) {
-						@Override
-						protected void handleCompleted() {
-							IThreadDMData threadData = null;
-							if (isSuccess()) {
-								MIThread[] threads = getData().getThreadInfo().getThreadList();
-								if (threads != null) {
-									for (MIThread thread : threads) {
-										if (thread.getThreadId().equals(threadId)) {
-											threadData = createThreadDMData(thread);
-											break;
-										}
+			getThreadData(controlDmc, groupId, threadId, true, rm);
+		} else {
+			rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INVALID_HANDLE, "Invalid DMC type", null)); //$NON-NLS-1$
+			rm.done();
+		}
+	}
+
+	/**
+	 * Look for the data of a thread in the cached thread list of its process.
+	 * The cached list is not flushed each time a thread starts, since that would
+	 * force us to fetch the whole list again for every new thread; instead, if the
+	 * thread cannot be found in the cached list, we flush the list and try once more.
+	 */
+	private void getThreadData(final ICommandControlDMContext controlDmc, final String groupId,
+			final String threadId, final boolean retry, final DataRequestMonitor<IThreadDMData> rm) {
+		fCommandForCoresCache.execute(fCommandFactory.createMIListThreadGroups(controlDmc, groupId),
+				new ImmediateDataRequestMonitor<MIListThreadGroupsInfo>(rm) {
+					@Override
+					protected void handleCompleted() {
+						IThreadDMData threadData = null;
+						if (isSuccess()) {
+							MIThread[] threads = getData().getThreadInfo().getThreadList();
+							if (threads != null) {
+								for (MIThread thread : threads) {
+									if (thread.getThreadId().equals(threadId)) {
+										threadData = createThreadDMData(thread);
+										break;
 									}
 								}
 							}
 
-							if (threadData != null) {
-								rm.setData(threadData);
-							} else {
-								rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INVALID_HANDLE,
-										"Could not get thread info", getStatus().getException())); //$NON-NLS-1$
+							if (threadData == null && retry) {
+								// The thread may have been created after the list was cached
+								fCommandForCoresCache.reset(controlDmc);
+								getThreadData(controlDmc, groupId, threadId, false, rm);
+								return;
 							}
-							rm.done();
 						}
-					});
-		} else {
-			rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INVALID_HANDLE, "Invalid DMC type", null)); //$NON-NLS-1$
-			rm.done();
-		}
+
+						if (threadData != null) {
+							rm.setData(threadData);
+						} else {
+							rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INVALID_HANDLE,
+									"Could not get thread info", getStatus().getException())); //$NON-NLS-1$
+						}
+						rm.done();
+					}
+				});
 	}
 
 	/**
@@ -265,18 +284,25 @@ public class GDBProcesses_7_1 extends GDBProcesses_7_0 {
 		fCommandForCoresCache.reset();
 	}
 
-	// Event handler when a thread or threadGroup starts, core allocation
-	// could have changed
+	// Event handler when a threadGroup starts, core allocation
+	// could have changed.  We don't flush the cache when a single thread
+	// starts, to avoid fetching the entire thread list again for each new
+	// thread; getThreadData() takes care of threads missing from the cache.
 	@DsfServiceEventHandler
 	public void eventDispatched_7_1(IStartedDMEvent e) {
-		fCommandForCoresCache.reset();
+		if (e.getDMContext() instanceof IContainerDMContext) {
+			fCommandForCoresCache.reset();
+		}
 	}
 
-	// Event handler when a thread or a threadGroup exits, core allocation
-	// could have changed
+	// Event handler when a threadGroup exits, core allocation
+	// could have changed.  The data of an exited thread is simply never
+	// requested again, so there is no need to flush the cache for it.
 	@DsfServiceEventHandler
 	public void eventDispatched_7_1(IExitedDMEvent e) {
-		fCommandForCoresCache.reset();
+		if (e.getDMContext() instanceof IContainerDMContext) {
+			fCommandForCoresCache.reset();
+		}
 	}
 
 	@Override
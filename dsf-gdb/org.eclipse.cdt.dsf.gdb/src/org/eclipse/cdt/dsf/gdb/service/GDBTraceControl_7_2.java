@@ -14,9 +14,11 @@
  *******************************************************************************/
 package org.eclipse.cdt.dsf.gdb.service;
 
+import java.io.IOException;
 import java.util.Hashtable;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateRequestMonitor;
@@ -34,6 +36,7 @@ import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlDMContext;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.internal.service.TraceRecordStore;
 import org.eclipse.cdt.dsf.gdb.internal.service.command.events.MITracepointSelectedEvent;
 import org.eclipse.cdt.dsf.mi.service.IMICommandControl;
 import org.eclipse.cdt.dsf.mi.service.IMIProcesses;
@@ -429,6 +432,26 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 	private boolean fIsTracingFeatureAvailable = true;
 	private int fTraceRecordsStored;
 
+	/**
+	 * Number of trace records read from GDB at once when all the trace
+	 * records are loaded into the local store, see
+	 * {@link #loadTraceRecords(ITraceTargetDMContext, RequestMonitor)}.
+	 * @since 7.1
+	 */
+	protected static final int TRACE_RECORD_BATCH_SIZE = 256;
+
+	/**
+	 * Number of trace records read from GDB when a single record which is
+	 * not in the local store is requested: the record and the following
+	 * ones, which are likely to be requested next when stepping through the
+	 * trace.
+	 * @since 7.1
+	 */
+	protected static final int TRACE_RECORD_WINDOW_SIZE = 8;
+
+	/** Trace records already read from GDB, see fetchTraceRecords() */
+	private final TraceRecordStore fRecordStore = new TraceRecordStore();
+
 	public GDBTraceControl_7_2(DsfSession session, ILaunchConfiguration config) {
 		super(session);
 	}
@@ -482,6 +505,7 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 	@Override
 	public void shutdown(RequestMonitor requestMonitor) {
 		unregister();
+		fRecordStore.clear();
 		super.shutdown(requestMonitor);
 	}
 
@@ -557,6 +581,7 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 							@Override
 							protected void handleSuccess() {
 								fTraceStatusCache.reset(context);
+								fRecordStore.clear();
 
 								fIsTracingActive = true;
 								getSession().dispatchEvent(new TracingStartedEvent(context), getProperties());
@@ -644,7 +669,7 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 									}
 								}
 
-								fTraceRecordsStored = info.getNumberOfCollectedFrame();
+								setTraceRecordsStored(info.getNumberOfCollectedFrame());
 								rm.done();
 							}
 						});
@@ -762,6 +787,7 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 							@Override
 							protected void handleSuccess() {
 								fTraceStatusCache.reset(context);
+								fRecordStore.clear();
 
 								fIsTracingCurrentlySupported = true;
 								// Workaround for GDB pre-release where we don't get the details
@@ -837,11 +863,11 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 								}
 							}
 
-							fTraceRecordsStored = info.getNumberOfCollectedFrame();
+							setTraceRecordsStored(info.getNumberOfCollectedFrame());
 
 							rm.setData(new TraceStatusDMData(info));
 						} else {
-							fTraceRecordsStored = 0;
+							setTraceRecordsStored(0);
 							fIsTracingActive = false;
 							rm.setData(new TraceStatusDMData());
 						}
@@ -1116,34 +1142,27 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 	public void getTraceRecordData(final ITraceRecordDMContext context,
 			final DataRequestMonitor<ITraceRecordDMData> rm) {
 		if (context instanceof MITraceRecordDMContext) {
-
-			RequestMonitor tdumpRm = new ImmediateRequestMonitor(rm) {
-				@Override
-				protected void handleSuccess() {
-					fConnection.queueCommand(fCommandFactory.createCLITraceDump(context),
-							new DataRequestMonitor<CLITraceDumpInfo>(getExecutor(), rm) {
-								@Override
-								protected void handleSuccess() {
-
-									TraceRecordDMData data = new TraceRecordDMData(getData().getContent(),
-											getData().getTracepointNumber(), getData().getFrameNumber(),
-											getData().getTimestamp());
-									rm.setData(data);
-									rm.done();
-								}
-							});
-				}
-			};
-
-			// If we are pointing to the right context, we can do the tdump right away,
-			// if not, we should first select the record.
-			// This is because 'tdump' does not take any parameters to specify
-			// which record we want to dump.
-			if (fCurrentRecordDmc.equals(context)) {
-				tdumpRm.done();
-			} else {
-				selectTraceRecord(context, tdumpRm);
+			final int frame = Integer.parseInt(((MITraceRecordDMContext) context).getRecordId());
+			if (canStreamTraceRecords(frame)) {
+				// Serve the record from the local store, reading it from GDB
+				// along with the next few records if it is not there yet.
+				ITraceTargetDMContext targetDmc = DMContexts.getAncestorOfType(context, ITraceTargetDMContext.class);
+				fetchTraceRecords(targetDmc, frame, TRACE_RECORD_WINDOW_SIZE, new ImmediateRequestMonitor(rm) {
+					@Override
+					protected void handleSuccess() {
+						ITraceRecordDMData data = getStoredTraceRecord(frame);
+						if (data == null) {
+							// The record could not be stored, read it directly
+							dumpTraceRecord(context, rm);
+							return;
+						}
+						rm.done(data);
+					}
+				});
+				return;
 			}
+
+			dumpTraceRecord(context, rm);
 		} else {
 			rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INTERNAL_ERROR, "Invalid trace record context.", //$NON-NLS-1$
 					null));
@@ -1151,6 +1170,200 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 		}
 	}
 
+	/**
+	 * Reads the given trace record from GDB with 'tdump', without going
+	 * through the local store.
+	 */
+	private void dumpTraceRecord(final ITraceRecordDMContext context,
+			final DataRequestMonitor<ITraceRecordDMData> rm) {
+		RequestMonitor tdumpRm = new ImmediateRequestMonitor(rm) {
+			@Override
+			protected void handleSuccess() {
+				fConnection.queueCommand(fCommandFactory.createCLITraceDump(context),
+						new DataRequestMonitor<CLITraceDumpInfo>(getExecutor(), rm) {
+							@Override
+							protected void handleSuccess() {
+
+								TraceRecordDMData data = new TraceRecordDMData(getData().getContent(),
+										getData().getTracepointNumber(), getData().getFrameNumber(),
+										getData().getTimestamp());
+								rm.setData(data);
+								rm.done();
+							}
+						});
+			}
+		};
+
+		// If we are pointing to the right context, we can do the tdump right away,
+		// if not, we should first select the record.
+		// This is because 'tdump' does not take any parameters to specify
+		// which record we want to dump.
+		if (context.equals(fCurrentRecordDmc)) {
+			tdumpRm.done();
+		} else {
+			selectTraceRecord(context, tdumpRm);
+		}
+	}
+
+	/**
+	 * Reads all the trace records from GDB into the local store, so that
+	 * they can then be served without going back to GDB.  The records are
+	 * read in batches of {@link #TRACE_RECORD_BATCH_SIZE}.
+	 *
+	 * @param context The trace target.
+	 * @param rm Completed when all the records have been read.
+	 * @since 7.1
+	 */
+	public void loadTraceRecords(final ITraceTargetDMContext context, final RequestMonitor rm) {
+		if (!canStreamTraceRecords(0)) {
+			rm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INVALID_STATE,
+					"Trace records cannot be read while tracing", null)); //$NON-NLS-1$
+			return;
+		}
+		loadTraceRecords(context, 0, rm);
+	}
+
+	private void loadTraceRecords(final ITraceTargetDMContext context, int first, final RequestMonitor rm) {
+		final int next = fRecordStore.nextMissingFrame(first);
+		if (next >= fTraceRecordsStored) {
+			rm.done();
+			return;
+		}
+		fetchTraceRecords(context, next, TRACE_RECORD_BATCH_SIZE, new ImmediateRequestMonitor(rm) {
+			@Override
+			protected void handleSuccess() {
+				loadTraceRecords(context, next + TRACE_RECORD_BATCH_SIZE, rm);
+			}
+		});
+	}
+
+	/**
+	 * Returns the contexts of all the trace records collected by the given
+	 * tracepoint, loading all the trace records from GDB first if needed,
+	 * see {@link #loadTraceRecords(ITraceTargetDMContext, RequestMonitor)}.
+	 *
+	 * @param context The trace target.
+	 * @param tracepoint The number of the tracepoint.
+	 * @param rm Receives the trace records, ordered by frame number.
+	 * @since 7.1
+	 */
+	public void getTraceRecordsForTracepoint(final ITraceTargetDMContext context, final int tracepoint,
+			final DataRequestMonitor<ITraceRecordDMContext[]> rm) {
+		loadTraceRecords(context, new ImmediateRequestMonitor(rm) {
+			@Override
+			protected void handleSuccess() {
+				int[] frames = fRecordStore.getFrames(tracepoint);
+				ITraceRecordDMContext[] records = new ITraceRecordDMContext[frames.length];
+				for (int i = 0; i < frames.length; i++) {
+					records[i] = createTraceRecordContext(context, Integer.toString(frames[i]));
+				}
+				rm.done(records);
+			}
+		});
+	}
+
+	/**
+	 * Trace records can only be streamed from a trace buffer which is no
+	 * longer being filled, since the frames are renumbered as they are
+	 * collected in a circular buffer.
+	 */
+	private boolean canStreamTraceRecords(int frame) {
+		return !fIsTracingActive && frame >= 0 && frame < fTraceRecordsStored;
+	}
+
+	private void setTraceRecordsStored(int count) {
+		fRecordStore.setFrameCount(count);
+		fTraceRecordsStored = count;
+	}
+
+	private ITraceRecordDMData getStoredTraceRecord(int frame) {
+		try {
+			String content = fRecordStore.getContent(frame);
+			if (content == null) {
+				return null;
+			}
+			return new TraceRecordDMData(content, Integer.toString(fRecordStore.getTracepoint(frame)),
+					Integer.toString(frame), fRecordStore.getTimestamp(frame));
+		} catch (IOException e) {
+			GdbPlugin.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the given number of trace records starting at the given frame into
+	 * the local store, skipping the ones already stored.  The 'tfind'/'tdump'
+	 * pairs of the whole batch are queued at
+	 * once, so that they are pipelined to GDB instead of each waiting for the
+	 * previous one, and are followed by a 'tfind' which restores the record
+	 * selected by the user.  Since they are all queued from this single
+	 * executor runnable, no other command can be sent in between.
+	 */
+	private void fetchTraceRecords(ITraceTargetDMContext context, int first, int size, RequestMonitor rm) {
+		if (fRecordStore.contains(first)) {
+			rm.done();
+			return;
+		}
+
+		final CountingRequestMonitor batchRm = new CountingRequestMonitor(getExecutor(), rm);
+		int last = Math.min(first + size, fTraceRecordsStored);
+		int count = 0;
+		for (int frame = first; frame < last; frame++) {
+			if (fRecordStore.contains(frame)) {
+				continue;
+			}
+			fConnection.queueCommand(fCommandFactory.createMITraceFindFrameNumber(context, frame),
+					newIgnoredTraceFindMonitor());
+			fConnection.queueCommand(
+					fCommandFactory.createCLITraceDump(createTraceRecordContext(context, Integer.toString(frame))),
+					new DataRequestMonitor<CLITraceDumpInfo>(getExecutor(), null) {
+						@Override
+						protected void handleCompleted() {
+							// Store the record under the frame number reported by 'tdump',
+							// in case 'tfind' failed to select the requested frame.
+							if (isSuccess() && getData().getFrameNumber() != null
+									&& getData().getTracepointNumber() != null) {
+								try {
+									fRecordStore.put(Integer.parseInt(getData().getFrameNumber()),
+											Integer.parseInt(getData().getTracepointNumber()),
+											getData().getTimestamp(), getData().getContent());
+								} catch (IOException | NumberFormatException e) {
+									// The record is read directly with 'tdump' when requested
+									GdbPlugin.log(new Status(IStatus.WARNING, GdbPlugin.PLUGIN_ID,
+											"Could not store trace record", e)); //$NON-NLS-1$
+								}
+							}
+							batchRm.done();
+						}
+					});
+			count++;
+		}
+
+		if (fCurrentRecordDmc instanceof MITraceRecordDMContext) {
+			int current = Integer.parseInt(((MITraceRecordDMContext) fCurrentRecordDmc).getRecordId());
+			fConnection.queueCommand(fCommandFactory.createMITraceFindFrameNumber(context, current),
+					newIgnoredTraceFindMonitor());
+		} else {
+			fConnection.queueCommand(fCommandFactory.createMITraceFindNone(context),
+					newIgnoredTraceFindMonitor());
+		}
+
+		batchRm.setDoneCount(count);
+	}
+
+	/**
+	 * The 'tfind' commands of a batch are not checked: a failure to select a
+	 * frame is detected by the following 'tdump', and a failure to restore
+	 * the selection (e.g. when not visualizing trace data) is harmless.
+	 */
+	private DataRequestMonitor<MITraceFindInfo> newIgnoredTraceFindMonitor() {
+		return new DataRequestMonitor<MITraceFindInfo>(getExecutor(), null) {
+			@Override
+			protected void handleCompleted() {
+			}
+		};
+	}
+
 	/** @since 4.4 */
 	@Override
 	public void setCircularTraceBuffer(final ITraceTargetDMContext context, boolean useCircularBuffer,
@@ -1216,5 +1429,6 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 	@Override
 	public void flushCache(IDMContext context) {
 		fTraceStatusCache.reset(context);
+		fRecordStore.clear();
 	}
 }
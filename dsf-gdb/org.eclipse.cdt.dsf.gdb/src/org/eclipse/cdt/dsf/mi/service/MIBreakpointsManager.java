@@ -34,8 +34,10 @@ import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.RejectedExecutionException;
 
 import org.eclipse.cdt.core.model.ICModelMarker;
@@ -77,6 +79,7 @@ import org.eclipse.cdt.dsf.debug.service.ISourceLookup;
 import org.eclipse.cdt.dsf.debug.service.ISourceLookup.ISourceLookupDMContext;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlShutdownDMEvent;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.mi.service.MIBreakpoints.BreakpointAddedEvent;
 import org.eclipse.cdt.dsf.mi.service.MIBreakpoints.BreakpointRemovedEvent;
@@ -96,6 +99,7 @@ import org.eclipse.cdt.gdb.internal.eventbkpts.GdbCatchpoints;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -103,9 +107,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
-import org.eclipse.core.runtime.jobs.MultiRule;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IBreakpointListener;
 import org.eclipse.debug.core.IBreakpointManager;
@@ -235,8 +237,37 @@ public class MIBreakpointsManager extends AbstractDsfService
 	private Set<IBreakpoint> fPendingRequests = new HashSet<>();
 	private Set<IBreakpoint> fPendingBreakpoints = new HashSet<>();
 
+	// Only accessed by the marker update job
 	private Map<ICBreakpoint, IMarker> fBreakpointMarkerProblems = new HashMap<>();
 
+	// Pending updates of the install counts and problem markers, see updateMarkers()
+	private final Queue<IWorkspaceRunnable> fMarkerUpdates = new ConcurrentLinkedQueue<>();
+
+	private final Job fMarkerUpdateJob = new Job("Update Breakpoint Markers") { //$NON-NLS-1$
+		{
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			IWorkspaceRunnable updates = m -> {
+				IWorkspaceRunnable update;
+				while ((update = fMarkerUpdates.poll()) != null) {
+					try {
+						update.run(m);
+					} catch (CoreException e) {
+					}
+				}
+			};
+			try {
+				ResourcesPlugin.getWorkspace().run(updates, null, IWorkspace.AVOID_UPDATE, null);
+			} catch (CoreException e) {
+				GdbPlugin.getDefault().getLog().log(e.getStatus());
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
 	private ListenerList<IMIBreakpointsTrackingListener> fTrackingListeners = new ListenerList<>();
 
 	///////////////////////////////////////////////////////////////////////////
@@ -507,22 +538,58 @@ public class MIBreakpointsManager extends AbstractDsfService
 					e);
 			rm.setStatus(status);
 			rm.done();
+			return;
 		}
 
-		// Install the individual breakpoints on the dispatcher thread
+		// Group the breakpoints by source file, so that the debugger path of
+		// each file is only looked up once.
+		final Map<Object, List<ICBreakpoint>> breakpointsBySource = new HashMap<>();
+		for (ICBreakpoint breakpoint : platformBPs.keySet()) {
+			Object hostPath = platformBPs.get(breakpoint).get(ICBreakpoint.SOURCE_HANDLE);
+			List<ICBreakpoint> list = breakpointsBySource.get(hostPath);
+			if (list == null) {
+				list = new ArrayList<>();
+				breakpointsBySource.put(hostPath, list);
+			}
+			list.add(breakpoint);
+		}
+
+		final long startTime = System.currentTimeMillis();
+		final int count = platformBPs.size();
+
+		// Install the individual breakpoints on the dispatcher thread.  All the
+		// -break-insert commands are queued right away, so that they are
+		// pipelined to GDB instead of waiting for each other.
 		// Requires a counting monitor to know when we are done
-		final CountingRequestMonitor countingRm = new CountingRequestMonitor(getExecutor(), rm);
-		countingRm.setDoneCount(platformBPs.size());
+		final CountingRequestMonitor countingRm = new CountingRequestMonitor(getExecutor(), rm) {
+			@Override
+			protected void handleCompleted() {
+				if (GdbDebugOptions.DEBUG) {
+					GdbDebugOptions.trace(String.format("%s Installed %d initial breakpoints in %d ms\n", //$NON-NLS-1$
+							GdbPlugin.getDebugTime(), count, System.currentTimeMillis() - startTime));
+				}
+				super.handleCompleted();
+			}
+		};
+		countingRm.setDoneCount(count);
 
-		for (final ICBreakpoint breakpoint : platformBPs.keySet()) {
-			final Map<String, Object> attributes = platformBPs.get(breakpoint);
-			// Upon determining the debuggerPath, the breakpoint is installed
-			determineDebuggerPath(dmc, attributes, new RequestMonitor(getExecutor(), countingRm) {
+		for (final List<ICBreakpoint> breakpoints : breakpointsBySource.values()) {
+			final Map<String, Object> firstAttributes = platformBPs.get(breakpoints.get(0));
+			// Upon determining the debuggerPath, the breakpoints are installed
+			determineDebuggerPath(dmc, firstAttributes, new RequestMonitor(getExecutor(), null) {
 				@Override
-				protected void handleSuccess() {
-					// Must install breakpoints right away, even if disabled, so that
-					// we can find out if they apply to this target (Bug 389070)
-					installBreakpoint(dmc, breakpoint, attributes, countingRm);
+				protected void handleCompleted() {
+					for (ICBreakpoint breakpoint : breakpoints) {
+						if (!isSuccess()) {
+							countingRm.done(getStatus());
+							continue;
+						}
+						Map<String, Object> attributes = platformBPs.get(breakpoint);
+						attributes.put(ATTR_DEBUGGER_PATH, firstAttributes.get(ATTR_DEBUGGER_PATH));
+						// Must install breakpoints right away, even if disabled, so that
+						// we can find out if they apply to this target (Bug 389070)
+						installBreakpoint(dmc, breakpoint, attributes, countingRm);
+					}
 				}
 			});
 		}
@@ -703,10 +770,7 @@ public class MIBreakpointsManager extends AbstractDsfService
 									}
 									// Finally, update the platform breakpoint to show it was installed, unless we have a pending breakpoint
 									if (!pending) {
-										try {
-											breakpoint.incrementInstallCount();
-										} catch (CoreException e) {
-										}
+										incrementInstallCount(breakpoint);
 									}
 									installRM.done();
 								}
@@ -742,66 +806,72 @@ public class MIBreakpointsManager extends AbstractDsfService
 	private void addBreakpointProblemMarker(final ICBreakpoint breakpoint, final String description,
 			final int severity) {
 
-		new Job("Add Breakpoint Problem Marker") { //$NON-NLS-1$
-			@Override
-			protected IStatus run(IProgressMonitor monitor) {
-
-				if (breakpoint instanceof ICLineBreakpoint) {
-					// If we have already have a problem marker on this breakpoint
-					// we should remove it first.
-					IMarker marker = fBreakpointMarkerProblems.remove(breakpoint);
-					if (marker != null) {
-						try {
-							marker.delete();
-						} catch (CoreException e) {
-						}
-					}
-
-					ICLineBreakpoint lineBreakpoint = (ICLineBreakpoint) breakpoint;
+		updateMarkers(monitor -> {
+			if (breakpoint instanceof ICLineBreakpoint) {
+				// If we have already have a problem marker on this breakpoint
+				// we should remove it first.
+				IMarker marker = fBreakpointMarkerProblems.remove(breakpoint);
+				if (marker != null) {
 					try {
-						// Locate the workspace resource via the breakpoint marker
-						IMarker breakpointMarker = lineBreakpoint.getMarker();
-						IResource resource = breakpointMarker.getResource();
-
-						// Add a problem marker to the resource
-						IMarker problemMarker = resource.createMarker(BreakpointProblems.BREAKPOINT_PROBLEM_MARKER_ID);
-						int lineNumber = lineBreakpoint.getLineNumber();
-						String sourceHandle = lineBreakpoint.getSourceHandle();
-						problemMarker.setAttribute(IMarker.LOCATION, String.valueOf(lineNumber));
-						problemMarker.setAttribute(IMarker.MESSAGE, description);
-						problemMarker.setAttribute(IMarker.SEVERITY, severity);
-						problemMarker.setAttribute(IMarker.LINE_NUMBER, lineNumber);
-						if (sourceHandle != null) {
-							problemMarker.setAttribute(ICModelMarker.C_MODEL_MARKER_EXTERNAL_LOCATION, sourceHandle);
-						}
-
-						// And save the baby
-						fBreakpointMarkerProblems.put(breakpoint, problemMarker);
+						marker.delete();
 					} catch (CoreException e) {
 					}
 				}
-				return Status.OK_STATUS;
+
+				ICLineBreakpoint lineBreakpoint = (ICLineBreakpoint) breakpoint;
+				try {
+					// Locate the workspace resource via the breakpoint marker
+					IMarker breakpointMarker = lineBreakpoint.getMarker();
+					IResource resource = breakpointMarker.getResource();
+
+					// Add a problem marker to the resource
+					IMarker problemMarker = resource.createMarker(BreakpointProblems.BREAKPOINT_PROBLEM_MARKER_ID);
+					int lineNumber = lineBreakpoint.getLineNumber();
+					String sourceHandle = lineBreakpoint.getSourceHandle();
+					problemMarker.setAttribute(IMarker.LOCATION, String.valueOf(lineNumber));
+					problemMarker.setAttribute(IMarker.MESSAGE, description);
+					problemMarker.setAttribute(IMarker.SEVERITY, severity);
+					problemMarker.setAttribute(IMarker.LINE_NUMBER, lineNumber);
+					if (sourceHandle != null) {
+						problemMarker.setAttribute(ICModelMarker.C_MODEL_MARKER_EXTERNAL_LOCATION, sourceHandle);
+					}
+
+					// And save the baby
+					fBreakpointMarkerProblems.put(breakpoint, problemMarker);
+				} catch (CoreException e) {
+				}
 			}
-		}.schedule();
+		});
 	}
 
 	private void removeBreakpointProblemMarker(final ICBreakpoint breakpoint) {
 
-		new Job("Remove Breakpoint Problem Marker") { //$NON-NLS-1$
-			@Override
-			protected IStatus run(IProgressMonitor monitor) {
-
-				IMarker marker = fBreakpointMarkerProblems.remove(breakpoint);
-				if (marker != null) {
-					try {
-						marker.delete();
-					} catch (CoreException e) {
-					}
+		updateMarkers(monitor -> {
+			IMarker marker = fBreakpointMarkerProblems.remove(breakpoint);
+			if (marker != null) {
+				try {
+					marker.delete();
+				} catch (CoreException e) {
 				}
-
-				return Status.OK_STATUS;
 			}
-		}.schedule();
+		});
+	}
+
+	private void incrementInstallCount(final ICBreakpoint breakpoint) {
+		updateMarkers(monitor -> breakpoint.incrementInstallCount());
+	}
+
+	/**
+	 * Queues an update of the breakpoint markers.  The updates are applied in
+	 * order by {@link #fMarkerUpdateJob}, which groups all the pending updates
+	 * in a single workspace operation.  When thousands of breakpoints are
+	 * installed, this results in a few resource change notifications instead
+	 * of one (and one job) per breakpoint, and keeps the marker writes away
+	 * from the DSF executor thread.
+	 */
+	private void updateMarkers(IWorkspaceRunnable update) {
+		fMarkerUpdates.add(update);
+		fMarkerUpdateJob.schedule();
 	}
 
 	//-------------------------------------------------------------------------
@@ -924,10 +994,7 @@ public class MIBreakpointsManager extends AbstractDsfService
 				// But we don't do this for pending breakpoints since they were
 				// not marked as installed.
 				if (!pending) {
-					try {
-						breakpoint.decrementInstallCount();
-					} catch (CoreException e) {
-					}
+					updateMarkers(monitor -> breakpoint.decrementInstallCount());
 				}
 				rm.done();
 			}
@@ -1233,10 +1300,7 @@ public class MIBreakpointsManager extends AbstractDsfService
 											}
 											// Finally, update the platform breakpoint to show it was installed, unless we have a pending breakpoint
 											if (!pending) {
-												try {
-													breakpoint.incrementInstallCount();
-												} catch (CoreException e) {
-												}
+												incrementInstallCount(breakpoint);
 											}
 											installRM.done();
 										}
@@ -1515,14 +1579,15 @@ public class MIBreakpointsManager extends AbstractDsfService
 								}
 							}
 						};
-						countingRm.setDoneCount(getTrackedBreakpointTargetContexts().size());
-
-						// Remove the breakpoint in all the execution contexts
+						// Remove the breakpoint in all the execution contexts at once
+						int count = 0;
 						for (IBreakpointsTargetDMContext dmc : getTrackedBreakpointTargetContexts()) {
 							if (fPlatformToAttributesMaps.get(dmc).containsKey(breakpoint)) {
 								uninstallBreakpoint(dmc, (ICBreakpoint) breakpoint, countingRm);
+								count++;
 							}
 						}
+						countingRm.setDoneCount(count);
 					}
 				});
 			} catch (RejectedExecutionException e) {
@@ -1747,77 +1812,38 @@ public class MIBreakpointsManager extends AbstractDsfService
 	private void terminated() {
 		// Reset the breakpoint install count
 		for (IBreakpointsTargetDMContext ctx : fPlatformToAttributesMaps.keySet()) {
-			Map<ICBreakpoint, Map<String, Object>> breakpoints = fPlatformToAttributesMaps.get(ctx);
-			clearBreakpointStatus(breakpoints.keySet().toArray(new ICBreakpoint[breakpoints.size()]), ctx);
+			clearBreakpointStatus(ctx);
 		}
 		// This will prevent Shutdown() from trying to remove bps from a
 		// backend that has already shutdown
 		fPlatformToAttributesMaps.clear();
 	}
 
-	/**
-	 * @param bps
-	 */
-	private void clearBreakpointStatus(final ICBreakpoint[] bps, final IBreakpointsTargetDMContext ctx) {
-		IWorkspaceRunnable wr = monitor -> {
-			// For every platform breakpoint that has at least one target breakpoint installed
-			// we must decrement the install count, for every target breakpoint.
-			// Note that we cannot simply call resetInstallCount() because another
-			// launch may be using the same platform breakpoint.
-			Map<ICBreakpoint, Vector<IBreakpointDMContext>> breakpoints = fPlatformToBPsMaps.get(ctx);
-			for (ICBreakpoint breakpoint : breakpoints.keySet()) {
-				Vector<IBreakpointDMContext> targetBps = breakpoints.get(breakpoint);
-				for (IBreakpointDMContext targetBp : targetBps) {
-					decrementInstallCount(targetBp, breakpoint, new RequestMonitor(getExecutor(), null));
-				}
+	private void clearBreakpointStatus(final IBreakpointsTargetDMContext ctx) {
+		// For every platform breakpoint that has at least one target breakpoint installed
+		// we must decrement the install count, for every target breakpoint.
+		// Note that we cannot simply call resetInstallCount() because another
+		// launch may be using the same platform breakpoint.
+		Map<ICBreakpoint, Vector<IBreakpointDMContext>> breakpoints = fPlatformToBPsMaps.get(ctx);
+		for (ICBreakpoint breakpoint : breakpoints.keySet()) {
+			Vector<IBreakpointDMContext> targetBps = breakpoints.get(breakpoint);
+			for (IBreakpointDMContext targetBp : targetBps) {
+				decrementInstallCount(targetBp, breakpoint, new RequestMonitor(getExecutor(), null));
 			}
-		};
-
-		// Create the scheduling rule to clear all bp planted.
-		ISchedulingRule rule = null;
-		List<ISchedulingRule> markerRules = new ArrayList<>();
-		for (ICBreakpoint bp : bps) {
-			IMarker marker = bp.getMarker();
-			if (marker != null) {
-				ISchedulingRule markerRule = ResourcesPlugin.getWorkspace().getRuleFactory()
-						.markerRule(marker.getResource());
-				if (markerRule == null) {
-					markerRules = null;
-					break;
-				} else {
-					markerRules.add(markerRule);
-				}
-			}
-		}
-		if (markerRules != null) {
-			rule = MultiRule.combine(markerRules.toArray(new ISchedulingRule[markerRules.size()]));
-		}
-
-		try {
-			// Will run the workspace runnable on the current thread, which
-			// is the DSF executor.
-			ResourcesPlugin.getWorkspace().run(wr, rule, 0, null);
-		} catch (CoreException e) {
-			GdbPlugin.getDefault().getLog().log(e.getStatus());
 		}
 
-		new Job("Clear Breakpoints Status") { //$NON-NLS-1$
-			@Override
-			protected IStatus run(IProgressMonitor monitor) {
-				// Clear any problem markers
-				for (IMarker marker : fBreakpointMarkerProblems.values()) {
-					if (marker != null) {
-						try {
-							marker.delete();
-						} catch (CoreException e) {
-						}
+		// Clear any problem markers
+		updateMarkers(monitor -> {
+			for (IMarker marker : fBreakpointMarkerProblems.values()) {
+				if (marker != null) {
+					try {
+						marker.delete();
+					} catch (CoreException e) {
 					}
 				}
-				fBreakpointMarkerProblems.clear();
-
-				return Status.OK_STATUS;
 			}
-		}.schedule();
+			fBreakpointMarkerProblems.clear();
+		});
 	}
 
 	///////////////////////////////////////////////////////////////////////////
@@ -23,7 +23,6 @@ package org.eclipse.cdt.dsf.mi.service;
 import java.io.File;
 import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -327,22 +326,24 @@ public class MIBreakpointsSynchronizer extends AbstractDsfService
 	 * breakpoint info from GDB and update the IBreakpoints and MIBreakpointManager
 	 * services too.
 	 *
-	 * Note that an optimization in the number of calls to synchronize can be done, see
-	 * synchronize's removeBpsForAllDmcs parameter.
+	 * When flushing all the contexts, a single -break-list is issued, since GDB
+	 * returns the breakpoints of all the contexts anyway (see synchronize's
+	 * removeBpsForAllDmcs parameter).  This reconciles the whole breakpoint set
+	 * in one pass, however many processes are debugged.
 	 */
 	@Override
 	public void flushCache(IDMContext context) {
-		Collection<IBreakpointsTargetDMContext> contexts;
 		IBreakpointsTargetDMContext breakpointsTargetDMContext = DMContexts.getAncestorOfType(context,
 				IBreakpointsTargetDMContext.class);
 		if (breakpointsTargetDMContext != null) {
-			contexts = Arrays.asList(breakpointsTargetDMContext);
-		} else {
-			contexts = getBreakpointsManager().getTrackedBreakpointTargetContexts();
+			synchronize(breakpointsTargetDMContext, false);
+			return;
 		}
 
-		for (IBreakpointsTargetDMContext bpContext : contexts) {
-			synchronize(bpContext, false);
+		Collection<IBreakpointsTargetDMContext> contexts = getBreakpointsManager()
+				.getTrackedBreakpointTargetContexts();
+		if (!contexts.isEmpty()) {
+			synchronize(contexts.iterator().next(), contexts.size() > 1);
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Ericsson and others.
+ * Copyright (c) 2008, 2026 Ericsson and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,31 +15,192 @@
 package org.eclipse.cdt.dsf.mi.service;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.datamodel.DMContexts;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.ICachingService;
 import org.eclipse.cdt.dsf.debug.service.IDisassembly;
 import org.eclipse.cdt.dsf.debug.service.IInstruction;
+import org.eclipse.cdt.dsf.debug.service.IMemory.IMemoryChangedEvent;
+import org.eclipse.cdt.dsf.debug.service.IMemory.IMemoryDMContext;
 import org.eclipse.cdt.dsf.debug.service.IMixedInstruction;
+import org.eclipse.cdt.dsf.debug.service.IModules.ModulesChangedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IModules2.ISymbolsChangedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IExitedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IStartedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIDataDisassemble;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataDisassembleInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MINotifyAsyncOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOOBRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
 import org.eclipse.cdt.dsf.service.AbstractDsfService;
+import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.osgi.framework.BundleContext;
 
-public class MIDisassembly extends AbstractDsfService implements IDisassembly {
+public class MIDisassembly extends AbstractDsfService implements IDisassembly, ICachingService, IEventListener {
+
+	/**
+	 * Minimum number of bytes disassembled for a request of an address range.
+	 * The extra instructions are cached, so that the following requests made
+	 * while scrolling the disassembly view are served without asking GDB.
+	 */
+	private static final int BLOCK_SIZE = 1024;
+
+	/** Maximum number of blocks cached for each context */
+	private static final int MAX_BLOCKS = 128;
+
+	/**
+	 * The result of disassembling an address range.
+	 */
+	private static class InstructionBlock {
+		final int fMode;
+		final BigInteger fStart;
+		final BigInteger fEnd;
+		final MIDataDisassembleInfo fInfo;
+		private final List<IInstruction> fInstructions = new ArrayList<>();
+		/** Addresses of the instructions, to find where a range can start */
+		private final Set<BigInteger> fAddresses = new HashSet<>();
+		/** Highest address of the instructions, or null if there are none */
+		private BigInteger fLastAddress;
+
+		InstructionBlock(int mode, BigInteger start, BigInteger end, MIDataDisassembleInfo info) {
+			fMode = mode;
+			fStart = start;
+			fEnd = end;
+			fInfo = info;
+			if (info.isMixed()) {
+				for (IMixedInstruction mixed : info.getMIMixedCode()) {
+					for (IInstruction instruction : mixed.getInstructions()) {
+						fInstructions.add(instruction);
+					}
+				}
+			} else {
+				for (IInstruction instruction : info.getMIAssemblyCode()) {
+					fInstructions.add(instruction);
+				}
+			}
+			for (IInstruction instruction : fInstructions) {
+				BigInteger address = instruction.getAdress();
+				if (address != null) {
+					fAddresses.add(address);
+					if (fLastAddress == null || address.compareTo(fLastAddress) > 0) {
+						fLastAddress = address;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns all the instructions of the block, in mixed mode or not.
+		 */
+		List<IInstruction> getAllInstructions() {
+			return fInstructions;
+		}
+
+		/**
+		 * Returns whether this block contains all the instructions of the
+		 * given range, i.e. whether it covers the range and the start of the
+		 * range is the address of one of its instructions.  Disassembling
+		 * from another address could give different instructions when they
+		 * have a variable length.
+		 */
+		boolean covers(int mode, BigInteger start, BigInteger end) {
+			if (mode != fMode || start.compareTo(fStart) < 0 || end.compareTo(fEnd) > 0) {
+				return false;
+			}
+			return start.equals(fStart) || fAddresses.contains(start);
+		}
+
+		boolean contains(BigInteger address) {
+			return address.compareTo(fStart) >= 0 && address.compareTo(fEnd) < 0;
+		}
+
+		IInstruction[] getInstructions(BigInteger start, BigInteger end) {
+			List<IInstruction> result = new ArrayList<>();
+			for (IInstruction instruction : getAllInstructions()) {
+				if (isInRange(instruction, start, end)) {
+					result.add(instruction);
+				}
+			}
+			return result.toArray(new IInstruction[result.size()]);
+		}
+
+		IMixedInstruction[] getMixedInstructions(BigInteger start, BigInteger end) {
+			List<IMixedInstruction> result = new ArrayList<>();
+			for (final IMixedInstruction mixed : fInfo.getMIMixedCode()) {
+				final List<IInstruction> instructions = new ArrayList<>();
+				for (IInstruction instruction : mixed.getInstructions()) {
+					if (isInRange(instruction, start, end)) {
+						instructions.add(instruction);
+					}
+				}
+				if (instructions.size() == mixed.getInstructions().length) {
+					result.add(mixed);
+				} else if (!instructions.isEmpty()) {
+					result.add(new IMixedInstruction() {
+						@Override
+						public String getFileName() {
+							return mixed.getFileName();
+						}
+
+						@Override
+						public int getLineNumber() {
+							return mixed.getLineNumber();
+						}
+
+						@Override
+						public IInstruction[] getInstructions() {
+							return instructions.toArray(new IInstruction[instructions.size()]);
+						}
+					});
+				}
+			}
+			return result.toArray(new IMixedInstruction[result.size()]);
+		}
+
+		private static boolean isInRange(IInstruction instruction, BigInteger start, BigInteger end) {
+			BigInteger address = instruction.getAdress();
+			return address != null && address.compareTo(start) >= 0 && address.compareTo(end) < 0;
+		}
+	}
 
 	// Services
 	ICommandControl fConnection;
 	private CommandFactory fCommandFactory;
 
+	/**
+	 * Blocks of instructions cached for each context, the most recently used
+	 * first.  The blocks remain valid while the program is stepped, and are
+	 * only discarded when the memory is written, or when modules are loaded
+	 * or unloaded.
+	 */
+	private final Map<IDisassemblyDMContext, LinkedList<InstructionBlock>> fBlocks = new HashMap<>();
+
+	/** Start addresses of the blocks being prefetched, for each context */
+	private final Map<IDisassemblyDMContext, Set<BigInteger>> fPendingPrefetches = new HashMap<>();
+
 	///////////////////////////////////////////////////////////////////////////
 	// AbstractDsfService
 	///////////////////////////////////////////////////////////////////////////
@@ -70,6 +231,9 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 		fConnection = getServicesTracker().getService(ICommandControl.class);
 		fCommandFactory = getServicesTracker().getService(IMICommandControl.class).getCommandFactory();
 
+		fConnection.addEventListener(this);
+		getSession().addServiceEventListener(this, null);
+
 		register(new String[] { IDisassembly.class.getName(), MIDisassembly.class.getName() },
 				new Hashtable<String, String>());
 		rm.done();
@@ -80,6 +244,9 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 	 */
 	@Override
 	public void shutdown(RequestMonitor rm) {
+		fConnection.removeEventListener(this);
+		getSession().removeServiceEventListener(this);
+		fBlocks.clear();
 		unregister();
 		super.shutdown(rm);
 	}
@@ -109,8 +276,8 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 	 * Helper method to allow getting disassembly instructions not in mixed mode.
 	 * @since 4.4
 	 */
-	protected void getInstructions(IDisassemblyDMContext context, BigInteger startAddress, BigInteger endAddress,
-			int mode, final DataRequestMonitor<IInstruction[]> drm) {
+	protected void getInstructions(IDisassemblyDMContext context, final BigInteger startAddress,
+			final BigInteger endAddress, int mode, final DataRequestMonitor<IInstruction[]> drm) {
 		// Checking what we don't support instead of what we do support allows
 		// others to extend the 'mode' field with new values.
 		assert mode != MIDataDisassemble.DATA_DISASSEMBLE_MODE_MIXED
@@ -122,6 +289,17 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 			return;
 		}
 
+		if (startAddress != null && endAddress != null) {
+			getInstructionBlock(context, startAddress, endAddress, mode,
+					new ImmediateDataRequestMonitor<InstructionBlock>(drm) {
+						@Override
+						protected void handleSuccess() {
+							drm.done(getData().getInstructions(startAddress, endAddress));
+						}
+					});
+			return;
+		}
+
 		String start = (startAddress != null) ? startAddress.toString() : "$pc"; //$NON-NLS-1$
 		String end = (endAddress != null) ? endAddress.toString() : start + " + 100"; //$NON-NLS-1$
 		fConnection.queueCommand(fCommandFactory.createMIDataDisassemble(context, start, end, mode),
@@ -185,8 +363,8 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 	 * Helper method to allow getting disassembly instructions in mixed mode.
 	 * @since 4.4
 	 */
-	protected void getMixedInstructions(IDisassemblyDMContext context, BigInteger startAddress, BigInteger endAddress,
-			int mode, final DataRequestMonitor<IMixedInstruction[]> drm) {
+	protected void getMixedInstructions(IDisassemblyDMContext context, final BigInteger startAddress,
+			final BigInteger endAddress, int mode, final DataRequestMonitor<IMixedInstruction[]> drm) {
 		// Checking what we don't support instead of what we do support allows
 		// others to extend the 'mode' field with new values.
 		assert mode != MIDataDisassemble.DATA_DISASSEMBLE_MODE_DISASSEMBLY
@@ -198,6 +376,17 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 			return;
 		}
 
+		if (startAddress != null && endAddress != null) {
+			getInstructionBlock(context, startAddress, endAddress, mode,
+					new ImmediateDataRequestMonitor<InstructionBlock>(drm) {
+						@Override
+						protected void handleSuccess() {
+							drm.done(getData().getMixedInstructions(startAddress, endAddress));
+						}
+					});
+			return;
+		}
+
 		String start = (startAddress != null) ? startAddress.toString() : "$pc"; //$NON-NLS-1$
 		String end = (endAddress != null) ? endAddress.toString() : start + " + 100"; //$NON-NLS-1$
 		fConnection.queueCommand(fCommandFactory.createMIDataDisassemble(context, start, end, mode),
@@ -247,4 +436,251 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 					}
 				});
 	}
+
+	///////////////////////////////////////////////////////////////////////////
+	// Instruction blocks cache
+	///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Returns a block of instructions which covers the given address range,
+	 * from the cache if possible.  Otherwise a block of at least
+	 * {@link #BLOCK_SIZE} bytes is disassembled, so that the following
+	 * instructions can be served from the cache.
+	 */
+	private void getInstructionBlock(final IDisassemblyDMContext context, final BigInteger start,
+			final BigInteger end, final int mode, final DataRequestMonitor<InstructionBlock> rm) {
+		LinkedList<InstructionBlock> blocks = fBlocks.get(context);
+		if (blocks != null) {
+			for (Iterator<InstructionBlock> it = blocks.iterator(); it.hasNext();) {
+				InstructionBlock block = it.next();
+				if (block.covers(mode, start, end)) {
+					// Move the block to the front of the list
+					it.remove();
+					blocks.addFirst(block);
+					prefetchNextBlock(context, block, end);
+					rm.done(block);
+					return;
+				}
+			}
+		}
+
+		final BigInteger blockEnd = end.max(start.add(BigInteger.valueOf(BLOCK_SIZE)));
+		fetchBlock(context, start, blockEnd, mode, new DataRequestMonitor<InstructionBlock>(getExecutor(), rm) {
+			@Override
+			protected void handleSuccess() {
+				prefetchNextBlock(context, getData(), end);
+				rm.done(getData());
+			}
+
+			@Override
+			protected void handleError() {
+				if (blockEnd.equals(end)) {
+					super.handleError();
+				} else {
+					// The larger block can extend into memory which cannot be
+					// read, retry with the requested range only.
+					fetchBlock(context, start, end, mode, rm);
+				}
+			}
+		});
+	}
+
+	private void fetchBlock(final IDisassemblyDMContext context, final BigInteger start, final BigInteger end,
+			final int mode, final DataRequestMonitor<InstructionBlock> rm) {
+		fConnection.queueCommand(
+				fCommandFactory.createMIDataDisassemble(context, start.toString(), end.toString(), mode),
+				new DataRequestMonitor<MIDataDisassembleInfo>(getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						InstructionBlock block = new InstructionBlock(mode, start, end, getData());
+						addBlock(context, block);
+						rm.done(block);
+					}
+				});
+	}
+
+	private void addBlock(IDisassemblyDMContext context, InstructionBlock block) {
+		LinkedList<InstructionBlock> blocks = fBlocks.get(context);
+		if (blocks == null) {
+			blocks = new LinkedList<>();
+			fBlocks.put(context, blocks);
+		}
+		blocks.addFirst(block);
+		if (blocks.size() > MAX_BLOCKS) {
+			blocks.removeLast();
+		}
+	}
+
+	/**
+	 * Disassembles the block following the given one in the background, when
+	 * a request reaches the second half of the block, so that it is ready
+	 * when the user scrolls down.  The next block starts at the last
+	 * instruction of the given block, which is known to be the address of
+	 * an instruction.
+	 */
+	private void prefetchNextBlock(IDisassemblyDMContext context, InstructionBlock block, BigInteger end) {
+		BigInteger half = block.fStart.add(block.fEnd.subtract(block.fStart).shiftRight(1));
+		if (end.compareTo(half) < 0) {
+			return;
+		}
+		BigInteger nextStart = block.fLastAddress;
+		if (nextStart == null || nextStart.equals(block.fStart)) {
+			return;
+		}
+		BigInteger nextEnd = nextStart.add(BigInteger.valueOf(BLOCK_SIZE));
+		LinkedList<InstructionBlock> blocks = fBlocks.get(context);
+		if (blocks != null) {
+			for (InstructionBlock other : blocks) {
+				if (other.covers(block.fMode, nextStart, nextEnd)) {
+					return;
+				}
+			}
+		}
+		Set<BigInteger> pending = fPendingPrefetches.get(context);
+		if (pending == null) {
+			pending = new HashSet<>();
+			fPendingPrefetches.put(context, pending);
+		}
+		if (!pending.add(nextStart)) {
+			return;
+		}
+		final BigInteger prefetchStart = nextStart;
+		fetchBlock(context, nextStart, nextEnd, block.fMode,
+				new DataRequestMonitor<InstructionBlock>(getExecutor(), null) {
+					@Override
+					protected void handleCompleted() {
+						// Errors are ignored, the block will be requested again if needed
+						Set<BigInteger> contextPending = fPendingPrefetches.get(context);
+						if (contextPending != null) {
+							contextPending.remove(prefetchStart);
+							if (contextPending.isEmpty()) {
+								fPendingPrefetches.remove(context);
+							}
+						}
+					}
+				});
+	}
+
+	/**
+	 * Discards the cached instructions of the contexts which are the given
+	 * context, or one of its ancestors or descendants.
+	 */
+	private void resetBlocks(IDMContext context) {
+		if (context == null) {
+			fBlocks.clear();
+			return;
+		}
+		for (Iterator<IDisassemblyDMContext> it = fBlocks.keySet().iterator(); it.hasNext();) {
+			if (isRelated(it.next(), context)) {
+				it.remove();
+			}
+		}
+	}
+
+	private static boolean isRelated(IDMContext context, IDMContext other) {
+		return context.equals(other) || DMContexts.isAncestorOf(context, other) || DMContexts.isAncestorOf(other, context);
+	}
+
+	/**
+	 * @since 7.1
+	 */
+	@Override
+	public void flushCache(IDMContext context) {
+		resetBlocks(context);
+	}
+
+	/**
+	 * The instructions are discarded if the memory they were read from is
+	 * modified.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 7.1
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(IMemoryChangedEvent e) {
+		IMemoryDMContext memoryDmc = e.getDMContext();
+		IAddress[] addresses = e.getAddresses();
+		for (Map.Entry<IDisassemblyDMContext, LinkedList<InstructionBlock>> entry : fBlocks.entrySet()) {
+			if (memoryDmc != null && !isRelated(entry.getKey(), memoryDmc)) {
+				continue;
+			}
+			for (Iterator<InstructionBlock> it = entry.getValue().iterator(); it.hasNext();) {
+				InstructionBlock block = it.next();
+				if (addresses == null) {
+					it.remove();
+					continue;
+				}
+				for (IAddress address : addresses) {
+					if (block.contains(address.getValue())) {
+						it.remove();
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * A new program image may have been loaded in the started or exited process.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 7.1
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(IStartedDMEvent e) {
+		if (e.getDMContext() instanceof IContainerDMContext) {
+			resetBlocks(e.getDMContext());
+		}
+	}
+
+	/**
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 7.1
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(IExitedDMEvent e) {
+		if (e.getDMContext() instanceof IContainerDMContext) {
+			resetBlocks(e.getDMContext());
+		}
+	}
+
+	/**
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 7.1
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(ModulesChangedDMEvent e) {
+		resetBlocks(e.getDMContext());
+	}
+
+	/**
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 7.1
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(ISymbolsChangedDMEvent e) {
+		resetBlocks(e.getDMContext());
+	}
+
+	/**
+	 * GDB reports the shared libraries which are loaded or unloaded, whose
+	 * code can then replace previously disassembled code.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 7.1
+	 */
+	@Override
+	public void eventReceived(Object output) {
+		for (MIOOBRecord oobr : ((MIOutput) output).getMIOOBRecords()) {
+			if (oobr instanceof MINotifyAsyncOutput) {
+				String miEvent = ((MINotifyAsyncOutput) oobr).getAsyncClass();
+				if ("library-loaded".equals(miEvent) || "library-unloaded".equals(miEvent)) { //$NON-NLS-1$ //$NON-NLS-2$
+					// The libraries are not always identified by the ranges of
+					// addresses of their code, so drop all the instructions.
+					resetBlocks(null);
+					return;
+				}
+			}
+		}
+	}
 }
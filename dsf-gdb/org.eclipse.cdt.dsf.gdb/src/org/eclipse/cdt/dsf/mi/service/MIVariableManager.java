@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Monta Vista and others.
+ * Copyright (c) 2008, 2026 Monta Vista and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,12 +26,15 @@ package org.eclipse.cdt.dsf.mi.service;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
@@ -69,6 +72,7 @@ import org.eclipse.cdt.dsf.mi.service.command.commands.ExprMetaGetChildCount;
 import org.eclipse.cdt.dsf.mi.service.command.commands.ExprMetaGetChildren;
 import org.eclipse.cdt.dsf.mi.service.command.commands.ExprMetaGetValue;
 import org.eclipse.cdt.dsf.mi.service.command.commands.ExprMetaGetVar;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MICommand;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIDataEvaluateExpression;
 import org.eclipse.cdt.dsf.mi.service.command.output.ExprMetaGetAttributesInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.ExprMetaGetChildCountInfo;
@@ -2551,17 +2555,52 @@ public class MIVariableManager implements ICommandControl {
 	 * children are always older than their parents, to guarantee the children will
 	 * always be delete before their parents.
 	 *
+	 * The size limitation adapts to the number of variable objects being used:
+	 * when variable objects that were removed recently keep being created
+	 * again, e.g. because a large array is expanded, the limit is raised, up
+	 * to a multiple of the initial limit.
 	 */
 	private static class LRUVariableCache extends LinkedHashMap<VariableObjectId, MIVariableObject> {
 		public static final long serialVersionUID = 0;
 
+		// The limit can grow up to this multiple of the initial limit
+		private static final int MAX_GROWTH_FACTOR = 8;
+
+		// Number of removed variable objects that are remembered
+		private static final int EVICTED_HISTORY_SIZE = 256;
+
 		// Maximum allowed concurrent variables
-		private static final int MAX_VARIABLE_LIST = 1000;
+		private int fMaxSize;
+		private int fMaxSizeLimit;
+
+		// Ids of the variable objects removed recently because of the size limitation
+		private final LinkedHashMap<VariableObjectId, Boolean> fRecentlyEvicted = new LinkedHashMap<>() {
+			private static final long serialVersionUID = 0;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<VariableObjectId, Boolean> eldest) {
+				return size() > EVICTED_HISTORY_SIZE;
+			}
+		};
+
+		// Number of removed variable objects created again since the limit was last changed
+		private int fRecreatedCount;
+
+		private long fHitCount;
+		private long fMissCount;
+		private long fEvictionCount;
 
-		public LRUVariableCache() {
+		public LRUVariableCache(int maxSize) {
 			super(0, // Initial load capacity
 					0.75f, // Load factor as defined in JAVA 1.5
 					true); // Order is dictated by access, not insertion
+			setMaxSize(maxSize);
+		}
+
+		public void setMaxSize(int maxSize) {
+			fMaxSize = Math.max(1, maxSize);
+			fMaxSizeLimit = fMaxSize * MAX_GROWTH_FACTOR;
+			fRecreatedCount = 0;
 		}
 
 		// We never remove doing put operations.  Instead, we rely on our get() operations
@@ -2574,14 +2613,21 @@ public class MIVariableManager implements ICommandControl {
 		@Override
 		public MIVariableObject get(Object key) {
 			MIVariableObject varObj = super.get(key);
+			if (varObj != null) {
+				fHitCount++;
+			} else {
+				fMissCount++;
+			}
 			touchAncestors(varObj);
 
 			// If we're over our max size, attempt to remove eldest entry.
-			if (size() > MAX_VARIABLE_LIST) {
+			if (size() > fMaxSize) {
 				Map.Entry<VariableObjectId, MIVariableObject> eldest = entrySet().iterator().next();
 				// First make sure we are not deleting ourselves!
 				if (!eldest.getValue().equals(varObj)
 						&& eldest.getValue().currentState == MIVariableObject.STATE_READY) {
+					fEvictionCount++;
+					fRecentlyEvicted.put(eldest.getKey(), Boolean.TRUE);
 					remove(eldest.getKey());
 				}
 			}
@@ -2606,6 +2652,15 @@ public class MIVariableManager implements ICommandControl {
 			// to guarantee they are not deleted before their children.
 			touchAncestors(varObj);
 
+			// A variable object removed because of the size limitation is
+			// needed again.  If this happens too often, the limit is too
+			// small for the variables being displayed, so raise it.
+			if (fRecentlyEvicted.remove(key) != null && ++fRecreatedCount > fMaxSize / 10
+					&& fMaxSize < fMaxSizeLimit) {
+				fMaxSize = Math.min(fMaxSizeLimit, fMaxSize + fMaxSize / 2);
+				fRecreatedCount = 0;
+			}
+
 			return retVal;
 		}
 
@@ -2619,6 +2674,13 @@ public class MIVariableManager implements ICommandControl {
 		}
 	}
 
+	/**
+	 * Initial maximum number of variable objects kept in GDB, unless set
+	 * with {@link #setMaxVariableObjects(int)}.
+	 */
+	private static final int DEFAULT_MAX_VARIABLE_OBJECTS = Integer
+			.getInteger("org.eclipse.cdt.dsf.gdb.maxVariableObjects", 1000); //$NON-NLS-1$
+
 	private GDBTypeParser fGDBTypeParser = null;
 
 	private final DsfSession fSession;
@@ -2642,6 +2704,32 @@ public class MIVariableManager implements ICommandControl {
 	/** The list of root variable objects that have been updated */
 	private final LinkedList<MIRootVariableObject> updatedRootList = new LinkedList<>();
 
+	/** Number of variable object commands sent to GDB */
+	private long fVarCommandCount;
+
+	/** Counts the variable object commands sent to GDB */
+	private final ICommandListener fVarCommandCounter = new ICommandListener() {
+		@Override
+		public void commandQueued(ICommandToken token) {
+		}
+
+		@Override
+		public void commandSent(ICommandToken token) {
+			if (token.getCommand() instanceof MICommand<?>
+					&& ((MICommand<?>) token.getCommand()).getOperation().startsWith("-var-")) { //$NON-NLS-1$
+				fVarCommandCount++;
+			}
+		}
+
+		@Override
+		public void commandRemoved(ICommandToken token) {
+		}
+
+		@Override
+		public void commandDone(ICommandToken token, ICommandResult result) {
+		}
+	};
+
 	/**
 	 * MIVariableManager constructor
 	 *
@@ -2652,20 +2740,82 @@ public class MIVariableManager implements ICommandControl {
 	 */
 	public MIVariableManager(DsfSession session, DsfServicesTracker tracker) {
 		fSession = session;
-		lruVariableList = new LRUVariableCache();
+		lruVariableList = new LRUVariableCache(DEFAULT_MAX_VARIABLE_OBJECTS);
 		fCommandControl = tracker.getService(ICommandControl.class);
 		fStackService = tracker.getService(IStack.class);
 		fExpressionService = tracker.getService(IExpressions.class);
 		fCommandFactory = tracker.getService(IMICommandControl.class).getCommandFactory();
 
+		fCommandControl.addCommandListener(fVarCommandCounter);
+
 		// Register to receive service events for this session.
 		fSession.addServiceEventListener(this, null);
 	}
 
 	public void dispose() {
+		fCommandControl.removeCommandListener(fVarCommandCounter);
 		fSession.removeServiceEventListener(this);
 	}
 
+	/**
+	 * Sets the maximum number of variable objects kept in GDB.  The least
+	 * recently used variable objects are deleted when this number is
+	 * exceeded.  The maximum is raised automatically, up to eight times the
+	 * given value, when deleted variable objects are frequently created again.
+	 *
+	 * @since 7.1
+	 */
+	public void setMaxVariableObjects(int max) {
+		lruVariableList.setMaxSize(max);
+	}
+
+	/**
+	 * Returns the current maximum number of variable objects kept in GDB.
+	 *
+	 * @since 7.1
+	 */
+	public int getMaxVariableObjects() {
+		return lruVariableList.fMaxSize;
+	}
+
+	/**
+	 * Returns the number of times a variable object was found in the cache.
+	 *
+	 * @since 7.1
+	 */
+	public long getCacheHitCount() {
+		return lruVariableList.fHitCount;
+	}
+
+	/**
+	 * Returns the number of times a variable object was not found in the cache.
+	 *
+	 * @since 7.1
+	 */
+	public long getCacheMissCount() {
+		return lruVariableList.fMissCount;
+	}
+
+	/**
+	 * Returns the number of variable objects deleted because the maximum
+	 * number of variable objects was exceeded.
+	 *
+	 * @since 7.1
+	 */
+	public long getCacheEvictionCount() {
+		return lruVariableList.fEvictionCount;
+	}
+
+	/**
+	 * Returns the number of variable object commands sent to GDB, i.e. the
+	 * number of round-trips to GDB done to manage variable objects.
+	 *
+	 * @since 7.1
+	 */
+	public long getVarCommandCount() {
+		return fVarCommandCount;
+	}
+
 	/**
 	 * @since 3.0
 	 */
@@ -3164,6 +3314,75 @@ public class MIVariableManager implements ICommandControl {
 
 	@DsfServiceEventHandler
 	public void eventDispatched(IRunControl.ISuspendedDMEvent e) {
+		// The variable objects of frames still on the stack are kept to be
+		// reused, but the ones of frames that were popped cannot be used
+		// anymore, so delete them to leave room for the new frames.
+		// Only the threads which triggered the suspension are checked, so
+		// that suspending a process does not ask GDB for the depth of the
+		// stack of each of its threads.  The variable objects of the other
+		// threads are left to the size limitation of the cache.
+		Set<IExecutionDMContext> triggeringContexts = new HashSet<>();
+		if (e instanceof IRunControl.IContainerSuspendedDMEvent) {
+			IExecutionDMContext[] contexts = ((IRunControl.IContainerSuspendedDMEvent) e).getTriggeringContexts();
+			if (contexts != null) {
+				triggeringContexts.addAll(Arrays.asList(contexts));
+			}
+		} else {
+			triggeringContexts.add(e.getDMContext());
+		}
+		Set<IExecutionDMContext> execContexts = new HashSet<>();
+		for (VariableObjectId id : lruVariableList.keySet()) {
+			if (id.fFrameId != null && id.fExecContext != null && triggeringContexts.contains(id.fExecContext)) {
+				execContexts.add(id.fExecContext);
+			}
+		}
+		for (final IExecutionDMContext execCtx : execContexts) {
+			fStackService.getStackDepth(execCtx, 0, new DataRequestMonitor<Integer>(fSession.getExecutor(), null) {
+				@Override
+				protected void handleSuccess() {
+					deleteVariables(execCtx, getData());
+				}
+			});
+		}
+	}
+
+	/**
+	 * @since 7.1
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(IRunControl.IExitedDMEvent e) {
+		if (e.getDMContext() instanceof IRunControl.IContainerDMContext) {
+			return;
+		}
+		// The variable objects of an exited thread cannot be used anymore
+		deleteVariables(e.getDMContext(), null);
+	}
+
+	/**
+	 * Deletes the variable objects of the given execution context whose frame
+	 * id is greater than the given one, i.e. which belong to frames that are
+	 * no longer on the stack, or all of them if the frame id is null.  The
+	 * variable objects of a frame are only deleted if none of them is busy.
+	 */
+	private void deleteVariables(IExecutionDMContext execCtx, Integer maxFrameId) {
+		Set<Integer> busyFrames = new HashSet<>();
+		List<VariableObjectId> ids = new ArrayList<>();
+		for (Map.Entry<VariableObjectId, MIVariableObject> entry : lruVariableList.entrySet()) {
+			VariableObjectId id = entry.getKey();
+			if (execCtx.equals(id.fExecContext)
+					&& (maxFrameId == null || (id.fFrameId != null && id.fFrameId > maxFrameId))) {
+				if (entry.getValue().currentState == MIVariableObject.STATE_READY) {
+					ids.add(id);
+				} else {
+					busyFrames.add(id.fFrameId);
+				}
+			}
+		}
+		for (VariableObjectId id : ids) {
+			if (!busyFrames.contains(id.fFrameId)) {
+				lruVariableList.remove(id);
+			}
+		}
 	}
 
 	@DsfServiceEventHandler
@@ -94,7 +94,7 @@ int main(int argc, char *argv[])
 	SLEEP(30);
 
 	/* Unlock the threads and let the program finish. */
-	ThreadBarrierWait(&barrier_finish);
+	ThreadBarrierWait(&barrier_finish); /* LINE_MAIN_AFTER_SLEEP */
 
 	for (int t = 0; t < NUM_THREADS; t++)
 	{
@@ -102,7 +102,7 @@ int main(int argc, char *argv[])
 		JoinThread(threads[t], NULL);
 	}
 
-	ThreadBarrierDestroy(&barrier_start);
+	ThreadBarrierDestroy(&barrier_start); /* LINE_MAIN_ALL_THREADS_JOINED */
 	ThreadBarrierDestroy(&barrier_finish);
 	ThreadSemaphoreDestroy(&sem_start);
 
@@ -487,4 +487,38 @@ public class MIDisassemblyTest extends BaseParametrizedTestCase {
 		}
 		assertThat(total, is(count));
 	}
+
+	// ------------------------------------------------------------------------
+	// readWithAddressRangeFromCache
+	// ------------------------------------------------------------------------
+	@Test(timeout = 20000)
+	public void readWithAddressRangeFromCache() throws Throwable {
+
+		// Setup call parameters
+		Addr64 main = (Addr64) evaluateExpression("&main");
+		BigInteger startAddress = main.getValue();
+		BigInteger endAddress = startAddress.add(BigInteger.valueOf(32));
+
+		// Perform the test
+		IInstruction[] result = getInstruction(fDisassemblyDmc, startAddress, endAddress);
+
+		// Verify the result only contains the requested range, although a
+		// larger block was disassembled
+		assertThat(result.length, is(not(0)));
+		for (IInstruction instruction : result) {
+			assertThat(instruction.getAdress().compareTo(startAddress) >= 0, is(true));
+			assertThat(instruction.getAdress().compareTo(endAddress) < 0, is(true));
+		}
+
+		// A range starting at the second instruction is served from the cache,
+		// and gives the same instructions
+		if (result.length > 1) {
+			IInstruction[] cached = getInstruction(fDisassemblyDmc, result[1].getAdress(), endAddress);
+			assertThat(cached.length, is(result.length - 1));
+			for (int i = 0; i < cached.length; i++) {
+				assertThat(cached[i].getAdress(), is(result[i + 1].getAdress()));
+				assertThat(cached[i].getInstruction(), is(result[i + 1].getInstruction()));
+			}
+		}
+	}
 }
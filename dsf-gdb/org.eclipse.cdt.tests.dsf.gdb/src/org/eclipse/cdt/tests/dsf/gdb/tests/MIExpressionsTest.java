@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Ericsson and others.
+ * Copyright (c) 2007, 2026 Ericsson and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,9 +21,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
@@ -34,6 +37,7 @@ import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.Query;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.datamodel.IDMContext;
 import org.eclipse.cdt.dsf.debug.service.IExpressions;
 import org.eclipse.cdt.dsf.debug.service.IExpressions.IExpressionChangedDMEvent;
@@ -48,12 +52,19 @@ import org.eclipse.cdt.dsf.debug.service.IExpressions3.IExpressionDMDataExtensio
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues.FormattedValueDMContext;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues.FormattedValueDMData;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.StepType;
 import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMContext;
 import org.eclipse.cdt.dsf.debug.service.IStack.IVariableDMData;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
 import org.eclipse.cdt.dsf.mi.service.ClassAccessor.MIExpressionDMCAccessor;
 import org.eclipse.cdt.dsf.mi.service.MIExpressions;
 import org.eclipse.cdt.dsf.mi.service.MIExpressions.MIExpressionDMC;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MICommand;
 import org.eclipse.cdt.dsf.mi.service.command.events.MIStoppedEvent;
 import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfServicesTracker;
@@ -282,6 +293,93 @@ public class MIExpressionsTest extends BaseParametrizedTestCase {
 		executeExpressionSubTests(tests1, SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0));
 	}
 
+	/**
+	 * This test verifies that the variable objects of a frame popped by a step
+	 * are deleted, that the ones of the frames still on the stack are reused,
+	 * and that only the stack of the suspended thread is checked.
+	 */
+	@Test
+	public void testVariablesOfPoppedFramesDeleted() throws Throwable {
+		MIStoppedEvent stoppedEvent = runToTag("locals2_init");
+
+		IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+		IFrameDMContext callerFrameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 1);
+		assertEquals("6789", SyncUtil.getExpressionValue(SyncUtil.createExpression(frameDmc, "lIntVar"),
+				IFormattedValues.NATURAL_FORMAT));
+		assertEquals("12345", SyncUtil.getExpressionValue(SyncUtil.createExpression(callerFrameDmc, "lIntVar"),
+				IFormattedValues.NATURAL_FORMAT));
+
+		final List<ICommand<?>> sentCommands = Collections.synchronizedList(new ArrayList<>());
+		final ICommandListener listener = new ICommandListener() {
+			@Override
+			public void commandQueued(ICommandToken token) {
+			}
+
+			@Override
+			public void commandSent(ICommandToken token) {
+				sentCommands.add(token.getCommand());
+			}
+
+			@Override
+			public void commandRemoved(ICommandToken token) {
+			}
+
+			@Override
+			public void commandDone(ICommandToken token, ICommandResult result) {
+			}
+		};
+		fSession.getExecutor()
+				.submit(() -> fServicesTracker.getService(ICommandControlService.class).addCommandListener(listener))
+				.get();
+		try {
+			stoppedEvent = SyncUtil.step(stoppedEvent.getDMContext(), StepType.STEP_RETURN);
+
+			// The variable objects of locals2() are deleted once the depth of
+			// the stack is known, after the suspension.
+			long deadline = System.currentTimeMillis() + TestsPlugin.massageTimeout(5000);
+			while (countCommands(sentCommands, "-var-delete") == 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(100);
+			}
+			assertTrue("Variable objects of the popped frame not deleted",
+					countCommands(sentCommands, "-var-delete") > 0);
+
+			IExecutionDMContext threadDmc = DMContexts.getAncestorOfType(stoppedEvent.getDMContext(),
+					IExecutionDMContext.class);
+			synchronized (sentCommands) {
+				for (ICommand<?> command : sentCommands) {
+					if (command instanceof MICommand<?>
+							&& "-stack-info-depth".equals(((MICommand<?>) command).getOperation())) {
+						assertEquals(threadDmc,
+								DMContexts.getAncestorOfType(command.getContext(), IExecutionDMContext.class));
+					}
+				}
+			}
+
+			// The variable object of testLocals() is still valid
+			sentCommands.clear();
+			frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+			assertEquals("12345", SyncUtil.getExpressionValue(SyncUtil.createExpression(frameDmc, "lIntVar"),
+					IFormattedValues.NATURAL_FORMAT));
+			assertEquals(0, countCommands(sentCommands, "-var-create"));
+		} finally {
+			fSession.getExecutor().submit(
+					() -> fServicesTracker.getService(ICommandControlService.class).removeCommandListener(listener))
+					.get();
+		}
+	}
+
+	private static int countCommands(List<ICommand<?>> commands, String operation) {
+		int count = 0;
+		synchronized (commands) {
+			for (ICommand<?> command : commands) {
+				if (command instanceof MICommand<?> && operation.equals(((MICommand<?>) command).getOperation())) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * This tests verifies that we can deal with variables in a subblock hiding
 	 * variables with the same name in the outer block.
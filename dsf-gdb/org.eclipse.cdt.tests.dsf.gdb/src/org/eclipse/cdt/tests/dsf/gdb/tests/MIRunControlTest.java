@@ -31,6 +31,7 @@ import java.util.concurrent.TimeoutException;
 import org.eclipse.cdt.debug.core.ICDTLaunchConfigurationConstants;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.debug.service.ICachingService;
 import org.eclipse.cdt.dsf.debug.service.IProcesses.IProcessDMContext;
 import org.eclipse.cdt.dsf.debug.service.IProcesses.IThreadDMContext;
 import org.eclipse.cdt.dsf.debug.service.IRunControl;
@@ -93,6 +94,8 @@ public class MIRunControlTest extends BaseParametrizedTestCase {
 	public static final String[] LINE_TAGS = new String[] { "LINE_MAIN_BEFORE_THREAD_START", // Just before StartThread
 			"LINE_MAIN_AFTER_THREAD_START", // Just after StartThread
 			"LINE_MAIN_ALL_THREADS_STARTED", // Where all threads are guaranteed to be started.
+			"LINE_MAIN_AFTER_SLEEP", // Where the threads are allowed to finish.
+			"LINE_MAIN_ALL_THREADS_JOINED", // Where all threads are guaranteed to be exited.
 	};
 
 	/*
@@ -306,6 +309,54 @@ public class MIRunControlTest extends BaseParametrizedTestCase {
 		}
 	}
 
+	/*
+	 * Get Execution DMCs after threads started and exited since the first time
+	 * they were fetched: they must be the ones GDB reports, in the same order.
+	 */
+	@Test
+	public void getExecutionContextsAfterThreadsStartAndExit() throws Throwable {
+		int cygwinThreads = sProgramIsCygwin ? 1 : 0;
+
+		SyncUtil.runToLocation(SOURCE_NAME + ':' + getLineForTag("LINE_MAIN_BEFORE_THREAD_START"));
+		IMIExecutionDMContext[] threads = SyncUtil.getExecutionContexts();
+		Assert.assertEquals("Unexpected number of threads", 1 + cygwinThreads, threads.length);
+
+		MIStoppedEvent stoppedEvent = SyncUtil
+				.runToLocation(SOURCE_NAME + ':' + getLineForTag("LINE_MAIN_ALL_THREADS_STARTED"));
+		threads = SyncUtil.getExecutionContexts();
+		Assert.assertEquals("Unexpected number of threads", 6 + cygwinThreads, threads.length);
+		assertSameThreadsAfterFlush(threads);
+
+		// Skip the sleep of the main thread, and let the other threads exit
+		SyncUtil.addBreakpoint(SOURCE_NAME + ':' + getLineForTag("LINE_MAIN_ALL_THREADS_JOINED"), true);
+		ServiceEventWaitor<ISuspendedDMEvent> suspendedEventWaitor = new ServiceEventWaitor<>(
+				getGDBLaunch().getSession(), ISuspendedDMEvent.class);
+		IExecutionDMContext execDmc = stoppedEvent.getDMContext();
+		int lineForTag = getLineForTag("LINE_MAIN_AFTER_SLEEP");
+		fRunCtrl.getExecutor().submit(() -> fRunCtrl.moveToLine(execDmc, SOURCE_NAME, lineForTag, true,
+				new RequestMonitor(fRunCtrl.getExecutor(), null))).get();
+		suspendedEventWaitor.waitForEvent(TestsPlugin.massageTimeout(5000));
+
+		threads = SyncUtil.getExecutionContexts();
+		Assert.assertEquals("Unexpected number of threads", 1 + cygwinThreads, threads.length);
+		assertSameThreadsAfterFlush(threads);
+	}
+
+	/**
+	 * Check that the threads are the same after the processes service fetched them
+	 * again from GDB.
+	 */
+	private void assertSameThreadsAfterFlush(IMIExecutionDMContext[] threads) throws Throwable {
+		fRunCtrl.getExecutor().submit(() -> {
+			IMIProcesses procService = fServicesTracker.getService(IMIProcesses.class);
+			if (procService instanceof ICachingService) {
+				((ICachingService) procService).flushCache(null);
+			}
+		}).get();
+		Assert.assertArrayEquals("Threads differ from the ones reported by GDB", threads,
+				SyncUtil.getExecutionContexts());
+	}
+
 	/*
 	 * Testing getModelData() for ExecutionDMC
 	 */
@@ -88,6 +88,14 @@ public class DsfDebugPreferencePage extends FieldEditorPreferencePage implements
 		syncSteppingEditor.fillIntoGrid(performanceGroup, 3);
 		addField(syncSteppingEditor);
 
+		// only refresh changed elements
+		BooleanFieldEditor differentialUpdateEditor = new BooleanFieldEditor(
+				IDsfDebugUIConstants.PREF_DIFFERENTIAL_VIEW_UPDATE_ENABLE,
+				MessagesForPreferences.DsfDebugPreferencePage_differentialViewUpdate_label, performanceGroup);
+
+		differentialUpdateEditor.fillIntoGrid(performanceGroup, 3);
+		addField(differentialUpdateEditor);
+
 		// minimum step interval
 		IntegerFieldEditor minIntervalEditor = new DecoratingIntegerFieldEditor(
 				IDsfDebugUIConstants.PREF_MIN_STEP_INTERVAL,
@@ -26,6 +26,7 @@ class MessagesForPreferences extends NLS {
 	public static String DsfDebugPreferencePage_performanceGroup_label;
 
 	public static String DsfDebugPreferencePage_waitForViewUpdate_label;
+	public static String DsfDebugPreferencePage_differentialViewUpdate_label;
 
 	static {
 		// initialize resource bundle
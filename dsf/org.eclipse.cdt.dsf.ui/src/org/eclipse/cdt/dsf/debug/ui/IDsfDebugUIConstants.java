@@ -59,6 +59,14 @@ public interface IDsfDebugUIConstants {
 	 */
 	public static final String PREF_WAIT_FOR_VIEW_UPDATE_AFTER_STEP_ENABLE = "delaySteppingForViewUpdatesEnable"; //$NON-NLS-1$
 
+	/**
+	 * Boolean preference whether the variables and registers views should only refresh
+	 * the elements whose values changed after a step. Default is <code>false</code>.
+	 *
+	 * @since 2.8
+	 */
+	public static final String PREF_DIFFERENTIAL_VIEW_UPDATE_ENABLE = "differentialViewUpdateEnable"; //$NON-NLS-1$
+
 	/**
 	 * Integer preference to enforce a minimum time interval between steps. Default is <code>100</code>.
 	 *
@@ -49,6 +49,9 @@ public class VariableVMProvider extends AbstractElementVMProvider {
 			if (property.equals(IDsfDebugUIConstants.PREF_WAIT_FOR_VIEW_UPDATE_AFTER_STEP_ENABLE)) {
 				IPreferenceStore store = DsfDebugUITools.getPreferenceStore();
 				setDelayEventHandleForViewUpdate(store.getBoolean(property));
+			} else if (property.equals(IDsfDebugUIConstants.PREF_DIFFERENTIAL_VIEW_UPDATE_ENABLE)) {
+				IPreferenceStore store = DsfDebugUITools.getPreferenceStore();
+				setDifferentialUpdate(store.getBoolean(property));
 			}
 		}
 	};
@@ -74,6 +77,7 @@ public class VariableVMProvider extends AbstractElementVMProvider {
 		store.addPropertyChangeListener(fPreferencesListener);
 		setDelayEventHandleForViewUpdate(
 				store.getBoolean(IDsfDebugUIConstants.PREF_WAIT_FOR_VIEW_UPDATE_AFTER_STEP_ENABLE));
+		setDifferentialUpdate(store.getBoolean(IDsfDebugUIConstants.PREF_DIFFERENTIAL_VIEW_UPDATE_ENABLE));
 
 		configureLayout();
 	}
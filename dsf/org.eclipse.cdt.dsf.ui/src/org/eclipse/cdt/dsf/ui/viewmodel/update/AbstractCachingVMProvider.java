@@ -40,6 +40,7 @@ import org.eclipse.cdt.dsf.ui.viewmodel.IVMModelProxy;
 import org.eclipse.cdt.dsf.ui.viewmodel.IVMNode;
 import org.eclipse.cdt.dsf.ui.viewmodel.VMChildrenCountUpdate;
 import org.eclipse.cdt.dsf.ui.viewmodel.VMChildrenUpdate;
+import org.eclipse.cdt.dsf.ui.viewmodel.VMDelta;
 import org.eclipse.cdt.dsf.ui.viewmodel.VMHasChildrenUpdate;
 import org.eclipse.cdt.dsf.ui.viewmodel.properties.IElementPropertiesProvider;
 import org.eclipse.cdt.dsf.ui.viewmodel.properties.IPropertiesUpdate;
@@ -78,6 +79,8 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 
 	private boolean fDelayEventHandleForViewUpdate = false;
 
+	private boolean fDifferentialUpdate = false;
+
 	// debug flag
 	static boolean DEBUG_CACHE = false;
 
@@ -387,6 +390,33 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 		}
 	}
 
+	/**
+	 * Copy of the cache entries of a root element, taken just before the
+	 * entries are flushed by an event.  It is used in differential update mode
+	 * to compare the data retrieved after the event with the data that the
+	 * viewer is currently showing.
+	 */
+	private static class CacheSnapshot {
+		final Object fViewerInput;
+
+		/** Known children of each element, keyed by child index. */
+		final Map<TreePath, Map<Integer, Object>> fChildren = new HashMap<>();
+
+		/** Children count of each element that has known children. */
+		final Map<TreePath, Integer> fChildrenCounts = new HashMap<>();
+
+		/** Properties of each element. */
+		final Map<TreePath, Map<String, Object>> fProperties = new HashMap<>();
+
+		CacheSnapshot(Object viewerInput) {
+			fViewerInput = viewerInput;
+		}
+
+		boolean isEmpty() {
+			return fChildren.isEmpty();
+		}
+	}
+
 	protected static String SELECTED_UPDATE_MODE = "org.eclipse.cdt.dsf.ui.viewmodel.update.selectedUpdateMode"; //$NON-NLS-1$
 	/**
 	 * @since 1.1
@@ -912,11 +942,171 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 
 	}
 
+	/**
+	 * Records the children and properties of the cache entries of the given
+	 * root element that are going to be flushed with the given flush key.
+	 */
+	private CacheSnapshot takeSnapshot(FlushMarkerKey flushKey) {
+		Object rootElement = flushKey.fRootElement;
+		CacheSnapshot snapshot = new CacheSnapshot(rootElement);
+		Set<TreePath> ambiguousPaths = new HashSet<>();
+		for (Entry entry = fCacheListHead.fNext; entry != fCacheListHead; entry = entry.fNext) {
+			if (!(entry instanceof ElementDataEntry)) {
+				continue;
+			}
+			ElementDataEntry elementDataEntry = (ElementDataEntry) entry;
+			ElementDataKey key = (ElementDataKey) entry.fKey;
+			if (!rootElement.equals(key.fViewerInput)
+					|| (flushKey.getUpdateFlags(key) & IVMUpdatePolicy.FLUSH) == 0) {
+				continue;
+			}
+			if (elementDataEntry.fProperties != null && key.fPath.getSegmentCount() != 0
+					&& key.fNode.equals(getNodeForElement(key.fPath.getLastSegment()))) {
+				snapshot.fProperties.put(key.fPath, new HashMap<>(elementDataEntry.fProperties));
+			}
+			if (elementDataEntry.fChildren != null && elementDataEntry.fChildrenCount != null) {
+				if (snapshot.fChildren.containsKey(key.fPath)) {
+					// Children coming from more than one node, don't try to compare them.
+					ambiguousPaths.add(key.fPath);
+				} else {
+					snapshot.fChildren.put(key.fPath, new HashMap<>(elementDataEntry.fChildren));
+					snapshot.fChildrenCounts.put(key.fPath, elementDataEntry.fChildrenCount);
+				}
+			}
+		}
+		snapshot.fChildren.keySet().removeAll(ambiguousPaths);
+		return snapshot;
+	}
+
+	/**
+	 * Reduces the given delta in differential update mode.  Every element of the
+	 * delta which only has its content refreshed, and for which the viewer has
+	 * cached children, has its children and their properties retrieved again.
+	 * If the children are the same, the content flag is replaced with state
+	 * flags on the children whose properties actually changed.
+	 */
+	private void reduceDelta(VMDelta delta, TreePath path, CacheSnapshot snapshot, RequestMonitor rm) {
+		VMDelta[] childDeltas = delta.getChildDeltas();
+		int flags = delta.getFlags();
+		if (childDeltas.length == 0 && (flags & IModelDelta.CONTENT) != 0
+				&& (flags & ~(IModelDelta.CONTENT | IModelDelta.STATE)) == 0) {
+			reduceContentDelta(delta, path, snapshot, rm);
+		} else {
+			CountingRequestMonitor crm = new CountingRequestMonitor(getExecutor(), rm);
+			for (VMDelta childDelta : childDeltas) {
+				reduceDelta(childDelta, path.createChildPath(childDelta.getElement()), snapshot, crm);
+			}
+			crm.setDoneCount(childDeltas.length);
+		}
+	}
+
+	private void reduceContentDelta(final VMDelta delta, final TreePath path, final CacheSnapshot snapshot,
+			final RequestMonitor rm) {
+		final Map<Integer, Object> oldChildren = snapshot.fChildren.get(path);
+		final Integer oldCount = snapshot.fChildrenCounts.get(path);
+		if (oldChildren == null || oldCount == null) {
+			// The viewer may be showing children that we don't know about, refresh everything.
+			rm.done();
+			return;
+		}
+
+		update(new IChildrenCountUpdate[] { new VMChildrenCountUpdate(path, snapshot.fViewerInput,
+				getPresentationContext(), new DataRequestMonitor<Integer>(getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						if (!oldCount.equals(getData())) {
+							rm.done();
+							return;
+						}
+						if (oldChildren.isEmpty()) {
+							delta.setFlags(delta.getFlags() & ~IModelDelta.CONTENT);
+							rm.done();
+							return;
+						}
+
+						final int first = Collections.min(oldChildren.keySet());
+						int last = Collections.max(oldChildren.keySet());
+						update(new IChildrenUpdate[] { new VMChildrenUpdate(path, snapshot.fViewerInput,
+								getPresentationContext(), first, last - first + 1,
+								new DataRequestMonitor<List<Object>>(getExecutor(), rm) {
+									@Override
+									protected void handleSuccess() {
+										List<Object> newChildren = getData();
+										for (Map.Entry<Integer, Object> oldChild : oldChildren.entrySet()) {
+											int idx = oldChild.getKey() - first;
+											if (idx >= newChildren.size()
+													|| !oldChild.getValue().equals(newChildren.get(idx))) {
+												rm.done();
+												return;
+											}
+										}
+
+										// Same children as before, only refresh what changed.
+										delta.setFlags(delta.getFlags() & ~IModelDelta.CONTENT);
+										reduceChildrenDelta(delta, path, oldChildren, snapshot, rm);
+									}
+								}) });
+					}
+				}) });
+	}
+
+	private void reduceChildrenDelta(final VMDelta delta, TreePath path, Map<Integer, Object> children,
+			final CacheSnapshot snapshot, RequestMonitor rm) {
+		final CountingRequestMonitor crm = new CountingRequestMonitor(getExecutor(), rm);
+		List<IPropertiesUpdate> updates = new ArrayList<>(children.size());
+		for (Map.Entry<Integer, Object> child : children.entrySet()) {
+			final int index = child.getKey();
+			final Object element = child.getValue();
+			final TreePath childPath = path.createChildPath(element);
+			final Map<String, Object> oldProperties = snapshot.fProperties.get(childPath);
+			final boolean expanded = snapshot.fChildren.containsKey(childPath);
+			if (oldProperties == null) {
+				// We don't know what the viewer is showing for this element, refresh it.
+				delta.addNode(element, index, IModelDelta.STATE | IModelDelta.CONTENT);
+				continue;
+			}
+
+			final Set<String> properties = new HashSet<>(oldProperties.keySet());
+			properties.remove(PROP_UPDATE_STATUS);
+			updates.add(new VMPropertiesUpdate(properties, childPath, snapshot.fViewerInput, getPresentationContext(),
+					new DataRequestMonitor<Map<String, Object>>(getExecutor(), null) {
+						@Override
+						protected void handleCompleted() {
+							boolean changed = !isSuccess();
+							for (Iterator<String> itr = properties.iterator(); !changed && itr.hasNext();) {
+								String property = itr.next();
+								Object oldValue = oldProperties.get(property);
+								Object newValue = getData().get(property);
+								changed = oldValue == null ? newValue != null : !oldValue.equals(newValue);
+							}
+
+							if (expanded) {
+								VMDelta childDelta = delta.addNode(element, index,
+										(changed ? IModelDelta.STATE : IModelDelta.NO_CHANGE) | IModelDelta.CONTENT);
+								reduceContentDelta(childDelta, childPath, snapshot, crm);
+							} else {
+								if (changed) {
+									// Also refresh the content in case the element gained or lost children.
+									delta.addNode(element, index, IModelDelta.STATE | IModelDelta.CONTENT);
+								}
+								crm.done();
+							}
+						}
+					}));
+		}
+		crm.setDoneCount(updates.size());
+		if (!updates.isEmpty()) {
+			update(updates.toArray(new IPropertiesUpdate[updates.size()]));
+		}
+	}
+
 	@Override
 	protected void handleEvent(final IVMModelProxy proxyStrategy, final Object event, final RequestMonitor rm) {
 		IElementUpdateTester elementTester = getActiveUpdatePolicy().getElementUpdateTester(event);
 
-		flush(new FlushMarkerKey(proxyStrategy.getRootElement(), elementTester));
+		FlushMarkerKey flushKey = new FlushMarkerKey(proxyStrategy.getRootElement(), elementTester);
+		final CacheSnapshot snapshot = fDifferentialUpdate ? takeSnapshot(flushKey) : null;
+		flush(flushKey);
 
 		if (!proxyStrategy.isDisposed()) {
 			if (DEBUG_DELTA && (DEBUG_PRESENTATION_ID == null
@@ -926,22 +1116,17 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 			proxyStrategy.createDelta(event, new DataRequestMonitor<IModelDelta>(getExecutor(), rm) {
 				@Override
 				public void handleSuccess() {
-					if (DEBUG_DELTA && (DEBUG_PRESENTATION_ID == null
-							|| getPresentationContext().getId().equals(DEBUG_PRESENTATION_ID))) {
-						trace(event, null, proxyStrategy, EventHandlerAction.firedDeltaFor);
-					}
-
-					// If we need to wait for the view to finish updating, then before posting the delta to the
-					// viewer install a listener, which will in turn call rm.done().
-					if (fDelayEventHandleForViewUpdate) {
-						ITreeModelViewer viewer = (ITreeModelViewer) proxyStrategy.getViewer();
-						new ViewUpdateFinishedListener(viewer).start(rm);
-					}
-
-					proxyStrategy.fireModelChanged(getData());
-
-					if (!fDelayEventHandleForViewUpdate) {
-						rm.done();
+					if (snapshot != null && !snapshot.isEmpty() && getData() instanceof VMDelta) {
+						final VMDelta delta = (VMDelta) getData();
+						reduceDelta(delta, TreePath.EMPTY, snapshot, new RequestMonitor(getExecutor(), null) {
+							@Override
+							protected void handleCompleted() {
+								// Errors only mean that some elements keep being fully refreshed.
+								fireDelta(proxyStrategy, event, delta, rm);
+							}
+						});
+					} else {
+						fireDelta(proxyStrategy, event, getData(), rm);
 					}
 				}
 
@@ -956,6 +1141,26 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 		}
 	}
 
+	private void fireDelta(IVMModelProxy proxyStrategy, Object event, IModelDelta delta, RequestMonitor rm) {
+		if (DEBUG_DELTA
+				&& (DEBUG_PRESENTATION_ID == null || getPresentationContext().getId().equals(DEBUG_PRESENTATION_ID))) {
+			trace(event, null, proxyStrategy, EventHandlerAction.firedDeltaFor);
+		}
+
+		// If we need to wait for the view to finish updating, then before posting the delta to the
+		// viewer install a listener, which will in turn call rm.done().
+		if (fDelayEventHandleForViewUpdate) {
+			ITreeModelViewer viewer = (ITreeModelViewer) proxyStrategy.getViewer();
+			new ViewUpdateFinishedListener(viewer).start(rm);
+		}
+
+		proxyStrategy.fireModelChanged(delta);
+
+		if (!fDelayEventHandleForViewUpdate) {
+			rm.done();
+		}
+	}
+
 	/**
 	 * Override default implementation to avoid automatically removing disposed proxies from
 	 * list of active proxies.  The caching provider only removes a proxy after its root element
@@ -1395,6 +1600,28 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 		fDelayEventHandleForViewUpdate = on;
 	}
 
+	/**
+	 * Enables or disables the differential update mode.  In this mode, when an
+	 * event causes cached elements to be flushed, the provider retrieves the
+	 * children and properties of the elements that the viewer is showing, and
+	 * compares them with the flushed data.  Instead of asking the viewer to
+	 * refresh the whole content of an element, it then only asks it to refresh
+	 * the elements that actually changed.  This is most useful for views that
+	 * show a large number of elements of which only a few change on each step.
+	 *
+	 * @since 2.8
+	 */
+	protected void setDifferentialUpdate(boolean on) {
+		fDifferentialUpdate = on;
+	}
+
+	/**
+	 * @since 2.8
+	 */
+	protected boolean isDifferentialUpdate() {
+		return fDifferentialUpdate;
+	}
+
 	/**
 	 * Used for tracing event handling
 	 * <p>
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2016 Wind River Systems and others.
+ * Copyright (c) 2006, 2026 Wind River Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cdt.dsf.internal.DsfPlugin;
+import org.eclipse.cdt.dsf.internal.ExecutorStatistics;
 import org.eclipse.cdt.dsf.internal.LoggingUtils;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IStatus;
@@ -51,6 +52,17 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 	 */
 	private String fName;
 
+	/**
+	 * Wait and run time statistics of the executed runnables.
+	 */
+	private final ExecutorStatistics fStatistics;
+
+	/**
+	 * Whether the statistics are written to the debug trace when the
+	 * executor terminates.
+	 */
+	private final boolean fDumpStatistics;
+
 	/** Thread factory that creates the single thread to be used for this executor */
 	static class DsfThreadFactory implements ThreadFactory {
 		private String fThreadName;
@@ -86,6 +98,10 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 			prestartAllCoreThreads();
 			fThreadToExecutorMap.put(((DsfThreadFactory) getThreadFactory()).fThread, DefaultDsfExecutor.this);
 		}
+
+		fStatistics = new ExecutorStatistics(((DsfThreadFactory) getThreadFactory()).fThreadName, this);
+		fStatistics.register();
+		fDumpStatistics = DEBUG_STATISTICS || Boolean.getBoolean("org.eclipse.cdt.dsf.executor.statistics"); //$NON-NLS-1$
 	}
 
 	@Override
@@ -107,6 +123,17 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 		return fName;
 	}
 
+	/**
+	 * Returns the number of runnables waiting to be executed.  A queue that
+	 * keeps growing indicates that work should be moved off the executor
+	 * thread, for example using {@link DsfWorkerPool}.
+	 *
+	 * @since 2.13
+	 */
+	public int getQueueDepth() {
+		return getQueue().size();
+	}
+
 	static void logException(Throwable t) {
 		DsfPlugin plugin = DsfPlugin.getDefault();
 		if (plugin == null)
@@ -142,6 +169,26 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 		assert (ASSERTIONS_ENABLED = true) == true;
 	}
 
+	/**
+	 * Runnables that occupy the executor thread for longer than this number of
+	 * milliseconds are reported in the log, along with the depth of the queue
+	 * of runnables waiting behind them.  The reporting is disabled when the
+	 * threshold is zero, which is the default.
+	 */
+	private static final long SLOW_RUNNABLE_THRESHOLD = Long
+			.getLong("org.eclipse.cdt.dsf.executor.slowRunnableThreshold", 0); //$NON-NLS-1$
+
+	/**
+	 * Whether the executors write the wait and run time statistics of their
+	 * runnables to the debug trace when they terminate.  The statistics are
+	 * always collected and published as MBeans, the dump is enabled with the
+	 * org.eclipse.cdt.dsf/debug/executorStatistics debug option, or for the
+	 * executors created while the org.eclipse.cdt.dsf.executor.statistics
+	 * system property is true.
+	 */
+	private static final boolean DEBUG_STATISTICS = DsfPlugin.DEBUG
+			&& Boolean.parseBoolean(Platform.getDebugOption("org.eclipse.cdt.dsf/debug/executorStatistics")); //$NON-NLS-1$
+
 	/**
 	 * This map is used by DsfRunnable/Query/DsfCallable to track by which executor
 	 * an executable object was created.
@@ -430,6 +477,119 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 		}
 	}
 
+	/**
+	 * Records the execution of a runnable or callable in the statistics, and
+	 * logs it if it took too long to execute.
+	 */
+	void executed(Object executable, long waitTimeNanos, long runTimeNanos) {
+		if (executable instanceof TracingWrapper) {
+			executable = ((TracingWrapper) executable).getExecutable();
+		}
+		if (executable instanceof RequestMonitor.CompletionRunnable) {
+			executable = ((RequestMonitor.CompletionRunnable) executable).getRequestMonitor();
+		}
+		fStatistics.record(executable, waitTimeNanos, runTimeNanos);
+		long runTime = TimeUnit.NANOSECONDS.toMillis(runTimeNanos);
+		if (SLOW_RUNNABLE_THRESHOLD <= 0 || runTime < SLOW_RUNNABLE_THRESHOLD) {
+			return;
+		}
+		DsfPlugin plugin = DsfPlugin.getDefault();
+		if (plugin != null) {
+			plugin.getLog().log(new Status(IStatus.WARNING, DsfPlugin.PLUGIN_ID,
+					"DSF executor (" + ((DsfThreadFactory) getThreadFactory()).fThreadName + ") was busy for " //$NON-NLS-1$ //$NON-NLS-2$
+							+ runTime + " ms running " + executable.getClass().getName() + ", " + getQueueDepth() //$NON-NLS-1$ //$NON-NLS-2$
+							+ " runnables waiting")); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Wrapper used to measure the time a runnable waited in the queue and the
+	 * time taken to run it.
+	 */
+	class TimedRunnable implements Runnable {
+		final Runnable fRunnable;
+
+		/**
+		 * Time at which the runnable is ready to run, or -1 for the later
+		 * runs of a periodic runnable, for which the wait time is not measured.
+		 */
+		long fReadyTime;
+
+		final boolean fPeriodic;
+
+		TimedRunnable(Runnable runnable, long delay, TimeUnit unit, boolean periodic) {
+			if (runnable == null)
+				throw new NullPointerException();
+			fRunnable = runnable;
+			fReadyTime = System.nanoTime() + Math.max(0, unit.toNanos(delay));
+			fPeriodic = periodic;
+		}
+
+		@Override
+		public void run() {
+			long start = System.nanoTime();
+			long waitTime = fReadyTime < 0 ? -1 : Math.max(0, start - fReadyTime);
+			if (fPeriodic) {
+				fReadyTime = -1;
+			}
+			try {
+				fRunnable.run();
+			} finally {
+				executed(fRunnable, waitTime, System.nanoTime() - start);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return fRunnable.toString();
+		}
+	}
+
+	/**
+	 * Wrapper used to measure the time a callable waited in the queue and the
+	 * time taken to run it.
+	 */
+	class TimedCallable<T> implements Callable<T> {
+		final Callable<T> fCallable;
+
+		/** Time at which the callable is ready to run */
+		final long fReadyTime;
+
+		TimedCallable(Callable<T> callable, long delay, TimeUnit unit) {
+			if (callable == null)
+				throw new NullPointerException();
+			fCallable = callable;
+			fReadyTime = System.nanoTime() + Math.max(0, unit.toNanos(delay));
+		}
+
+		@Override
+		public T call() throws Exception {
+			long start = System.nanoTime();
+			try {
+				return fCallable.call();
+			} finally {
+				executed(fCallable, Math.max(0, start - fReadyTime), System.nanoTime() - start);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return fCallable.toString();
+		}
+	}
+
+	/*
+	 * Note: execute() and submit() are implemented by ScheduledThreadPoolExecutor
+	 * using schedule(), so only the schedule methods need to wrap their arguments.
+	 */
+	private Runnable timed(Runnable command, long delay, TimeUnit unit, boolean periodic) {
+		return new TimedRunnable(command, delay, unit, periodic);
+	}
+
+	private <T> Callable<T> timed(Callable<T> callable, long delay, TimeUnit unit) {
+		return new TimedCallable<>(callable, delay, unit);
+	}
+
 	@Override
 	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
 		if (DEBUG_EXECUTOR || ASSERTIONS_ENABLED) {
@@ -437,7 +597,7 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 				callable = new TracingWrapperCallable<>(callable);
 			}
 		}
-		return super.schedule(callable, delay, unit);
+		return super.schedule(timed(callable, delay, unit), delay, unit);
 	}
 
 	@Override
@@ -447,7 +607,7 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 				command = new TracingWrapperRunnable(command);
 			}
 		}
-		return super.schedule(command, delay, unit);
+		return super.schedule(timed(command, delay, unit, false), delay, unit);
 	}
 
 	@Override
@@ -455,7 +615,7 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 		if (DEBUG_EXECUTOR || ASSERTIONS_ENABLED) {
 			command = new TracingWrapperRunnable(command);
 		}
-		return super.scheduleAtFixedRate(command, initialDelay, period, unit);
+		return super.scheduleAtFixedRate(timed(command, initialDelay, unit, true), initialDelay, period, unit);
 	}
 
 	@Override
@@ -463,7 +623,7 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 		if (DEBUG_EXECUTOR || ASSERTIONS_ENABLED) {
 			command = new TracingWrapperRunnable(command);
 		}
-		return super.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+		return super.scheduleWithFixedDelay(timed(command, initialDelay, unit, true), initialDelay, delay, unit);
 	}
 
 	@Override
@@ -521,6 +681,10 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 	@Override
 	protected void terminated() {
 		fThreadToExecutorMap.remove(((DsfThreadFactory) getThreadFactory()).fThread);
+		if (fDumpStatistics) {
+			fStatistics.dump();
+		}
+		fStatistics.unregister();
 		super.terminated();
 	}
 }
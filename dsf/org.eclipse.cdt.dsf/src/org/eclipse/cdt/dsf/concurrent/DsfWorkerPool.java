@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.dsf.internal.DsfPlugin;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * A bounded pool of worker threads that DSF services can use to perform
+ * CPU intensive or blocking work away from the session executor thread.
+ * <p>
+ * Since all the services of a session share the same executor thread, a
+ * long computation done in a service call delays every other service.  Such
+ * computations should instead be submitted to this pool.  The work is then
+ * run on one of the worker threads, and its result is returned by completing
+ * the given request monitor, which in turn calls its handlers on the
+ * executor of the request monitor, i.e. usually on the DSF executor thread.
+ * </p>
+ * <p>
+ * The work must not access the state of the services, which is confined to
+ * the DSF executor thread; it should only operate on data given to it.
+ * </p>
+ * <pre>
+ *     public void formatData(final byte[] data, final DataRequestMonitor&lt;String&gt; rm) {
+ *         DsfWorkerPool.getDefault().call(() -&gt; expensiveFormat(data), rm);
+ *     }
+ * </pre>
+ *
+ * @since 2.13
+ */
+@ThreadSafe
+public class DsfWorkerPool {
+
+	private static final DsfWorkerPool fgDefault = new DsfWorkerPool("DSF Worker", //$NON-NLS-1$
+			Math.max(2, Runtime.getRuntime().availableProcessors() - 1));
+
+	private final ThreadPoolExecutor fExecutor;
+
+	/**
+	 * Creates a new pool.
+	 *
+	 * @param name Name used for the worker threads.
+	 * @param size Maximum number of worker threads.  Threads are only created
+	 * as needed and terminate after being idle for a while.
+	 */
+	public DsfWorkerPool(final String name, int size) {
+		fExecutor = new ThreadPoolExecutor(size, size, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+				new ThreadFactory() {
+					private final AtomicInteger fCounter = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, name + " - " + fCounter.getAndIncrement()); //$NON-NLS-1$
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		fExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Returns the pool shared by all the DSF sessions.
+	 */
+	public static DsfWorkerPool getDefault() {
+		return fgDefault;
+	}
+
+	/**
+	 * Runs the given callable on a worker thread and completes the request
+	 * monitor with its result.  If the callable throws an exception or an
+	 * error, the request monitor is completed with an error status.  If the
+	 * request monitor is canceled before the work is started, the work is
+	 * skipped.
+	 *
+	 * @param work The work to do.
+	 * @param rm Request monitor completed with the value returned by the work.
+	 */
+	public <V> void call(final Callable<V> work, final DataRequestMonitor<V> rm) {
+		submit(new Runnable() {
+			@Override
+			public void run() {
+				if (rm.isCanceled()) {
+					rm.setStatus(Status.CANCEL_STATUS);
+				} else {
+					try {
+						rm.setData(work.call());
+					} catch (Throwable e) {
+						// Errors are reported too, the request monitor must always be completed
+						rm.setStatus(new Status(IStatus.ERROR, DsfPlugin.PLUGIN_ID, IDsfStatusConstants.REQUEST_FAILED,
+								"Background work failed", e)); //$NON-NLS-1$
+					}
+				}
+				rm.done();
+			}
+
+			@Override
+			public String toString() {
+				return work.toString();
+			}
+		}, rm);
+	}
+
+	/**
+	 * Runs the given runnable on a worker thread and completes the request
+	 * monitor once it is done.  If the runnable throws an exception or an
+	 * error, the request monitor is completed with an error status.  If the
+	 * request monitor is canceled before the work is started, the work is
+	 * skipped.
+	 *
+	 * @param work The work to do.
+	 * @param rm Request monitor completed when the work is done.
+	 */
+	public void run(final Runnable work, final RequestMonitor rm) {
+		submit(new Runnable() {
+			@Override
+			public void run() {
+				if (rm.isCanceled()) {
+					rm.setStatus(Status.CANCEL_STATUS);
+				} else {
+					try {
+						work.run();
+					} catch (Throwable e) {
+						// Errors are reported too, the request monitor must always be completed
+						rm.setStatus(new Status(IStatus.ERROR, DsfPlugin.PLUGIN_ID, IDsfStatusConstants.REQUEST_FAILED,
+								"Background work failed", e)); //$NON-NLS-1$
+					}
+				}
+				rm.done();
+			}
+
+			@Override
+			public String toString() {
+				return work.toString();
+			}
+		}, rm);
+	}
+
+	/**
+	 * Returns the number of submitted work items which have not started yet.
+	 */
+	public int getQueueDepth() {
+		return fExecutor.getQueue().size();
+	}
+
+	/**
+	 * Returns the number of work items currently running.
+	 */
+	public int getActiveCount() {
+		return fExecutor.getActiveCount();
+	}
+
+	/**
+	 * Shuts down the pool.  Work already submitted is still completed.
+	 * The default pool cannot be shut down.
+	 */
+	public void shutdown() {
+		if (this != fgDefault) {
+			fExecutor.shutdown();
+		}
+	}
+
+	private void submit(Runnable runnable, RequestMonitor rm) {
+		try {
+			fExecutor.execute(runnable);
+		} catch (RejectedExecutionException e) {
+			rm.done(new Status(IStatus.ERROR, DsfPlugin.PLUGIN_ID, IDsfStatusConstants.INVALID_STATE,
+					"Worker pool is shut down", e)); //$NON-NLS-1$
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 Wind River Systems and others.
+ * Copyright (c) 2006, 2026 Wind River Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -311,17 +311,7 @@ public class RequestMonitor extends DsfExecutable {
 		}
 
 		try {
-			fExecutor.execute(new DsfRunnable() {
-				@Override
-				public void run() {
-					RequestMonitor.this.handleCompleted();
-				}
-
-				@Override
-				public String toString() {
-					return "Completed: " + RequestMonitor.this.toString(); //$NON-NLS-1$
-				}
-			});
+			fExecutor.execute(new CompletionRunnable());
 		} catch (RejectedExecutionException e) {
 			handleRejectedExecutionException();
 		}
@@ -551,4 +541,24 @@ public class RequestMonitor extends DsfExecutable {
 
 		fMonitorBacktrace = str.toString();
 	}
+
+	/**
+	 * Runnable calling the handlers of this request monitor.  The executor
+	 * statistics attribute its execution to the request monitor.
+	 */
+	class CompletionRunnable extends DsfRunnable {
+		RequestMonitor getRequestMonitor() {
+			return RequestMonitor.this;
+		}
+
+		@Override
+		public void run() {
+			RequestMonitor.this.handleCompleted();
+		}
+
+		@Override
+		public String toString() {
+			return "Completed: " + RequestMonitor.this.toString(); //$NON-NLS-1$
+		}
+	}
 }
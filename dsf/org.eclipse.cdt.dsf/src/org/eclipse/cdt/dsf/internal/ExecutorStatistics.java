@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.internal;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Wait and run time statistics of the runnables executed by a DSF executor.
+ * <p>
+ * The statistics are recorded by the executor thread after each runnable,
+ * and read by JMX clients from other threads.  They are collected by all the
+ * executors, so recording is kept cheap: it takes no lock and allocates
+ * nothing once the class of the runnable has been seen, it only increments
+ * a few atomic counters of histograms with logarithmic buckets.  The list of
+ * slowest executions is locked only when a run is slower than all the ones
+ * already in the list.
+ * </p>
+ * <p>
+ * The counters are not updated atomically as a whole, so a reader may see
+ * an execution counted in one histogram but not yet in another, and a
+ * {@link #reset()} may miss the executions recorded while it runs.
+ * </p>
+ */
+public class ExecutorStatistics implements ExecutorStatisticsMBean {
+
+	/** Domain of the object names of the executor MBeans */
+	public static final String DOMAIN = "org.eclipse.cdt.dsf"; //$NON-NLS-1$
+
+	/**
+	 * Number of histogram buckets.  Bucket <code>i</code> counts the times
+	 * lower than 2<sup>i</sup> microseconds, and the last bucket counts
+	 * all the longer times.
+	 */
+	public static final int BUCKET_COUNT = 24;
+
+	/** Number of executions kept in the list of slowest executions */
+	private static final int SLOWEST_COUNT = 20;
+
+	private static class OriginStatistics {
+		final String fOrigin;
+		final AtomicLongArray fWaitHistogram = new AtomicLongArray(BUCKET_COUNT);
+		final AtomicLongArray fRunHistogram = new AtomicLongArray(BUCKET_COUNT);
+		final AtomicLong fCount = new AtomicLong();
+		final AtomicLong fTotalRunTime = new AtomicLong();
+		final AtomicLong fMaxRunTime = new AtomicLong();
+		final AtomicLong fMaxWaitTime = new AtomicLong();
+
+		OriginStatistics(String origin) {
+			fOrigin = origin;
+		}
+
+		void reset() {
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				fWaitHistogram.set(i, 0);
+				fRunHistogram.set(i, 0);
+			}
+			fCount.set(0);
+			fTotalRunTime.set(0);
+			fMaxRunTime.set(0);
+			fMaxWaitTime.set(0);
+		}
+	}
+
+	/**
+	 * Slot of the list of slowest executions.  The slots are allocated once
+	 * and their values moved down the list as slower executions come in.
+	 */
+	private static class Execution {
+		String fOrigin;
+		long fRunTime;
+		long fWaitTime;
+		long fTimeStamp;
+
+		void set(Execution other) {
+			fOrigin = other.fOrigin;
+			fRunTime = other.fRunTime;
+			fWaitTime = other.fWaitTime;
+			fTimeStamp = other.fTimeStamp;
+		}
+	}
+
+	private final String fName;
+	private final ThreadPoolExecutor fExecutor;
+	private ObjectName fObjectName;
+
+	/** Statistics of each origin, by origin name */
+	private final Map<String, OriginStatistics> fOrigins = new ConcurrentHashMap<>();
+
+	/**
+	 * Statistics of the origin of each class of runnable, so that the origin
+	 * name is only computed the first time a class is seen.
+	 */
+	private final Map<Class<?>, OriginStatistics> fClassOrigins = new ConcurrentHashMap<>();
+
+	private final AtomicLongArray fWaitHistogram = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLongArray fRunHistogram = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong fExecutedCount = new AtomicLong();
+
+	/** Slowest executions, ordered by decreasing run time, guarded by itself */
+	private final Execution[] fSlowest = new Execution[SLOWEST_COUNT];
+	private int fSlowestCount;
+
+	/**
+	 * Run time an execution must exceed to enter the list of slowest
+	 * executions, i.e. the run time of the last one once the list is full.
+	 */
+	private volatile long fSlowestThreshold = -1;
+
+	/**
+	 * @param name Name of the executor thread.
+	 * @param executor Executor whose queue depth is reported.
+	 */
+	public ExecutorStatistics(String name, ThreadPoolExecutor executor) {
+		fName = name;
+		fExecutor = executor;
+		for (int i = 0; i < SLOWEST_COUNT; i++) {
+			fSlowest[i] = new Execution();
+		}
+	}
+
+	/**
+	 * Registers these statistics in the platform MBean server.  Failures are
+	 * logged and otherwise ignored, since the statistics are only diagnostic.
+	 */
+	public void register() {
+		try {
+			ObjectName objectName = new ObjectName(
+					DOMAIN + ":type=Executor,name=" + ObjectName.quote(fName)); //$NON-NLS-1$
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+			fObjectName = objectName;
+		} catch (JMException | SecurityException e) {
+			log("Failed to register statistics of DSF executor " + fName, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Removes these statistics from the platform MBean server.
+	 */
+	public void unregister() {
+		if (fObjectName == null) {
+			return;
+		}
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if (server.isRegistered(fObjectName)) {
+				server.unregisterMBean(fObjectName);
+			}
+		} catch (JMException | SecurityException e) {
+			log("Failed to unregister statistics of DSF executor " + fName, e); //$NON-NLS-1$
+		}
+		fObjectName = null;
+	}
+
+	/**
+	 * Records the execution of a runnable.
+	 *
+	 * @param origin The executed runnable or callable, or the request monitor
+	 * whose completion was executed.
+	 * @param waitTimeNanos Time the runnable waited in the queue, or -1 if
+	 * it is not known.
+	 * @param runTimeNanos Time the runnable occupied the executor thread.
+	 */
+	public void record(Object origin, long waitTimeNanos, long runTimeNanos) {
+		OriginStatistics stats = fClassOrigins.get(origin.getClass());
+		if (stats == null) {
+			stats = fOrigins.computeIfAbsent(getOriginName(origin), OriginStatistics::new);
+			fClassOrigins.put(origin.getClass(), stats);
+		}
+
+		int runBucket = bucket(runTimeNanos);
+		fRunHistogram.incrementAndGet(runBucket);
+		stats.fRunHistogram.incrementAndGet(runBucket);
+		if (waitTimeNanos >= 0) {
+			int waitBucket = bucket(waitTimeNanos);
+			fWaitHistogram.incrementAndGet(waitBucket);
+			stats.fWaitHistogram.incrementAndGet(waitBucket);
+			updateMax(stats.fMaxWaitTime, waitTimeNanos);
+		}
+		stats.fCount.incrementAndGet();
+		stats.fTotalRunTime.addAndGet(runTimeNanos);
+		updateMax(stats.fMaxRunTime, runTimeNanos);
+		fExecutedCount.incrementAndGet();
+
+		// Most executions are faster than the slowest ones already recorded,
+		// in which case there is nothing more to do.
+		if (runTimeNanos > fSlowestThreshold) {
+			recordSlow(stats.fOrigin, waitTimeNanos, runTimeNanos);
+		}
+	}
+
+	private static void updateMax(AtomicLong max, long value) {
+		long current = max.get();
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+	private void recordSlow(String originName, long waitTimeNanos, long runTimeNanos) {
+		synchronized (fSlowest) {
+			if (fSlowestCount == SLOWEST_COUNT && runTimeNanos <= fSlowest[SLOWEST_COUNT - 1].fRunTime) {
+				return;
+			}
+			int i = Math.min(fSlowestCount, SLOWEST_COUNT - 1);
+			while (i > 0 && fSlowest[i - 1].fRunTime < runTimeNanos) {
+				fSlowest[i].set(fSlowest[i - 1]);
+				i--;
+			}
+			Execution execution = fSlowest[i];
+			execution.fOrigin = originName;
+			execution.fWaitTime = waitTimeNanos;
+			execution.fRunTime = runTimeNanos;
+			execution.fTimeStamp = System.currentTimeMillis();
+			fSlowestCount = Math.min(fSlowestCount + 1, SLOWEST_COUNT);
+			if (fSlowestCount == SLOWEST_COUNT) {
+				fSlowestThreshold = fSlowest[SLOWEST_COUNT - 1].fRunTime;
+			}
+		}
+	}
+
+	/**
+	 * Returns the name of the top level class declaring the class of the
+	 * given object, so that the anonymous classes and lambdas of a service
+	 * are attributed to the service.
+	 */
+	static String getOriginName(Object origin) {
+		String name = origin.getClass().getName();
+		int nested = name.indexOf('$');
+		return nested > 0 ? name.substring(0, nested) : name;
+	}
+
+	static int bucket(long timeNanos) {
+		long micros = TimeUnit.NANOSECONDS.toMicros(timeNanos);
+		return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+	}
+
+	@Override
+	public String getName() {
+		return fName;
+	}
+
+	@Override
+	public int getQueueDepth() {
+		return fExecutor.getQueue().size();
+	}
+
+	@Override
+	public long getExecutedCount() {
+		return fExecutedCount.get();
+	}
+
+	@Override
+	public String[] getHistogramBuckets() {
+		String[] buckets = new String[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+			buckets[i] = "< " + formatMicros(1L << i); //$NON-NLS-1$
+		}
+		buckets[BUCKET_COUNT - 1] = ">= " + formatMicros(1L << (BUCKET_COUNT - 2)); //$NON-NLS-1$
+		return buckets;
+	}
+
+	@Override
+	public long[] getWaitTimeHistogram() {
+		return toArray(fWaitHistogram);
+	}
+
+	@Override
+	public long[] getRunTimeHistogram() {
+		return toArray(fRunHistogram);
+	}
+
+	@Override
+	public long[] getWaitTimeHistogram(String origin) {
+		OriginStatistics stats = fOrigins.get(origin);
+		return stats != null ? toArray(stats.fWaitHistogram) : new long[BUCKET_COUNT];
+	}
+
+	@Override
+	public long[] getRunTimeHistogram(String origin) {
+		OriginStatistics stats = fOrigins.get(origin);
+		return stats != null ? toArray(stats.fRunHistogram) : new long[BUCKET_COUNT];
+	}
+
+	@Override
+	public String[] getOrigins() {
+		List<OriginStatistics> origins = new ArrayList<>();
+		for (OriginStatistics stats : fOrigins.values()) {
+			if (stats.fCount.get() > 0) {
+				origins.add(stats);
+			}
+		}
+		origins.sort((a, b) -> Long.compare(b.fTotalRunTime.get(), a.fTotalRunTime.get()));
+		String[] result = new String[origins.size()];
+		for (int i = 0; i < result.length; i++) {
+			OriginStatistics stats = origins.get(i);
+			result[i] = stats.fOrigin + ": count=" + stats.fCount.get() //$NON-NLS-1$
+					+ ", total run=" + formatNanos(stats.fTotalRunTime.get()) //$NON-NLS-1$
+					+ ", max run=" + formatNanos(stats.fMaxRunTime.get()) //$NON-NLS-1$
+					+ ", max wait=" + formatNanos(stats.fMaxWaitTime.get()); //$NON-NLS-1$
+		}
+		return result;
+	}
+
+	@Override
+	public String[] getSlowest() {
+		synchronized (fSlowest) {
+			String[] result = new String[fSlowestCount];
+			for (int i = 0; i < fSlowestCount; i++) {
+				Execution execution = fSlowest[i];
+				result[i] = execution.fOrigin + ": run=" + formatNanos(execution.fRunTime) //$NON-NLS-1$
+						+ (execution.fWaitTime >= 0 ? ", wait=" + formatNanos(execution.fWaitTime) : "") //$NON-NLS-1$ //$NON-NLS-2$
+						+ ", at " + String.format("%tT.%<tL", execution.fTimeStamp); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			return result;
+		}
+	}
+
+	@Override
+	public void reset() {
+		// The origins are kept, since the executor thread may be recording
+		// an execution of an origin while it is removed.
+		for (OriginStatistics stats : fOrigins.values()) {
+			stats.reset();
+		}
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			fWaitHistogram.set(i, 0);
+			fRunHistogram.set(i, 0);
+		}
+		fExecutedCount.set(0);
+		synchronized (fSlowest) {
+			fSlowestCount = 0;
+			fSlowestThreshold = -1;
+		}
+	}
+
+	/**
+	 * Writes the statistics to the debug trace, one line per origin and per
+	 * slow execution.
+	 */
+	public void dump() {
+		DsfPlugin.debug(DsfPlugin.getDebugTime() + " Statistics of DSF executor (" + fName + "), " //$NON-NLS-1$ //$NON-NLS-2$
+				+ getExecutedCount() + " runnables executed"); //$NON-NLS-1$
+		for (String origin : getOrigins()) {
+			DsfPlugin.debug("  " + origin); //$NON-NLS-1$
+		}
+		DsfPlugin.debug("  Slowest executions:"); //$NON-NLS-1$
+		for (String execution : getSlowest()) {
+			DsfPlugin.debug("    " + execution); //$NON-NLS-1$
+		}
+	}
+
+	private static long[] toArray(AtomicLongArray counters) {
+		long[] result = new long[counters.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = counters.get(i);
+		}
+		return result;
+	}
+
+	private static String formatNanos(long nanos) {
+		return formatMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+	}
+
+	private static String formatMicros(long micros) {
+		if (micros < 1000) {
+			return micros + " us"; //$NON-NLS-1$
+		} else if (micros < 1000000) {
+			return micros / 1000 + " ms"; //$NON-NLS-1$
+		}
+		return String.format("%.1f s", micros / 1000000.0); //$NON-NLS-1$
+	}
+
+	private static void log(String message, Throwable e) {
+		DsfPlugin plugin = DsfPlugin.getDefault();
+		if (plugin != null) {
+			plugin.getLog().log(new Status(IStatus.WARNING, DsfPlugin.PLUGIN_ID, message, e));
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.internal;
+
+/**
+ * Management interface of the statistics collected by a DSF executor.  The
+ * statistics of each executor are registered in the platform MBean server
+ * under the domain {@value ExecutorStatistics#DOMAIN}, so they can be
+ * inspected with any JMX console, e.g. JConsole or VisualVM.
+ * <p>
+ * The times are grouped by origin, which is the top level class declaring
+ * the runnable or callable submitted to the executor, usually the service
+ * which submitted it.  The completion of a request monitor is attributed to
+ * the class declaring the request monitor, i.e. to the service handling the
+ * result rather than to <code>RequestMonitor</code>.
+ * </p>
+ */
+public interface ExecutorStatisticsMBean {
+
+	/**
+	 * Name of the executor thread.
+	 */
+	String getName();
+
+	/**
+	 * Number of runnables currently waiting to be executed.
+	 */
+	int getQueueDepth();
+
+	/**
+	 * Number of runnables executed since the statistics were reset.
+	 */
+	long getExecutedCount();
+
+	/**
+	 * Upper bounds of the buckets of the histograms.
+	 */
+	String[] getHistogramBuckets();
+
+	/**
+	 * Histogram of the time runnables of all origins waited in the queue.
+	 */
+	long[] getWaitTimeHistogram();
+
+	/**
+	 * Histogram of the time runnables of all origins occupied the executor.
+	 */
+	long[] getRunTimeHistogram();
+
+	/**
+	 * Summary of the times of each origin, ordered by decreasing total
+	 * run time.
+	 */
+	String[] getOrigins();
+
+	/**
+	 * The slowest executions, ordered by decreasing run time.
+	 */
+	String[] getSlowest();
+
+	/**
+	 * Histogram of the time runnables of the given origin waited in the queue.
+	 */
+	long[] getWaitTimeHistogram(String origin);
+
+	/**
+	 * Histogram of the time runnables of the given origin occupied the executor.
+	 */
+	long[] getRunTimeHistogram(String origin);
+
+	/**
+	 * Clears all the statistics.
+	 */
+	void reset();
+}
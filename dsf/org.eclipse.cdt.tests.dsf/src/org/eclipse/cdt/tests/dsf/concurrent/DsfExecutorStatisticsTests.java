@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
+import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the statistics published by DefaultDsfExecutor through JMX.
+ */
+public class DsfExecutorStatisticsTests {
+	private static final String EXECUTOR_NAME = "Statistics Test"; //$NON-NLS-1$
+
+	DefaultDsfExecutor fExecutor;
+
+	@Before
+	public void startExecutor() {
+		fExecutor = new DefaultDsfExecutor(EXECUTOR_NAME);
+	}
+
+	@After
+	public void shutdownExecutor() throws InterruptedException {
+		if (fExecutor != null) {
+			fExecutor.shutdown();
+			fExecutor.awaitTermination(10, TimeUnit.SECONDS);
+			fExecutor = null;
+		}
+	}
+
+	private ObjectName findExecutorMBean() throws Exception {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName found = null;
+		for (ObjectName name : server.queryNames(new ObjectName("org.eclipse.cdt.dsf:type=Executor,*"), null)) { //$NON-NLS-1$
+			String executorName = (String) server.getAttribute(name, "Name"); //$NON-NLS-1$
+			if (executorName.startsWith(EXECUTOR_NAME + " - ")) { //$NON-NLS-1$
+				assertEquals("Only one executor should be registered", null, found); //$NON-NLS-1$
+				found = name;
+			}
+		}
+		return found;
+	}
+
+	private static class SlowRunnable extends DsfRunnable {
+		@Override
+		public void run() {
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+			}
+		}
+	}
+
+	@Test
+	public void executionsRecorded() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			fExecutor.submit(new SlowRunnable()).get();
+		}
+
+		ObjectName name = findExecutorMBean();
+		assertNotNull("Executor statistics not registered", name); //$NON-NLS-1$
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+		assertEquals(3L, server.getAttribute(name, "ExecutedCount")); //$NON-NLS-1$
+
+		String[] slowest = (String[]) server.getAttribute(name, "Slowest"); //$NON-NLS-1$
+		assertEquals(3, slowest.length);
+		// Nested classes are attributed to their top level class
+		String origin = DsfExecutorStatisticsTests.class.getName();
+		assertTrue(slowest[0].startsWith(origin + ":")); //$NON-NLS-1$
+
+		// All the runs took at least 20 ms, so are counted from the "< 32 ms" bucket on.
+		long[] histogram = (long[]) server.invoke(name, "getRunTimeHistogram", //$NON-NLS-1$
+				new Object[] { origin }, new String[] { String.class.getName() });
+		long count = 0;
+		for (int i = 15; i < histogram.length; i++) {
+			count += histogram[i];
+		}
+		assertEquals(3, count);
+
+		server.invoke(name, "reset", null, null); //$NON-NLS-1$
+		assertEquals(0L, server.getAttribute(name, "ExecutedCount")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void requestMonitorCompletionAttributedToDeclaringClass() throws Exception {
+		final RequestMonitor rm = new RequestMonitor(fExecutor, null) {
+			@Override
+			protected void handleCompleted() {
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException e) {
+				}
+			}
+		};
+		fExecutor.submit(() -> rm.done()).get();
+		// Wait for the completion submitted by done()
+		fExecutor.submit(() -> {
+		}).get();
+
+		ObjectName name = findExecutorMBean();
+		assertNotNull("Executor statistics not registered", name); //$NON-NLS-1$
+		String[] slowest = (String[]) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Slowest"); //$NON-NLS-1$
+		assertTrue(slowest[0].startsWith(DsfExecutorStatisticsTests.class.getName() + ":")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void resetKeepsRecording() throws Exception {
+		fExecutor.submit(new SlowRunnable()).get();
+		ObjectName name = findExecutorMBean();
+		assertNotNull("Executor statistics not registered", name); //$NON-NLS-1$
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+		server.invoke(name, "reset", null, null); //$NON-NLS-1$
+		assertEquals(0, ((String[]) server.getAttribute(name, "Origins")).length); //$NON-NLS-1$
+		assertEquals(0, ((String[]) server.getAttribute(name, "Slowest")).length); //$NON-NLS-1$
+
+		// The origins seen before the reset are still recorded after it
+		fExecutor.submit(new SlowRunnable()).get();
+		assertEquals(1L, server.getAttribute(name, "ExecutedCount")); //$NON-NLS-1$
+		String[] origins = (String[]) server.getAttribute(name, "Origins"); //$NON-NLS-1$
+		assertEquals(1, origins.length);
+		assertTrue(origins[0].startsWith(DsfExecutorStatisticsTests.class.getName() + ": count=1,")); //$NON-NLS-1$
+		assertEquals(1, ((String[]) server.getAttribute(name, "Slowest")).length); //$NON-NLS-1$
+	}
+
+	@Test
+	public void unregisteredOnTermination() throws Exception {
+		ObjectName name = findExecutorMBean();
+		assertNotNull("Executor statistics not registered", name); //$NON-NLS-1$
+
+		fExecutor.shutdown();
+		assertTrue(fExecutor.awaitTermination(10, TimeUnit.SECONDS));
+		fExecutor = null;
+
+		assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+	}
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
+import org.eclipse.cdt.dsf.concurrent.DsfWorkerPool;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.tests.dsf.TestDsfExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that exercise the DsfWorkerPool object.
+ */
+public class DsfWorkerPoolTests {
+	TestDsfExecutor fExecutor;
+	DsfWorkerPool fPool;
+
+	@Before
+	public void startServices() throws ExecutionException, InterruptedException {
+		fExecutor = new TestDsfExecutor();
+		fPool = new DsfWorkerPool("Test Worker", 2);
+	}
+
+	@After
+	public void shutdownServices() throws ExecutionException, InterruptedException {
+		fPool.shutdown();
+		fExecutor.submit(new DsfRunnable() {
+			@Override
+			public void run() {
+				fExecutor.shutdown();
+			}
+		}).get();
+		if (fExecutor.exceptionsCaught()) {
+			Throwable[] exceptions = fExecutor.getExceptions();
+			throw new ExecutionException(exceptions[0]);
+		}
+		fExecutor = null;
+	}
+
+	@Test
+	public void resultReturnedInExecutorThread() throws Exception {
+		final boolean[] workInExecutor = new boolean[1];
+		Query<Integer> q = new Query<>() {
+			@Override
+			protected void execute(final DataRequestMonitor<Integer> rm) {
+				fPool.call(() -> {
+					workInExecutor[0] = fExecutor.isInExecutorThread();
+					return 42;
+				}, new DataRequestMonitor<Integer>(fExecutor, rm) {
+					@Override
+					protected void handleSuccess() {
+						assertTrue(fExecutor.isInExecutorThread());
+						rm.done(getData());
+					}
+				});
+			}
+		};
+		fExecutor.execute(q);
+		assertEquals(42, (int) q.get(10, TimeUnit.SECONDS));
+		assertFalse(workInExecutor[0]);
+	}
+
+	@Test
+	public void exceptionReportedAsError() throws Exception {
+		Query<Boolean> q = new Query<>() {
+			@Override
+			protected void execute(final DataRequestMonitor<Boolean> rm) {
+				fPool.run(() -> {
+					throw new IllegalStateException();
+				}, new RequestMonitor(fExecutor, null) {
+					@Override
+					protected void handleCompleted() {
+						rm.done(isSuccess());
+					}
+				});
+			}
+		};
+		fExecutor.execute(q);
+		assertFalse(q.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void errorReportedAsError() throws Exception {
+		Query<Boolean> q = new Query<>() {
+			@Override
+			protected void execute(final DataRequestMonitor<Boolean> rm) {
+				fPool.call(() -> {
+					throw new AssertionError();
+				}, new DataRequestMonitor<Object>(fExecutor, null) {
+					@Override
+					protected void handleCompleted() {
+						rm.done(isSuccess());
+					}
+				});
+			}
+		};
+		fExecutor.execute(q);
+		assertFalse(q.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void canceledWorkSkipped() throws Exception {
+		final boolean[] workRan = new boolean[1];
+		Query<Boolean> q = new Query<>() {
+			@Override
+			protected void execute(final DataRequestMonitor<Boolean> rm) {
+				RequestMonitor workRm = new RequestMonitor(fExecutor, null) {
+					@Override
+					protected void handleCompleted() {
+						rm.done(isCanceled());
+					}
+				};
+				workRm.cancel();
+				fPool.run(() -> workRan[0] = true, workRm);
+			}
+		};
+		fExecutor.execute(q);
+		assertTrue(q.get(10, TimeUnit.SECONDS));
+		assertFalse(workRan[0]);
+	}
+}
@@ -0,0 +1,316 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.vm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.DsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.cdt.dsf.service.IDsfService;
+import org.eclipse.cdt.dsf.ui.viewmodel.AbstractVMAdapter;
+import org.eclipse.cdt.dsf.ui.viewmodel.IVMProvider;
+import org.eclipse.cdt.tests.dsf.IViewerUpdatesListenerConstants;
+import org.eclipse.cdt.tests.dsf.vm.TestModel.TestElement;
+import org.eclipse.cdt.tests.dsf.vm.TestModel.TestEvent;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelChangedListener;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelDelta;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelProxy;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IPresentationContext;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.ITreeModelViewer;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.PresentationContext;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.TreeModelViewer;
+import org.eclipse.jface.viewers.TreePath;
+import org.eclipse.jface.viewers.ViewerLabel;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.PlatformUI;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the reduction of the deltas done by the differential update mode of
+ * the caching VM provider.
+ */
+public class DifferentialUpdateTests extends TestCase implements IViewerUpdatesListenerConstants {
+
+	Display fDisplay;
+	Shell fShell;
+	DsfExecutor fDsfExecutor;
+	DsfSession fDsfSession;
+	ITreeModelViewer fViewer;
+	TestModelUpdatesListener fViewerListener;
+	TestModel fModel;
+	DummyFormattedValueService fDummyValuesService;
+	AbstractVMAdapter fVMAdapter;
+	TestModelCachingVMProvider fVMProvider;
+
+	final List<IModelDelta> fDeltas = Collections.synchronizedList(new ArrayList<>());
+
+	private final IModelChangedListener fDeltaListener = new IModelChangedListener() {
+		@Override
+		public void modelChanged(IModelDelta delta, IModelProxy proxy) {
+			fDeltas.add(delta);
+		}
+	};
+
+	public DifferentialUpdateTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		fDsfExecutor = new DefaultDsfExecutor();
+		fDsfSession = DsfSession.startSession(fDsfExecutor, getClass().getName());
+
+		fDisplay = PlatformUI.getWorkbench().getDisplay();
+		fShell = new Shell(fDisplay);
+		fShell.setMaximized(true);
+		fShell.setLayout(new FillLayout());
+
+		fViewer = new TreeModelViewer(fShell, SWT.VIRTUAL, new PresentationContext("TestViewer"));
+
+		fModel = new TestModel(fDsfSession);
+		initializeService(fModel);
+		fDummyValuesService = new DummyFormattedValueService(fDsfSession);
+		initializeService(fDummyValuesService);
+
+		fViewerListener = new TestModelUpdatesListener(fViewer, false, false);
+		fViewer.addModelChangedListener(fDeltaListener);
+
+		fModel.setRoot(new TestElement(fModel, "root", new TestElement[0]));
+		fModel.setElementChildren(TreePath.EMPTY, makeModelElements(fModel, 5, "model"));
+
+		fVMAdapter = new AbstractVMAdapter() {
+			@Override
+			protected IVMProvider createViewModelProvider(IPresentationContext context) {
+				return fVMProvider;
+			}
+		};
+		fVMProvider = new TestModelCachingVMProvider(fVMAdapter, fViewer.getPresentationContext(), fDsfSession);
+
+		fShell.open();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fViewer.removeModelChangedListener(fDeltaListener);
+		fVMAdapter.dispose();
+		fViewerListener.dispose();
+
+		shutdownService(fDummyValuesService);
+		shutdownService(fModel);
+		fViewer.getPresentationContext().dispose();
+		fShell.close();
+		while (!fShell.isDisposed())
+			if (!fDisplay.readAndDispatch())
+				fDisplay.sleep();
+		DsfSession.endSession(fDsfSession);
+		fDsfExecutor.shutdown();
+	}
+
+	private void initializeService(final IDsfService service) throws InterruptedException, ExecutionException {
+		Query<Object> initQuery = new Query<>() {
+			@Override
+			protected void execute(DataRequestMonitor<Object> rm) {
+				rm.setData(new Object());
+				service.initialize(rm);
+			}
+		};
+		fDsfExecutor.execute(initQuery);
+		initQuery.get();
+	}
+
+	private void shutdownService(final IDsfService service) throws InterruptedException, ExecutionException {
+		Query<Object> shutdownQuery = new Query<>() {
+			@Override
+			protected void execute(DataRequestMonitor<Object> rm) {
+				rm.setData(new Object());
+				service.shutdown(rm);
+			}
+		};
+		fDsfExecutor.execute(shutdownQuery);
+		shutdownQuery.get();
+	}
+
+	/**
+	 * Without differential updates, the content of the whole view is refreshed.
+	 */
+	public void testDisabled() {
+		setInput();
+
+		IModelDelta delta = postContentEvent();
+		assertTrue((delta.getFlags() & IModelDelta.CONTENT) != 0);
+		fModel.validateData(fViewer, TreePath.EMPTY);
+	}
+
+	/**
+	 * When nothing changed, the content refresh is dropped.
+	 */
+	public void testUnchanged() {
+		fVMProvider.setDifferentialUpdate(true);
+		setInput();
+
+		IModelDelta delta = postContentEvent();
+		assertEquals(0, delta.getFlags() & (IModelDelta.CONTENT | IModelDelta.STATE));
+		for (Map.Entry<TestElement, Integer> entry : getElementFlags(delta).entrySet()) {
+			assertEquals(entry.getKey().toString(), 0, entry.getValue() & (IModelDelta.CONTENT | IModelDelta.STATE));
+		}
+		fModel.validateData(fViewer, TreePath.EMPTY);
+	}
+
+	/**
+	 * When the properties of an element changed, only that element is refreshed.
+	 */
+	public void testElementChanged() {
+		fVMProvider.setDifferentialUpdate(true);
+		setInput();
+
+		TreePath path = fModel.findElement("model.4.0");
+		TestElement changed = (TestElement) path.getLastSegment();
+		changed.setLabelAppendix(" - changed");
+
+		IModelDelta delta = postContentEvent();
+		assertEquals(0, delta.getFlags() & IModelDelta.CONTENT);
+		Map<TestElement, Integer> flags = getElementFlags(delta);
+		assertTrue((flags.get(changed) & IModelDelta.STATE) != 0);
+		for (Map.Entry<TestElement, Integer> entry : flags.entrySet()) {
+			if (!entry.getKey().equals(changed)) {
+				assertEquals(entry.getKey().toString(), 0,
+						entry.getValue() & (IModelDelta.CONTENT | IModelDelta.STATE));
+			}
+		}
+
+		fModel.validateData(fViewer, TreePath.EMPTY);
+		ViewerLabel label = fViewer.getElementLabel(getViewerPath(path), TestModelCachingVMProvider.COLUMN_ID);
+		assertEquals(changed.getLabel(), label.getText());
+	}
+
+	/**
+	 * When the children of an element changed, the content of that element is
+	 * still refreshed.
+	 */
+	public void testChildrenChanged() {
+		fVMProvider.setDifferentialUpdate(true);
+		setInput();
+
+		TreePath path = fModel.findElement("model.3");
+		TestElement changed = (TestElement) path.getLastSegment();
+		fModel.setElementChildren(path,
+				new TestElement[] { new TestElement(fModel, "model.3.new", new TestElement[0]) });
+
+		IModelDelta delta = postContentEvent();
+		assertEquals(0, delta.getFlags() & IModelDelta.CONTENT);
+		Map<TestElement, Integer> flags = getElementFlags(delta);
+		assertTrue((flags.get(changed) & IModelDelta.CONTENT) != 0);
+		fModel.validateData(fViewer, TreePath.EMPTY);
+	}
+
+	/**
+	 * When the children of the input changed, the whole view is refreshed.
+	 */
+	public void testRootChildrenChanged() {
+		fVMProvider.setDifferentialUpdate(true);
+		setInput();
+
+		fModel.setElementChildren(TreePath.EMPTY, makeModelElements(fModel, 6, "model"));
+
+		IModelDelta delta = postContentEvent();
+		assertTrue((delta.getFlags() & IModelDelta.CONTENT) != 0);
+		fModel.validateData(fViewer, TreePath.EMPTY);
+	}
+
+	private void setInput() {
+		fViewer.setAutoExpandLevel(-1);
+		TestElementVMContext rootVMC = fVMProvider.getElementVMContext(fViewer.getPresentationContext(),
+				fModel.getRootElement());
+
+		fViewerListener.reset();
+		fViewerListener.addUpdates(TreePath.EMPTY, rootVMC.getElement(), -1, ALL_UPDATES_COMPLETE);
+
+		fViewer.setInput(rootVMC);
+		while (!fViewerListener.isFinished(ALL_UPDATES_COMPLETE))
+			if (!fDisplay.readAndDispatch())
+				fDisplay.sleep();
+	}
+
+	/**
+	 * Posts an event refreshing the content of the view, and waits for the
+	 * viewer to process the resulting delta.
+	 *
+	 * @return the delta fired to the viewer.
+	 */
+	private IModelDelta postContentEvent() {
+		fDeltas.clear();
+		fViewerListener.reset();
+
+		final TestEvent event = new TestEvent(fModel.getRootElement(), IModelDelta.CONTENT);
+		fDsfExecutor.execute(() -> fVMProvider.postEvent(event));
+		while (!fViewerListener.isFinished(MODEL_CHANGED_COMPLETE))
+			if (!fDisplay.readAndDispatch())
+				fDisplay.sleep();
+
+		// Let the viewer process the delta and complete the updates it causes
+		while (fDisplay.readAndDispatch()) {
+		}
+		while (!fViewerListener.isFinished(VIEWER_UPDATES_RUNNING | LABEL_UPDATES_RUNNING))
+			if (!fDisplay.readAndDispatch())
+				fDisplay.sleep();
+
+		assertEquals(1, fDeltas.size());
+		return fDeltas.get(0);
+	}
+
+	/**
+	 * Returns the flags of the delta of each element under the given delta.
+	 */
+	private static Map<TestElement, Integer> getElementFlags(IModelDelta delta) {
+		Map<TestElement, Integer> flags = new HashMap<>();
+		collectElementFlags(delta, flags);
+		return flags;
+	}
+
+	private static void collectElementFlags(IModelDelta delta, Map<TestElement, Integer> flags) {
+		for (IModelDelta childDelta : delta.getChildDeltas()) {
+			if (childDelta.getElement() instanceof TestElementVMContext) {
+				flags.put(((TestElementVMContext) childDelta.getElement()).getElement(), childDelta.getFlags());
+			}
+			collectElementFlags(childDelta, flags);
+		}
+	}
+
+	private TreePath getViewerPath(TreePath modelPath) {
+		Object[] segments = new Object[modelPath.getSegmentCount()];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = fVMProvider.getElementVMContext(fViewer.getPresentationContext(),
+					(TestElement) modelPath.getSegment(i));
+		}
+		return new TreePath(segments);
+	}
+
+	private TestElement[] makeModelElements(TestModel model, int depth, String prefix) {
+		TestElement[] elements = new TestElement[depth];
+		for (int i = 0; i < depth; i++) {
+			String name = prefix + "." + i;
+			elements[i] = new TestElement(model, name, makeModelElements(model, i, name));
+		}
+		return elements;
+	}
+}
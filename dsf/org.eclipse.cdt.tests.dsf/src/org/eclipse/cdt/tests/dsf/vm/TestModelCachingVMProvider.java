@@ -115,6 +115,11 @@ public class TestModelCachingVMProvider extends AbstractDMVMProvider {
 		super.handleEvent(event);
 	}
 
+	@Override
+	public void setDifferentialUpdate(boolean on) {
+		super.setDifferentialUpdate(on);
+	}
+
 	public TestElementVMContext getElementVMContext(IPresentationContext context, TestElement element) {
 		return ((TestModelDMVMNode) getRootVMNode()).createVMContext(element);
 	}
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.jsoncdb.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.CommandLauncher;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the entries of a {@code compile_commands.json} file, which are read
+ * in batches and parsed in parallel, are passed to the
+ * {@link ISourceFileInfoConsumer} in the order of the file, and that the
+ * consumer is told whether the file was parsed completely.
+ */
+public class CompileCommandsJsonParserTest {
+
+	/** more than two batches of the parser */
+	private static final int ENTRIES = 2500;
+
+	private IProject fProject;
+	private IFile fJsonFile;
+
+	private static class RecordingConsumer implements ISourceFileInfoConsumer {
+		final List<String> files = new ArrayList<>();
+		final List<Map<String, String>> defines = new ArrayList<>();
+		final List<List<String>> includePaths = new ArrayList<>();
+		final Thread thread = Thread.currentThread();
+		boolean otherThread;
+		int shutdowns;
+		int aborts;
+
+		@Override
+		public void acceptSourceFileInfo(String sourceFileName, List<String> systemIncludePaths,
+				Map<String, String> definedSymbols, List<String> includePaths, List<String> macroFiles,
+				List<String> includeFiles) {
+			otherThread |= Thread.currentThread() != thread;
+			files.add(sourceFileName);
+			defines.add(definedSymbols);
+			this.includePaths.add(includePaths);
+		}
+
+		@Override
+		public void shutdown() {
+			shutdowns++;
+		}
+
+		@Override
+		public void abort() {
+			aborts++;
+		}
+	}
+
+	@Before
+	public void setUp() throws CoreException {
+		fProject = ResourcesPlugin.getWorkspace().getRoot().getProject("CompileCommandsJsonParserTest");
+		fProject.create(null);
+		fProject.open(null);
+		IFolder buildFolder = fProject.getFolder("build");
+		buildFolder.create(true, true, null);
+		fJsonFile = buildFolder.getFile("compile_commands.json");
+	}
+
+	@After
+	public void tearDown() throws CoreException {
+		fProject.delete(true, true, null);
+	}
+
+	private static String entry(int i, String define) {
+		return String.format(
+				"{\"directory\": \"/work\", \"command\": \"/nonexistent/gcc -D%s -I/inc/%d -c /src/f%d.c\", \"file\": \"/src/f%d.c\"}",
+				define, i, i, i);
+	}
+
+	private void writeJson(List<String> entries) throws CoreException {
+		byte[] content = ("[\n" + String.join(",\n", entries) + "\n]\n").getBytes(StandardCharsets.UTF_8);
+		if (fJsonFile.exists()) {
+			long lastModified = fJsonFile.getLocalTimeStamp();
+			fJsonFile.setContents(new ByteArrayInputStream(content), true, false, null);
+			// the parser skips files whose time stamp did not change
+			fJsonFile.setLocalTimeStamp(lastModified + 2000);
+		} else {
+			fJsonFile.create(new ByteArrayInputStream(content), true, null);
+		}
+	}
+
+	private RecordingConsumer parse() throws CoreException {
+		return parse(new RecordingConsumer(), new NullProgressMonitor());
+	}
+
+	private RecordingConsumer parse(RecordingConsumer consumer, IProgressMonitor monitor) throws CoreException {
+		ParseRequest request = new ParseRequest(fJsonFile, consumer, new CommandLauncher(), null);
+		new CompileCommandsJsonParser(request).parse(monitor);
+		return consumer;
+	}
+
+	private static List<String> entries(int count) {
+		List<String> entries = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			entries.add(entry(i, "FILE_" + i));
+		}
+		return entries;
+	}
+
+	private static void assertEntry(RecordingConsumer consumer, int index, int file, String define) {
+		assertEquals("/src/f" + file + ".c", consumer.files.get(index));
+		assertTrue(consumer.defines.get(index).containsKey(define));
+		assertEquals(List.of("/inc/" + file), consumer.includePaths.get(index));
+	}
+
+	@Test
+	public void testEntriesInFileOrder() throws CoreException {
+		writeJson(entries(ENTRIES));
+
+		RecordingConsumer consumer = parse();
+
+		assertEquals(ENTRIES, consumer.files.size());
+		for (int i = 0; i < ENTRIES; i++) {
+			assertEntry(consumer, i, i, "FILE_" + i);
+		}
+		assertFalse("consumer called by a parser thread", consumer.otherThread);
+		assertEquals(1, consumer.shutdowns);
+		assertEquals(0, consumer.aborts);
+	}
+
+	@Test
+	public void testMalformedFileAborted() throws CoreException {
+		List<String> entries = entries(ENTRIES);
+		entries.set(1500, "{\"directory\": ");
+		writeJson(entries);
+
+		RecordingConsumer consumer = parse();
+
+		// the first batch was passed on, but the consumer must not take it for the whole build
+		assertEquals(1024, consumer.files.size());
+		assertEquals(0, consumer.shutdowns);
+		assertEquals(1, consumer.aborts);
+	}
+
+	@Test
+	public void testCanceledParseAborted() throws CoreException {
+		writeJson(entries(ENTRIES));
+		IProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		RecordingConsumer consumer = new RecordingConsumer();
+
+		assertThrows(OperationCanceledException.class, () -> parse(consumer, monitor));
+		assertEquals(0, consumer.shutdowns);
+		assertEquals(1, consumer.aborts);
+
+		// the file is parsed again
+		monitor.setCanceled(false);
+		assertEquals(ENTRIES, parse().files.size());
+	}
+
+	@Test
+	public void testUnrecognizedEntrySkipped() throws CoreException {
+		List<String> entries = entries(ENTRIES);
+		entries.set(1500, "{\"directory\": \"/work\", \"command\": \"/nonexistent/gcc -c\"}");
+		writeJson(entries);
+
+		RecordingConsumer consumer = parse();
+
+		assertEquals(ENTRIES - 1, consumer.files.size());
+		for (int i = 0; i < ENTRIES - 1; i++) {
+			int file = i < 1500 ? i : i + 1;
+			assertEntry(consumer, i, file, "FILE_" + file);
+		}
+		assertTrue(fJsonFile.findMarkers(null, true, IResource.DEPTH_ZERO).length > 0);
+	}
+
+	@Test
+	public void testChangedEntriesParsedAgain() throws CoreException {
+		List<String> entries = entries(ENTRIES);
+		writeJson(entries);
+		parse();
+
+		// An unchanged file is not parsed again
+		RecordingConsumer unchanged = parse();
+		assertEquals(0, unchanged.files.size());
+		assertEquals(0, unchanged.shutdowns);
+		assertEquals(1, unchanged.aborts);
+
+		// The entries that did not change are reused, the others parsed again
+		entries.set(5, entry(5, "CHANGED_5"));
+		entries.set(2000, entry(2000, "CHANGED_2000"));
+		writeJson(entries);
+
+		RecordingConsumer consumer = parse();
+
+		assertEquals(ENTRIES, consumer.files.size());
+		for (int i = 0; i < ENTRIES; i++) {
+			assertEntry(consumer, i, i, i == 5 || i == 2000 ? "CHANGED_" + i : "FILE_" + i);
+		}
+	}
+}
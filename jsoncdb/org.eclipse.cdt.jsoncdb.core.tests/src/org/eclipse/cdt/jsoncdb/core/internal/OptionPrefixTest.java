@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * Content is provided to you under the terms and conditions of the Eclipse Public License Version 2.0 "EPL".
+ * A copy of the EPL is available at http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.jsoncdb.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.cdt.jsoncdb.core.participant.Arglets;
+import org.eclipse.cdt.jsoncdb.core.participant.DefaultToolCommandlineParser;
+import org.eclipse.cdt.jsoncdb.core.participant.IArglet;
+import org.eclipse.cdt.jsoncdb.core.participant.IToolCommandlineParser;
+import org.eclipse.cdt.jsoncdb.core.participant.ResponseFileArglets;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Checks that the prefix of an option pattern never rejects arguments the
+ * pattern matches: the arglets of the built-in compilers must parse real-world
+ * command lines the same with and without the check of the prefixes.
+ */
+public class OptionPrefixTest {
+
+	/** the command lines of the throughput benchmark */
+	private static final int COMMAND_LINES = 2000;
+
+	private static final IPath CWD = new Path("/work/build");
+
+	/** the arglets of the built-in clang compiler, which are a superset of those of gcc */
+	private static IToolCommandlineParser createParser() {
+		IArglet[] arglets = { new Arglets.IncludePath_C_POSIX(), new Arglets.MacroDefine_C_POSIX(),
+				new Arglets.MacroUndefine_C_POSIX(), new Arglets.SystemIncludePath_C(), new Arglets.LangStd_GCC(),
+				new Arglets.Sysroot_GCC(), new Arglets.IncludeFile_GCC(), new Arglets.MacrosFile_GCC(),
+				new Arglets.Target_Clang() };
+		return new DefaultToolCommandlineParser(new ResponseFileArglets.At(), null, arglets);
+	}
+
+	/**
+	 * Gets command lines like those found in the compile_commands.json files of
+	 * large projects: LLVM, an embedded firmware, the Linux kernel and a project
+	 * with quoted paths and macros.
+	 */
+	@SuppressWarnings("nls")
+	private static List<String> createCommandLines(int count) {
+		List<String> commandLines = new ArrayList<>(count);
+		for (int i = 0; commandLines.size() < count; i++) {
+			commandLines.add("-DGTEST_HAS_RTTI=0 -D_DEBUG -D_GNU_SOURCE -D__STDC_CONSTANT_MACROS"
+					+ " -D__STDC_FORMAT_MACROS -D__STDC_LIMIT_MACROS -I/work/llvm/build/lib/Support"
+					+ " -I/work/llvm/llvm/lib/Support -I/work/llvm/build/include -I/work/llvm/llvm/include -fPIC"
+					+ " -fvisibility-inlines-hidden -Werror=date-time -Werror=unguarded-availability-new -Wall"
+					+ " -Wextra -Wno-unused-parameter -Wwrite-strings -Wcast-qual -Wmissing-field-initializers"
+					+ " -pedantic -Wno-long-long -Wc++98-compat-extra-semi -Wimplicit-fallthrough"
+					+ " -Wcovered-switch-default -Wno-noexcept-type -Wnon-virtual-dtor -Wdelete-non-virtual-dtor"
+					+ " -Wsuggest-override -Wstring-conversion -Wmisleading-indentation -fdiagnostics-color"
+					+ " -ffunction-sections -fdata-sections -O3 -DNDEBUG -std=c++17 -fno-exceptions -fno-rtti"
+					+ " -MD -MT lib/Support/CMakeFiles/LLVMSupport.dir/File" + i + ".cpp.o"
+					+ " -MF lib/Support/CMakeFiles/LLVMSupport.dir/File" + i + ".cpp.o.d"
+					+ " -o lib/Support/CMakeFiles/LLVMSupport.dir/File" + i + ".cpp.o"
+					+ " -c /work/llvm/llvm/lib/Support/File" + i + ".cpp");
+			commandLines.add("--target=arm-none-eabi --sysroot=/opt/gcc-arm/arm-none-eabi -mcpu=cortex-m4 -mthumb"
+					+ " -mfloat-abi=hard -mfpu=fpv4-sp-d16 -DSTM32F407xx -DUSE_HAL_DRIVER '-DHSE_VALUE=8000000U'"
+					+ " -D\"FW_VERSION=\\\"1.2." + i + "\\\"\" -DDEBUG_LEVEL=" + i + " -I../Core/Inc"
+					+ " -I../Drivers/STM32F4xx_HAL_Driver/Inc -I../Drivers/STM32F4xx_HAL_Driver/Inc/Legacy"
+					+ " -isystem ../Drivers/CMSIS/Device/ST/STM32F4xx/Include -isystem ../Drivers/CMSIS/Include"
+					+ " -include ../Core/Inc/config.h -imacros ../Core/Inc/features.h -std=gnu11 -Os -g3"
+					+ " -ffunction-sections -fdata-sections -fstack-usage -Wall -Wextra"
+					+ " -o Core/Src/module" + i + ".o -c ../Core/Src/module" + i + ".c");
+			commandLines.add("-nostdinc -isystem /usr/lib/gcc/x86_64-linux-gnu/12/include -I./arch/x86/include"
+					+ " -I./arch/x86/include/generated -I./include -I./arch/x86/include/uapi"
+					+ " -I./arch/x86/include/generated/uapi -I./include/uapi -I./include/generated/uapi"
+					+ " -include ./include/linux/compiler-version.h -include ./include/linux/kconfig.h"
+					+ " -include ./include/linux/compiler_types.h -D__KERNEL__ -fmacro-prefix-map=./="
+					+ " -Wall -Wundef -Werror=strict-prototypes -Wno-trigraphs -fno-strict-aliasing -fno-common"
+					+ " -fshort-wchar -fno-PIE -Werror=implicit-function-declaration -Werror=implicit-int"
+					+ " -Werror=return-type -Wno-format-security -funsigned-char -std=gnu11 -mno-sse -mno-mmx"
+					+ " -mno-sse2 -mno-3dnow -mno-avx -fcf-protection=branch -fno-jump-tables -m64"
+					+ " -mno-red-zone -mcmodel=kernel -UDEBUG -U__i386__ -DKBUILD_MODFILE='\"drivers/x/mod" + i
+					+ "\"' -DKBUILD_BASENAME='\"file" + i + "\"' -DKBUILD_MODNAME='\"mod" + i + "\"'"
+					+ " -D__KBUILD_MODNAME=kmod_mod" + i + " -c -o drivers/x/file" + i + ".o drivers/x/file" + i
+					+ ".c");
+			commandLines.add("-I \"/home/user/My Projects/inc\" -I'/opt/with space/include' -I /opt/sep/include"
+					+ " -isystem\"/opt/quoted sys/include\" -isystem /opt/sys" + i + "/include"
+					+ " -D 'MSG=hello world' -DFN(a,b)=a+b -D EMPTY= -D$DOLLAR=1 -D\"QUOTED_" + i + "=a b\""
+					+ " -U NDEBUG -UFN --std c++14 --sysroot=\"/opt/my sysroot\" -include\"/opt/q inc/pre.h\""
+					+ " @<< -I/heredoc/include" + i + " -DHEREDOC=" + i + " << -fpic -fPIC -FPIC"
+					+ " -o obj/file" + i + ".o -c \"src/file " + i + ".cpp\"");
+		}
+		return commandLines;
+	}
+
+	/** the results of parsing the specified command lines */
+	private static List<List<Object>> parse(IToolCommandlineParser parser, List<String> commandLines) {
+		List<List<Object>> results = new ArrayList<>(commandLines.size());
+		for (String commandLine : commandLines) {
+			IToolCommandlineParser.IResult result = parser.processArgs(CWD, commandLine);
+			results.add(List.of(result.getDefines(), result.getUndefines(), result.getIncludePaths(),
+					result.getSystemIncludePaths(), result.getMacroFiles(), result.getIncludeFiles(),
+					result.getBuiltinDetectionArgs()));
+		}
+		return results;
+	}
+
+	@After
+	public void tearDown() {
+		OptionPrefix.checked = true;
+	}
+
+	@Test
+	public void testPrefix() {
+		assertEquals("OptionPrefix -D", OptionPrefix.compute(Pattern.compile("-D\\s*([\\w$]+)")).toString());
+		assertEquals("OptionPrefix -isystem",
+				OptionPrefix.compute(Pattern.compile("-isystem\\s*([^\\s]+)")).toString());
+		assertEquals("OptionPrefix --target=",
+				OptionPrefix.compute(Pattern.compile("--target=\\w+(-\\w+)*")).toString());
+		assertEquals("OptionPrefix -fPIC (ignoring case)",
+				OptionPrefix.compute(Pattern.compile("-fPIC", Pattern.CASE_INSENSITIVE)).toString());
+		assertEquals("OptionPrefix [-/]I", OptionPrefix.compute(Pattern.compile("[-/]I\\s*([^\\s]+)")).toString());
+		assertEquals("OptionPrefix -x", OptionPrefix.compute(Pattern.compile("-xy?")).toString());
+		assertEquals("OptionPrefix -", OptionPrefix.compute(Pattern.compile("-+x")).toString());
+		// no common prefix
+		assertEquals("OptionPrefix ", OptionPrefix.compute(Pattern.compile("-a|-b")).toString());
+		assertEquals("OptionPrefix ", OptionPrefix.compute(Pattern.compile("(?i)-x")).toString());
+		assertEquals("OptionPrefix ", OptionPrefix.compute(Pattern.compile("\\s*-x")).toString());
+	}
+
+	@Test
+	public void testIsPrefixOf() {
+		OptionPrefix include = OptionPrefix.compute(Pattern.compile("[-/]I\\s*([^\\s]+)"));
+		assertTrue(include.isPrefixOf("/Iinc"));
+		assertTrue(include.isPrefixOf("-Iinc"));
+		assertFalse(include.isPrefixOf("-Dinc"));
+		assertFalse(include.isPrefixOf("-"));
+		OptionPrefix pic = OptionPrefix.compute(Pattern.compile("-fPIC", Pattern.CASE_INSENSITIVE));
+		assertTrue(pic.isPrefixOf("-FPic"));
+		assertFalse(pic.isPrefixOf("-fPIE"));
+	}
+
+	/**
+	 * The arglets must find the same options in real-world command lines whether
+	 * the prefixes of their patterns are checked or not.
+	 */
+	@Test
+	public void testParity() {
+		List<String> commandLines = createCommandLines(40);
+		IToolCommandlineParser parser = createParser();
+
+		List<List<Object>> withPrefixes = parse(parser, commandLines);
+		OptionPrefix.checked = false;
+		List<List<Object>> withoutPrefixes = parse(parser, commandLines);
+
+		for (int i = 0; i < commandLines.size(); i++) {
+			assertEquals(commandLines.get(i), withoutPrefixes.get(i), withPrefixes.get(i));
+		}
+		// make sure the options were recognized at all
+		IToolCommandlineParser.IResult result = parser.processArgs(CWD, commandLines.get(3));
+		assertEquals("/home/user/My Projects/inc", result.getIncludePaths().get(0));
+		assertEquals("hello world", result.getDefines().get("MSG"));
+		assertTrue(result.getIncludePaths().contains("/heredoc/include0"));
+		assertEquals(List.of("NDEBUG", "FN"), result.getUndefines());
+	}
+
+	/**
+	 * Prints the time to parse large real-world command lines with and without
+	 * the check of the prefixes.
+	 */
+	@Test
+	public void testThroughput() {
+		List<String> commandLines = createCommandLines(COMMAND_LINES);
+		IToolCommandlineParser parser = createParser();
+		// warm up
+		for (int i = 0; i < 3; i++) {
+			OptionPrefix.checked = i % 2 == 0;
+			parse(parser, commandLines);
+		}
+		long[] nanos = new long[2];
+		for (int round = 0; round < 5; round++) {
+			for (int checked = 0; checked < 2; checked++) {
+				OptionPrefix.checked = checked == 1;
+				long start = System.nanoTime();
+				parse(parser, commandLines);
+				nanos[checked] += System.nanoTime() - start;
+			}
+		}
+		System.out.println("Parsing " + 5 * COMMAND_LINES + " command lines: " + nanos[1] / 1000000
+				+ " ms with the prefixes checked, " + nanos[0] / 1000000 + " ms without");
+	}
+}
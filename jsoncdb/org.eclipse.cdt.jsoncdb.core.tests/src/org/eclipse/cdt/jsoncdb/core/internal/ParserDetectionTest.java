@@ -9,10 +9,17 @@
 package org.eclipse.cdt.jsoncdb.core.internal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Locale;
 
+import org.eclipse.cdt.jsoncdb.core.participant.Arglets;
+import org.eclipse.cdt.jsoncdb.core.participant.DefaultToolCommandlineParser;
+import org.eclipse.cdt.jsoncdb.core.participant.DefaultToolDetectionParticipant;
+import org.eclipse.cdt.jsoncdb.core.participant.IToolCommandlineParser;
+import org.eclipse.cdt.jsoncdb.core.participant.ResponseFileArglets;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -230,4 +237,21 @@ public class ParserDetectionTest {
 		assertNotNull(result);
 		assertEquals(name, result.getCommandLine().getCommand());
 	}
+
+	/**
+	 * Only the built-in detectors may parse several command-lines at a time, not
+	 * contributed ones, even if they use the default parser with the built-in
+	 * arglets.
+	 */
+	@Test
+	public void testIsBuiltin() {
+		ParserDetection.ParserDetectionResult result = ParserDetection.determineDetector("/usr/bin/gcc -C blah.c",
+				null, false);
+		assertNotNull(result);
+		assertTrue(ParserDetection.isBuiltin(result.getDetectorWithMethod().getToolDetectionParticipant()));
+
+		IToolCommandlineParser parser = new DefaultToolCommandlineParser(new ResponseFileArglets.At(), null,
+				new Arglets.IncludePath_C_POSIX(), new Arglets.MacroDefine_C_POSIX());
+		assertFalse(ParserDetection.isBuiltin(new DefaultToolDetectionParticipant("gcc", parser)));
+	}
 }
@@ -8,19 +8,25 @@
  *******************************************************************************/
 package org.eclipse.cdt.jsoncdb.core;
 
+import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -31,6 +37,7 @@ import org.eclipse.cdt.jsoncdb.core.internal.ParserDetection.DetectorWithMethod;
 import org.eclipse.cdt.jsoncdb.core.internal.ParserDetection.ParserDetectionResult;
 import org.eclipse.cdt.jsoncdb.core.internal.Plugin;
 import org.eclipse.cdt.jsoncdb.core.internal.builtins.CompilerBuiltinsDetector;
+import org.eclipse.cdt.jsoncdb.core.internal.builtins.RawSourceFileInfo;
 import org.eclipse.cdt.jsoncdb.core.participant.DefaultToolDetectionParticipant;
 import org.eclipse.cdt.jsoncdb.core.participant.IRawSourceFileInfo;
 import org.eclipse.cdt.jsoncdb.core.participant.IToolCommandlineParser;
@@ -45,6 +52,7 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.QualifiedName;
@@ -54,6 +62,9 @@ import org.osgi.framework.FrameworkUtil;
 import com.google.gson.Gson;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 
 /**
  * Parses the file 'compile_commands.json' produced by cmake when option
@@ -74,6 +85,23 @@ public class CompileCommandsJsonParser {
 	 */
 	private static final QualifiedName TIMESTAMP_COMPILE_COMMANDS_PROPERTY = new QualifiedName(null,
 			"timestamp:compile_commands.json"); //$NON-NLS-1$
+	/**
+	 * property to store the parsed entries of the "compile_commands.json" file, so
+	 * that only the entries that changed are parsed again
+	 */
+	private static final QualifiedName ENTRIES_COMPILE_COMMANDS_PROPERTY = new QualifiedName(null,
+			"entries:compile_commands.json"); //$NON-NLS-1$
+
+	/**
+	 * the number of entries read from the file before they are parsed in parallel
+	 */
+	private static final int BATCH_SIZE = 1024;
+
+	/**
+	 * the lock held while a contributed command-line parser parses an entry, so
+	 * that contributed parsers are called by one thread at a time
+	 */
+	private static final Object CONTRIBUTED_PARSER_LOCK = new Object();
 
 	private static final String WORKBENCH_WILL_NOT_KNOW_ALL_MSG = Messages.CompileCommandsJsonParser_MSG_WORKBENCH_WILL_NOT_KNOW;
 
@@ -87,7 +115,7 @@ public class CompileCommandsJsonParser {
 	 * last known working tool detector and its tool option parsers or {@code null},
 	 * if unknown (to speed up parsing)
 	 */
-	private DetectorWithMethod lastDetector;
+	private volatile DetectorWithMethod lastDetector;
 
 	/**
 	 * markers for commands without a cmdline parser for the tool. just for error
@@ -96,23 +124,56 @@ public class CompileCommandsJsonParser {
 	private Set<String> knownUnsupportedTools = new HashSet<>();
 
 	/**
-	 * the raw scanner info results for each source file (source file name ->
-	 * IResult)
+	 * the results of the CompilerBuiltinsDetectors run so far, so that each
+	 * detector is run once. (detector key -> result). Key is created by
+	 * {@link #makeBuiltinsDetectorKey(String, List, String)}.
 	 */
-	private Map<String, IRawSourceFileInfo> fileResults;
+	private Map<String, IRawSourceFileInfo> builtinDetectorsResults;
 
 	/**
-	 * minimized set of CompilerBuiltinsDetector to run. (detector key ->
-	 * CompilerBuiltinsDetector). Key is created by
-	 * {@link #makeBuiltinsDetectorKey(String, List, String)}.
+	 * the parsed entries of the last parse of the file, for the preferences the
+	 * commands were parsed with
 	 */
-	private Map<String, CompilerBuiltinsDetector> builtinDetectorsToRun;
+	private static class ParsedEntries {
+		private final String preferencesKey;
+		private final Map<String, ParsedEntry> entries;
+
+		ParsedEntries(String preferencesKey, Map<String, ParsedEntry> entries) {
+			this.preferencesKey = preferencesKey;
+			this.entries = entries;
+		}
+	}
 
 	/**
-	 * the built-ins detectors for each source file (source file name -> detector
-	 * key)
+	 * The result of parsing a command entry. Entries without a result are not
+	 * remembered for the next parse.
 	 */
-	private Map<String, String> fileToBuiltinDetectorLinks;
+	private static class ParsedEntry {
+		/** the source file name or {@code null} if the entry was unrecognized */
+		private final String file;
+		/** a hash of the working directory and the command-line */
+		private final long fingerprint;
+		/** the working directory, compared if the fingerprints are equal */
+		private final String directory;
+		/** the command-line, compared if the fingerprints are equal */
+		private final String cmdLine;
+		/** the result or {@code null} if no parser matched the command-line */
+		private final IResult result;
+		private final IBuiltinsDetectionBehavior builtinsDetection;
+		/** the command name of the compiler or the command-line if no parser matched */
+		private final String command;
+
+		ParsedEntry(String file, long fingerprint, String directory, String cmdLine, IResult result,
+				IBuiltinsDetectionBehavior builtinsDetection, String command) {
+			this.file = file;
+			this.fingerprint = fingerprint;
+			this.directory = directory;
+			this.cmdLine = cmdLine;
+			this.result = result;
+			this.builtinsDetection = builtinsDetection;
+			this.command = command;
+		}
+	}
 
 	/**
 	 * Creates a new object that will try to parse the {@code compile_commands.json}
@@ -164,20 +225,47 @@ public class CompileCommandsJsonParser {
 			// must parse json file...
 			monitor.setTaskName(Messages.CompileCommandsJsonParser_msg_processing);
 
-			try (Reader in = new FileReader(jsonDiskFile.toFile())) {
-				// parse file...
-				Gson gson = new Gson();
-				CommandEntry[] sourceFileInfos = gson.fromJson(in, CommandEntry[].class);
-				if (sourceFileInfos == null) {
+			final IParserPreferences prefs = prefsAccess.getWorkspacePreferences();
+			final String prefsKey = prefs.getTryVersionSuffix() + prefs.getVersionSuffixPattern();
+			ParsedEntries lastParse = (ParsedEntries) buildRootFolder
+					.getSessionProperty(ENTRIES_COMPILE_COMMANDS_PROPERTY);
+			Map<String, ParsedEntry> lastEntries = lastParse != null && lastParse.preferencesKey.equals(prefsKey)
+					? lastParse.entries
+					: Collections.emptyMap();
+			Map<String, ParsedEntry> parsedEntries = new HashMap<>();
+
+			try (JsonReader in = new JsonReader(new BufferedReader(new FileReader(jsonDiskFile.toFile())))) {
+				// parse file, entry by entry...
+				JsonToken token = peekOrEnd(in);
+				if (token == null || token == JsonToken.NULL) {
 					final String msg = String.format(Messages.CompileCommandsJsonParser_errmsg_empty_json, jsonDiskFile,
 							WORKBENCH_WILL_NOT_KNOW_ALL_MSG);
 					createMarker(jsonFile, msg);
 					return false;
 				}
-				for (CommandEntry sourceFileInfo : sourceFileInfos) {
-					processCommandEntry(sourceFileInfo, jsonFile);
+				Gson gson = new Gson();
+				// most entries share their include paths and macros
+				Map<String, String> strPool = new ConcurrentHashMap<>();
+				Function<String, String> stringPooler = v -> {
+					String old = strPool.putIfAbsent(v, v);
+					return old == null ? v : old;
+				};
+				List<CommandEntry> batch = new ArrayList<>(BATCH_SIZE);
+				in.beginArray();
+				while (in.hasNext()) {
+					batch.add(gson.fromJson(in, CommandEntry.class));
+					if (batch.size() == BATCH_SIZE) {
+						if (monitor.isCanceled()) {
+							throw new OperationCanceledException();
+						}
+						processCommandEntries(batch, jsonFile, prefs, lastEntries, parsedEntries, stringPooler,
+								monitor);
+						batch.clear();
+					}
 				}
-			} catch (JsonSyntaxException | JsonIOException ex) {
+				in.endArray();
+				processCommandEntries(batch, jsonFile, prefs, lastEntries, parsedEntries, stringPooler, monitor);
+			} catch (JsonSyntaxException | JsonIOException | MalformedJsonException | IllegalStateException ex) {
 				// file format error
 				final String msg = String.format(Messages.CompileCommandsJsonParser_errmsg_not_json, jsonDiskFile,
 						WORKBENCH_WILL_NOT_KNOW_ALL_MSG);
@@ -190,52 +278,157 @@ public class CompileCommandsJsonParser {
 				return false;
 			}
 
-			detectBuiltins(monitor);
-			// store time-stamp
+			// store time-stamp and parsed entries
 			buildRootFolder.setSessionProperty(TIMESTAMP_COMPILE_COMMANDS_PROPERTY, tsJsonModified);
+			buildRootFolder.setSessionProperty(ENTRIES_COMPILE_COMMANDS_PROPERTY,
+					new ParsedEntries(prefsKey, parsedEntries));
 			return true;
 		}
 		return false;
 	}
 
 	/**
-	 * Processes an entry from a {@code compile_commands.json} file and remembers a
-	 * {@link IRawSourceFileInfo} for the given sourceFileInfo.
+	 * Returns the next token of the JSON file or {@code null} if the file is
+	 * empty.
+	 */
+	private static JsonToken peekOrEnd(JsonReader in) throws IOException {
+		try {
+			return in.peek();
+		} catch (EOFException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Processes a batch of entries from a {@code compile_commands.json} file. The
+	 * entries are parsed in parallel, then passed to the
+	 * {@code ISourceFileInfoConsumer} in the order of the file, so that the
+	 * consumer receives the information of the first source files while the rest
+	 * of the file is still parsed.
 	 *
-	 * @param sourceFileInfo parsed command entry of a compile_commands.json file
-	 * @param jsonFile       the JSON file being parsed (for marker creation only)
+	 * @param batch         parsed command entries of a compile_commands.json file
+	 * @param jsonFile      the JSON file being parsed (for marker creation only)
+	 * @param prefs         the preferences to detect the tool with
+	 * @param lastEntries   the entries of the last parse of the file (source file
+	 *                      name -> entry)
+	 * @param parsedEntries receives the entries of this parse
+	 * @param stringPooler  a function that returns a String from a pool for a
+	 *                      given String
+	 * @param monitor       the job's progress monitor
 	 *
 	 * @throws CoreException if marker creation failed
 	 */
-	private void processCommandEntry(CommandEntry sourceFileInfo, IFile jsonFile) throws CoreException {
+	private void processCommandEntries(List<CommandEntry> batch, IFile jsonFile, IParserPreferences prefs,
+			Map<String, ParsedEntry> lastEntries, Map<String, ParsedEntry> parsedEntries,
+			Function<String, String> stringPooler, IProgressMonitor monitor) throws CoreException {
+		List<ParsedEntry> entries = batch.parallelStream()
+				.map(sourceFileInfo -> parseCommandEntry(sourceFileInfo, prefs, lastEntries, stringPooler))
+				.collect(Collectors.toList());
+		for (ParsedEntry entry : entries) {
+			processCommandEntry(entry, jsonFile, stringPooler, monitor);
+			if (entry.result != null) {
+				parsedEntries.put(entry.file, entry);
+			}
+		}
+	}
+
+	/**
+	 * Parses an entry from a {@code compile_commands.json} file. If the entry did
+	 * not change since the last parse, its last result is returned.
+	 *
+	 * @param sourceFileInfo parsed command entry of a compile_commands.json file
+	 * @param prefs          the preferences to detect the tool with
+	 * @param lastEntries    the entries of the last parse of the file (source file
+	 *                       name -> entry)
+	 * @param stringPooler   a function that returns a String from a pool for a
+	 *                       given String
+	 */
+	private ParsedEntry parseCommandEntry(CommandEntry sourceFileInfo, IParserPreferences prefs,
+			Map<String, ParsedEntry> lastEntries, Function<String, String> stringPooler) {
 		// NOTE that this is the absolute file system path of the source file in
 		// CMake-notation (directory separator are forward slashes, even on windows)
-		final String file = sourceFileInfo.getFile();
-		String cmdLine = sourceFileInfo.getCommand();
-		if (cmdLine == null) {
-			cmdLine = String.join(" ", sourceFileInfo.getArguments()); //$NON-NLS-1$
+		final String file = sourceFileInfo != null ? sourceFileInfo.getFile() : null;
+		String cmdLine = null;
+		if (file != null) {
+			cmdLine = sourceFileInfo.getCommand();
+			if (cmdLine == null && sourceFileInfo.getArguments() != null) {
+				cmdLine = String.join(" ", sourceFileInfo.getArguments()); //$NON-NLS-1$
+			}
+		}
+		if (file == null || file.isEmpty() || cmdLine == null || cmdLine.isEmpty()) {
+			// unrecognized entry
+			return new ParsedEntry(null, 0, null, null, null, null, null);
+		}
+		// cwdStr is the absolute working directory of the compiler in
+		// CMake-notation (fileSep are forward slashes)
+		final String cwdStr = sourceFileInfo.getDirectory();
+		final long fingerprint = fingerprint(cwdStr, cmdLine);
+		ParsedEntry lastEntry = lastEntries.get(file);
+		if (lastEntry != null && lastEntry.fingerprint == fingerprint && lastEntry.cmdLine.equals(cmdLine)
+				&& Objects.equals(lastEntry.directory, cwdStr)) {
+			return lastEntry;
 		}
-		if (file != null && !file.isEmpty() && cmdLine != null && !cmdLine.isEmpty()) {
-			ParserDetection.ParserDetectionResult pdr = fastDetermineDetector(cmdLine);
-			if (pdr != null) {
-				// found a matching command-line parser
-				final IToolCommandlineParser parser = pdr.getDetectorWithMethod().getToolDetectionParticipant()
-						.getParser();
-				// cwdStr is the absolute working directory of the compiler in
-				// CMake-notation (fileSep are forward slashes)
-				final String cwdStr = sourceFileInfo.getDirectory();
-				IPath cwd = cwdStr != null ? Path.fromOSString(cwdStr) : new Path(""); //$NON-NLS-1$
-				IResult result = parser.processArgs(cwd, pdr.getReducedCommandLine().stripLeading());
-				// remember result together with file name
-				rememberFileResult(file, result);
-
-				final Optional<IBuiltinsDetectionBehavior> builtinDetection = parser.getIBuiltinsDetectionBehavior();
-				if (builtinDetection.isPresent()) {
-					rememberBuiltinsDetection(file, builtinDetection.get(), pdr.getCommandLine().getCommand(),
-							result.getBuiltinDetectionArgs());
+
+		ParserDetection.ParserDetectionResult pdr = fastDetermineDetector(cmdLine, prefs);
+		if (pdr == null) {
+			return new ParsedEntry(file, fingerprint, cwdStr, cmdLine, null, null, cmdLine);
+		}
+		// found a matching command-line parser
+		final IToolDetectionParticipant participant = pdr.getDetectorWithMethod().getToolDetectionParticipant();
+		final IToolCommandlineParser parser = participant.getParser();
+		IPath cwd = cwdStr != null ? Path.fromOSString(cwdStr) : new Path(""); //$NON-NLS-1$
+		final String args = pdr.getReducedCommandLine().stripLeading();
+		IResult result;
+		if (ParserDetection.isBuiltin(participant)) {
+			// the built-in parsers and arglets keep no state
+			result = parser.processArgs(cwd, args);
+		} else {
+			// contributed parsers and arglets may keep state and may be shared
+			// between participants, parse one entry at a time
+			synchronized (CONTRIBUTED_PARSER_LOCK) {
+				result = parser.processArgs(cwd, args);
+			}
+		}
+		if (result instanceof RawSourceFileInfo) {
+			((RawSourceFileInfo) result).poolStrings(stringPooler);
+		}
+		return new ParsedEntry(file, fingerprint, cwdStr, cmdLine, result,
+				parser.getIBuiltinsDetectionBehavior().orElse(null), pdr.getCommandLine().getCommand());
+	}
+
+	/**
+	 * Processes a parsed entry from a {@code compile_commands.json} file and
+	 * passes the {@link IRawSourceFileInfo} for its source file to the
+	 * {@code ISourceFileInfoConsumer}.
+	 *
+	 * @param entry        parsed command entry of a compile_commands.json file
+	 * @param jsonFile     the JSON file being parsed (for marker creation only)
+	 * @param stringPooler a function that returns a String from a pool for a
+	 *                     given String
+	 * @param monitor      the job's progress monitor
+	 *
+	 * @throws CoreException if marker creation failed
+	 */
+	private void processCommandEntry(ParsedEntry entry, IFile jsonFile, Function<String, String> stringPooler,
+			IProgressMonitor monitor) throws CoreException {
+		final String file = entry.file;
+		if (file != null) {
+			if (entry.result != null) {
+				if (entry.builtinsDetection != null) {
+					IRawSourceFileInfo builtinDetectorsResult = detectBuiltins(file, entry.builtinsDetection,
+							entry.command, entry.result.getBuiltinDetectionArgs(), monitor);
+					mergeResultsForFile(stringPooler, file, entry.result, builtinDetectorsResult);
+				} else {
+					// compiler does not support built-in detection:
+					// just feed the paths and defines with the file name to the indexer..
+					parseRequest.getSourceFileInfoConsumer().acceptSourceFileInfo(file,
+							entry.result.getSystemIncludePaths(), entry.result.getDefines(),
+							entry.result.getIncludePaths(), entry.result.getMacroFiles(),
+							entry.result.getIncludeFiles());
 				}
 			} else {
 				// no matching parser found
+				final String cmdLine = entry.command;
 
 				// complain only once if no cmdline parser for the tool is known (fortran,
 				// assembler, etc)
@@ -259,59 +452,22 @@ public class CompileCommandsJsonParser {
 		createMarker(jsonFile, msg);
 	}
 
-	/** Runs detection of compiler built-ins if supported and notifies the
-	 * {@code ISourceFileInfoConsumer} that was specified in the constructor for each source file.
-	 *
-	 * @param monitor
-	 * @throws CoreException
+	/**
+	 * Computes a 64-bit FNV-1a hash of the working directory and the command-line
+	 * of an entry.
 	 */
-	private void detectBuiltins(IProgressMonitor monitor) throws CoreException {
-		if (builtinDetectorsToRun.isEmpty()) {
-			// compiler does not support built-in detection:
-			// just feed the paths and defines with the file name to the indexer..
-			for (Entry<String, IRawSourceFileInfo> fileResultPair : fileResults.entrySet()) {
-				String sourceFileName = fileResultPair.getKey();
-				IRawSourceFileInfo fileResult = fileResultPair.getValue();
-				parseRequest.getSourceFileInfoConsumer().acceptSourceFileInfo(sourceFileName,
-						fileResult.getSystemIncludePaths(), fileResult.getDefines(), fileResult.getIncludePaths(),
-						fileResult.getMacroFiles(), fileResult.getIncludeFiles());
-			}
-		} else {
-			// run detection of compiler built-ins...
-			monitor.setTaskName(Messages.CompileCommandsJsonParser_msg_detecting_builtins);
-
-			final IFile jsonFile = parseRequest.getFile();
-			final IContainer buildRootFolder = jsonFile.getParent();
-
-			java.nio.file.Path buildDir = java.nio.file.Path.of(buildRootFolder.getLocationURI());
-			// run each built-in detector and collect the results..
-			Map<String, IRawSourceFileInfo> builtinDetectorsResults = new HashMap<>();
-			for (Entry<String, CompilerBuiltinsDetector> entry : builtinDetectorsToRun.entrySet()) {
-				IRawSourceFileInfo result = entry.getValue().detectBuiltins(jsonFile.getProject(), buildDir,
-						parseRequest.getLauncher(), parseRequest.getConsole(), monitor);
-				// store detector key with result
-				builtinDetectorsResults.put(entry.getKey(), result);
-			}
-			// all built-in detectors have been run at this point, reduce memory footprint
-			builtinDetectorsToRun.clear();
-
-			// most of the time we get different String objects for different source files
-			// that have the same sequence of characters. So reduce the number of String
-			// objects by pooling them..
-			Map<String, String> strPool = new HashMap<>();
-			Function<String, String> stringPooler = v -> {
-				String old = strPool.putIfAbsent(v, v);
-				return old == null ? v : old;
-			};
-
-			// merge built-in results with source file results
-			for (Entry<String, String> link : fileToBuiltinDetectorLinks.entrySet()) {
-				String sourceFileName = link.getKey();
-				IRawSourceFileInfo fileResult = fileResults.get(sourceFileName);
-				IRawSourceFileInfo builtinDetectorsResult = builtinDetectorsResults.get(link.getValue());
-				mergeResultsForFile(stringPooler, sourceFileName, fileResult, builtinDetectorsResult);
+	private static long fingerprint(String directory, String cmdLine) {
+		long hash = 0xcbf29ce484222325L;
+		if (directory != null) {
+			for (int i = 0; i < directory.length(); i++) {
+				hash = (hash ^ directory.charAt(i)) * 0x100000001b3L;
 			}
 		}
+		hash = (hash ^ '\0') * 0x100000001b3L;
+		for (int i = 0; i < cmdLine.length(); i++) {
+			hash = (hash ^ cmdLine.charAt(i)) * 0x100000001b3L;
+		}
+		return hash;
 	}
 
 	/**
@@ -374,16 +530,18 @@ public class CompileCommandsJsonParser {
 	 * Tries to be fast: That is, it tries the last known working detector first and
 	 * will perform expensive detection required under windows only if needed.
 	 *
-	 * @param line the command line to process
+	 * @param line  the command line to process
+	 * @param prefs the preferences to detect the tool with
 	 *
 	 * @return {@code null} if none of the detectors matched the tool name in the
 	 *         specified command-line string. Otherwise, if the tool name matches, a
 	 *         {@code ParserDetectionResult} holding the de-composed command-line is
 	 *         returned.
 	 */
-	private ParserDetectionResult fastDetermineDetector(String line) {
-		final IParserPreferences prefs = prefsAccess.getWorkspacePreferences();
+	private ParserDetectionResult fastDetermineDetector(String line, IParserPreferences prefs) {
 		// try last known matching detector first...
+		// (called in parallel, so the detector may be replaced by another thread)
+		final DetectorWithMethod lastDetector = this.lastDetector;
 		if (lastDetector != null) {
 			Optional<DefaultToolDetectionParticipant.MatchResult> matchResult = Optional.empty();
 			final IToolDetectionParticipant detector = lastDetector.getToolDetectionParticipant();
@@ -411,8 +569,6 @@ public class CompileCommandsJsonParser {
 			}
 			if (matchResult.isPresent()) {
 				return new ParserDetection.ParserDetectionResult(lastDetector, matchResult.get());
-			} else {
-				lastDetector = null; // invalidate last working detector
 			}
 		}
 
@@ -422,7 +578,7 @@ public class CompileCommandsJsonParser {
 				File.separatorChar == '\\');
 		if (result != null) {
 			// cache last working detector
-			lastDetector = result.getDetectorWithMethod();
+			this.lastDetector = result.getDetectorWithMethod();
 		}
 		return result;
 	}
@@ -431,7 +587,9 @@ public class CompileCommandsJsonParser {
 	 * Parses the {@code compile_commands.json} file in the build directory of the
 	 * build configuration if necessary and generates indexer information. If the JSON file did not change since the last invocation
 	 * of this method on the same build configuration, parsing of the file will be skipped; that is:
-	 * Method {@link ISourceFileInfoConsumer#accept()} is not invoked.
+	 * Method {@link ISourceFileInfoConsumer#accept()} is not invoked.<br>
+	 * Method {@link ISourceFileInfoConsumer#shutdown()} is invoked if the file was parsed completely, otherwise
+	 * {@link ISourceFileInfoConsumer#abort()} is invoked.
 	 * @param monitor  the job's progress monitor
 	 *
 	 * @return {@code true} if the {@code compile_commands.json} file did change
@@ -439,31 +597,41 @@ public class CompileCommandsJsonParser {
 	 *         {@code true}, new scanner information was detected and the CDT
 	 *         indexer should be notified.
 	 * @throws CoreException
+	 * @throws OperationCanceledException if the monitor was canceled
 	 */
 	public boolean parse(IProgressMonitor monitor) throws CoreException {
 		long start = 0;
-		fileResults = new HashMap<>();
-		builtinDetectorsToRun = new HashMap<>();
-		fileToBuiltinDetectorLinks = new HashMap<>();
+		List<MemoryPoolMXBean> heapPools = null;
+		builtinDetectorsResults = new HashMap<>();
+		boolean parsed = false;
 
 		try {
 			if (DEBUG_TIME) {
 				System.out.printf("Parsing file '%s' ...%n", //$NON-NLS-1$
 						parseRequest.getFile().getLocationURI().getPath());
 				start = System.currentTimeMillis();
+				heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+						.filter(pool -> pool.getType() == MemoryType.HEAP).collect(Collectors.toList());
+				heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
 			}
-			return processJsonFile(monitor);
+			parsed = processJsonFile(monitor);
+			return parsed;
 		} finally {
-			parseRequest.getSourceFileInfoConsumer().shutdown();
+			if (parsed) {
+				parseRequest.getSourceFileInfoConsumer().shutdown();
+			} else {
+				// let the consumer discard the partial result
+				parseRequest.getSourceFileInfoConsumer().abort();
+			}
 			if (DEBUG_TIME) {
 				long end = System.currentTimeMillis();
-				System.out.printf("Parsed file '%s' in %dms%n", //$NON-NLS-1$
-						parseRequest.getFile().getLocationURI().getPath(), end - start);
+				// the sum of the peaks of the pools, an upper bound of the peak of the heap
+				long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+				System.out.printf("Parsed file '%s' in %dms, peak heap %dMB%n", //$NON-NLS-1$
+						parseRequest.getFile().getLocationURI().getPath(), end - start, peakHeap >> 20);
 			}
 			// clean up
-			builtinDetectorsToRun = null;
-			fileResults = null;
-			fileToBuiltinDetectorLinks = null;
+			builtinDetectorsResults = null;
 		}
 	}
 
@@ -503,33 +671,41 @@ public class CompileCommandsJsonParser {
 	}
 
 	/**
-	 * @param file
-	 * @param result
-	 */
-	private void rememberFileResult(String sourceFileName, IRawSourceFileInfo result) {
-		fileResults.put(sourceFileName, result);
-	}
-
-	/**
-	 * @param sourceFileName       the name of the source file
-	 * @param compilerCommand      the command name of the compiler
-	 * @param builtinDetectionArgs the compiler arguments from the command-line that
-	 *                             affect built-in detection. For the GNU compilers,
-	 *                             these are options like {@code --sysroot} and
-	 *                             options that specify the language's standard
-	 *                             ({@code -std=c++17}.
+	 * Runs detection of compiler built-ins for a source file, unless it was
+	 * already run for the same compiler and arguments.
+	 *
+	 * @param sourceFileName            the name of the source file
+	 * @param builtinsDetectionBehavior how to run the compiler for built-ins
+	 *                                  detection
+	 * @param compilerCommand           the command name of the compiler
+	 * @param builtinDetectionArgs      the compiler arguments from the
+	 *                                  command-line that affect built-in
+	 *                                  detection. For the GNU compilers, these are
+	 *                                  options like {@code --sysroot} and options
+	 *                                  that specify the language's standard
+	 *                                  ({@code -std=c++17}.
+	 * @param monitor                   the job's progress monitor
+	 * @return the compiler built-in preprocessor symbols and macros
+	 * @throws CoreException
 	 */
-	private void rememberBuiltinsDetection(String sourceFileName, IBuiltinsDetectionBehavior builtinsDetectionBehavior,
-			String compilerCommand, List<String> builtinDetectionArgs) {
+	private IRawSourceFileInfo detectBuiltins(String sourceFileName,
+			IBuiltinsDetectionBehavior builtinsDetectionBehavior, String compilerCommand,
+			List<String> builtinDetectionArgs, IProgressMonitor monitor) throws CoreException {
 		String extension = FilenameUtils.getExtension(sourceFileName);
 		String key = makeBuiltinsDetectorKey(compilerCommand, builtinDetectionArgs, extension);
-		if (!builtinDetectorsToRun.containsKey(key)) {
+		IRawSourceFileInfo result = builtinDetectorsResults.get(key);
+		if (result == null) {
+			monitor.setTaskName(Messages.CompileCommandsJsonParser_msg_detecting_builtins);
+			final IFile jsonFile = parseRequest.getFile();
+			java.nio.file.Path buildDir = java.nio.file.Path.of(jsonFile.getParent().getLocationURI());
 			CompilerBuiltinsDetector detector = new CompilerBuiltinsDetector(builtinsDetectionBehavior, compilerCommand,
 					builtinDetectionArgs, extension);
-			builtinDetectorsToRun.put(key, detector);
+			result = detector.detectBuiltins(jsonFile.getProject(), buildDir, parseRequest.getLauncher(),
+					parseRequest.getConsole(), monitor);
+			builtinDetectorsResults.put(key, result);
+			monitor.setTaskName(Messages.CompileCommandsJsonParser_msg_processing);
 		}
-		// remember the built-ins detector for the source file
-		fileToBuiltinDetectorLinks.put(sourceFileName, key);
+		return result;
 	}
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Martin Weber.
+ * Copyright (c) 2020, 2026 Martin Weber.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -57,4 +57,17 @@ public interface ISourceFileInfoConsumer {
 	 * happen during the current parse operation.
 	 */
 	void shutdown();
+
+	/**
+	 * Notifies this consumer that no further calls to {@link #acceptSourceFileInfo(String, List, Map, List, List, List)}
+	 * will happen during the current parse operation, although the file was not parsed completely. This is called
+	 * instead of {@link #shutdown()} if the file did not change, could not be read or parsed, or if parsing failed or
+	 * was canceled. The source files received so far are only a part of the source files of the build.<br>
+	 * The default implementation calls {@link #shutdown()}.
+	 *
+	 * @since 1.4
+	 */
+	default void abort() {
+		shutdown();
+	}
 }
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * Content is provided to you under the terms and conditions of the Eclipse Public License Version 2.0 "EPL".
+ * A copy of the EPL is available at http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.cdt.jsoncdb.core.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * The characters an argument must start with to be matched by the pattern of
+ * an option, e.g. {@code -I} for {@code -I\s*([^\s]+)} or {@code -} or
+ * {@code /} followed by {@code D} for {@code [-/]D...}.<br>
+ * The arglets check the prefix before running the matcher of a pattern: at
+ * each position of a command-line most of the arglets of a tool do not match,
+ * and checking a few characters is much cheaper than creating a matcher.
+ */
+public final class OptionPrefix {
+	/** a prefix that matches any argument */
+	private static final OptionPrefix EMPTY = new OptionPrefix(new String[0], false);
+
+	/** the prefixes of the patterns used with {@link #of(Pattern)} */
+	private static final Map<Pattern, OptionPrefix> prefixes = new ConcurrentHashMap<>();
+
+	/**
+	 * whether the prefixes are checked. Only cleared by the tests, to compare the
+	 * results of the arglets with and without the check.
+	 */
+	static boolean checked = true;
+
+	/**
+	 * the characters allowed at each position of the prefix
+	 */
+	private final String[] chars;
+	private final boolean ignoreCase;
+
+	private OptionPrefix(String[] chars, boolean ignoreCase) {
+		this.chars = chars;
+		this.ignoreCase = ignoreCase;
+	}
+
+	/**
+	 * Gets the prefix of the specified pattern.
+	 *
+	 * @param pattern the pattern of an option. Since the prefixes are cached,
+	 *                this should be a constant.
+	 */
+	public static OptionPrefix of(Pattern pattern) {
+		return prefixes.computeIfAbsent(pattern, OptionPrefix::compute);
+	}
+
+	/**
+	 * Computes the prefix of the specified pattern: The characters or simple
+	 * character classes at the start of the pattern that are neither optional
+	 * nor repeated. If the pattern has alternatives or flags that change how
+	 * characters are matched, the prefix is empty.
+	 *
+	 * @param pattern the pattern of an option
+	 */
+	@SuppressWarnings("nls")
+	public static OptionPrefix compute(Pattern pattern) {
+		final int flags = pattern.flags();
+		if ((flags & ~(Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL | Pattern.UNIX_LINES)) != 0
+				|| hasTopLevelAlternative(pattern.pattern())) {
+			return EMPTY;
+		}
+		final String regex = pattern.pattern();
+		List<String> chars = new ArrayList<>();
+		int i = 0;
+		while (i < regex.length()) {
+			String allowed;
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				if (i + 1 >= regex.length() || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+					// a character class, back reference or character code
+					break;
+				}
+				allowed = String.valueOf(regex.charAt(i + 1));
+				i += 2;
+			} else if (c == '[') {
+				int end = findClassEnd(regex, i);
+				if (end == -1) {
+					break;
+				}
+				allowed = regex.substring(i + 1, end);
+				if (allowed.startsWith("^") || allowed.indexOf('[') != -1 || allowed.indexOf('\\') != -1
+						|| allowed.indexOf('&') != -1 || allowed.lastIndexOf('-') > 0) {
+					// negated, nested, escaped, intersected or with a range
+					break;
+				}
+				i = end + 1;
+			} else if (".^$()|*+?{}".indexOf(c) != -1) {
+				break;
+			} else {
+				allowed = String.valueOf(c);
+				i++;
+			}
+			if (i < regex.length()) {
+				char quantifier = regex.charAt(i);
+				if (quantifier == '*' || quantifier == '?' || quantifier == '{') {
+					// optional
+					break;
+				}
+				if (quantifier == '+') {
+					// required, but the following characters may not be at a fixed position
+					chars.add(allowed);
+					break;
+				}
+			}
+			chars.add(allowed);
+		}
+		if (chars.isEmpty()) {
+			return EMPTY;
+		}
+		boolean ignoreCase = (flags & Pattern.CASE_INSENSITIVE) != 0;
+		if (ignoreCase) {
+			for (String allowed : chars) {
+				if (!allowed.chars().allMatch(ch -> ch < 128)) {
+					// unicode case folding is not handled here
+					return EMPTY;
+				}
+			}
+		}
+		return new OptionPrefix(chars.toArray(new String[chars.size()]), ignoreCase);
+	}
+
+	/**
+	 * Gets whether the specified arguments start with this prefix. If they do not,
+	 * the pattern of the prefix does not match at their start.
+	 *
+	 * @param args the command line arguments to process
+	 */
+	public boolean isPrefixOf(String args) {
+		if (!checked) {
+			return true;
+		}
+		if (args.length() < chars.length) {
+			return false;
+		}
+		for (int i = 0; i < chars.length; i++) {
+			char c = args.charAt(i);
+			if (chars[i].indexOf(c) == -1 && (!ignoreCase || (chars[i].indexOf(Character.toLowerCase(c)) == -1
+					&& chars[i].indexOf(Character.toUpperCase(c)) == -1))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets whether the specified regular expression has an alternative outside of
+	 * groups, so that it does not have a common prefix.
+	 */
+	private static boolean hasTopLevelAlternative(String regex) {
+		int depth = 0;
+		for (int i = 0; i < regex.length(); i++) {
+			switch (regex.charAt(i)) {
+			case '\\':
+				i++;
+				break;
+			case '[':
+				i = findClassEnd(regex, i);
+				if (i == -1) {
+					return true;
+				}
+				break;
+			case '(':
+				depth++;
+				break;
+			case ')':
+				depth--;
+				break;
+			case '|':
+				if (depth == 0) {
+					return true;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the index of the ']' that ends the character class starting at the
+	 * specified index, or {@code -1} if the class is nested or not terminated.
+	 */
+	private static int findClassEnd(String regex, int start) {
+		int i = start + 1;
+		if (i < regex.length() && regex.charAt(i) == '^') {
+			i++;
+		}
+		if (i < regex.length() && regex.charAt(i) == ']') {
+			// a ']' right after the '[' belongs to the class
+			i++;
+		}
+		for (; i < regex.length(); i++) {
+			switch (regex.charAt(i)) {
+			case '\\':
+				i++;
+				break;
+			case '[':
+				return -1;
+			case ']':
+				return i;
+			default:
+				break;
+			}
+		}
+		return -1;
+	}
+
+	@SuppressWarnings("nls")
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("OptionPrefix ");
+		for (String allowed : chars) {
+			sb.append(allowed.length() == 1 ? allowed : "[" + allowed + "]");
+		}
+		return sb.append(ignoreCase ? " (ignoring case)" : "").toString();
+	}
+}
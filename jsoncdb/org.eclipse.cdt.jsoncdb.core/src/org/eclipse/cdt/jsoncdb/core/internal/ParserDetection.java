@@ -56,6 +56,12 @@ public final class ParserDetection {
 	 */
 	private static List<IToolDetectionParticipant> parserDetectors;
 
+	/**
+	 * the number of built-in tool detectors at the start of
+	 * {@link #parserDetectors}, which come before those from extension points
+	 */
+	private static int builtinDetectorCount;
+
 	private static synchronized void init() {
 		if (parserDetectors == null) {
 			parserDetectors = new ArrayList<>(22);
@@ -124,6 +130,7 @@ public final class ParserDetection {
 				parserDetectors.add(new DefaultToolDetectionParticipant("\\S+?-c\\+\\+", true, "exe", cxx));
 			}
 
+			builtinDetectorCount = parserDetectors.size();
 			// compilers from extension points
 			loadExtentionsSorted(parserDetectors::add);
 		}
@@ -161,6 +168,23 @@ public final class ParserDetection {
 	private ParserDetection() {
 	}
 
+	/**
+	 * Gets whether the specified tool detector is one of the built-in detectors.
+	 * Their command-line parsers and arglets keep no state, so they may parse
+	 * several command-lines at a time.
+	 *
+	 * @param participant the tool detector
+	 */
+	public static boolean isBuiltin(IToolDetectionParticipant participant) {
+		init();
+		for (int i = 0; i < builtinDetectorCount; i++) {
+			if (parserDetectors.get(i) == participant) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Determines the parser detector that can parse the specified command-line.
 	 *
@@ -10,6 +10,7 @@
 package org.eclipse.cdt.jsoncdb.core.internal.builtins;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -19,6 +20,7 @@ import java.util.Objects;
 
 import org.eclipse.cdt.core.ConsoleOutputStream;
 import org.eclipse.cdt.core.ICommandLauncher;
+import org.eclipse.cdt.core.language.settings.providers.BuiltinSpecsOutputCache;
 import org.eclipse.cdt.core.resources.IConsole;
 import org.eclipse.cdt.jsoncdb.core.IParserPreferences;
 import org.eclipse.cdt.jsoncdb.core.IParserPreferencesAccess;
@@ -97,79 +99,104 @@ public class CompilerBuiltinsDetector {
 
 		RawSourceFileInfo result = new RawSourceFileInfo();
 
-		final List<String> argList = getCompilerArguments();
+		final String inputFile = getInputFile();
+		final List<String> argList = getCompilerArguments(inputFile);
 		argList.addAll(builtinsDetectionArgs);
+		final String[] envp = getEnvp();
 
 		console = startOutputConsole(console);
 
 		launcher.setProject(project);
 		launcher.showCommand(console != null);
-		final Process proc = launcher.execute(new Path(command), argList.toArray(new String[argList.size()]), getEnvp(),
-				new Path(this.buildDirectory.toString()), monitor);
-		if (proc != null) {
+		// other projects using the same compiler may have run the same detection already
+		final String key = BuiltinSpecsOutputCache.createKey(launcher, command, argList, inputFile, envp,
+				buildDirectory.toFile());
+		final IConsole outConsole = console;
+		final IProgressMonitor runMonitor = monitor;
+		long start = System.currentTimeMillis();
+		BuiltinSpecsOutputCache.Output output = BuiltinSpecsOutputCache.getInstance().getOutput(key,
+				(out, err) -> runCompiler(launcher, argList, envp, outConsole, out, err, runMonitor));
+		// NOTE: we need 2 of these, since the output streams are not synchronized,
+		// causing loss of the output processors' internal state
+		final IBuiltinsOutputProcessor bopOut = builtinsDetectionBehavior.createCompilerOutputProcessor();
+		final IBuiltinsOutputProcessor bopErr = builtinsDetectionBehavior.createCompilerOutputProcessor();
+		try {
+			output.writeTo(new OutputSniffer(bopOut, console == null ? null : console.getOutputStream(), result),
+					new OutputSniffer(bopErr, console == null ? null : console.getErrorStream(), result));
+		} catch (IOException e) {
+			Plugin.getDefault().getLog().log(new Status(IStatus.ERROR, Plugin.PLUGIN_ID, "detectBuiltins()", e)); //$NON-NLS-1$
+		}
+		if (console != null) {
+			final ConsoleOutputStream cis = console.getInfoStream();
 			try {
-				// Close the input of the process since we will never write to it
-				proc.getOutputStream().close();
-			} catch (IOException e) {
+				cis.write(String.format(Messages.CompilerBuiltinsDetector_msg_detection_finished,
+						System.currentTimeMillis() - start).getBytes());
+				cis.write("\n".getBytes()); //$NON-NLS-1$
+			} catch (IOException ignore) {
 			}
-			// NOTE: we need 2 of these, since the output streams are not synchronized,
-			// causing loss of the output processors' internal state
-			final IBuiltinsOutputProcessor bopOut = builtinsDetectionBehavior.createCompilerOutputProcessor();
-			final IBuiltinsOutputProcessor bopErr = builtinsDetectionBehavior.createCompilerOutputProcessor();
-			long start = System.currentTimeMillis();
-			int state = launcher.waitAndRead(
-					new OutputSniffer(bopOut, console == null ? null : console.getOutputStream(), result),
-					new OutputSniffer(bopErr, console == null ? null : console.getErrorStream(), result), monitor);
+		}
+		return result;
+	}
+
+	/**
+	 * Runs the compiler.
+	 *
+	 * @param out the stream to write the standard output of the compiler to
+	 * @param err the stream to write the error output of the compiler to
+	 * @return whether the compiler succeeded, so that its output can be shared
+	 */
+	private boolean runCompiler(ICommandLauncher launcher, List<String> argList, String[] envp, IConsole console,
+			OutputStream out, OutputStream err, IProgressMonitor monitor) throws CoreException {
+		final Process proc = launcher.execute(new Path(command), argList.toArray(new String[argList.size()]), envp,
+				new Path(this.buildDirectory.toString()), monitor);
+		if (proc == null) {
+			// process start failed
+			createMarker(launcher.getErrorMessage());
+			return false;
+		}
+		try {
+			// Close the input of the process since we will never write to it
+			proc.getOutputStream().close();
+		} catch (IOException e) {
+		}
+		int state = launcher.waitAndRead(out, err, monitor);
+		if (state == ICommandLauncher.COMMAND_CANCELED) {
+			return false;
+		}
+		try {
+			// check exit status
+			final int exitValue = proc.exitValue();
+			if (exitValue != 0 && !builtinsDetectionBehavior.suppressErrormessage()) {
+				// compiler had errors...
+				String errMsg = String.format(Messages.CompilerBuiltinsDetector_errmsg_command_failed, command,
+						exitValue);
+				createMarker(errMsg);
+			}
+			return exitValue == 0;
+		} catch (IllegalThreadStateException e) {
+			// Bug 580045 - reused launcher race condition
+			String warnMsg = String.format(Messages.CompilerBuiltinsDetector_msg_unexpectedly_still_running, command);
+
 			if (console != null) {
 				final ConsoleOutputStream cis = console.getInfoStream();
 				try {
-					cis.write(String.format(Messages.CompilerBuiltinsDetector_msg_detection_finished,
-							System.currentTimeMillis() - start).getBytes());
+					cis.write(warnMsg.getBytes());
 					cis.write("\n".getBytes()); //$NON-NLS-1$
 				} catch (IOException ignore) {
 				}
 			}
-			if (state != ICommandLauncher.COMMAND_CANCELED) {
-				try {
-					// check exit status
-					final int exitValue = proc.exitValue();
-					if (exitValue != 0 && !builtinsDetectionBehavior.suppressErrormessage()) {
-						// compiler had errors...
-						String errMsg = String.format(Messages.CompilerBuiltinsDetector_errmsg_command_failed, command,
-								exitValue);
-						createMarker(errMsg);
-					}
-				} catch (IllegalThreadStateException e) {
-					// Bug 580045 - reused launcher race condition
-					String warnMsg = String.format(Messages.CompilerBuiltinsDetector_msg_unexpectedly_still_running,
-							command);
-
-					if (console != null) {
-						final ConsoleOutputStream cis = console.getInfoStream();
-						try {
-							cis.write(warnMsg.getBytes());
-							cis.write("\n".getBytes()); //$NON-NLS-1$
-						} catch (IOException ignore) {
-						}
-					}
-					createMarker(warnMsg);
-					Plugin.getDefault().getLog().log(Status.warning(warnMsg, e));
-				}
-			}
-		} else {
-			// process start failed
-			createMarker(launcher.getErrorMessage());
+			createMarker(warnMsg);
+			Plugin.getDefault().getLog().log(Status.warning(warnMsg, e));
+			return false;
 		}
-		return result;
 	}
 
 	/**
 	 * Gets the compiler-arguments corresponding to the builtinDetection.
 	 */
-	private List<String> getCompilerArguments() {
+	private List<String> getCompilerArguments(String inputFile) {
 		List<String> args = new ArrayList<>();
 		args.addAll(builtinsDetectionBehavior.getBuiltinsOutputEnablingArgs());
-		String inputFile = getInputFile();
 		if (inputFile != null) {
 			args.add(inputFile);
 		}
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.function.Function;
 
 import org.eclipse.cdt.jsoncdb.core.internal.Plugin;
 import org.eclipse.cdt.jsoncdb.core.participant.IRawSourceFileInfo;
@@ -134,4 +135,24 @@ public class RawSourceFileInfo implements IRawSourceFileInfo, IRawSourceFileInfo
 	public List<String> getIncludeFiles() {
 		return Collections.unmodifiableList(includeFiles);
 	}
+
+	/**
+	 * Replaces the strings of this object with equal strings from a pool, so
+	 * that the objects of the source files of a build share the strings of
+	 * their common include paths and macros.
+	 *
+	 * @param stringPooler a function that returns a String from a pool for a
+	 *                     given String
+	 */
+	public void poolStrings(Function<String, String> stringPooler) {
+		Map<String, String> pooledDefines = new HashMap<>();
+		defines.forEach((name, value) -> pooledDefines.put(stringPooler.apply(name), stringPooler.apply(value)));
+		defines.clear();
+		defines.putAll(pooledDefines);
+		undefines.replaceAll(stringPooler::apply);
+		includePaths.replaceAll(stringPooler::apply);
+		systemIncludePaths.replaceAll(stringPooler::apply);
+		macroFiles.replaceAll(stringPooler::apply);
+		includeFiles.replaceAll(stringPooler::apply);
+	}
 }
@@ -11,6 +11,7 @@ package org.eclipse.cdt.jsoncdb.core.participant;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.eclipse.cdt.jsoncdb.core.internal.OptionPrefix;
 import org.eclipse.cdt.jsoncdb.core.participant.IArglet.IArgumentCollector;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
@@ -70,6 +71,8 @@ public final class Arglets {
 		final Matcher matcher;
 		final Pattern pattern;
 		final int nameGroup;
+		/** the characters an argument must start with to be matched by the pattern */
+		final OptionPrefix prefix;
 
 		/**
 		 * Constructor.
@@ -81,6 +84,7 @@ public final class Arglets {
 			this.pattern = Pattern.compile(pattern);
 			this.matcher = this.pattern.matcher(EMPTY_STR);
 			this.nameGroup = nameGroup;
+			this.prefix = OptionPrefix.compute(this.pattern);
 		}
 
 		@SuppressWarnings("nls")
@@ -136,6 +140,9 @@ public final class Arglets {
 		protected final int processArgument(IArgumentCollector resultCollector, String args,
 				NameValueOptionMatcher[] optionMatchers) {
 			for (NameValueOptionMatcher oMatcher : optionMatchers) {
+				if (!oMatcher.prefix.isPrefixOf(args)) {
+					continue;
+				}
 				final Matcher matcher = oMatcher.pattern.matcher(args);
 
 				if (matcher.lookingAt()) {
@@ -160,6 +167,9 @@ public final class Arglets {
 		 */
 		protected final int processArgument(IArgumentCollector resultCollector, String argsLine,
 				NameOptionMatcher optionMatcher) {
+			if (!optionMatcher.prefix.isPrefixOf(argsLine)) {
+				return 0;
+			}
 			final Matcher oMatcher = optionMatcher.pattern.matcher(argsLine);
 
 			if (oMatcher.lookingAt()) {
@@ -185,6 +195,9 @@ public final class Arglets {
 		protected final int processArgument(boolean isSystemIncludePath, IArgumentCollector resultCollector, IPath cwd,
 				String argsLine, NameOptionMatcher[] optionMatchers) {
 			for (NameOptionMatcher oMatcher : optionMatchers) {
+				if (!oMatcher.prefix.isPrefixOf(argsLine)) {
+					continue;
+				}
 				final Matcher matcher = oMatcher.pattern.matcher(argsLine);
 
 				if (matcher.lookingAt()) {
@@ -220,6 +233,9 @@ public final class Arglets {
 		protected final int processArgument(IArgumentCollector resultCollector, IPath cwd, String argsLine,
 				NameOptionMatcher[] optionMatchers) {
 			for (NameOptionMatcher oMatcher : optionMatchers) {
+				if (!oMatcher.prefix.isPrefixOf(argsLine)) {
+					continue;
+				}
 				final Matcher matcher = oMatcher.pattern.matcher(argsLine);
 
 				if (matcher.lookingAt()) {
@@ -244,6 +260,9 @@ public final class Arglets {
 		protected final int processArgument(IArgumentCollector resultCollector, IPath cwd, String argsLine,
 				NameOptionMatcher[] optionMatchers) {
 			for (NameOptionMatcher oMatcher : optionMatchers) {
+				if (!oMatcher.prefix.isPrefixOf(argsLine)) {
+					continue;
+				}
 				final Matcher matcher = oMatcher.pattern.matcher(argsLine);
 
 				if (matcher.lookingAt()) {
@@ -396,6 +415,9 @@ public final class Arglets {
 		protected final int processArgument(IArgumentCollector resultCollector, String argsLine,
 				Pattern[] optionPatterns) {
 			for (Pattern pattern : optionPatterns) {
+				if (!OptionPrefix.of(pattern).isPrefixOf(argsLine)) {
+					continue;
+				}
 				Matcher matcher = pattern.matcher(argsLine);
 				if (matcher.lookingAt()) {
 					resultCollector.addBuiltinDetectionArgument(matcher.group());
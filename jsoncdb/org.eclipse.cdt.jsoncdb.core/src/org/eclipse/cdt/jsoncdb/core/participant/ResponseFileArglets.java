@@ -55,6 +55,9 @@ public class ResponseFileArglets {
 		@Override
 		public int process(IParserHandler parserHandler, String argsLine) {
 			for (NameOptionMatcher oMatcher : optionMatchers) {
+				if (!oMatcher.prefix.isPrefixOf(argsLine)) {
+					continue;
+				}
 				final Matcher matcher = oMatcher.pattern.matcher(argsLine);
 
 				if (matcher.lookingAt()) {